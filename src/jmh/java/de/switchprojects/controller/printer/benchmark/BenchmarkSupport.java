@@ -0,0 +1,150 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark;
+
+import de.switchprojects.controller.printer.api.ExecutorAPI;
+import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.commands.CommandMap;
+import de.switchprojects.controller.printer.commands.basic.BasicCommandMap;
+import de.switchprojects.controller.printer.database.DatabaseDriver;
+import de.switchprojects.controller.printer.events.EventManager;
+import de.switchprojects.controller.printer.events.basic.BasicEventManager;
+import de.switchprojects.controller.printer.user.UserManagement;
+import de.switchprojects.controller.printer.user.object.UserType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Shared helpers of the benchmarks which need parts of the global api without starting the whole
+ * controller.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final EventManager EVENT_MANAGER = new BasicEventManager();
+
+    private static final CommandMap COMMAND_MAP = new BasicCommandMap();
+
+    private static boolean installed;
+
+    /**
+     * Installs a minimal executor api with an event manager and command map. The database is not
+     * available through the global api, the database benchmarks are using their own driver.
+     */
+    public static void installApi() {
+        installApi(null);
+    }
+
+    /**
+     * Installs a minimal executor api with an event manager, command map and the given database.
+     * Only the first call installs the api, the benchmarks run in their own fork anyway.
+     *
+     * @param database The database which should be available through the global api or {@code null}
+     */
+    public static synchronized void installApi(@Nullable DatabaseDriver database) {
+        if (installed) {
+            return;
+        }
+
+        installed = true;
+        GlobalAPI.setExecutorAPI(new ExecutorAPI() {
+            @Override
+            public @NotNull EventManager getEventManager() {
+                return EVENT_MANAGER;
+            }
+
+            @Override
+            public @NotNull CommandMap getCommandMap() {
+                return COMMAND_MAP;
+            }
+
+            @Override
+            public @NotNull DatabaseDriver getDatabase() {
+                if (database == null) {
+                    throw new UnsupportedOperationException("No database in benchmarks");
+                }
+
+                return database;
+            }
+
+            @Override
+            public @Nullable UserManagement getUserManagement(@NotNull UserType userType) {
+                return null;
+            }
+        });
+    }
+
+    /**
+     * @return A stream which discards everything written to it
+     */
+    @NotNull
+    public static OutputStream nullOutputStream() {
+        return new OutputStream() {
+            @Override
+            public void write(int b) {
+            }
+
+            @Override
+            public void write(@NotNull byte[] b, int off, int len) {
+            }
+        };
+    }
+
+    /**
+     * Deletes the given directory with all files in it
+     *
+     * @param directory The directory to delete
+     */
+    public static void deleteDirectory(@NotNull Path directory) {
+        if (!Files.exists(directory)) {
+            return;
+        }
+
+        try (Stream<Path> stream = Files.walk(directory)) {
+            stream.sorted(Comparator.reverseOrder()).forEach(path -> {
+                try {
+                    Files.delete(path);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.command;
+
+import de.switchprojects.controller.printer.benchmark.BenchmarkSupport;
+import de.switchprojects.controller.printer.commands.basic.BasicCommand;
+import de.switchprojects.controller.printer.commands.basic.BasicCommandMap;
+import de.switchprojects.controller.printer.commands.source.CommandSource;
+import org.jetbrains.annotations.NotNull;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the lookup and dispatch of a command line by the {@link BasicCommandMap}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CommandMapBenchmark {
+
+    @Param({"8", "64", "512"})
+    public int commands;
+
+    private BasicCommandMap commandMap;
+
+    private CommandSource source;
+
+    private String firstCommandLine;
+
+    private String lastAliasLine;
+
+    private Blackhole blackhole;
+
+    @Setup
+    public void setup(Blackhole blackhole) {
+        BenchmarkSupport.installApi();
+
+        this.blackhole = blackhole;
+        this.source = new CommandSource() {
+            @Override
+            public void sendMessage(@NotNull String message) {
+                CommandMapBenchmark.this.blackhole.consume(message);
+            }
+
+            @Override
+            public @NotNull String getName() {
+                return "Benchmark";
+            }
+        };
+        this.commandMap = new BasicCommandMap();
+        for (int i = 0; i < this.commands; i++) {
+            this.commandMap.registerCommand(new NoopCommand("command" + i, new String[]{"c" + i, "alias" + i}));
+        }
+
+        this.firstCommandLine = "command0 status --verbose";
+        this.lastAliasLine = "alias" + (this.commands - 1) + " status --verbose";
+    }
+
+    @Benchmark
+    public boolean dispatchFirst() {
+        return this.commandMap.dispatchCommand(this.source, this.firstCommandLine);
+    }
+
+    @Benchmark
+    public boolean dispatchLastByAlias() {
+        return this.commandMap.dispatchCommand(this.source, this.lastAliasLine);
+    }
+
+    @Benchmark
+    public boolean dispatchQuoted() {
+        return this.commandMap.dispatchCommand(this.source, "Command0   \"status report\"  --verbose");
+    }
+
+    @Benchmark
+    public boolean dispatchUnknown() {
+        return this.commandMap.dispatchCommand(this.source, "unknown status --verbose");
+    }
+
+    private static final class NoopCommand extends BasicCommand {
+
+        private NoopCommand(String commandName, String[] aliases) {
+            super(commandName, aliases, "Benchmark command");
+        }
+
+        @Override
+        public void execute(@NotNull CommandSource source, @NotNull String commandLine, @NotNull String[] strings) {
+            source.sendMessage(strings[0]);
+        }
+    }
+}
@@ -0,0 +1,205 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.console;
+
+import de.switchprojects.controller.printer.console.TerminalConsole;
+import de.switchprojects.controller.printer.console.buffer.LogRingBuffer;
+import de.switchprojects.controller.printer.console.buffer.OverflowPolicy;
+import de.switchprojects.controller.printer.console.stream.BasicLoggingOutputStream;
+import de.switchprojects.controller.printer.console.writer.LogWriterThread;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.jline.reader.LineReader;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Measures how many log lines per second can be written through the {@link BasicLoggingOutputStream}
+ * which backs {@link System#out} in the controller. The records are published either directly on the
+ * logging thread or on the writer thread of a {@link LogRingBuffer} which blocks or drops when it is
+ * full. The handler only counts the records or also writes them into a file, which is flushed after
+ * every record when published directly like the {@link java.util.logging.FileHandler} does and once
+ * per batch when published by the writer thread.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LoggingStreamBenchmark {
+
+    private static final String LINE = "The print job switch_housing_top_v3.gcode is running! Progress: 42.5%";
+
+    private final LongAdder published = new LongAdder();
+
+    @Param({"direct", "block", "drop"})
+    public String pipeline;
+
+    @Param({"count", "file"})
+    public String sink;
+
+    private PrintStream printStream;
+
+    private LogWriterThread writerThread;
+
+    private Path file;
+
+    private OutputStream fileStream;
+
+    @Setup
+    public void setup() throws IOException {
+        boolean direct = this.pipeline.equals("direct");
+        if (this.sink.equals("file")) {
+            this.file = Files.createTempFile("logging-benchmark", ".log");
+            this.fileStream = new BufferedOutputStream(Files.newOutputStream(this.file));
+        }
+
+        Handler counter = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                published.increment();
+                if (fileStream != null) {
+                    try {
+                        fileStream.write(record.getMessage().getBytes(StandardCharsets.UTF_8));
+                        if (direct) {
+                            fileStream.flush();
+                        }
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            }
+
+            @Override
+            public void flush() {
+                if (fileStream != null) {
+                    try {
+                        fileStream.flush();
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                }
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+
+        CountingConsole console;
+        if (direct) {
+            console = new CountingConsole(null);
+            console.addHandler(counter);
+        } else {
+            LogRingBuffer buffer = new LogRingBuffer(8192, OverflowPolicy.valueOf(this.pipeline.toUpperCase()));
+            this.writerThread = new LogWriterThread("benchmark", buffer, Collections.singletonList(counter));
+            this.writerThread.start();
+            console = new CountingConsole(buffer);
+        }
+
+        console.setUseParentHandlers(false);
+        this.printStream = new PrintStream(new BasicLoggingOutputStream(console, Level.INFO), true);
+    }
+
+    @Benchmark
+    public void println() {
+        this.printStream.println(LINE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public void printlnContended() {
+        this.printStream.println(LINE);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        if (this.writerThread != null) {
+            this.writerThread.shutdown();
+        }
+
+        if (this.file != null) {
+            this.fileStream.close();
+            Files.deleteIfExists(this.file);
+        }
+
+        if (this.published.sum() == 0) {
+            throw new IllegalStateException("No log records were published");
+        }
+    }
+
+    private static final class CountingConsole extends TerminalConsole {
+
+        private CountingConsole(@Nullable LogRingBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        private final LogRingBuffer buffer;
+
+        @Override
+        public void publish(@NotNull Level level, @NotNull String message) {
+            if (this.buffer == null) {
+                super.publish(level, message);
+            } else {
+                this.buffer.publish(level, System.currentTimeMillis(), message, null);
+            }
+        }
+
+        @Override
+        public @NotNull LineReader getLineReader() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public @NotNull String readLine(@Nullable String prompt) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void log(@NotNull String message) {
+        }
+
+        @Override
+        public void clearScreen() {
+        }
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.database;
+
+import de.switchprojects.controller.printer.benchmark.BenchmarkSupport;
+import de.switchprojects.controller.printer.database.DatabaseDriver;
+import de.switchprojects.controller.printer.database.basic.H2DatabaseDriver;
+import de.switchprojects.controller.printer.database.object.DatabaseObjectToken;
+import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.web.user.WebUser;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link H2DatabaseDriver} with a job table of different sizes. The database is created
+ * in a temporary directory once per trial.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class H2DatabaseBenchmark {
+
+    private static final String TABLE = "jobs";
+
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"10000", "100000", "1000000"})
+    public int rows;
+
+    private Path directory;
+
+    private DatabaseDriver database;
+
+    private long nextKey;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("h2-benchmark");
+        this.database = new H2DatabaseDriver();
+        if (!this.database.connect(() -> "jdbc:h2:" + this.directory.resolve("benchmark").toAbsolutePath())) {
+            throw new IllegalStateException("Unable to open benchmark database");
+        }
+
+        this.database.createTable(PrintableObject.SCHEMA);
+
+        List<PrintableObject> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < this.rows; i++) {
+            batch.add(newObject(i));
+            if (batch.size() == BATCH_SIZE) {
+                this.database.insertAll(batch);
+                batch.clear();
+            }
+        }
+
+        if (!batch.isEmpty()) {
+            this.database.insertAll(batch);
+        }
+
+        this.nextKey = this.rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.database.close();
+        BenchmarkSupport.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    public void insert() {
+        this.database.insert(newObject(this.nextKey++));
+    }
+
+    @Benchmark
+    public PrintableObject get() {
+        String key = Long.toString(ThreadLocalRandom.current().nextInt(this.rows));
+        return this.database.get(DatabaseObjectToken.newToken(PrintableObject.MAPPER, key, TABLE));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void forEach(Blackhole blackhole) {
+        this.database.forEachInTable(TABLE, PrintableObject.MAPPER, blackhole::consume);
+    }
+
+    private static PrintableObject newObject(long key) {
+        return new BasicPrintableObject(key, key % 64, new WebUser(key % 64), false, "files/upload/" + key + ".stl", "part_" + key + ".stl");
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.database;
+
+import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.web.user.WebUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serialization of a print job into the database format and back.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrintableObjectCodecBenchmark {
+
+    private PrintableObject object;
+
+    private byte[] serialized;
+
+    @Setup
+    public void setup() {
+        this.object = new BasicPrintableObject(
+                1583020800000L,
+                42L,
+                new WebUser(42L),
+                true,
+                "files/sliced/1583020800000.gcode",
+                "switch_housing_top_v3.stl"
+        );
+        this.serialized = this.object.serialize();
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return this.object.serialize();
+    }
+
+    @Benchmark
+    public PrintableObject deserialize() {
+        return PrintableObject.MAPPER.apply(this.serialized);
+    }
+
+    @Benchmark
+    public PrintableObject roundTrip() {
+        return PrintableObject.MAPPER.apply(this.object.serialize());
+    }
+}
@@ -0,0 +1,142 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.event;
+
+import de.switchprojects.controller.printer.console.events.ConsoleLogMessageSentEvent;
+import de.switchprojects.controller.printer.events.annotations.Subscribe;
+import de.switchprojects.controller.printer.events.basic.BasicEventManager;
+import de.switchprojects.controller.printer.events.util.EventExecutor;
+import de.switchprojects.controller.printer.events.util.RegisteredListener;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the event dispatch. {@link #callEvent(Dispatch, Blackhole)} calls the console log event, which
+ * is called for every log line, through the {@link BasicEventManager} with a growing amount of listeners.
+ * The other benchmarks compare the cost of one listener call through {@link Method#invoke(Object, Object...)}
+ * with the compiled executors which are used by the manager.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    private final ConsoleLogMessageSentEvent event = new ConsoleLogMessageSentEvent("[12:00:00] INFO: Benchmark");
+
+    private PublicListener publicListener;
+
+    private Method reflectiveMethod;
+
+    private EventExecutor lambdaExecutor;
+
+    private EventExecutor handleExecutor;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        this.publicListener = new PublicListener();
+        this.reflectiveMethod = PublicListener.class.getMethod("handle", ConsoleLogMessageSentEvent.class);
+        this.lambdaExecutor = RegisteredListener.compile(this.publicListener, this.reflectiveMethod);
+
+        PrivateListener privateListener = new PrivateListener();
+        this.handleExecutor = RegisteredListener.compile(
+                privateListener,
+                PrivateListener.class.getDeclaredMethod("handle", ConsoleLogMessageSentEvent.class)
+        );
+    }
+
+    @Benchmark
+    public void callEvent(Dispatch dispatch, Blackhole blackhole) {
+        ConsoleLogMessageSentEvent event = new ConsoleLogMessageSentEvent("[12:00:00] INFO: The print job test.gcode is running!");
+        dispatch.eventManager.callEvent(event);
+        blackhole.consume(event.getLogMessage());
+    }
+
+    @Benchmark
+    public void reflective(Blackhole blackhole) throws Exception {
+        this.reflectiveMethod.invoke(this.publicListener, this.event);
+        blackhole.consume(this.publicListener.calls);
+    }
+
+    @Benchmark
+    public void lambdaMetafactory(Blackhole blackhole) throws Throwable {
+        this.lambdaExecutor.execute(this.event);
+        blackhole.consume(this.publicListener.calls);
+    }
+
+    @Benchmark
+    public void methodHandle(Blackhole blackhole) throws Throwable {
+        this.handleExecutor.execute(this.event);
+        blackhole.consume(this.event);
+    }
+
+    /**
+     * The event manager of the dispatch benchmark, it is in its own state so only the dispatch is run
+     * for every amount of listeners
+     */
+    @State(Scope.Thread)
+    public static class Dispatch {
+
+        @Param({"0", "1", "4", "16"})
+        public int listeners;
+
+        private BasicEventManager eventManager;
+
+        @Setup
+        public void setup() {
+            this.eventManager = new BasicEventManager();
+            for (int i = 0; i < this.listeners; i++) {
+                this.eventManager.registerListener(new PublicListener());
+            }
+        }
+    }
+
+    public static class PublicListener {
+
+        private long calls;
+
+        @Subscribe
+        public void handle(ConsoleLogMessageSentEvent event) {
+            this.calls += event.getLogMessage().length();
+        }
+    }
+
+    private static class PrivateListener {
+
+        private long calls;
+
+        @Subscribe
+        private void handle(ConsoleLogMessageSentEvent event) {
+            this.calls += event.getLogMessage().length();
+        }
+    }
+}
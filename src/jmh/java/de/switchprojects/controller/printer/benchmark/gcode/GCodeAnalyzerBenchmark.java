@@ -0,0 +1,88 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.gcode;
+
+import de.switchprojects.controller.printer.gcode.GCodeAnalyzer;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the analysis of a sliced g-code file which is generated in the layout of the slicer output.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GCodeAnalyzerBenchmark {
+
+    @Param({"16", "128"})
+    public int sizeInMegaBytes;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.file = Files.createTempFile("analyzer-benchmark", ".gcode");
+
+        long target = this.sizeInMegaBytes * 1024L * 1024L;
+        try (BufferedWriter writer = Files.newBufferedWriter(this.file)) {
+            writer.write("M201 X1000 Y1000\nM204 P800 T1500\nM205 X8\nG21\nG90\nM83\nG28\nG92 E0\n");
+
+            long written = 0;
+            for (int layer = 1; written < target; layer++) {
+                String line = String.format(Locale.ROOT, ";LAYER_CHANGE\nG1 Z%.2f F600\n", layer * 0.2);
+                writer.write(line);
+                written += line.length();
+
+                for (int i = 0; i < 500 && written < target; i++) {
+                    line = String.format(Locale.ROOT, "G1 X%.3f Y%.3f E%.5f F1800\n", 100 + Math.sin(i) * 40, 100 + Math.cos(i) * 40, 0.04213);
+                    writer.write(line);
+                    written += line.length();
+                }
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.file);
+    }
+
+    @Benchmark
+    public GCodeAnalysis analyze() throws IOException {
+        return GCodeAnalyzer.analyze(this.file);
+    }
+}
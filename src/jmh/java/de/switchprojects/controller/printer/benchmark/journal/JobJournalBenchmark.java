@@ -0,0 +1,147 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.journal;
+
+import de.switchprojects.controller.printer.benchmark.BenchmarkSupport;
+import de.switchprojects.controller.printer.journal.basic.JournalWriter;
+import de.switchprojects.controller.printer.journal.object.JournalRecord;
+import de.switchprojects.controller.printer.journal.object.JournalRecordType;
+import de.switchprojects.controller.printer.journal.object.JournalRecovery;
+import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.web.user.WebUser;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the cost of one queue transition written to the job journal. With multiple threads the
+ * records are grouped and share one fsync, the time per transition should stay close to one fsync
+ * instead of growing with the amount of threads.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JobJournalBenchmark {
+
+    @Param({"true", "false"})
+    public boolean sync;
+
+    private final AtomicLong keys = new AtomicLong();
+
+    private Path directory;
+
+    private JournalWriter writer;
+
+    private byte[] payload;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("journal-benchmark");
+        this.payload = new BasicPrintableObject(1583020800000L, 42L, new WebUser(42L), false,
+                "files/unsliced/1583020800000-switch_housing_top_v3.stl", "switch_housing_top_v3.stl").serialize();
+
+        this.writer = new JournalWriter(this.directory, this.sync, 10_000);
+        this.writer.recover();
+        this.writer.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.writer.close();
+        BenchmarkSupport.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void appendSingleThread() throws ExecutionException, InterruptedException {
+        this.append();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void appendEightThreads() throws ExecutionException, InterruptedException {
+        this.append();
+    }
+
+    private void append() throws ExecutionException, InterruptedException {
+        String key = Long.toString(this.keys.incrementAndGet());
+        this.writer.append(new JournalRecord(JournalRecordType.SLICE_QUEUED, key, Collections.emptyList(), this.payload)).get();
+        this.writer.append(new JournalRecord(JournalRecordType.SLICE_FAILED, key, Collections.emptyList(), null)).get();
+    }
+
+    /**
+     * Measures the recovery of a journal with the maximum amount of records before a snapshot is taken
+     */
+    @State(Scope.Benchmark)
+    public static class RecoveryState {
+
+        private Path directory;
+
+        @Setup(Level.Trial)
+        public void setup() throws IOException, ExecutionException, InterruptedException {
+            this.directory = Files.createTempDirectory("journal-recovery-benchmark");
+            byte[] payload = new BasicPrintableObject(1583020800000L, 42L, new WebUser(42L), false,
+                    "files/unsliced/1583020800000-switch_housing_top_v3.stl", "switch_housing_top_v3.stl").serialize();
+
+            JournalWriter writer = new JournalWriter(this.directory, false, Integer.MAX_VALUE);
+            writer.recover();
+            writer.start();
+            for (int i = 0; i < 10_000; i++) {
+                writer.append(new JournalRecord(JournalRecordType.SLICE_QUEUED, Integer.toString(i), Collections.emptyList(), payload)).get();
+            }
+
+            writer.close();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            BenchmarkSupport.deleteDirectory(this.directory);
+        }
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public JournalRecovery recover(RecoveryState state) throws IOException {
+        JournalWriter writer = new JournalWriter(state.directory, false, Integer.MAX_VALUE);
+        try {
+            return writer.recover();
+        } finally {
+            writer.start();
+            writer.close();
+        }
+    }
+}
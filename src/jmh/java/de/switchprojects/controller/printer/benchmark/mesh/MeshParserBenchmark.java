@@ -0,0 +1,119 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.mesh;
+
+import de.switchprojects.controller.printer.mesh.io.ObjParser;
+import de.switchprojects.controller.printer.mesh.io.StlParser;
+import de.switchprojects.controller.printer.mesh.object.IndexedMesh;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the parsing of a generated height field mesh in the ascii {@code stl} and the {@code obj}
+ * format, including the merge of the vertices.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MeshParserBenchmark {
+
+    @Param({"100", "400"})
+    public int gridSize;
+
+    private Path stl;
+
+    private Path obj;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.stl = Files.createTempFile("mesh-benchmark", ".stl");
+        this.obj = Files.createTempFile("mesh-benchmark", ".obj");
+
+        try (BufferedWriter stlWriter = Files.newBufferedWriter(this.stl); BufferedWriter objWriter = Files.newBufferedWriter(this.obj)) {
+            stlWriter.write("solid benchmark\n");
+            for (int y = 0; y <= this.gridSize; y++) {
+                for (int x = 0; x <= this.gridSize; x++) {
+                    objWriter.write(String.format(Locale.ROOT, "v %.4f %.4f %.4f\n", x * 0.5, y * 0.5, height(x, y)));
+                }
+            }
+
+            int row = this.gridSize + 1;
+            for (int y = 0; y < this.gridSize; y++) {
+                for (int x = 0; x < this.gridSize; x++) {
+                    int a = y * row + x + 1;
+                    objWriter.write(String.format(Locale.ROOT, "f %d %d %d %d\n", a, a + 1, a + row + 1, a + row));
+
+                    writeFacet(stlWriter, x, y, x + 1, y, x + 1, y + 1);
+                    writeFacet(stlWriter, x, y, x + 1, y + 1, x, y + 1);
+                }
+            }
+
+            stlWriter.write("endsolid benchmark\n");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(this.stl);
+        Files.deleteIfExists(this.obj);
+    }
+
+    @Benchmark
+    public IndexedMesh parseAsciiStl() throws IOException {
+        IndexedMesh mesh = new IndexedMesh(Long.MAX_VALUE);
+        StlParser.parse(this.stl, mesh);
+        return mesh;
+    }
+
+    @Benchmark
+    public IndexedMesh parseObj() throws IOException {
+        IndexedMesh mesh = new IndexedMesh(Long.MAX_VALUE);
+        ObjParser.parse(this.obj, mesh);
+        return mesh;
+    }
+
+    private static void writeFacet(BufferedWriter writer, int ax, int ay, int bx, int by, int cx, int cy) throws IOException {
+        writer.write("facet normal 0 0 1\n outer loop\n");
+        writer.write(String.format(Locale.ROOT, "  vertex %.4f %.4f %.4f\n", ax * 0.5, ay * 0.5, height(ax, ay)));
+        writer.write(String.format(Locale.ROOT, "  vertex %.4f %.4f %.4f\n", bx * 0.5, by * 0.5, height(bx, by)));
+        writer.write(String.format(Locale.ROOT, "  vertex %.4f %.4f %.4f\n", cx * 0.5, cy * 0.5, height(cx, cy)));
+        writer.write(" endloop\nendfacet\n");
+    }
+
+    private static double height(int x, int y) {
+        return 5 + Math.sin(x * 0.1) * Math.cos(y * 0.1) * 2;
+    }
+}
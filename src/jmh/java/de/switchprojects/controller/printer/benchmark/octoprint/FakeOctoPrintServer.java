@@ -0,0 +1,459 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.octoprint;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.javalin.Javalin;
+import io.javalin.http.ConflictResponse;
+import io.javalin.http.Context;
+import io.javalin.http.ForbiddenResponse;
+import io.javalin.http.NotFoundResponse;
+import io.javalin.http.ServiceUnavailableResponse;
+import io.javalin.http.UploadedFile;
+import io.javalin.websocket.WsContext;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A local stand-in for one octoprint instance which implements the parts of the octoprint api used
+ * by the controller: the file upload, selecting and printing a file, deleting it, the printer, job
+ * and connection state, the passive login and the push socket. A print takes a simulated time which
+ * depends on the size of the uploaded g-code file, the state is pushed to the socket when it changes
+ * and periodically like octoprint does. Every api request can get delayed and can fail randomly with
+ * a {@code 503} before it is handled, so the retries and the circuit breaker of the transport are
+ * used like against a flaky printer.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class FakeOctoPrintServer {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private static final long PUSH_INTERVAL = 500;
+
+    /**
+     * Creates a new server, it has to get started using {@link #start()}
+     *
+     * @param apiKey            The api key the requests have to use
+     * @param latency           The time in millis every api request is delayed
+     * @param failureRate       The chance between {@code 0} and {@code 1} that an api request fails with a {@code 503}
+     * @param printMillisPerKiB The simulated print time in millis per KiB of the printed g-code file
+     * @param seed              The seed of the failure injection, so a run can get repeated
+     */
+    public FakeOctoPrintServer(@NotNull String apiKey, long latency, double failureRate, double printMillisPerKiB, long seed) {
+        this.apiKey = apiKey;
+        this.latency = latency;
+        this.failureRate = failureRate;
+        this.printMillisPerKiB = printMillisPerKiB;
+        this.random = new Random(seed);
+    }
+
+    private final String apiKey;
+
+    private final long latency;
+
+    private final double failureRate;
+
+    private final double printMillisPerKiB;
+
+    private final Random random;
+
+    private final Map<String, Long> files = new ConcurrentHashMap<>();
+
+    private final Set<WsContext> sessions = new CopyOnWriteArraySet<>();
+
+    private final Set<String> printedFiles = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong uploads = new AtomicLong();
+
+    private final AtomicLong uploadedBytes = new AtomicLong();
+
+    private final AtomicLong printsStarted = new AtomicLong();
+
+    private final AtomicLong printsFinished = new AtomicLong();
+
+    private final AtomicLong duplicatePrints = new AtomicLong();
+
+    private final AtomicLong deletes = new AtomicLong();
+
+    private final AtomicLong injectedFailures = new AtomicLong();
+
+    private ScheduledExecutorService scheduler;
+
+    private Javalin server;
+
+    private boolean connected = true;
+
+    private boolean printing;
+
+    private String jobName;
+
+    private long jobStart;
+
+    private long jobDuration;
+
+    private long jobId;
+
+    /**
+     * Starts the server on a random free port
+     */
+    public synchronized void start() {
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Fake-OctoPrint-Scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleAtFixedRate(this::push, PUSH_INTERVAL, PUSH_INTERVAL, TimeUnit.MILLISECONDS);
+
+        this.server = Javalin.create()
+                .before("/api/*", this::handleRequest)
+                .get("/api/connection", this::getConnection)
+                .post("/api/connection", this::postConnection)
+                .post("/api/login", context -> context.json(MAPPER.createObjectNode()
+                        .put("name", "_api")
+                        .put("session", Long.toHexString(this.random())))
+                )
+                .get("/api/printer", this::getPrinter)
+                .get("/api/job", this::getJob)
+                .post("/api/files/local", this::upload)
+                .post("/api/files/local/:name", this::fileCommand)
+                .delete("/api/files/local/:name", this::delete)
+                .ws("/sockjs/websocket", ws -> {
+                    ws.onConnect(context -> {
+                        this.sessions.add(context);
+                        this.push();
+                    });
+                    ws.onClose(context -> this.sessions.remove(context));
+                    ws.onError(context -> this.sessions.remove(context));
+                })
+                .start(0);
+    }
+
+    /**
+     * Stops the server and closes all push sockets
+     */
+    public synchronized void stop() {
+        this.sessions.clear();
+        if (this.server != null) {
+            this.server.stop();
+            this.server = null;
+        }
+
+        if (this.scheduler != null) {
+            this.scheduler.shutdownNow();
+            this.scheduler = null;
+        }
+    }
+
+    /**
+     * @return The port the server is listening on
+     */
+    public int getPort() {
+        return this.server.port();
+    }
+
+    /**
+     * @return If a print is running right now
+     */
+    public synchronized boolean isPrinting() {
+        return this.printing;
+    }
+
+    public long getUploads() {
+        return this.uploads.get();
+    }
+
+    public long getUploadedBytes() {
+        return this.uploadedBytes.get();
+    }
+
+    public long getPrintsStarted() {
+        return this.printsStarted.get();
+    }
+
+    public long getPrintsFinished() {
+        return this.printsFinished.get();
+    }
+
+    /**
+     * @return The amount of prints which were started for a file name which was printed before
+     */
+    public long getDuplicatePrints() {
+        return this.duplicatePrints.get();
+    }
+
+    public long getDeletes() {
+        return this.deletes.get();
+    }
+
+    public long getInjectedFailures() {
+        return this.injectedFailures.get();
+    }
+
+    private void handleRequest(Context context) throws InterruptedException {
+        if (!this.apiKey.equals(context.header("X-Api-Key"))) {
+            throw new ForbiddenResponse("Invalid API key");
+        }
+
+        if (this.latency > 0) {
+            Thread.sleep(this.latency);
+        }
+
+        if (this.failureRate > 0 && this.randomChance() < this.failureRate) {
+            this.injectedFailures.incrementAndGet();
+            throw new ServiceUnavailableResponse("Injected failure");
+        }
+    }
+
+    private void getConnection(Context context) {
+        ObjectNode result = MAPPER.createObjectNode();
+        synchronized (this) {
+            result.putObject("current")
+                    .put("state", this.connected ? this.printing ? "Printing" : "Operational" : "Closed")
+                    .put("port", "/dev/ttyFAKE0");
+        }
+
+        context.json(result);
+    }
+
+    private void postConnection(Context context) throws IOException {
+        String command = MAPPER.readTree(context.body()).path("command").asText();
+        synchronized (this) {
+            if (command.equals("connect")) {
+                this.connected = true;
+            } else if (command.equals("disconnect")) {
+                this.connected = false;
+                this.finish(this.jobId);
+            }
+
+            this.push();
+        }
+
+        context.status(204);
+    }
+
+    private void getPrinter(Context context) {
+        ObjectNode result = MAPPER.createObjectNode();
+        synchronized (this) {
+            if (!this.connected) {
+                throw new ConflictResponse("Printer is not operational");
+            }
+
+            result.set("state", this.createState());
+        }
+
+        context.json(result);
+    }
+
+    private void getJob(Context context) {
+        ObjectNode result = MAPPER.createObjectNode();
+        synchronized (this) {
+            this.writeJob(result);
+            result.put("state", this.createState().path("text").asText());
+        }
+
+        context.json(result);
+    }
+
+    private void upload(Context context) throws IOException {
+        UploadedFile file = context.uploadedFile("file");
+        if (file == null) {
+            context.status(400).result("No file included");
+            return;
+        }
+
+        long size = 0;
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = file.getContent()) {
+            int read;
+            while ((read = inputStream.read(buffer)) != -1) {
+                size += read;
+            }
+        }
+
+        this.files.put(file.getFilename(), size);
+        this.uploads.incrementAndGet();
+        this.uploadedBytes.addAndGet(size);
+
+        ObjectNode result = MAPPER.createObjectNode().put("done", true);
+        result.putObject("files").putObject("local")
+                .put("name", file.getFilename())
+                .put("origin", "local");
+        context.status(201).json(result);
+    }
+
+    private void fileCommand(Context context) throws IOException {
+        String name = context.pathParam("name");
+        Long size = this.files.get(name);
+        if (size == null) {
+            throw new NotFoundResponse("File not found");
+        }
+
+        JsonNode command = MAPPER.readTree(context.body());
+        if (!command.path("command").asText().equals("select")) {
+            context.status(400).result("Unknown command");
+            return;
+        }
+
+        if (command.path("print").asBoolean(false)) {
+            synchronized (this) {
+                if (!this.connected || this.printing) {
+                    throw new ConflictResponse("Printer is not operational or already printing");
+                }
+
+                long id = ++this.jobId;
+                this.printing = true;
+                this.jobName = name;
+                this.jobStart = System.currentTimeMillis();
+                this.jobDuration = (long) (size / 1024D * this.printMillisPerKiB);
+
+                this.printsStarted.incrementAndGet();
+                if (!this.printedFiles.add(name)) {
+                    this.duplicatePrints.incrementAndGet();
+                }
+
+                this.push();
+                this.scheduler.schedule(() -> this.finish(id), this.jobDuration, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        context.status(204);
+    }
+
+    private void delete(Context context) {
+        String name = context.pathParam("name");
+        synchronized (this) {
+            if (this.printing && name.equals(this.jobName)) {
+                throw new ConflictResponse("Trying to delete a file that is currently being printed");
+            }
+        }
+
+        if (this.files.remove(name) == null) {
+            throw new NotFoundResponse("File not found");
+        }
+
+        this.deletes.incrementAndGet();
+        context.status(204);
+    }
+
+    private synchronized void finish(long id) {
+        if (!this.printing || this.jobId != id) {
+            return;
+        }
+
+        this.printing = false;
+        this.printsFinished.incrementAndGet();
+        this.push();
+    }
+
+    /**
+     * Sends the current state to all push sockets. The state is sent while holding the lock, so the
+     * sockets receive the states in the same order they changed.
+     */
+    private synchronized void push() {
+        Collection<WsContext> sessions = this.sessions;
+        if (sessions.isEmpty()) {
+            return;
+        }
+
+        ObjectNode current = MAPPER.createObjectNode();
+        current.set("state", this.createState());
+        this.writeJob(current);
+
+        String message;
+        try {
+            message = MAPPER.writeValueAsString(MAPPER.createObjectNode().set("current", current));
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            return;
+        }
+
+        for (WsContext session : sessions) {
+            if (session.session.isOpen()) {
+                session.send(message);
+            }
+        }
+    }
+
+    private ObjectNode createState() {
+        ObjectNode state = MAPPER.createObjectNode()
+                .put("text", !this.connected ? "Offline" : this.printing ? "Printing" : "Operational");
+        state.putObject("flags")
+                .put("operational", this.connected)
+                .put("printing", this.printing)
+                .put("paused", false)
+                .put("pausing", false)
+                .put("cancelling", false)
+                .put("finishing", false)
+                .put("resuming", false)
+                .put("error", false)
+                .put("closedOrError", !this.connected)
+                .put("ready", this.connected && !this.printing);
+        return state;
+    }
+
+    private void writeJob(ObjectNode target) {
+        ObjectNode file = target.putObject("job").putObject("file");
+        ObjectNode progress = target.putObject("progress");
+        if (this.jobName == null) {
+            file.putNull("name");
+            progress.putNull("completion").putNull("printTime").putNull("printTimeLeft");
+            return;
+        }
+
+        file.put("name", this.jobName).put("origin", "local");
+
+        long elapsed = this.printing ? System.currentTimeMillis() - this.jobStart : this.jobDuration;
+        progress.put("completion", this.jobDuration == 0 ? 100D : Math.min(100D, elapsed * 100D / this.jobDuration))
+                .put("printTime", TimeUnit.MILLISECONDS.toSeconds(elapsed))
+                .put("printTimeLeft", TimeUnit.MILLISECONDS.toSeconds(Math.max(0, this.jobDuration - elapsed)));
+    }
+
+    private double randomChance() {
+        synchronized (this.random) {
+            return this.random.nextDouble();
+        }
+    }
+
+    private long random() {
+        synchronized (this.random) {
+            return this.random.nextLong();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.octoprint;
+
+import de.switchprojects.controller.printer.benchmark.BenchmarkSupport;
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.octoprint.upload.FileUploadCommand;
+import io.javalin.Javalin;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the upload of a g-code file with the {@link FileUploadCommand} against a local http server
+ * which stands in for the octoprint file api and only drains the request body.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FileUploadBenchmark {
+
+    @Param({"1", "32"})
+    public int sizeInMegaBytes;
+
+    private final AtomicLong received = new AtomicLong();
+
+    private Javalin server;
+
+    private Path file;
+
+    private FileUploadCommand command;
+
+    private PrintStream originalOut;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.server = Javalin.create().post("/api/files/local", context -> {
+            byte[] buffer = new byte[64 * 1024];
+            try (InputStream inputStream = context.req.getInputStream()) {
+                int read;
+                while ((read = inputStream.read(buffer)) != -1) {
+                    this.received.addAndGet(read);
+                }
+            }
+
+            context.status(201);
+        }).start(0);
+
+        this.file = Files.createTempFile("upload-benchmark", ".gcode");
+        byte[] chunk = new byte[1024 * 1024];
+        Random random = new Random(42);
+        try (OutputStream outputStream = Files.newOutputStream(this.file)) {
+            for (int i = 0; i < this.sizeInMegaBytes; i++) {
+                random.nextBytes(chunk);
+                outputStream.write(chunk);
+            }
+        }
+
+        this.command = new FileUploadCommand(new OctoPrintTransport("benchmark", "127.0.0.1", this.server.port(), "benchmark"));
+
+        // the upload reports its progress on System.out which would flood the benchmark output
+        this.originalOut = System.out;
+        System.setOut(new PrintStream(BenchmarkSupport.nullOutputStream()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        System.setOut(this.originalOut);
+        this.server.stop();
+        Files.deleteIfExists(this.file);
+
+        if (this.received.get() < this.sizeInMegaBytes * 1024L * 1024L) {
+            throw new IllegalStateException("The stand-in server did not receive the uploaded file");
+        }
+    }
+
+    @Benchmark
+    public void upload() throws IOException {
+        this.command.uploadFile(this.file.toFile());
+    }
+}
@@ -0,0 +1,349 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.benchmark.queue;
+
+import de.switchprojects.controller.printer.benchmark.BenchmarkSupport;
+import de.switchprojects.controller.printer.benchmark.octoprint.FakeOctoPrintServer;
+import de.switchprojects.controller.printer.database.DatabaseDriver;
+import de.switchprojects.controller.printer.database.basic.H2DatabaseDriver;
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.journal.JobJournal;
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.queue.PrintQueue;
+import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.SliceQueue;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngine;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngines;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceRequest;
+import de.switchprojects.controller.printer.web.user.WebUser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pushes a batch of jobs through the whole pipeline from the {@link SliceQueue} over the
+ * {@link PrintQueue} to the printers and measures the time until all of them are printed. Every
+ * printer is a {@link FakeOctoPrintServer} with its own transport, state tracker and print queue
+ * like in production. The slicer is replaced by an engine which copies a generated g-code file, so
+ * the slicer process is still started for every job but does not dominate the result. An operator
+ * thread cleans every printer as soon as its print is done.
+ * <p>
+ * Run it with {@code -PjmhArgs="PipelineThroughput -p jobs=5000 -p failureRate=0.1"} to change the load.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+public class PipelineThroughputBenchmark {
+
+    private static final String ENGINE = "benchmark";
+
+    private static final String API_KEY = "benchmark";
+
+    private static final long OPERATOR_INTERVAL = 5;
+
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(30);
+
+    @Param({"1000"})
+    public int jobs;
+
+    @Param({"1", "4"})
+    public int printers;
+
+    @Param({"0", "0.05"})
+    public double failureRate;
+
+    @Param({"0"})
+    public long latency;
+
+    @Param({"64"})
+    public int gcodeKiB;
+
+    @Param({"0.25"})
+    public double printMillisPerKiB;
+
+    private final List<FakeOctoPrintServer> servers = new ArrayList<>();
+
+    private final List<Printer> fleet = new ArrayList<>();
+
+    private final List<PrintQueue> printQueues = new ArrayList<>();
+
+    private final List<PrintableObject> batch = new ArrayList<>();
+
+    private Path directory;
+
+    private DatabaseDriver database;
+
+    private Thread operator;
+
+    private PrintStream originalOut;
+
+    private boolean createdSlicerDirectory;
+
+    private long nextRequestTime = System.currentTimeMillis();
+
+    private long finishedTarget;
+
+    private long batchStart;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        this.directory = Files.createTempDirectory("pipeline-benchmark");
+        Files.createDirectories(this.directory.resolve("upload"));
+
+        // the queues read their configuration once when they are loaded, so it has to be set before anything else is touched
+        System.setProperty("plate.packing", "false");
+        System.setProperty("slicer.engine", ENGINE);
+        System.setProperty("slicer.cache.directory", this.directory.resolve("slice-cache").toString());
+        System.setProperty("journal.directory", this.directory.resolve("journal").toString());
+
+        // an existing slicer directory prevents the slice queue from unpacking the bundled slicer
+        File slicerDirectory = new File("slicer");
+        if (!slicerDirectory.exists()) {
+            this.createdSlicerDirectory = slicerDirectory.mkdirs();
+        }
+
+        this.database = new H2DatabaseDriver();
+        if (!this.database.connect(() -> "jdbc:h2:" + this.directory.resolve("database").toAbsolutePath())) {
+            throw new IllegalStateException("Unable to open benchmark database");
+        }
+
+        BenchmarkSupport.installApi(this.database);
+        this.database.createTable(PrintableObject.SCHEMA);
+
+        Path template = this.directory.resolve("template.gcode");
+        writeGCode(template, this.gcodeKiB * 1024L);
+        SlicerEngines.register(new CopySlicerEngine(template, this.directory.toFile()));
+
+        // the queues are printing every step on System.out which would flood the benchmark output
+        this.originalOut = System.out;
+        System.setOut(new PrintStream(BenchmarkSupport.nullOutputStream()));
+
+        JobJournal.open();
+        SliceQueue.start();
+
+        for (int i = 0; i < this.printers; i++) {
+            FakeOctoPrintServer server = new FakeOctoPrintServer(API_KEY, this.latency, this.failureRate, this.printMillisPerKiB, i);
+            server.start();
+
+            Printer printer = new Printer("printer-" + i, new OctoPrintTransport("printer-" + i, "127.0.0.1", server.getPort(), API_KEY));
+            printer.start();
+
+            // the print queue never leaves its loop, so it must not keep the forked vm alive
+            PrintQueue printQueue = new PrintQueue(printer);
+            printQueue.setDaemon(true);
+            printQueue.start();
+
+            this.servers.add(server);
+            this.fleet.add(printer);
+            this.printQueues.add(printQueue);
+        }
+
+        this.operator = new Thread(this::cleanPrinters, "Benchmark-Operator");
+        this.operator.setDaemon(true);
+        this.operator.start();
+    }
+
+    @Setup(Level.Iteration)
+    public void createBatch() throws IOException {
+        this.batch.clear();
+        for (int i = 0; i < this.jobs; i++) {
+            long requestTime = this.nextRequestTime++;
+
+            // every object has a different content, otherwise all but the first one would be taken from the slice cache
+            Path file = this.directory.resolve("upload").resolve(requestTime + ".stl");
+            Files.write(file, ("solid job_" + requestTime + "\nendsolid job_" + requestTime + "\n").getBytes(StandardCharsets.UTF_8));
+
+            this.batch.add(new BasicPrintableObject(requestTime, requestTime % 64, new WebUser(requestTime % 64), false,
+                    file.toString(), "job_" + requestTime + ".stl"));
+        }
+
+        this.finishedTarget = this.getPrintsFinished() + this.jobs;
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportBatch() {
+        double seconds = (System.nanoTime() - this.batchStart) / (double) TimeUnit.SECONDS.toNanos(1);
+        this.originalOut.println(String.format(
+                Locale.ROOT,
+                "%n%d jobs printed in %.2fs (%.1f jobs/s), %d uploads, %d injected failures and %d duplicate prints since the start",
+                this.jobs,
+                seconds,
+                this.jobs / seconds,
+                this.servers.stream().mapToLong(FakeOctoPrintServer::getUploads).sum(),
+                this.servers.stream().mapToLong(FakeOctoPrintServer::getInjectedFailures).sum(),
+                this.servers.stream().mapToLong(FakeOctoPrintServer::getDuplicatePrints).sum()
+        ));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        this.operator.interrupt();
+        this.printQueues.forEach(Thread::interrupt);
+        this.fleet.forEach(Printer::close);
+        this.servers.forEach(FakeOctoPrintServer::stop);
+        SliceQueue.getWorkers().forEach(Thread::interrupt);
+
+        JobJournal.close();
+        this.database.close();
+        System.setOut(this.originalOut);
+
+        if (this.createdSlicerDirectory) {
+            BenchmarkSupport.deleteDirectory(new File("slicer").toPath());
+        }
+
+        BenchmarkSupport.deleteDirectory(this.directory);
+    }
+
+    @Benchmark
+    public long pipeline() throws InterruptedException {
+        this.batchStart = System.nanoTime();
+        for (PrintableObject object : this.batch) {
+            SliceQueue.queue(object);
+        }
+
+        long deadline = System.currentTimeMillis() + TIMEOUT;
+        long finished;
+        while ((finished = this.getPrintsFinished()) < this.finishedTarget) {
+            if (System.currentTimeMillis() > deadline) {
+                throw new IllegalStateException("Only " + (this.jobs - this.finishedTarget + finished) + " of " + this.jobs
+                        + " jobs were printed within " + TimeUnit.MILLISECONDS.toMinutes(TIMEOUT) + " minutes");
+            }
+
+            Thread.sleep(1);
+        }
+
+        return finished;
+    }
+
+    private long getPrintsFinished() {
+        return this.servers.stream().mapToLong(FakeOctoPrintServer::getPrintsFinished).sum();
+    }
+
+    /**
+     * Cleans every printer whose print is done, like the operator would do using the cleaned command
+     */
+    private void cleanPrinters() {
+        while (!Thread.currentThread().isInterrupted()) {
+            for (int i = 0; i < this.fleet.size(); i++) {
+                Printer printer = this.fleet.get(i);
+                if (!printer.isCleaned() && !this.servers.get(i).isPrinting()) {
+                    printer.setCleaned(true);
+                    printer.wakeUp();
+                }
+            }
+
+            try {
+                Thread.sleep(OPERATOR_INTERVAL);
+            } catch (final InterruptedException ex) {
+                break;
+            }
+        }
+    }
+
+    private static void writeGCode(Path target, long size) throws IOException {
+        try (Writer writer = Files.newBufferedWriter(target, StandardCharsets.UTF_8)) {
+            writer.write(";FLAVOR:Marlin\nG28\nG92 E0\n");
+
+            long written = 0;
+            for (int layer = 1; written < size; layer++) {
+                writer.write(String.format(Locale.ROOT, ";LAYER:%d\nG1 Z%.2f F600\n", layer - 1, layer * 0.2));
+                for (int move = 0; move < 100 && written < size; move++) {
+                    String line = String.format(Locale.ROOT, "G1 X%.3f Y%.3f E%.5f F1800\n", 20D + move % 50, 20D + layer % 50, move * 0.05);
+                    writer.write(line);
+                    written += line.length();
+                }
+            }
+        }
+    }
+
+    /**
+     * A slicer engine which copies the template g-code file to the output instead of slicing the object
+     */
+    private static final class CopySlicerEngine implements SlicerEngine {
+
+        private CopySlicerEngine(Path template, File workingDirectory) {
+            this.template = template;
+            this.workingDirectory = workingDirectory;
+        }
+
+        private final Path template;
+
+        private final File workingDirectory;
+
+        @Override
+        public @NotNull String getName() {
+            return ENGINE;
+        }
+
+        @Override
+        public @NotNull String getVersion() {
+            return "1";
+        }
+
+        @Override
+        public @NotNull Path getProfile() {
+            return this.template;
+        }
+
+        @Override
+        public @NotNull File getWorkingDirectory() {
+            return this.workingDirectory;
+        }
+
+        @Override
+        public void warmUp() {
+        }
+
+        @Override
+        public @NotNull List<String> createCommand(@NotNull SliceRequest request) {
+            return Arrays.asList("cp", this.template.toString(), request.getOutput().toString());
+        }
+
+        @Override
+        public @Nullable SliceProgress parseProgress(@NotNull String line) {
+            return null;
+        }
+    }
+}
@@ -31,6 +31,7 @@ import de.switchprojects.controller.printer.commands.basic.commands.CleanedComma
 import de.switchprojects.controller.printer.commands.basic.commands.HelpCommand;
 import de.switchprojects.controller.printer.commands.basic.commands.QueueCommand;
 import de.switchprojects.controller.printer.commands.basic.commands.StopCommand;
+import de.switchprojects.controller.printer.commands.basic.commands.TraceCommand;
 import de.switchprojects.controller.printer.console.TerminalConsole;
 import de.switchprojects.controller.printer.console.basic.BasicTerminalConsole;
 import de.switchprojects.controller.printer.console.reader.TerminalReaderThread;
@@ -40,7 +41,10 @@ import de.switchprojects.controller.printer.database.basic.H2DatabaseDriver;
 import de.switchprojects.controller.printer.discord.DiscordModule;
 import de.switchprojects.controller.printer.events.EventManager;
 import de.switchprojects.controller.printer.events.basic.BasicEventManager;
-import de.switchprojects.controller.printer.octoprint.OctoPrintHelper;
+import de.switchprojects.controller.printer.fleet.PrinterRegistry;
+import de.switchprojects.controller.printer.journal.JobJournal;
+import de.switchprojects.controller.printer.journal.object.JournalRecovery;
+import de.switchprojects.controller.printer.metrics.JvmMetrics;
 import de.switchprojects.controller.printer.queue.PrintQueue;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
 import de.switchprojects.controller.printer.slicer.SliceQueue;
@@ -84,53 +88,71 @@ public final class PrinterController implements ExecutorAPI {
         this.databaseDriver.connect(new H2DatabaseConfig());
         System.out.println("Connected to H2 database");
 
+        // the journal has to be open before jobs can get uploaded or moved by the queue threads
+        System.out.println("Loading unfinished jobs from journal...");
+        this.databaseDriver.createTable(PrintableObject.SCHEMA);
+
+        JournalRecovery recovery;
+        try {
+            recovery = JobJournal.open();
+        } catch (final IOException ex) {
+            throw new RuntimeException("Unable to recover the job journal", ex);
+        }
+
+        if (recovery.isFresh()) {
+            // the journal is created on the first start, the jobs of the job table are written to it once
+            this.databaseDriver.forEachInTable("jobs", PrintableObject.MAPPER, next -> {
+                if (next == null) {
+                    return;
+                }
+
+                if (next.isSliced()) {
+                    JobJournal.sliced(next);
+                    PrintQueue.queue(next);
+                    return;
+                }
+
+                JobJournal.queued(next);
+                SliceQueue.queueExisting(next);
+            });
+        } else {
+            recovery.getSliceQueue().forEach(SliceQueue::queueExisting);
+            recovery.getPrintQueue().forEach(PrintQueue::queue);
+        }
+
+        System.out.println("Successfully loaded " + SliceQueue.QUEUE.size() + " unsliced and " + PrintQueue.QUEUE.size()
+                + " sliced jobs (" + recovery.getSnapshotJobs() + " from snapshot, " + recovery.getReplayedRecords()
+                + " records replayed in " + recovery.getDurationMillis() + "ms)");
+
         System.out.println("Loading discord module...");
         DiscordModule.init(System.getProperty("module.discord.bot.token"));
         System.out.println("Loaded discord module successfully and established connection to discord");
 
+        JvmMetrics.register();
+
         System.out.println("Loading web module...");
         JavalinWebModule.init(System.getProperty("web.token"));
         System.out.println("Loaded web module and bound web server to port 7000");
 
         System.out.println("Opening connection to octoprint...");
-        OctoPrintHelper.connect(
-                System.getProperty("printer.host"),
-                Integer.parseInt(System.getProperty("printer.port")),
-                System.getProperty("printer.api.key")
-        );
-        this.jobRunning = OctoPrintHelper.isPrintJobRunning();
-        System.out.println("Opened connection to octoprint successfully");
+        PrinterRegistry.load();
+        System.out.println("Opened connection to " + PrinterRegistry.getPrinters().size() + " octoprint instances successfully");
 
         System.out.println("Starting terminal console");
         new TerminalReaderThread(this.terminalConsole).start();
         System.out.println("Started terminal console successfully");
 
         System.out.println("Starting up queue threads...");
-        new PrintQueue().start();
-        new SliceQueue().start();
+        PrinterRegistry.getPrinters().forEach(printer -> new PrintQueue(printer).start());
+        SliceQueue.start();
         System.out.println("Started up queue threads successfully");
 
-        System.out.println("Loading unfinished jobs from database...");
-        this.databaseDriver.createTable("jobs");
-        this.databaseDriver.forEachInTable("jobs", PrintableObject.MAPPER, next -> {
-            if (next == null) {
-                return;
-            }
-
-            if (next.isSliced()) {
-                PrintQueue.queue(next);
-                return;
-            }
-
-            SliceQueue.queueExisting(next);
-        });
-        System.out.println("Successfully loaded all unfinished jobs from database");
-
         System.out.println("Registering all default commands...");
         this.commandMap.registerCommand(new StopCommand());
         this.commandMap.registerCommand(new HelpCommand());
         this.commandMap.registerCommand(new CleanedCommand());
         this.commandMap.registerCommand(new QueueCommand());
+        this.commandMap.registerCommand(new TraceCommand());
         System.out.println("Registered " + GlobalAPI.getCommandMap().getRegisteredCommands().size() + " commands");
 
         System.out.println("Starting system ticker");
@@ -147,8 +169,6 @@ public final class PrinterController implements ExecutorAPI {
 
     private final TerminalConsole terminalConsole;
 
-    private boolean jobRunning;
-
     @Override
     public @NotNull EventManager getEventManager() {
         return this.eventManager;
@@ -169,16 +189,6 @@ public final class PrinterController implements ExecutorAPI {
         return this.userManagements.stream().filter(e -> e.getHandlingType().equals(userType)).findFirst().orElse(null);
     }
 
-    @Override
-    public boolean isReadyForNext() {
-        return !this.jobRunning;
-    }
-
-    @Override
-    public void setIsReadyForNext(boolean ready) {
-        this.jobRunning = !ready;
-    }
-
     public Collection<UserManagement> getUserManagements() {
         return userManagements;
     }
@@ -187,6 +197,8 @@ public final class PrinterController implements ExecutorAPI {
         this.terminalConsole.close();
         DiscordModule.close();
         JavalinWebModule.close();
+        PrinterRegistry.close();
+        JobJournal.close();
         this.databaseDriver.close();
     }
 }
@@ -26,6 +26,9 @@ package de.switchprojects.controller.printer.commands;
 import de.switchprojects.controller.printer.commands.source.CommandSource;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collections;
+import java.util.List;
+
 /**
  * Represents a command which can get executed from the console or any other source.
  *
@@ -60,4 +63,15 @@ public interface Command {
      * @param strings     All parsed arguments from the command line
      */
     void execute(@NotNull CommandSource source, @NotNull String commandLine, @NotNull String[] strings);
+
+    /**
+     * Suggests the values for the last argument which is currently typed
+     *
+     * @param strings The arguments typed so far, the last one is the argument which gets completed and may be empty
+     * @return The values which may be used for the last argument
+     */
+    @NotNull
+    default List<String> complete(@NotNull String[] strings) {
+        return Collections.emptyList();
+    }
 }
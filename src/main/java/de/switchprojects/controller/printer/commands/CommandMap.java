@@ -25,8 +25,10 @@ package de.switchprojects.controller.printer.commands;
 
 import de.switchprojects.controller.printer.commands.source.CommandSource;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.Collection;
+import java.util.List;
 
 /**
  * Represents a command map which holds all commands and dispatches them when a user typed a command
@@ -70,6 +72,23 @@ public interface CommandMap {
      */
     boolean dispatchCommand(@NotNull CommandSource source, @NotNull String commandLine);
 
+    /**
+     * Gets a registered command by its name or one of its aliases, ignoring the case
+     *
+     * @param label The name or alias of the command
+     * @return The command or {@code null} if there is no command with the given name or alias
+     */
+    @Nullable Command getCommand(@NotNull String label);
+
+    /**
+     * Gets the names and aliases of all registered commands which start with the given prefix,
+     * ignoring the case
+     *
+     * @param prefix The prefix typed by the user
+     * @return The matching names and aliases in alphabetical order
+     */
+    @NotNull List<String> getCommandLabels(@NotNull String prefix);
+
     /**
      * Get all currently registered commands
      *
@@ -28,15 +28,27 @@ import de.switchprojects.controller.printer.commands.Command;
 import de.switchprojects.controller.printer.commands.CommandMap;
 import de.switchprojects.controller.printer.commands.event.CommandPreProcessEvent;
 import de.switchprojects.controller.printer.commands.source.CommandSource;
+import de.switchprojects.controller.printer.commands.util.CommandLineTokenizer;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 
 /**
- * A basic implantation of a command map.
+ * A basic implantation of a command map. The names and aliases of the commands are indexed in lower
+ * case, the index is rebuilt when a command is registered or unregistered, so a lookup does not depend
+ * on the amount of registered commands. If two commands use the same name or alias, the command which
+ * was registered first is used.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
@@ -45,44 +57,86 @@ public class BasicCommandMap implements CommandMap {
 
     private final Collection<Command> commands = new CopyOnWriteArrayList<>();
 
+    private volatile Map<String, Command> index = Collections.emptyMap();
+
+    private volatile NavigableMap<String, String> labels = Collections.emptyNavigableMap();
+
     @Override
-    public void registerCommand(@NotNull Command command) {
+    public synchronized void registerCommand(@NotNull Command command) {
         this.commands.add(command);
+        this.rebuildIndex();
     }
 
     @Override
-    public void unregisterCommand(@NotNull String commandName) {
-        this.commands.stream().filter(e -> e.getCommandName().equals(commandName)).forEach(commands::remove);
+    public synchronized void unregisterCommand(@NotNull String commandName) {
+        if (this.commands.removeIf(e -> e.getCommandName().equals(commandName))) {
+            this.rebuildIndex();
+        }
     }
 
     @Override
     public boolean dispatchCommand(@NotNull CommandSource source, @NotNull String commandLine) {
-        String[] split = commandLine.split(" ");
-        Optional<Command> command = findMatching(split[0]);
-        if (!command.isPresent()) {
+        String[] split = CommandLineTokenizer.tokenize(commandLine);
+        if (split.length == 0) {
+            return false;
+        }
+
+        Command command = this.getCommand(split[0]);
+        if (command == null) {
             return false;
         }
 
         String[] strings = split.length == 1 ? new String[0] : Arrays.copyOfRange(split, 1, split.length);
-        CommandPreProcessEvent event = new CommandPreProcessEvent(command.get(), strings);
+        CommandPreProcessEvent event = new CommandPreProcessEvent(command, strings);
         GlobalAPI.getEventManager().callEvent(event);
         if (event.isCancelled()) {
             return true;
         }
 
-        command.get().execute(source, commandLine, strings);
+        command.execute(source, commandLine, strings);
         return true;
     }
 
+    @Override
+    public @Nullable Command getCommand(@NotNull String label) {
+        return this.index.get(fold(label));
+    }
+
+    @Override
+    public @NotNull List<String> getCommandLabels(@NotNull String prefix) {
+        String folded = fold(prefix);
+        return new ArrayList<>(this.labels.subMap(folded, true, folded + Character.MAX_VALUE, false).values());
+    }
+
     @Override
     public @NotNull Collection<Command> getRegisteredCommands() {
-        return this.commands;
+        return Collections.unmodifiableCollection(this.commands);
+    }
+
+    private void rebuildIndex() {
+        Map<String, Command> index = new HashMap<>();
+        NavigableMap<String, String> labels = new TreeMap<>();
+
+        for (Command command : this.commands) {
+            this.indexLabel(index, labels, command, command.getCommandName());
+            for (String alias : command.getAliases()) {
+                this.indexLabel(index, labels, command, alias);
+            }
+        }
+
+        this.index = index;
+        this.labels = Collections.unmodifiableNavigableMap(labels);
+    }
+
+    private void indexLabel(Map<String, Command> index, NavigableMap<String, String> labels, Command command, String label) {
+        String folded = fold(label);
+        if (index.putIfAbsent(folded, command) == null) {
+            labels.put(folded, label);
+        }
     }
 
-    private Optional<Command> findMatching(String commandLabel) {
-        return this.commands.stream()
-                .filter(e -> e.getCommandName().equalsIgnoreCase(commandLabel)
-                        || Arrays.stream(e.getAliases()).anyMatch(alias -> alias.equalsIgnoreCase(commandLabel)))
-                .findFirst();
+    private static String fold(String label) {
+        // returns the same string if it is already lower case, which is the case for most typed commands
+        return label.toLowerCase(Locale.ROOT);
     }
 }
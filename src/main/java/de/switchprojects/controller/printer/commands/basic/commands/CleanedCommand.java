@@ -23,12 +23,15 @@
  */
 package de.switchprojects.controller.printer.commands.basic.commands;
 
-import de.switchprojects.controller.printer.api.GlobalAPI;
 import de.switchprojects.controller.printer.commands.basic.BasicCommand;
 import de.switchprojects.controller.printer.commands.source.CommandSource;
-import de.switchprojects.controller.printer.octoprint.OctoPrintHelper;
+import de.switchprojects.controller.printer.fleet.PrinterRegistry;
+import de.switchprojects.controller.printer.fleet.object.Printer;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.Collection;
+import java.util.stream.Collectors;
+
 /**
  * @author Pasqual Koschmieder
  * @since 1.0
@@ -36,22 +39,38 @@ import org.jetbrains.annotations.NotNull;
 public class CleanedCommand extends BasicCommand {
 
     public CleanedCommand() {
-        super("cleaned", new String[]{"ready"}, "Sets the status if the printer is ready to print");
+        super("cleaned", new String[]{"ready"}, "Sets the status if a printer is cleaned and ready to print");
     }
 
     @Override
     public void execute(@NotNull CommandSource source, @NotNull String commandLine, @NotNull String[] strings) {
-        if (GlobalAPI.isReadyForNext()) {
-            source.sendMessage("Der Drucker ist bereits bereit.");
+        Collection<Printer> printers = PrinterRegistry.getPrinters();
+        Printer printer;
+        if (strings.length == 0 && printers.size() == 1) {
+            printer = printers.iterator().next();
+        } else if (strings.length == 1) {
+            printer = PrinterRegistry.getPrinter(strings[0]);
+            if (printer == null) {
+                source.sendMessage("Der Drucker " + strings[0] + " existiert nicht.");
+                return;
+            }
+        } else {
+            source.sendMessage("cleaned <" + printers.stream().map(Printer::getName).collect(Collectors.joining("/")) + ">");
+            return;
+        }
+
+        if (printer.isCleaned()) {
+            source.sendMessage("Der Drucker " + printer.getName() + " ist bereits bereit.");
             return;
         }
 
-        if (OctoPrintHelper.isPrintJobRunning()) {
-            source.sendMessage("Es ist momentan ein Druck am laufen.");
+        if (printer.getStateTracker().getSnapshot().isPrintJobRunning()) {
+            source.sendMessage("Es ist momentan ein Druck auf " + printer.getName() + " am laufen.");
             return;
         }
 
-        GlobalAPI.setIsReadyForNext(true);
-        source.sendMessage("Der Drucker ist nun bereit");
+        printer.setCleaned(true);
+        printer.wakeUp();
+        source.sendMessage("Der Drucker " + printer.getName() + " ist nun bereit");
     }
 }
@@ -23,12 +23,32 @@
  */
 package de.switchprojects.controller.printer.commands.basic.commands;
 
+import de.switchprojects.controller.printer.api.GlobalAPI;
 import de.switchprojects.controller.printer.commands.basic.BasicCommand;
 import de.switchprojects.controller.printer.commands.source.CommandSource;
+import de.switchprojects.controller.printer.fleet.PrinterRegistry;
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.octoprint.state.PrinterSnapshot;
+import de.switchprojects.controller.printer.progressed.ProgressedDatabaseHelper;
+import de.switchprojects.controller.printer.progressed.object.ProgressedObject;
 import de.switchprojects.controller.printer.queue.PrintQueue;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicies;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicy;
 import de.switchprojects.controller.printer.slicer.SliceQueue;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.slicer.worker.SliceWorker;
+import de.switchprojects.controller.printer.ticker.SystemTicker;
+import de.switchprojects.controller.printer.trace.JobTraces;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -37,14 +57,77 @@ import java.util.stream.Collectors;
  */
 public class QueueCommand extends BasicCommand {
 
+    private static final List<String> SUB_COMMANDS = Collections.unmodifiableList(Arrays.asList(
+            "slicer", "printer", "workers", "printers", "policy", "user", "cancel"
+    ));
+
     public QueueCommand() {
-        super("queue", new String[0], "Lists all entries of the print or slice queue");
+        super("queue", new String[0], "Lists all entries of the print or slice queue and the state of the slice workers and printers");
     }
 
     @Override
     public void execute(@NotNull CommandSource source, @NotNull String commandLine, @NotNull String[] strings) {
+        if (strings.length == 2 && strings[0].equalsIgnoreCase("policy")) {
+            SchedulingPolicy policy = SchedulingPolicies.create(strings[1]);
+            if (policy == null) {
+                source.sendMessage("Unbekannte Strategie, verfügbar: " + String.join(", ", SchedulingPolicies.getNames()));
+                return;
+            }
+
+            PrintQueue.QUEUE.setPolicy(policy);
+            source.sendMessage("Die Druck-Warteschlange verwendet jetzt die Strategie " + policy.getName());
+            return;
+        }
+
+        if (strings.length == 2 && strings[0].equalsIgnoreCase("user")) {
+            long userID;
+            try {
+                userID = Long.parseLong(strings[1]);
+            } catch (final NumberFormatException ex) {
+                source.sendMessage("Die User-ID " + strings[1] + " ist ungültig.");
+                return;
+            }
+
+            Collection<PrintableObject> jobs = GlobalAPI.getDatabase().getAllWhere("jobs", "user_id", userID, PrintableObject.MAPPER);
+            Collection<ProgressedObject> printing = GlobalAPI.getDatabase().getAllWhere(ProgressedDatabaseHelper.DB_NAME,
+                    "user_id", userID, ProgressedObject.MAPPER);
+
+            source.sendMessage("Aufträge von " + userID + " (" + jobs.size() + " wartend, " + printing.size() + " im Druck):");
+            source.sendMessage("\n" + jobs
+                    .stream()
+                    .map(entry -> String.format("%s (%s)", entry.getPath(), entry.isSliced() ? "SLICED" : "UNSLICED"))
+                    .collect(Collectors.joining("\n"))
+                    + (jobs.isEmpty() || printing.isEmpty() ? "" : "\n")
+                    + printing
+                    .stream()
+                    .map(entry -> String.format("%s (PRINTING)", entry.getRealFileName()))
+                    .collect(Collectors.joining("\n")));
+            return;
+        }
+
+        if (strings.length == 2 && strings[0].equalsIgnoreCase("cancel")) {
+            SliceWorker worker = SliceQueue.getWorkers()
+                    .stream()
+                    .filter(entry -> Integer.toString(entry.getWorkerId()).equals(strings[1]))
+                    .findFirst()
+                    .orElse(null);
+            if (worker == null) {
+                source.sendMessage("Es gibt keinen Slice-Worker #" + strings[1]);
+                return;
+            }
+
+            PrintableObject current = worker.getCurrent();
+            if (current == null || !worker.cancel()) {
+                source.sendMessage("Slice-Worker #" + worker.getWorkerId() + " bearbeitet gerade kein Objekt");
+                return;
+            }
+
+            source.sendMessage("Das Slicen von " + current.getRealFileName() + " auf Slice-Worker #" + worker.getWorkerId() + " wird abgebrochen");
+            return;
+        }
+
         if (strings.length != 1) {
-            source.sendMessage("queue <slicer/print>");
+            source.sendMessage("queue <slicer/print/workers/printers/policy [name]/user <id>/cancel <worker>>");
             return;
         }
 
@@ -58,14 +141,106 @@ public class QueueCommand extends BasicCommand {
         }
 
         if (strings[0].equalsIgnoreCase("printer")) {
-            source.sendMessage("Druck-Warteschlange (" + PrintQueue.QUEUE.size() + "):");
+            source.sendMessage("Druck-Warteschlange (" + PrintQueue.QUEUE.size() + ", ~"
+                    + JobTraces.formatDuration(PrintQueue.getEstimatedPrintTime()) + " Druckzeit, "
+                    + PrintQueue.QUEUE.getPolicy().getName() + "):");
             source.sendMessage("\n" + PrintQueue.QUEUE
                     .stream()
-                    .map(entry -> String.format("%s of %d", entry.getPath(), entry.getUser().getUniqueID()))
+                    .map(QueueCommand::formatPrintEntry)
                     .collect(Collectors.joining("\n")));
             return;
         }
 
-        source.sendMessage("queue <slicer/print>");
+        if (strings[0].equalsIgnoreCase("workers")) {
+            source.sendMessage("Slice-Worker (" + SliceQueue.getWorkers().size() + ", "
+                    + SliceQueue.getHandOff().getWaiting() + " warten auf Übergabe):");
+            source.sendMessage("\n" + SliceQueue.getWorkers()
+                    .stream()
+                    .map(QueueCommand::formatWorker)
+                    .collect(Collectors.joining("\n")));
+            return;
+        }
+
+        if (strings[0].equalsIgnoreCase("printers")) {
+            source.sendMessage("Drucker (" + PrinterRegistry.getPrinters().size() + "):");
+            source.sendMessage("\n" + PrinterRegistry.getPrinters()
+                    .stream()
+                    .map(QueueCommand::formatPrinter)
+                    .collect(Collectors.joining("\n")));
+            return;
+        }
+
+        if (strings[0].equalsIgnoreCase("policy")) {
+            source.sendMessage("Strategie der Druck-Warteschlange: " + PrintQueue.QUEUE.getPolicy().getName()
+                    + " (verfügbar: " + String.join(", ", SchedulingPolicies.getNames()) + ")");
+            return;
+        }
+
+        source.sendMessage("queue <slicer/print/workers/printers/policy [name]/user <id>/cancel <worker>>");
+    }
+
+    @Override
+    public @NotNull List<String> complete(@NotNull String[] strings) {
+        if (strings.length == 1) {
+            return SUB_COMMANDS;
+        }
+
+        if (strings.length == 2 && strings[0].equalsIgnoreCase("policy")) {
+            return new ArrayList<>(SchedulingPolicies.getNames());
+        }
+
+        if (strings.length == 2 && strings[0].equalsIgnoreCase("cancel")) {
+            return SliceQueue.getWorkers()
+                    .stream()
+                    .filter(worker -> worker.getCurrent() != null)
+                    .map(worker -> Integer.toString(worker.getWorkerId()))
+                    .collect(Collectors.toList());
+        }
+
+        return Collections.emptyList();
+    }
+
+    private static String formatPrintEntry(PrintableObject entry) {
+        GCodeAnalysis analysis = entry.getAnalysis();
+        return String.format(
+                "%s of %d%s%s",
+                entry.getPath(),
+                entry.getUser().getUniqueID(),
+                entry.getPlateMembers().isEmpty() ? "" : " + " + entry.getPlateMembers().size() + " weitere Objekte",
+                analysis == null ? "" : String.format(" (~%s, %d layers)", JobTraces.formatDuration(analysis.getEstimatedPrintTime()), analysis.getLayers())
+        );
+    }
+
+    private static String formatPrinter(Printer printer) {
+        PrinterSnapshot snapshot = printer.getStateTracker().getSnapshot();
+        String state = snapshot.hasActiveJob()
+                ? String.format("%s %s (%s%%)", snapshot.isPaused() ? "PAUSED" : "PRINTING", snapshot.getJobName(),
+                snapshot.getCompletion() == null ? "?" : SystemTicker.DECIMAL_FORMAT.format(snapshot.getCompletion()))
+                : printer.isAvailable() ? "AVAILABLE" : printer.isCleaned() ? "NOT READY" : "NOT CLEANED";
+
+        return String.format(
+                "%s (%s, %d printed): %s",
+                printer.getName(),
+                printer.getStateTracker().isPushConnected() ? "push" : "polling",
+                printer.getPrinted(),
+                state
+        );
+    }
+
+    private static String formatWorker(SliceWorker worker) {
+        long seconds = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis() - worker.getCurrentSince());
+        PrintableObject current = worker.getCurrent();
+        SliceProgress progress = worker.getProgress();
+
+        return String.format(
+                "#%d (%d threads, %d sliced): %s%s for %ds%s",
+                worker.getWorkerId(),
+                worker.getThreads(),
+                worker.getSliced(),
+                worker.getWorkerState().name(),
+                current == null ? "" : String.format(" %s of %d", current.getPath(), current.getUser().getUniqueID()),
+                seconds,
+                progress == null ? "" : String.format(" (%d%%, %s)", progress.getPercent(), progress.getMessage())
+        );
     }
 }
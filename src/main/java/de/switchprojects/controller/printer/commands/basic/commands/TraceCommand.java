@@ -0,0 +1,96 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.commands.basic.commands;
+
+import de.switchprojects.controller.printer.commands.basic.BasicCommand;
+import de.switchprojects.controller.printer.commands.source.CommandSource;
+import de.switchprojects.controller.printer.trace.JobTraces;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import de.switchprojects.controller.printer.trace.util.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.stream.Collectors;
+
+/**
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public class TraceCommand extends BasicCommand {
+
+    public TraceCommand() {
+        super("trace", new String[]{"latency"}, "Shows how long the jobs are spending in each stage and the traces of the latest jobs");
+    }
+
+    @Override
+    public void execute(@NotNull CommandSource source, @NotNull String commandLine, @NotNull String[] strings) {
+        if (strings.length != 1) {
+            source.sendMessage("trace <stages/recent>");
+            return;
+        }
+
+        if (strings[0].equalsIgnoreCase("stages")) {
+            source.sendMessage("Latenzen seit dem Start (p50 / p90 / p99 / max):");
+            source.sendMessage("\n" + Arrays.stream(JobStage.values())
+                    .skip(1)
+                    .map(stage -> formatHistogram(stage.name() + " (" + stage.getDescription() + ")", JobTraces.getHistogram(stage)))
+                    .collect(Collectors.joining("\n"))
+                    + "\n" + formatHistogram("TOTAL", JobTraces.getTotal()));
+            return;
+        }
+
+        if (strings[0].equalsIgnoreCase("recent")) {
+            Collection<JobTraces.Completed> recent = JobTraces.getRecent();
+            source.sendMessage("Zuletzt abgeschlossene Jobs (" + recent.size() + "):");
+            source.sendMessage("\n" + recent
+                    .stream()
+                    .map(completed -> completed.getName() + ": " + formatTrace(completed.getTrace()))
+                    .collect(Collectors.joining("\n")));
+            return;
+        }
+
+        source.sendMessage("trace <stages/recent>");
+    }
+
+    private static String formatHistogram(String name, LatencyHistogram histogram) {
+        return String.format(
+                "%s: %d jobs, %s / %s / %s / %s",
+                name,
+                histogram.getCount(),
+                JobTraces.formatDuration(histogram.getValueAtPercentile(50)),
+                JobTraces.formatDuration(histogram.getValueAtPercentile(90)),
+                JobTraces.formatDuration(histogram.getValueAtPercentile(99)),
+                JobTraces.formatDuration(histogram.getMax())
+        );
+    }
+
+    private static String formatTrace(JobTrace trace) {
+        return Arrays.stream(JobStage.values())
+                .skip(1)
+                .map(stage -> stage.getDescription() + " " + JobTraces.formatDuration(trace.getDuration(stage)))
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,138 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.commands.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Splits a command line into its arguments. Arguments are separated by any amount of whitespace,
+ * whitespace inside single or double quotes is kept and a backslash escapes a following quote or
+ * backslash. Arguments without quotes or escapes are taken out of the line without copying them into
+ * a builder first.
+ * <p>
+ * {@code queue user "Max Mustermann" 'a b' c\"d} is split into {@code queue}, {@code user},
+ * {@code Max Mustermann}, {@code a b} and {@code c"d}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class CommandLineTokenizer {
+
+    private CommandLineTokenizer() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final String[] EMPTY = new String[0];
+
+    /**
+     * Splits the given command line into its arguments
+     *
+     * @param line The command line to split
+     * @return The arguments of the line, an empty array if the line is blank
+     */
+    @NotNull
+    public static String[] tokenize(@NotNull String line) {
+        List<String> tokens = null;
+        int length = line.length();
+        int i = 0;
+
+        while (true) {
+            while (i < length && Character.isWhitespace(line.charAt(i))) {
+                i++;
+            }
+
+            if (i >= length) {
+                break;
+            }
+
+            int start = i;
+            boolean plain = true;
+            char quote = 0;
+
+            while (i < length) {
+                char c = line.charAt(i);
+                if (quote == 0 && Character.isWhitespace(c)) {
+                    break;
+                }
+
+                if (c == '\\' && i + 1 < length && isEscapable(line.charAt(i + 1))) {
+                    plain = false;
+                    i += 2;
+                    continue;
+                }
+
+                if (quote == 0 && (c == '"' || c == '\'')) {
+                    quote = c;
+                    plain = false;
+                } else if (c == quote) {
+                    quote = 0;
+                }
+
+                i++;
+            }
+
+            if (tokens == null) {
+                tokens = new ArrayList<>(4);
+            }
+
+            tokens.add(plain ? line.substring(start, i) : unquote(line, start, i));
+        }
+
+        return tokens == null ? EMPTY : tokens.toArray(EMPTY);
+    }
+
+    private static String unquote(String line, int start, int end) {
+        char first = line.charAt(start);
+        if (end - start >= 2 && (first == '"' || first == '\'') && line.indexOf(first, start + 1) == end - 1
+                && line.lastIndexOf('\\', end - 1) < start) {
+            // the argument is exactly one quoted string without escapes
+            return line.substring(start + 1, end - 1);
+        }
+
+        StringBuilder builder = new StringBuilder(end - start);
+        char quote = 0;
+
+        for (int i = start; i < end; i++) {
+            char c = line.charAt(i);
+            if (c == '\\' && i + 1 < end && isEscapable(line.charAt(i + 1))) {
+                builder.append(line.charAt(++i));
+            } else if (quote == 0 && (c == '"' || c == '\'')) {
+                quote = c;
+            } else if (c == quote) {
+                quote = 0;
+            } else {
+                builder.append(c);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static boolean isEscapable(char c) {
+        return c == '"' || c == '\'' || c == '\\';
+    }
+}
@@ -28,6 +28,8 @@ import org.jetbrains.annotations.Nullable;
 import org.jline.reader.LineReader;
 
 import java.io.IOException;
+import java.util.List;
+import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
@@ -91,6 +93,27 @@ public abstract class TerminalConsole extends Logger {
      */
     public abstract void log(@NotNull String message);
 
+    /**
+     * Logs all messages into the console, the console only gets redrawn once after all messages
+     *
+     * @param messages The messages which should get sent
+     */
+    public void log(@NotNull List<String> messages) {
+        for (String message : messages) {
+            this.log(message);
+        }
+    }
+
+    /**
+     * Logs a message which was printed to the system output streams
+     *
+     * @param level   The level of the stream the message was printed to
+     * @param message The printed message
+     */
+    public void publish(@NotNull Level level, @NotNull String message) {
+        this.logp(level, "", "", message);
+    }
+
     /**
      * Clears the screen of the current console completely
      */
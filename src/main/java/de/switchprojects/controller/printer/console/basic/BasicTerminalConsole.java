@@ -25,12 +25,18 @@ package de.switchprojects.controller.printer.console.basic;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
 import de.switchprojects.controller.printer.console.TerminalConsole;
+import de.switchprojects.controller.printer.console.buffer.LogRingBuffer;
+import de.switchprojects.controller.printer.console.buffer.OverflowPolicy;
 import de.switchprojects.controller.printer.console.events.ConsoleLogMessageSentEvent;
 import de.switchprojects.controller.printer.console.formatter.basic.BasicLogFormatter;
 import de.switchprojects.controller.printer.console.handler.AbstractHandler;
 import de.switchprojects.controller.printer.console.handler.basic.BasicHandler;
+import de.switchprojects.controller.printer.console.handler.basic.BatchedFileHandler;
+import de.switchprojects.controller.printer.console.handler.basic.RingBufferHandler;
 import de.switchprojects.controller.printer.console.stream.BasicLoggingOutputStream;
 import de.switchprojects.controller.printer.console.util.TerminalUtil;
+import de.switchprojects.controller.printer.console.writer.LogWriterThread;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
 import de.switchprojects.controller.printer.util.FileUtils;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
@@ -41,32 +47,47 @@ import org.jline.utils.InfoCmp;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.nio.file.Paths;
-import java.util.logging.FileHandler;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
 import java.util.logging.Level;
 
 /**
- * Represents a basic terminal console implementation.
+ * Represents a basic terminal console implementation. The messages are put into a {@link LogRingBuffer}
+ * and written to the terminal and the log file by the {@link LogWriterThread}, so the logging threads
+ * do not wait for the terminal or the disk.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 public class BasicTerminalConsole extends TerminalConsole {
 
+    private static final int BUFFER_SIZE = Integer.getInteger("console.log.buffer.size", 8192);
+
+    private static final OverflowPolicy OVERFLOW_POLICY = OverflowPolicy.valueOf(
+            System.getProperty("console.log.buffer.policy", "block").toUpperCase(Locale.ROOT));
+
     public BasicTerminalConsole() throws IOException {
         Terminal terminal = TerminalUtil.createNewTerminal();
         this.lineReader = TerminalUtil.newLineReader(terminal);
+        this.buffer = new LogRingBuffer(BUFFER_SIZE, OVERFLOW_POLICY);
 
         FileUtils.createDirectories(Paths.get("logs"));
 
-        FileHandler fileHandler = new FileHandler("logs/cloud.log", 70000000, 8, true);
+        BatchedFileHandler fileHandler = new BatchedFileHandler(Paths.get("logs/cloud.log"), 70000000, 8);
         fileHandler.setLevel(Level.ALL);
         fileHandler.setFormatter(new BasicLogFormatter(this));
-        addHandler(fileHandler);
 
         AbstractHandler consoleHandler = new BasicHandler(this);
         consoleHandler.setLevel(Level.ALL);
         consoleHandler.setFormatter(new BasicLogFormatter(this));
-        addHandler(consoleHandler);
+
+        this.writerThread = new LogWriterThread(getName(), this.buffer, Arrays.asList(fileHandler, consoleHandler));
+        this.writerThread.start();
+        addHandler(new RingBufferHandler(this.buffer));
+
+        MetricRegistry.gauge("console_log_buffer_size", "The log messages waiting to get written", this.buffer::size);
+        MetricRegistry.functionCounter("console_log_dropped_total", "The log messages dropped because the log buffer was full", this.buffer::getDropped);
 
         System.setOut(new PrintStream(new BasicLoggingOutputStream(this, Level.INFO), true));
         System.setErr(new PrintStream(new BasicLoggingOutputStream(this, Level.SEVERE), true));
@@ -74,6 +95,10 @@ public class BasicTerminalConsole extends TerminalConsole {
 
     private final LineReader lineReader;
 
+    private final LogRingBuffer buffer;
+
+    private final LogWriterThread writerThread;
+
     @Override
     public @NotNull LineReader getLineReader() {
         return this.lineReader;
@@ -86,19 +111,36 @@ public class BasicTerminalConsole extends TerminalConsole {
 
     @Override
     public void log(@NotNull String message) {
-        ConsoleLogMessageSentEvent event = new ConsoleLogMessageSentEvent(message);
-        GlobalAPI.getEventManager().callEvent(event);
-        if (event.isCancelled()) {
-            return;
+        if (this.print(message)) {
+            this.lineReader.getTerminal().flush();
+            TerminalUtil.tryRedisplay(this.lineReader);
         }
+    }
 
-        message = event.getLogMessage();
+    @Override
+    public void log(@NotNull List<String> messages) {
+        boolean printed = false;
+        for (String message : messages) {
+            printed |= this.print(message);
+        }
 
-        this.lineReader.getTerminal().puts(InfoCmp.Capability.carriage_return);
-        this.lineReader.getTerminal().writer().print(message);
-        this.lineReader.getTerminal().flush();
+        if (printed) {
+            this.lineReader.getTerminal().flush();
+            TerminalUtil.tryRedisplay(this.lineReader);
+        }
+    }
 
-        TerminalUtil.tryRedisplay(this.lineReader);
+    @Override
+    public void publish(@NotNull Level level, @NotNull String message) {
+        if (isLoggable(level)) {
+            this.buffer.publish(level, System.currentTimeMillis(), message, null);
+        }
+    }
+
+    @Override
+    public void close() {
+        this.writerThread.shutdown();
+        super.close();
     }
 
     @Override
@@ -106,4 +148,16 @@ public class BasicTerminalConsole extends TerminalConsole {
         this.lineReader.getTerminal().puts(InfoCmp.Capability.clear_screen);
         this.lineReader.getTerminal().flush();
     }
+
+    private boolean print(@NotNull String message) {
+        ConsoleLogMessageSentEvent event = new ConsoleLogMessageSentEvent(message);
+        GlobalAPI.getEventManager().callEvent(event);
+        if (event.isCancelled()) {
+            return false;
+        }
+
+        this.lineReader.getTerminal().puts(InfoCmp.Capability.carriage_return);
+        this.lineReader.getTerminal().writer().print(event.getLogMessage());
+        return true;
+    }
 }
@@ -0,0 +1,263 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.console.buffer;
+
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Level;
+
+/**
+ * A bounded buffer for log messages which is written by many threads and read by one writer thread.
+ * The slots are allocated once, a logging thread claims the next free sequence using a compare and
+ * set and publishes the slot after filling it, so logging never takes a lock. The writer drains the
+ * published slots in order and waits while the buffer is empty.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class LogRingBuffer {
+
+    private static final long BLOCK_WAIT = TimeUnit.MICROSECONDS.toNanos(50);
+
+    private static final int SPIN_TRIES = 128;
+
+    public LogRingBuffer(int capacity, @NotNull OverflowPolicy policy) {
+        Validate.assertBigger(capacity, 2);
+        Validate.assertNotNull(policy, "Cannot create buffer with null policy");
+
+        int size = Integer.highestOneBit(capacity - 1) << 1;
+        this.capacity = size;
+        this.mask = size - 1;
+        this.policy = policy;
+
+        this.levels = new Level[size];
+        this.times = new long[size];
+        this.messages = new String[size];
+        this.thrown = new Throwable[size];
+        this.published = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            this.published.set(i, -1);
+        }
+    }
+
+    private final int capacity;
+
+    private final int mask;
+
+    private final OverflowPolicy policy;
+
+    private final Level[] levels;
+
+    private final long[] times;
+
+    private final String[] messages;
+
+    private final Throwable[] thrown;
+
+    private final AtomicLongArray published;
+
+    private final AtomicLong claimed = new AtomicLong();
+
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile long consumed;
+
+    private volatile Thread consumer;
+
+    private final AtomicBoolean consumerWaiting = new AtomicBoolean();
+
+    /**
+     * Puts a message into the buffer. If the buffer is full, the message is dropped or the thread waits
+     * for a free slot depending on the policy of the buffer. The writer thread itself never waits as it
+     * is the only thread which can free a slot.
+     *
+     * @param level   The level of the message
+     * @param millis  The time in millis when the message was logged
+     * @param message The message
+     * @param thrown  The throwable which belongs to the message
+     * @return If the message was put into the buffer
+     */
+    public boolean publish(@NotNull Level level, long millis, @NotNull String message, @Nullable Throwable thrown) {
+        long sequence = this.claim();
+        if (sequence == -1) {
+            this.dropped.increment();
+            return false;
+        }
+
+        int index = (int) (sequence & this.mask);
+        this.levels[index] = level;
+        this.times[index] = millis;
+        this.messages[index] = message;
+        this.thrown[index] = thrown;
+
+        // a volatile write, so the waiting flag below is not read before the slot is visible to the writer
+        this.published.set(index, sequence);
+        if (this.consumerWaiting.get() && this.consumerWaiting.getAndSet(false)) {
+            // only the first thread which publishes while the writer waits has to wake it up
+            LockSupport.unpark(this.consumer);
+        }
+
+        return true;
+    }
+
+    /**
+     * Hands the published messages to the consumer in the order in which they were claimed. May only
+     * be called by one thread.
+     *
+     * @param consumer The consumer of the messages
+     * @param max      The maximum amount of messages to drain
+     * @return The amount of drained messages
+     */
+    public int drain(@NotNull EntryConsumer consumer, int max) {
+        long sequence = this.consumed;
+        int drained = 0;
+
+        while (drained < max) {
+            int index = (int) (sequence & this.mask);
+            if (this.published.get(index) != sequence) {
+                break;
+            }
+
+            try {
+                consumer.accept(this.levels[index], this.times[index], this.messages[index], this.thrown[index]);
+            } catch (final Throwable throwable) {
+                throwable.printStackTrace();
+            }
+
+            this.messages[index] = null;
+            this.thrown[index] = null;
+            sequence++;
+            drained++;
+        }
+
+        if (drained > 0) {
+            this.consumed = sequence;
+        }
+
+        return drained;
+    }
+
+    /**
+     * Waits until a message is published or the timeout elapsed. May only be called by the thread
+     * which drains the buffer, the thread is remembered as the writer of the buffer. The thread yields
+     * for a short time before it parks, as waking up a parked writer costs the logging thread a lot more
+     * than the message itself while messages are logged in a fast sequence.
+     *
+     * @param timeout The maximum time to wait in nanos
+     */
+    public void await(long timeout) {
+        this.consumer = Thread.currentThread();
+
+        long next = this.consumed;
+        int index = (int) (next & this.mask);
+        for (int i = 0; i < SPIN_TRIES; i++) {
+            if (this.published.get(index) == next) {
+                return;
+            }
+
+            Thread.yield();
+        }
+
+        this.consumerWaiting.set(true);
+        if (this.published.get(index) != next) {
+            LockSupport.parkNanos(this, timeout);
+        }
+
+        this.consumerWaiting.set(false);
+    }
+
+    /**
+     * Wakes up the writer thread if it is waiting for the next message
+     */
+    public void wakeUp() {
+        Thread consumer = this.consumer;
+        if (consumer != null) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * @return The amount of messages which were claimed but not drained yet
+     */
+    public int size() {
+        return (int) Math.max(0, this.claimed.get() - this.consumed);
+    }
+
+    /**
+     * @return The amount of slots of the buffer
+     */
+    public int getCapacity() {
+        return this.capacity;
+    }
+
+    /**
+     * @return The amount of messages which were dropped because the buffer was full
+     */
+    public long getDropped() {
+        return this.dropped.sum();
+    }
+
+    private long claim() {
+        boolean block = this.policy == OverflowPolicy.BLOCK && Thread.currentThread() != this.consumer;
+        while (true) {
+            long sequence = this.claimed.get();
+            if (sequence - this.consumed >= this.capacity) {
+                if (!block) {
+                    return -1;
+                }
+
+                LockSupport.parkNanos(this, BLOCK_WAIT);
+                continue;
+            }
+
+            if (this.claimed.compareAndSet(sequence, sequence + 1)) {
+                return sequence;
+            }
+        }
+    }
+
+    /**
+     * Consumes the messages drained from the buffer
+     */
+    public interface EntryConsumer {
+
+        /**
+         * Consumes one message
+         *
+         * @param level   The level of the message
+         * @param millis  The time in millis when the message was logged
+         * @param message The message
+         * @param thrown  The throwable which belongs to the message
+         */
+        void accept(@NotNull Level level, long millis, @NotNull String message, @Nullable Throwable thrown);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.console.completer;
+
+import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.commands.Command;
+import de.switchprojects.controller.printer.commands.CommandMap;
+import org.jline.reader.Candidate;
+import org.jline.reader.Completer;
+import org.jline.reader.LineReader;
+import org.jline.reader.ParsedLine;
+
+import java.util.List;
+
+/**
+ * Completes the command names and aliases using the index of the {@link CommandMap}, the arguments
+ * are completed by the command which is typed
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class CommandLineCompleter implements Completer {
+
+    @Override
+    public void complete(LineReader reader, ParsedLine line, List<Candidate> candidates) {
+        CommandMap commandMap = GlobalAPI.getCommandMap();
+        if (line.wordIndex() == 0) {
+            for (String label : commandMap.getCommandLabels(line.word())) {
+                candidates.add(new Candidate(label));
+            }
+
+            return;
+        }
+
+        List<String> words = line.words();
+        Command command = commandMap.getCommand(words.get(0));
+        if (command == null) {
+            return;
+        }
+
+        String[] strings = words.subList(1, Math.min(words.size(), line.wordIndex() + 1)).toArray(new String[0]);
+        for (String value : command.complete(strings)) {
+            candidates.add(new Candidate(value));
+        }
+    }
+}
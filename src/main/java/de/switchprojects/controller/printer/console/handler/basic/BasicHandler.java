@@ -27,9 +27,14 @@ import de.switchprojects.controller.printer.console.TerminalConsole;
 import de.switchprojects.controller.printer.console.handler.AbstractHandler;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.LogRecord;
 
 /**
+ * Writes the records into the terminal. The formatted records are collected and written together
+ * when the handler gets flushed.
+ *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
@@ -39,15 +44,21 @@ public class BasicHandler extends AbstractHandler {
         super(terminalConsole);
     }
 
+    private final List<String> pending = new ArrayList<>();
+
     @Override
-    public void publish(LogRecord record) {
+    public synchronized void publish(LogRecord record) {
         if (isLoggable(record)) {
-            terminalConsole.log(getFormatter().format(record));
+            this.pending.add(getFormatter().format(record));
         }
     }
 
     @Override
-    public void flush() {
+    public synchronized void flush() {
+        if (!this.pending.isEmpty()) {
+            terminalConsole.log(this.pending);
+            this.pending.clear();
+        }
     }
 
     @Override
@@ -0,0 +1,151 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.console.handler.basic;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.ErrorManager;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Writes the records into a rotating set of log files. Other than the {@link java.util.logging.FileHandler}
+ * the file is not flushed after every record but only when the handler gets flushed. The files are
+ * named like the ones of the file handler, {@code <name>.0} is the current file and the older files
+ * get a higher number.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public class BatchedFileHandler extends Handler {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    public BatchedFileHandler(@NotNull Path base, long limit, int count) throws IOException {
+        this.base = base;
+        this.limit = limit;
+        this.count = count;
+        this.open(true);
+    }
+
+    private final Path base;
+
+    private final long limit;
+
+    private final int count;
+
+    private Writer writer;
+
+    private long written;
+
+    @Override
+    public synchronized void publish(LogRecord record) {
+        if (this.writer == null || !isLoggable(record)) {
+            return;
+        }
+
+        String message;
+        try {
+            message = getFormatter().format(record);
+        } catch (final Exception ex) {
+            reportError(null, ex, ErrorManager.FORMAT_FAILURE);
+            return;
+        }
+
+        try {
+            this.writer.write(message);
+            // the size is counted in chars, which is close enough to the size of the utf-8 encoded log lines
+            this.written += message.length();
+
+            if (this.written >= this.limit) {
+                this.rotate();
+            }
+        } catch (final IOException ex) {
+            reportError(null, ex, ErrorManager.WRITE_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void flush() {
+        if (this.writer == null) {
+            return;
+        }
+
+        try {
+            this.writer.flush();
+        } catch (final IOException ex) {
+            reportError(null, ex, ErrorManager.FLUSH_FAILURE);
+        }
+    }
+
+    @Override
+    public synchronized void close() throws SecurityException {
+        if (this.writer == null) {
+            return;
+        }
+
+        try {
+            this.writer.close();
+        } catch (final IOException ex) {
+            reportError(null, ex, ErrorManager.CLOSE_FAILURE);
+        }
+
+        this.writer = null;
+    }
+
+    private void rotate() throws IOException {
+        this.writer.close();
+        this.writer = null;
+
+        for (int i = this.count - 2; i >= 0; i--) {
+            Path file = this.getFile(i);
+            if (Files.exists(file)) {
+                Files.move(file, this.getFile(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+
+        this.open(false);
+    }
+
+    private void open(boolean append) throws IOException {
+        Path file = this.getFile(0);
+        this.written = append && Files.exists(file) ? Files.size(file) : 0;
+        this.writer = new BufferedWriter(new OutputStreamWriter(Files.newOutputStream(file, StandardOpenOption.CREATE,
+                append ? StandardOpenOption.APPEND : StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE),
+                StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+
+    private Path getFile(int generation) {
+        return this.base.resolveSibling(this.base.getFileName() + "." + generation);
+    }
+}
@@ -0,0 +1,62 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.console.handler.basic;
+
+import de.switchprojects.controller.printer.console.buffer.LogRingBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+
+/**
+ * Puts the records which are logged through the logger api into the {@link LogRingBuffer}, the
+ * records are written by the log writer thread
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public class RingBufferHandler extends Handler {
+
+    public RingBufferHandler(@NotNull LogRingBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    private final LogRingBuffer buffer;
+
+    @Override
+    public void publish(LogRecord record) {
+        if (isLoggable(record)) {
+            String message = record.getMessage();
+            this.buffer.publish(record.getLevel(), record.getMillis(), message == null ? "" : message, record.getThrown());
+        }
+    }
+
+    @Override
+    public void flush() {
+    }
+
+    @Override
+    public void close() throws SecurityException {
+    }
+}
@@ -55,7 +55,7 @@ public class BasicLoggingOutputStream extends ByteArrayOutputStream {
             String content = toString(StandardCharsets.UTF_8.name());
             super.reset();
             if (!content.isEmpty() && !content.equals(LINE_SEPARATOR)) {
-                this.console.logp(level, "", "", content);
+                this.console.publish(this.level, content);
             }
         }
     }
@@ -23,6 +23,7 @@
  */
 package de.switchprojects.controller.printer.console.util;
 
+import de.switchprojects.controller.printer.console.completer.CommandLineCompleter;
 import org.jetbrains.annotations.NotNull;
 import org.jline.reader.EndOfFileException;
 import org.jline.reader.LineReader;
@@ -84,12 +85,13 @@ public final class TerminalUtil {
      * Creates a new line reader for the given terminal
      *
      * @param terminal The terminal for which the reader is built
-     * @return A new line reader which has some defaults options already set
+     * @return A new line reader which has some defaults options already set and completes the registered commands
      */
     public static LineReader newLineReader(@NotNull Terminal terminal) {
         return LineReaderBuilder
                 .builder()
                 .terminal(terminal)
+                .completer(new CommandLineCompleter())
                 .option(LineReader.Option.DISABLE_EVENT_EXPANSION, true)
                 .build();
     }
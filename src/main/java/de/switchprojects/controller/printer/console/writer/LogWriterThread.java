@@ -0,0 +1,132 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.console.writer;
+
+import de.switchprojects.controller.printer.console.buffer.LogRingBuffer;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+/**
+ * Drains the {@link LogRingBuffer} and publishes the messages to the handlers of the console. The
+ * handlers are flushed once per drained batch, so the terminal and the log file are written once for
+ * many messages while a lot is logged.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class LogWriterThread extends Thread {
+
+    private static final int BATCH_SIZE = Integer.getInteger("console.log.batch.size", 256);
+
+    private static final long IDLE_WAIT = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long SHUTDOWN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    public LogWriterThread(@NotNull String loggerName, @NotNull LogRingBuffer buffer, @NotNull Collection<Handler> handlers) {
+        super("Console-Log-Writer");
+        this.loggerName = loggerName;
+        this.buffer = buffer;
+        this.handlers = new ArrayList<>(handlers);
+        super.setDaemon(true);
+    }
+
+    private final String loggerName;
+
+    private final LogRingBuffer buffer;
+
+    private final List<Handler> handlers;
+
+    private volatile boolean running = true;
+
+    private long reportedDropped;
+
+    @Override
+    public void run() {
+        while (true) {
+            int drained = this.buffer.drain(this::publish, BATCH_SIZE);
+            if (drained > 0) {
+                this.reportDropped();
+                this.flush();
+                continue;
+            }
+
+            if (!this.running) {
+                break;
+            }
+
+            this.buffer.await(IDLE_WAIT);
+        }
+
+        for (Handler handler : this.handlers) {
+            handler.close();
+        }
+    }
+
+    /**
+     * Stops the thread after all messages which are already in the buffer are written
+     */
+    public void shutdown() {
+        this.running = false;
+        this.buffer.wakeUp();
+
+        try {
+            this.join(SHUTDOWN_TIMEOUT);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publish(Level level, long millis, String message, Throwable thrown) {
+        LogRecord record = new LogRecord(level, message);
+        record.setMillis(millis);
+        record.setThrown(thrown);
+        record.setLoggerName(this.loggerName);
+
+        for (Handler handler : this.handlers) {
+            handler.publish(record);
+        }
+    }
+
+    private void reportDropped() {
+        long dropped = this.buffer.getDropped();
+        if (dropped != this.reportedDropped) {
+            this.publish(Level.WARNING, System.currentTimeMillis(), (dropped - this.reportedDropped)
+                    + " log messages were dropped because the log buffer was full", null);
+            this.reportedDropped = dropped;
+        }
+    }
+
+    private void flush() {
+        for (Handler handler : this.handlers) {
+            handler.flush();
+        }
+    }
+}
@@ -26,11 +26,13 @@ package de.switchprojects.controller.printer.database;
 import de.switchprojects.controller.printer.database.config.DatabaseConfig;
 import de.switchprojects.controller.printer.database.object.DatabaseObject;
 import de.switchprojects.controller.printer.database.object.DatabaseObjectToken;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
@@ -51,11 +53,13 @@ public interface DatabaseDriver {
     boolean connect(@NotNull DatabaseConfig config);
 
     /**
-     * Creates a new table in the database
+     * Creates a new table in the database from the given schema. If the table already exists it is
+     * migrated to the current version of the schema and all rows are migrated to the current version
+     * of the codec of the schema.
      *
-     * @param table The name of the new table in the database
+     * @param schema The schema of the table
      */
-    void createTable(@NotNull String table);
+    void createTable(@NotNull TableSchema<?> schema);
 
     /**
      * Deletes a table from the database
@@ -71,6 +75,14 @@ public interface DatabaseDriver {
      */
     void insert(@NotNull DatabaseObject object);
 
+    /**
+     * Inserts all given objects into the database using one batch per table. Either all or none of the
+     * objects get inserted.
+     *
+     * @param objects The objects which should get inserted
+     */
+    void insertAll(@NotNull Collection<? extends DatabaseObject> objects);
+
     /**
      * Updates an object in the database
      *
@@ -78,6 +90,14 @@ public interface DatabaseDriver {
      */
     void update(@NotNull DatabaseObject object);
 
+    /**
+     * Updates all given objects in the database using one batch per table. Either all or none of the
+     * objects get updated.
+     *
+     * @param objects The objects which should get updated
+     */
+    void updateAll(@NotNull Collection<? extends DatabaseObject> objects);
+
     /**
      * Gets an object from the database
      *
@@ -125,6 +145,50 @@ public interface DatabaseDriver {
      */
     <T> void forEachInTable(@NotNull String table, @NotNull Function<byte[], T> mapper, @NotNull Consumer<T> handler);
 
+    /**
+     * Gets all objects from a table which have the given value in a typed column of the table schema
+     *
+     * @param table  The table in which the objects are located
+     * @param column The name of the typed column
+     * @param value  The value of the column
+     * @param mapper The mapper which creates the objects from the bytes of the database
+     * @param <T>    The type of the object in the database after the map
+     * @return A collection of all matching objects ordered by their key
+     */
+    @NotNull
+    default <T> Collection<T> getAllWhere(@NotNull String table, @NotNull String column, @NotNull Object value,
+                                          @NotNull Function<byte[], T> mapper) {
+        Collection<T> out = new ArrayList<>();
+        this.forEachWhere(table, column, value, mapper, out::add);
+        return out;
+    }
+
+    /**
+     * Accepts all values of a table which have the given value in a typed column of the table schema
+     * to the consumer. The lookup uses the index of the column if the column is indexed.
+     *
+     * @param table   The table in which the objects are located
+     * @param column  The name of the typed column
+     * @param value   The value of the column
+     * @param mapper  The mapper which creates the objects from the bytes of the database
+     * @param handler Handles all matching objects ordered by their key
+     * @param <T>     The type of the object in the database after the map
+     */
+    <T> void forEachWhere(@NotNull String table, @NotNull String column, @NotNull Object value,
+                          @NotNull Function<byte[], T> mapper, @NotNull Consumer<T> handler);
+
+    /**
+     * Rewrites the values of all rows in a table. The rows are read and written in batches ordered by
+     * their key, every batch is written in its own transaction, so the whole table is never held in
+     * memory. If the rewrite fails, the already written batches stay rewritten.
+     *
+     * @param table    The table which should get rewritten
+     * @param rewriter Gets the key and the current value of a row and returns the new value of the row
+     *                 or {@code null} if the row should not get changed
+     * @return The amount of rewritten rows
+     */
+    int rewriteTable(@NotNull String table, @NotNull BiFunction<String, byte[], byte[]> rewriter);
+
     /**
      * Deletes an object from the database
      *
@@ -133,6 +197,35 @@ public interface DatabaseDriver {
      */
     void deleteFromTable(@NotNull String table, @NotNull String key);
 
+    /**
+     * Deletes all objects with the given keys from the table using one batch. Either all or none of the
+     * objects get deleted.
+     *
+     * @param table The table name from which the objects should get deleted
+     * @param keys  The keys of the objects which should get deleted
+     */
+    void deleteAll(@NotNull String table, @NotNull Collection<String> keys);
+
+    /**
+     * Runs the given unit of work in one transaction. All database calls of the current thread which
+     * are made in the unit of work are committed together or, if one of them fails or the unit of work
+     * throws an exception, rolled back together.
+     * <pre>{@code
+     * public static void main(String... args) {
+     *     GlobalAPI.getDatabase().transaction(database -> {
+     *         database.deleteFromTable("jobs", job.getKey());
+     *         database.insert(progressedObject);
+     *     });
+     * }
+     * }</pre>
+     * Calling this method from a unit of work joins the already running transaction, the joined call
+     * returns {@code false} if the running transaction is marked to get rolled back.
+     *
+     * @param unitOfWork The unit of work which should run in the transaction
+     * @return If the transaction was committed or, when joining a running transaction, can still get committed
+     */
+    boolean transaction(@NotNull Consumer<DatabaseDriver> unitOfWork);
+
     /**
      * Closes the current connection to the database
      */
@@ -24,146 +24,521 @@
 package de.switchprojects.controller.printer.database.basic;
 
 import de.switchprojects.controller.printer.database.DatabaseDriver;
+import de.switchprojects.controller.printer.database.basic.pool.ConnectionPool;
+import de.switchprojects.controller.printer.database.basic.pool.PooledConnection;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
 import de.switchprojects.controller.printer.database.config.DatabaseConfig;
 import de.switchprojects.controller.printer.database.object.DatabaseObject;
 import de.switchprojects.controller.printer.database.object.DatabaseObjectToken;
+import de.switchprojects.controller.printer.database.schema.object.Column;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
+import de.switchprojects.controller.printer.metrics.object.Summary;
+import de.switchprojects.controller.printer.util.Validate;
 import org.h2.Driver;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.sql.*;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
 
 /**
- * A default implementation of a database driver
+ * A default implementation of a database driver. All calls are using a connection leased from a
+ * bounded {@link ConnectionPool}, so the driver can be used by multiple threads at the same time.
+ * <p>
+ * The tables are created from a {@link TableSchema} with the key as primary key, so every lookup by key
+ * and every query by an indexed column is using an index. Existing tables are migrated by the
+ * {@link H2SchemaMigrator} when they are created.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 public class H2DatabaseDriver implements DatabaseDriver {
 
-    private Connection connection;
+    private static final int POOL_SIZE = Integer.getInteger("database.pool.size", 8);
+
+    private static final long POOL_TIMEOUT = Long.getLong("database.pool.timeout", 30);
+
+    private static final int REWRITE_BATCH_SIZE = Integer.getInteger("database.rewrite.batch.size", 500);
+
+    private static final Summary CREATE_TABLE = statementTimer("create_table");
+
+    private static final Summary DROP_TABLE = statementTimer("drop_table");
+
+    private static final Summary INSERT = statementTimer("insert");
+
+    private static final Summary INSERT_BATCH = statementTimer("insert_batch");
+
+    private static final Summary UPDATE = statementTimer("update");
+
+    private static final Summary UPDATE_BATCH = statementTimer("update_batch");
+
+    private static final Summary SELECT = statementTimer("select");
+
+    private static final Summary SELECT_ALL = statementTimer("select_all");
+
+    private static final Summary SELECT_WHERE = statementTimer("select_where");
+
+    private static final Summary REWRITE = statementTimer("rewrite");
+
+    private static final Summary DELETE = statementTimer("delete");
+
+    private static final Summary DELETE_BATCH = statementTimer("delete_batch");
+
+    private static final Counter ERRORS = MetricRegistry.counter("database_errors_total", "The failed database statements");
+
+    private final Map<String, TableSchema<?>> schemas = new ConcurrentHashMap<>();
+
+    private ConnectionPool pool;
 
     @Override
     public boolean connect(@NotNull DatabaseConfig config) {
-        try {
-            Driver.load();
-            this.connection = DriverManager.getConnection(config.formatConnectionString());
+        Driver.load();
+        this.pool = new ConnectionPool(config.formatConnectionString(), POOL_SIZE, POOL_TIMEOUT, TimeUnit.SECONDS);
 
+        // Open the first connection to ensure the database is reachable
+        try {
+            this.pool.lease().close();
+            this.registerPoolMetrics(this.pool);
             return true;
         } catch (final SQLException ex) {
             ex.printStackTrace();
         }
 
+        this.pool.close();
+        this.pool = null;
         return false;
     }
 
     @Override
-    public void createTable(@NotNull String table) {
-        try (PreparedStatement statement = connection.prepareStatement("CREATE TABLE IF NOT EXISTS " + table
-                + " (`key` TEXT, `value` LONGBLOB)")) {
-            statement.executeUpdate();
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
+    public void createTable(@NotNull TableSchema<?> schema) {
+        Validate.assertNotNull(schema, "Cannot create table from null schema");
+
+        this.schemas.put(schema.getTable(), schema);
+        this.execute(CREATE_TABLE, connection -> {
+            H2SchemaMigrator.migrate(connection, schema);
+            return null;
+        });
+
+        // the rows only have to get scanned if the table was not written by the current codec version yet
+        Integer codecVersion = this.execute(SELECT, connection -> H2SchemaMigrator.readCodecVersion(connection, schema.getTable()));
+        if (codecVersion == null || codecVersion >= schema.getCodec().getVersion()) {
+            return;
+        }
+
+        if (DatabaseCodecs.migrate(this, schema.getTable(), schema.getCodec())) {
+            this.execute(UPDATE, connection -> {
+                H2SchemaMigrator.writeCodecVersion(connection, schema.getTable(), schema.getCodec().getVersion());
+                return null;
+            });
         }
     }
 
     @Override
     public void deleteTable(@NotNull String table) {
-        try (PreparedStatement statement = connection.prepareStatement("DROP TABLE IF EXISTS " + table)) {
-            statement.executeUpdate();
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
-        }
+        this.execute(DROP_TABLE, connection -> {
+            this.schemas.remove(table);
+            H2SchemaMigrator.drop(connection, table);
+            return null;
+        });
     }
 
     @Override
     public void insert(@NotNull DatabaseObject object) {
-        try (PreparedStatement statement = connection.prepareStatement("INSERT INTO " + object.getTable() + " (`key`, `value`) VALUES (?, ?)")) {
+        this.execute(INSERT, connection -> {
+            TableSchema<?> schema = this.schemas.get(object.getTable());
+            PreparedStatement statement = connection.prepareStatement(insertQuery(object.getTable(), schema));
             statement.setString(1, object.getKey());
             statement.setBytes(2, object.serialize());
+            bindColumns(statement, 3, schema, object);
 
-            statement.executeUpdate();
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
-        }
+            return statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void insertAll(@NotNull Collection<? extends DatabaseObject> objects) {
+        this.batch(INSERT_BATCH, objects, H2DatabaseDriver::insertQuery, (statement, schema, object) -> {
+            statement.setString(1, object.getKey());
+            statement.setBytes(2, object.serialize());
+            bindColumns(statement, 3, schema, object);
+        });
     }
 
     @Override
     public void update(@NotNull DatabaseObject object) {
-        try (PreparedStatement statement = connection.prepareStatement("UPDATE " + object.getTable() + " SET `value` = ? WHERE `key` = ?")) {
+        this.execute(UPDATE, connection -> {
+            TableSchema<?> schema = this.schemas.get(object.getTable());
+            PreparedStatement statement = connection.prepareStatement(updateQuery(object.getTable(), schema));
             statement.setBytes(1, object.serialize());
-            statement.setString(2, object.getKey());
+            statement.setString(bindColumns(statement, 2, schema, object), object.getKey());
 
-            statement.executeUpdate();
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
-        }
+            return statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void updateAll(@NotNull Collection<? extends DatabaseObject> objects) {
+        this.batch(UPDATE_BATCH, objects, H2DatabaseDriver::updateQuery, (statement, schema, object) -> {
+            statement.setBytes(1, object.serialize());
+            statement.setString(bindColumns(statement, 2, schema, object), object.getKey());
+        });
     }
 
     @Override
     public <T> @Nullable T getOrDefault(@NotNull DatabaseObjectToken<T> databaseObjectToken, @Nullable T def) {
-        try (PreparedStatement statement = connection.prepareStatement("SELECT `value` FROM " + databaseObjectToken.getTable() + " WHERE `key` = ?")) {
+        T result = this.execute(SELECT, connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT `value` FROM " + databaseObjectToken.getTable() + " WHERE `key` = ?");
             statement.setString(1, databaseObjectToken.getKey());
 
-            ResultSet resultSet = statement.executeQuery();
-            if (!resultSet.next()) {
-                return def;
+            try (ResultSet resultSet = statement.executeQuery()) {
+                if (!resultSet.next()) {
+                    return null;
+                }
+
+                byte[] value = resultSet.getBytes("value");
+                return value == null ? null : databaseObjectToken.deserialize(value);
             }
+        });
+        return result == null ? def : result;
+    }
 
-            try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(resultSet.getBytes("value")))) {
-                return databaseObjectToken.deserialize(stream);
-            } catch (final IOException ex) {
-                ex.printStackTrace();
+    @Override
+    public <T> void forEachInTable(@NotNull String table, @NotNull Function<byte[], T> mapper, @NotNull Consumer<T> handler) {
+        this.execute(SELECT_ALL, connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT `value` FROM " + table);
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    byte[] next = resultSet.getBytes("value");
+                    if (next != null) {
+                        handler.accept(mapper.apply(next));
+                    }
+                }
             }
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
-        }
 
-        return def;
+            return null;
+        });
     }
 
     @Override
-    public <T> void forEachInTable(@NotNull String table, @NotNull Function<byte[], T> mapper, @NotNull Consumer<T> handler) {
-        try (PreparedStatement statement = connection.prepareStatement("SELECT * FROM " + table)) {
-            ResultSet resultSet = statement.executeQuery();
+    public <T> void forEachWhere(@NotNull String table, @NotNull String column, @NotNull Object value, @NotNull Function<byte[], T> mapper,
+                                 @NotNull Consumer<T> handler) {
+        TableSchema<?> schema = this.schemas.get(table);
+        Validate.assertNotNull(schema, "Table " + table + " was not created from a schema");
 
-            while (resultSet.next()) {
-                byte[] next = resultSet.getBytes("value");
-                if (next != null) {
-                    handler.accept(mapper.apply(next));
+        Column<?> typedColumn = schema.getColumn(column);
+        Validate.assertNotNull(typedColumn, "Table " + table + " has no column " + column);
+
+        this.execute(SELECT_WHERE, connection -> {
+            PreparedStatement statement = connection.prepareStatement("SELECT `value` FROM " + table + " WHERE `" + column + "` = ? ORDER BY `key`");
+            statement.setObject(1, value, typedColumn.getType().getSqlType());
+
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    byte[] next = resultSet.getBytes("value");
+                    if (next != null) {
+                        handler.accept(mapper.apply(next));
+                    }
                 }
             }
-        } catch (final SQLException ex) {
-            ex.printStackTrace();
+
+            return null;
+        });
+    }
+
+    @Override
+    public int rewriteTable(@NotNull String table, @NotNull BiFunction<String, byte[], byte[]> rewriter) {
+        TableSchema<?> schema = this.schemas.get(table);
+        AtomicReference<String> lastKey = new AtomicReference<>();
+        AtomicBoolean more = new AtomicBoolean(true);
+        AtomicInteger changed = new AtomicInteger();
+
+        int rewritten = 0;
+        while (more.getAndSet(false)) {
+            changed.set(0);
+            boolean committed = this.transaction(database -> this.execute(REWRITE, connection -> {
+                // the next batch starts after the last key of the previous one, so the primary key index is used
+                String after = lastKey.get();
+                PreparedStatement select = connection.prepareStatement("SELECT `key`, `value` FROM " + table
+                        + (after == null ? "" : " WHERE `key` > ?") + " ORDER BY `key` LIMIT " + REWRITE_BATCH_SIZE);
+                if (after != null) {
+                    select.setString(1, after);
+                }
+
+                Map<String, byte[]> changes = new LinkedHashMap<>();
+                int rows = 0;
+                try (ResultSet resultSet = select.executeQuery()) {
+                    while (resultSet.next()) {
+                        rows++;
+
+                        String key = resultSet.getString("key");
+                        if (key == null) {
+                            continue;
+                        }
+
+                        // rows without a value have to move the batch forward too
+                        lastKey.set(key);
+                        byte[] value = resultSet.getBytes("value");
+                        if (value == null) {
+                            continue;
+                        }
+
+                        byte[] rewrite = rewriter.apply(key, value);
+                        if (rewrite != null) {
+                            changes.put(key, rewrite);
+                        }
+                    }
+                }
+
+                if (!changes.isEmpty()) {
+                    // the typed columns are refreshed from the rewritten value
+                    PreparedStatement update = connection.prepareStatement(updateQuery(table, schema));
+                    for (Map.Entry<String, byte[]> entry : changes.entrySet()) {
+                        Object object = schema == null || schema.getColumns().isEmpty() ? null : DatabaseCodecs.decode(schema.getCodec(), entry.getValue());
+
+                        update.setBytes(1, entry.getValue());
+                        update.setString(bindColumns(update, 2, schema, object), entry.getKey());
+                        update.addBatch();
+                    }
+
+                    update.executeBatch();
+                }
+
+                changed.set(changes.size());
+                more.set(rows == REWRITE_BATCH_SIZE);
+                return null;
+            }));
+
+            if (!committed) {
+                break;
+            }
+
+            rewritten += changed.get();
         }
+
+        return rewritten;
     }
 
     @Override
     public void deleteFromTable(@NotNull String table, @NotNull String key) {
-        try (PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " WHERE `key` = ?")) {
+        this.execute(DELETE, connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " WHERE `key` = ?");
             statement.setString(1, key);
 
-            statement.executeUpdate();
+            return statement.executeUpdate();
+        });
+    }
+
+    @Override
+    public void deleteAll(@NotNull String table, @NotNull Collection<String> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+
+        this.transaction(database -> this.execute(DELETE_BATCH, connection -> {
+            PreparedStatement statement = connection.prepareStatement("DELETE FROM " + table + " WHERE `key` = ?");
+            for (String key : keys) {
+                statement.setString(1, key);
+                statement.addBatch();
+            }
+
+            return statement.executeBatch();
+        }));
+    }
+
+    @Override
+    public boolean transaction(@NotNull Consumer<DatabaseDriver> unitOfWork) {
+        try (PooledConnection connection = this.lease()) {
+            if (connection.isInTransaction()) {
+                // join the already running transaction of the current thread
+                try {
+                    unitOfWork.accept(this);
+                } catch (final Throwable throwable) {
+                    connection.markRollbackOnly();
+                    throw throwable;
+                }
+
+                // the outer transaction gets rolled back if a statement of the joined unit of work failed
+                return !connection.isRollbackOnly();
+            }
+
+            connection.beginTransaction();
+
+            boolean success = false;
+            try {
+                unitOfWork.accept(this);
+                success = true;
+            } finally {
+                success = connection.endTransaction(success);
+            }
+
+            return success;
         } catch (final SQLException ex) {
             ex.printStackTrace();
         }
+
+        return false;
     }
 
     @Override
     public void close() {
-        if (connection != null) {
+        if (this.pool != null) {
+            this.pool.close();
+            this.pool = null;
+        }
+    }
+
+    /**
+     * @return The connection pool of the driver or {@code null} if the driver is not connected
+     */
+    @Nullable
+    public ConnectionPool getPool() {
+        return this.pool;
+    }
+
+    @NotNull
+    private PooledConnection lease() throws SQLException {
+        ConnectionPool pool = this.pool;
+        Validate.assertNotNull(pool, "Database is not connected");
+        return pool.lease();
+    }
+
+    @Nullable
+    private <T> T execute(@NotNull Summary timer, @NotNull SqlFunction<T> function) {
+        try (PooledConnection connection = this.lease()) {
+            long start = System.nanoTime();
             try {
-                connection.close();
+                return function.apply(connection);
             } catch (final SQLException ex) {
-                ex.printStackTrace();
+                connection.markRollbackOnly();
+                throw ex;
+            } finally {
+                timer.recordSince(start);
             }
+        } catch (final SQLException ex) {
+            ERRORS.increment();
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    private void batch(@NotNull Summary timer, @NotNull Collection<? extends DatabaseObject> objects,
+                       @NotNull BiFunction<String, TableSchema<?>, String> query, @NotNull SqlParameterSetter parameterSetter) {
+        if (objects.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<DatabaseObject>> byTable = new LinkedHashMap<>();
+        for (DatabaseObject object : objects) {
+            byTable.computeIfAbsent(object.getTable(), table -> new ArrayList<>()).add(object);
+        }
+
+        this.transaction(database -> {
+            for (Map.Entry<String, List<DatabaseObject>> entry : byTable.entrySet()) {
+                TableSchema<?> schema = this.schemas.get(entry.getKey());
+                this.execute(timer, connection -> {
+                    PreparedStatement statement = connection.prepareStatement(query.apply(entry.getKey(), schema));
+                    for (DatabaseObject object : entry.getValue()) {
+                        parameterSetter.apply(statement, schema, object);
+                        statement.addBatch();
+                    }
+
+                    return statement.executeBatch();
+                });
+            }
+        });
+    }
 
-            connection = null;
+    private void registerPoolMetrics(@NotNull ConnectionPool pool) {
+        MetricRegistry.gauge("database_pool_connections_open", "The open connections of the database pool", pool::getOpen);
+        MetricRegistry.gauge("database_pool_connections_in_use", "The leased connections of the database pool", pool::getInUse);
+        MetricRegistry.functionCounter("database_pool_leases_total", "The leases of database connections", pool::getLeases);
+        MetricRegistry.functionCounter("database_pool_wait_seconds_total", "The time spent waiting for a database connection",
+                () -> pool.getTotalWaitNanos() / 1_000_000_000D);
+    }
+
+    /**
+     * Binds the values of the typed columns of the schema which are extracted from the given object
+     *
+     * @param statement The statement to which the values should get bound
+     * @param index     The index of the first parameter of the columns
+     * @param schema    The schema of the table or {@code null} if the table has no typed columns
+     * @param object    The object from which the values are extracted or {@code null} to bind null values
+     * @return The index of the next parameter after the columns
+     * @throws SQLException If a value cannot get bound
+     */
+    @SuppressWarnings("unchecked")
+    static int bindColumns(@NotNull PreparedStatement statement, int index, @Nullable TableSchema<?> schema,
+                           @Nullable Object object) throws SQLException {
+        if (schema == null) {
+            return index;
         }
+
+        for (Column<?> column : schema.getColumns()) {
+            Object value = object == null ? null : ((Column<Object>) column).getValue(object);
+            if (value == null) {
+                statement.setNull(index++, column.getType().getSqlType());
+            } else {
+                statement.setObject(index++, value, column.getType().getSqlType());
+            }
+        }
+
+        return index;
+    }
+
+    @NotNull
+    private static String insertQuery(@NotNull String table, @Nullable TableSchema<?> schema) {
+        StringBuilder columns = new StringBuilder("`key`, `value`");
+        StringBuilder values = new StringBuilder("?, ?");
+        if (schema != null) {
+            for (Column<?> column : schema.getColumns()) {
+                columns.append(", `").append(column.getName()).append('`');
+                values.append(", ?");
+            }
+        }
+
+        return "INSERT INTO " + table + " (" + columns + ") VALUES (" + values + ")";
+    }
+
+    @NotNull
+    private static String updateQuery(@NotNull String table, @Nullable TableSchema<?> schema) {
+        StringBuilder query = new StringBuilder("UPDATE ").append(table).append(" SET `value` = ?");
+        if (schema != null) {
+            for (Column<?> column : schema.getColumns()) {
+                query.append(", `").append(column.getName()).append("` = ?");
+            }
+        }
+
+        return query.append(" WHERE `key` = ?").toString();
+    }
+
+    @NotNull
+    private static Summary statementTimer(@NotNull String operation) {
+        return MetricRegistry.timer("database_statement_duration_seconds", "The duration of the database statements", "operation", operation);
+    }
+
+    @FunctionalInterface
+    private interface SqlFunction<T> {
+
+        T apply(@NotNull PooledConnection connection) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface SqlParameterSetter {
+
+        void apply(@NotNull PreparedStatement statement, @Nullable TableSchema<?> schema, @NotNull DatabaseObject object) throws SQLException;
     }
 }
@@ -0,0 +1,288 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.basic;
+
+import de.switchprojects.controller.printer.database.basic.pool.PooledConnection;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
+import de.switchprojects.controller.printer.database.schema.object.Column;
+import de.switchprojects.controller.printer.database.schema.object.Migration;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.*;
+
+/**
+ * Creates the tables of the h2 database driver and migrates existing tables to the current version of
+ * their {@link TableSchema}. The version of every table is stored in the {@link #VERSION_TABLE} together
+ * with the version of the codec all rows of the table are written with, so the rows only have to get
+ * scanned by the codec migration when the codec changed.
+ * <p>
+ * Tables which were created before the schemas were introduced only contain the untyped {@code key}
+ * and {@code value} columns without a primary key and are treated as version 0. They are copied into
+ * a typed table, the original table is only dropped after the copy is complete, so an interrupted
+ * migration is continued on the next start.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+final class H2SchemaMigrator {
+
+    private H2SchemaMigrator() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final String VERSION_TABLE = "schema_versions";
+
+    private static final int BATCH_SIZE = 500;
+
+    /**
+     * Creates the table of the schema or migrates the existing table to the current version of the schema
+     *
+     * @param connection The connection which should get used, it must not be in a transaction
+     * @param schema     The schema of the table
+     * @throws SQLException If a statement fails
+     */
+    static void migrate(@NotNull PooledConnection connection, @NotNull TableSchema<?> schema) throws SQLException {
+        Connection sql = connection.getConnection();
+        String table = schema.getTable();
+        String copy = table + "_migration";
+
+        createVersionTable(sql);
+        try (Statement statement = sql.createStatement()) {
+            if (exists(sql, copy)) {
+                // the last migration was interrupted, a copy without original is complete
+                statement.executeUpdate(exists(sql, table) ? "DROP TABLE " + copy : "ALTER TABLE " + copy + " RENAME TO " + table);
+            }
+        }
+
+        try {
+            int version = readVersion(connection, table);
+            if (version < 0) {
+                if (!exists(sql, table)) {
+                    createTable(sql, table, schema);
+                    createIndexes(sql, table, schema);
+                    writeVersion(connection, table, schema.getVersion());
+                    writeCodecVersion(connection, table, schema.getCodec().getVersion());
+                    return;
+                }
+
+                version = 0;
+            }
+
+            if (version > schema.getVersion()) {
+                System.err.println("Table " + table + " has schema version " + version + " which is newer than the known version "
+                        + schema.getVersion());
+                return;
+            }
+
+            if (version < 1) {
+                long start = System.currentTimeMillis();
+                int rows = copyToTypedTable(sql, table, copy, schema);
+                writeVersion(connection, table, 1);
+
+                System.out.println("Migrated " + rows + " rows of table " + table + " to schema version 1 (typed columns) in "
+                        + (System.currentTimeMillis() - start) + "ms");
+            }
+
+            for (Migration migration : schema.getMigrations()) {
+                if (migration.getVersion() > version) {
+                    migration.getStep().migrate(sql, table);
+                    writeVersion(connection, table, migration.getVersion());
+
+                    System.out.println("Migrated table " + table + " to schema version " + migration.getVersion()
+                            + " (" + migration.getDescription() + ")");
+                }
+            }
+        } finally {
+            // the cached statements of the connection may still point to the dropped tables
+            connection.invalidateStatements();
+        }
+    }
+
+    /**
+     * Drops the table and removes its version, so the table is created again from the schema
+     *
+     * @param connection The connection which should get used
+     * @param table      The name of the table which should get dropped
+     * @throws SQLException If a statement fails
+     */
+    static void drop(@NotNull PooledConnection connection, @NotNull String table) throws SQLException {
+        createVersionTable(connection.getConnection());
+        try (Statement statement = connection.getConnection().createStatement()) {
+            statement.executeUpdate("DROP TABLE IF EXISTS " + table);
+        }
+
+        PreparedStatement statement = connection.prepareStatement("DELETE FROM " + VERSION_TABLE + " WHERE `table_name` = ?");
+        statement.setString(1, table);
+        statement.executeUpdate();
+
+        connection.invalidateStatements();
+    }
+
+    /**
+     * Reads the version of the codec all rows of the table are written with
+     *
+     * @param connection The connection which should get used
+     * @param table      The name of the table
+     * @return The codec version of the table or {@code 0} if it is unknown
+     * @throws SQLException If a statement fails
+     */
+    static int readCodecVersion(@NotNull PooledConnection connection, @NotNull String table) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT `codec_version` FROM " + VERSION_TABLE + " WHERE `table_name` = ?");
+        statement.setString(1, table);
+
+        try (ResultSet resultSet = statement.executeQuery()) {
+            // tables which were migrated before the codec version was stored have no codec version
+            return resultSet.next() ? resultSet.getInt(1) : 0;
+        }
+    }
+
+    /**
+     * Stores the version of the codec all rows of the table are written with now
+     *
+     * @param connection The connection which should get used
+     * @param table      The name of the table
+     * @param version    The version of the codec
+     * @throws SQLException If a statement fails
+     */
+    static void writeCodecVersion(@NotNull PooledConnection connection, @NotNull String table, int version) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("UPDATE " + VERSION_TABLE + " SET `codec_version` = ? WHERE `table_name` = ?");
+        statement.setInt(1, version);
+        statement.setString(2, table);
+        statement.executeUpdate();
+    }
+
+    private static void createVersionTable(Connection sql) throws SQLException {
+        try (Statement statement = sql.createStatement()) {
+            statement.executeUpdate("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE
+                    + " (`table_name` VARCHAR(255) PRIMARY KEY, `version` INT NOT NULL, `migrated_at` BIGINT NOT NULL)");
+            // the version table of older databases has no codec version yet
+            statement.executeUpdate("ALTER TABLE " + VERSION_TABLE + " ADD COLUMN IF NOT EXISTS `codec_version` INT");
+        }
+    }
+
+    private static int copyToTypedTable(Connection sql, String table, String copy, TableSchema<?> schema) throws SQLException {
+        createTable(sql, copy, schema);
+
+        int rows = 0;
+        try (Statement select = sql.createStatement();
+             ResultSet resultSet = select.executeQuery("SELECT `key`, `value` FROM " + table);
+             PreparedStatement merge = sql.prepareStatement(mergeQuery(copy, schema))) {
+            while (resultSet.next()) {
+                String key = resultSet.getString(1);
+                byte[] value = resultSet.getBytes(2);
+                if (key == null || value == null) {
+                    continue;
+                }
+
+                // rows of an older codec version are decoded by the codec migration which runs after the
+                // schema migration and fills the typed columns when rewriting the row
+                Object object = DatabaseCodecs.needsMigration(schema.getCodec(), value) ? null : DatabaseCodecs.decode(schema.getCodec(), value);
+
+                merge.setString(1, key);
+                merge.setBytes(2, value);
+                H2DatabaseDriver.bindColumns(merge, 3, schema, object);
+                merge.addBatch();
+
+                if (++rows % BATCH_SIZE == 0) {
+                    merge.executeBatch();
+                }
+            }
+
+            merge.executeBatch();
+        }
+
+        try (Statement statement = sql.createStatement()) {
+            statement.executeUpdate("DROP TABLE " + table);
+            statement.executeUpdate("ALTER TABLE " + copy + " RENAME TO " + table);
+        }
+
+        createIndexes(sql, table, schema);
+        return rows;
+    }
+
+    private static void createTable(Connection sql, String table, TableSchema<?> schema) throws SQLException {
+        StringBuilder query = new StringBuilder("CREATE TABLE ").append(table).append(" (`key` VARCHAR(255) PRIMARY KEY");
+        for (Column<?> column : schema.getColumns()) {
+            query.append(", `").append(column.getName()).append("` ").append(column.getType().getDefinition());
+        }
+
+        query.append(", `value` LONGBLOB)");
+        try (Statement statement = sql.createStatement()) {
+            statement.executeUpdate(query.toString());
+        }
+    }
+
+    private static void createIndexes(Connection sql, String table, TableSchema<?> schema) throws SQLException {
+        try (Statement statement = sql.createStatement()) {
+            for (Column<?> column : schema.getColumns()) {
+                if (column.isIndexed()) {
+                    statement.executeUpdate("CREATE INDEX IF NOT EXISTS idx_" + table + "_" + column.getName()
+                            + " ON " + table + " (`" + column.getName() + "`)");
+                }
+            }
+        }
+    }
+
+    @NotNull
+    private static String mergeQuery(String table, TableSchema<?> schema) {
+        StringBuilder columns = new StringBuilder("`key`, `value`");
+        StringBuilder values = new StringBuilder("?, ?");
+        for (Column<?> column : schema.getColumns()) {
+            columns.append(", `").append(column.getName()).append('`');
+            values.append(", ?");
+        }
+
+        return "MERGE INTO " + table + " (" + columns + ") KEY (`key`) VALUES (" + values + ")";
+    }
+
+    private static boolean exists(Connection sql, String table) throws SQLException {
+        try (PreparedStatement statement = sql.prepareStatement(
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.TABLES WHERE TABLE_SCHEMA = SCHEMA() AND TABLE_NAME = ?")) {
+            // unquoted names are stored in upper case
+            statement.setString(1, table.toUpperCase());
+            try (ResultSet resultSet = statement.executeQuery()) {
+                return resultSet.next() && resultSet.getInt(1) > 0;
+            }
+        }
+    }
+
+    private static int readVersion(PooledConnection connection, String table) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("SELECT `version` FROM " + VERSION_TABLE + " WHERE `table_name` = ?");
+        statement.setString(1, table);
+
+        try (ResultSet resultSet = statement.executeQuery()) {
+            return resultSet.next() ? resultSet.getInt(1) : -1;
+        }
+    }
+
+    private static void writeVersion(PooledConnection connection, String table, int version) throws SQLException {
+        PreparedStatement statement = connection.prepareStatement("MERGE INTO " + VERSION_TABLE
+                + " (`table_name`, `version`, `migrated_at`) KEY (`table_name`) VALUES (?, ?, ?)");
+        statement.setString(1, table);
+        statement.setInt(2, version);
+        statement.setLong(3, System.currentTimeMillis());
+        statement.executeUpdate();
+    }
+}
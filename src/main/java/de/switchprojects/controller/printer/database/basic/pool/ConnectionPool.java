@@ -0,0 +1,216 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.basic.pool;
+
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A bounded pool of jdbc connections. A thread leases one connection and gets the same connection
+ * back when it leases again before releasing it, so nested database calls of one thread are using
+ * the same connection.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class ConnectionPool {
+
+    public ConnectionPool(@NotNull String connectionString, int maxSize, long timeout, @NotNull TimeUnit timeUnit) {
+        Validate.assertNotNull(connectionString, "Cannot create pool for null connection string");
+        Validate.assertBigger(maxSize, 1);
+
+        this.connectionString = connectionString;
+        this.maxSize = maxSize;
+        this.timeoutNanos = timeUnit.toNanos(timeout);
+    }
+
+    private final String connectionString;
+
+    private final int maxSize;
+
+    private final long timeoutNanos;
+
+    private final BlockingQueue<PooledConnection> idle = new LinkedBlockingQueue<>();
+
+    private final Collection<PooledConnection> all = new ArrayList<>();
+
+    private final ThreadLocal<PooledConnection> leased = new ThreadLocal<>();
+
+    private final AtomicInteger inUse = new AtomicInteger();
+
+    private final LongAdder leases = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private volatile boolean closed;
+
+    /**
+     * Leases a connection for the current thread. If the thread already leased a connection the same
+     * connection is returned.
+     *
+     * @return The connection leased for the current thread
+     * @throws SQLException If no connection could be opened or the wait for a free connection timed out
+     */
+    @NotNull
+    public PooledConnection lease() throws SQLException {
+        PooledConnection current = this.leased.get();
+        if (current != null) {
+            current.depth++;
+            return current;
+        }
+
+        if (this.closed) {
+            throw new SQLException("Connection pool is already closed");
+        }
+
+        long start = System.nanoTime();
+        PooledConnection connection = this.idle.poll();
+        if (connection == null) {
+            connection = this.tryOpen();
+        }
+
+        if (connection == null) {
+            try {
+                connection = this.idle.poll(this.timeoutNanos, TimeUnit.NANOSECONDS);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for a database connection", ex);
+            }
+
+            if (connection == null) {
+                throw new SQLException("Timed out while waiting for a database connection");
+            }
+        }
+
+        this.waitNanos.add(System.nanoTime() - start);
+        this.leases.increment();
+        this.inUse.incrementAndGet();
+
+        connection.depth = 1;
+        this.leased.set(connection);
+        return connection;
+    }
+
+    /**
+     * Closes all connections of the pool
+     */
+    public void close() {
+        this.closed = true;
+
+        synchronized (this.all) {
+            for (PooledConnection connection : this.all) {
+                connection.closeConnection();
+            }
+
+            this.all.clear();
+        }
+
+        this.idle.clear();
+    }
+
+    /**
+     * @return The maximum amount of connections of the pool
+     */
+    public int getMaxSize() {
+        return this.maxSize;
+    }
+
+    /**
+     * @return The amount of connections which are opened by the pool
+     */
+    public int getOpen() {
+        synchronized (this.all) {
+            return this.all.size();
+        }
+    }
+
+    /**
+     * @return The amount of connections which are currently leased by a thread
+     */
+    public int getInUse() {
+        return this.inUse.get();
+    }
+
+    /**
+     * @return The amount of leases since the creation of the pool
+     */
+    public long getLeases() {
+        return this.leases.sum();
+    }
+
+    /**
+     * @return The total time in nanoseconds threads waited for a connection
+     */
+    public long getTotalWaitNanos() {
+        return this.waitNanos.sum();
+    }
+
+    void release(@NotNull PooledConnection connection) {
+        connection.releaseStatements();
+        if (--connection.depth > 0) {
+            return;
+        }
+
+        this.leased.remove();
+        this.inUse.decrementAndGet();
+
+        if (connection.isInTransaction()) {
+            // should never happen, but we never give a connection with an open transaction back to the pool
+            try {
+                connection.endTransaction(false);
+            } catch (final SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        if (this.closed) {
+            connection.closeConnection();
+            return;
+        }
+
+        this.idle.offer(connection);
+    }
+
+    private PooledConnection tryOpen() throws SQLException {
+        synchronized (this.all) {
+            if (this.all.size() >= this.maxSize) {
+                return null;
+            }
+
+            PooledConnection connection = new PooledConnection(this, DriverManager.getConnection(this.connectionString));
+            this.all.add(connection);
+            return connection;
+        }
+    }
+}
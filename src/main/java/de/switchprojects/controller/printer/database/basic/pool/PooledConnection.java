@@ -0,0 +1,237 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.basic.pool;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Represents a connection of the {@link ConnectionPool} which is leased by one thread at a time. The
+ * connection caches all prepared statements, so a statement is only prepared once per connection. A
+ * cached statement stays in use until the lease which got it is closed, a nested lease of the same
+ * thread which needs the same statement in the meantime gets a fresh one.
+ * <p>
+ * Closing the leased connection does not close the underlying connection but gives it back to the pool:
+ * <pre>{@code
+ * try (PooledConnection connection = pool.lease()) {
+ *     PreparedStatement statement = connection.prepareStatement("SELECT ...");
+ * }
+ * }</pre>
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PooledConnection implements AutoCloseable {
+
+    PooledConnection(@NotNull ConnectionPool pool, @NotNull Connection connection) {
+        this.pool = pool;
+        this.connection = connection;
+    }
+
+    private final ConnectionPool pool;
+
+    private final Connection connection;
+
+    private final Map<String, PreparedStatement> statements = new HashMap<>();
+
+    private final Map<PreparedStatement, Integer> inUse = new IdentityHashMap<>();
+
+    private final Map<PreparedStatement, Integer> uncached = new IdentityHashMap<>();
+
+    int depth;
+
+    private boolean transaction;
+
+    private boolean rollbackOnly;
+
+    /**
+     * Gets a prepared statement from the cache or prepares a new one
+     *
+     * @param sql The sql query of the statement
+     * @return The prepared statement for the query
+     * @throws SQLException If the statement cannot get prepared
+     */
+    @NotNull
+    public PreparedStatement prepareStatement(@NotNull String sql) throws SQLException {
+        PreparedStatement statement = this.statements.get(sql);
+        Integer usedBy = statement == null ? null : this.inUse.get(statement);
+        if (usedBy != null && usedBy < this.depth && !statement.isClosed()) {
+            // an outer lease is still using the statement, for example while iterating over its result set,
+            // executing it again would close that result set
+            PreparedStatement fresh = this.connection.prepareStatement(sql);
+            this.uncached.put(fresh, this.depth);
+            return fresh;
+        }
+
+        if (statement == null || statement.isClosed()) {
+            statement = this.connection.prepareStatement(sql);
+            this.statements.put(sql, statement);
+        } else {
+            statement.clearParameters();
+            statement.clearBatch();
+        }
+
+        this.inUse.put(statement, this.depth);
+        return statement;
+    }
+
+    /**
+     * Removes all cached statements, for example after a table was dropped
+     */
+    public void invalidateStatements() {
+        for (PreparedStatement statement : this.statements.values()) {
+            try {
+                statement.close();
+            } catch (final SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        this.statements.clear();
+        this.inUse.clear();
+        this.releaseStatements(0);
+    }
+
+    /**
+     * Starts a new transaction on this connection
+     *
+     * @throws SQLException If the auto commit mode cannot get changed
+     */
+    public void beginTransaction() throws SQLException {
+        this.connection.setAutoCommit(false);
+        this.transaction = true;
+        this.rollbackOnly = false;
+    }
+
+    /**
+     * Commits or rolls back the current transaction and switches back to the auto commit mode
+     *
+     * @param commit If the transaction should get committed, it gets rolled back if it was marked as
+     *               rollback only
+     * @return If the transaction was committed
+     * @throws SQLException If the transaction cannot get committed or rolled back
+     */
+    public boolean endTransaction(boolean commit) throws SQLException {
+        boolean committed = commit && !this.rollbackOnly;
+
+        try {
+            if (committed) {
+                this.connection.commit();
+            } else {
+                this.connection.rollback();
+            }
+        } finally {
+            this.transaction = false;
+            this.rollbackOnly = false;
+            this.connection.setAutoCommit(true);
+        }
+
+        return committed;
+    }
+
+    /**
+     * Marks the current transaction so it gets rolled back when it ends. Does nothing if the connection
+     * is not in a transaction.
+     */
+    public void markRollbackOnly() {
+        if (this.transaction) {
+            this.rollbackOnly = true;
+        }
+    }
+
+    /**
+     * @return If the current transaction was marked to get rolled back when it ends
+     */
+    public boolean isRollbackOnly() {
+        return this.rollbackOnly;
+    }
+
+    /**
+     * @return If the connection is currently in a transaction
+     */
+    public boolean isInTransaction() {
+        return this.transaction;
+    }
+
+    /**
+     * @return The underlying jdbc connection
+     */
+    @NotNull
+    public Connection getConnection() {
+        return this.connection;
+    }
+
+    /**
+     * Gives the connection back to the pool if the current thread does not use it anymore
+     */
+    @Override
+    public void close() {
+        this.pool.release(this);
+    }
+
+    /**
+     * Releases the statements which were used by the current lease depth, called before the depth is
+     * decremented when a lease is closed
+     */
+    void releaseStatements() {
+        this.releaseStatements(this.depth);
+    }
+
+    private void releaseStatements(int depth) {
+        this.inUse.values().removeIf(usedBy -> usedBy >= depth);
+
+        Iterator<Map.Entry<PreparedStatement, Integer>> iterator = this.uncached.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<PreparedStatement, Integer> entry = iterator.next();
+            if (entry.getValue() < depth) {
+                continue;
+            }
+
+            PreparedStatement statement = entry.getKey();
+            iterator.remove();
+            try {
+                statement.close();
+            } catch (final SQLException ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    void closeConnection() {
+        this.invalidateStatements();
+
+        try {
+            this.connection.close();
+        } catch (final SQLException ex) {
+            ex.printStackTrace();
+        }
+    }
+}
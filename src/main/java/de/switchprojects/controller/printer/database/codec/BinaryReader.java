@@ -0,0 +1,144 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Reads the values written by a {@link BinaryWriter} out of a byte array.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class BinaryReader {
+
+    public BinaryReader(@NotNull byte[] buffer) {
+        this(buffer, 0);
+    }
+
+    public BinaryReader(@NotNull byte[] buffer, int position) {
+        this.buffer = buffer;
+        this.position = position;
+    }
+
+    private final byte[] buffer;
+
+    private int position;
+
+    public byte readByte() throws IOException {
+        this.ensureReadable(1);
+        return this.buffer[this.position++];
+    }
+
+    public boolean readBoolean() throws IOException {
+        return this.readByte() != 0;
+    }
+
+    public int readVarInt() throws IOException {
+        long value = this.readVarLong();
+        if (value > Integer.MAX_VALUE || value < Integer.MIN_VALUE) {
+            throw new IOException("Var int is too big: " + value);
+        }
+
+        return (int) value;
+    }
+
+    public long readVarLong() throws IOException {
+        long raw = this.readUnsignedVarLong();
+        return (raw >>> 1) ^ -(raw & 1);
+    }
+
+    public long readUnsignedVarLong() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte next = this.readByte();
+            value |= (long) (next & 0x7F) << shift;
+            if ((next & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new IOException("Var long is too long");
+    }
+
+    public double readDouble() throws IOException {
+        this.ensureReadable(8);
+
+        long bits = 0;
+        for (int i = 0; i < 8; i++) {
+            bits |= (this.buffer[this.position++] & 0xFFL) << (i * 8);
+        }
+
+        return Double.longBitsToDouble(bits);
+    }
+
+    @NotNull
+    public byte[] readBytes() throws IOException {
+        int length = this.readLength();
+        byte[] bytes = new byte[length];
+        System.arraycopy(this.buffer, this.position, bytes, 0, length);
+        this.position += length;
+        return bytes;
+    }
+
+    @NotNull
+    public String readString() throws IOException {
+        int length = this.readLength();
+        String value = new String(this.buffer, this.position, length, StandardCharsets.UTF_8);
+        this.position += length;
+        return value;
+    }
+
+    @Nullable
+    public String readNullableString() throws IOException {
+        return this.readBoolean() ? this.readString() : null;
+    }
+
+    /**
+     * @return The amount of bytes which are not read yet
+     */
+    public int readableBytes() {
+        return this.buffer.length - this.position;
+    }
+
+    private int readLength() throws IOException {
+        long length = this.readUnsignedVarLong();
+        if (length < 0 || length > this.readableBytes()) {
+            throw new EOFException("Length " + length + " exceeds the remaining " + this.readableBytes() + " bytes");
+        }
+
+        return (int) length;
+    }
+
+    private void ensureReadable(int bytes) throws IOException {
+        if (this.position + bytes > this.buffer.length) {
+            throw new EOFException("Cannot read " + bytes + " bytes at position " + this.position);
+        }
+    }
+}
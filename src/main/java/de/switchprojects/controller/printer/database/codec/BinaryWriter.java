@@ -0,0 +1,139 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * A growable buffer to write the binary representation of a database object. Longs and ints are
+ * written as zig-zag encoded variable length integers and strings are written as length prefixed
+ * UTF-8 bytes.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class BinaryWriter {
+
+    public BinaryWriter() {
+        this(32);
+    }
+
+    public BinaryWriter(int initialCapacity) {
+        this.buffer = new byte[Math.max(8, initialCapacity)];
+    }
+
+    private byte[] buffer;
+
+    private int position;
+
+    @NotNull
+    public BinaryWriter writeByte(int value) {
+        this.ensureCapacity(1);
+        this.buffer[this.position++] = (byte) value;
+        return this;
+    }
+
+    @NotNull
+    public BinaryWriter writeBoolean(boolean value) {
+        return this.writeByte(value ? 1 : 0);
+    }
+
+    @NotNull
+    public BinaryWriter writeVarInt(int value) {
+        return this.writeVarLong(value);
+    }
+
+    @NotNull
+    public BinaryWriter writeVarLong(long value) {
+        return this.writeUnsignedVarLong((value << 1) ^ (value >> 63));
+    }
+
+    @NotNull
+    public BinaryWriter writeUnsignedVarLong(long value) {
+        this.ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            this.buffer[this.position++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        this.buffer[this.position++] = (byte) value;
+        return this;
+    }
+
+    @NotNull
+    public BinaryWriter writeDouble(double value) {
+        long bits = Double.doubleToRawLongBits(value);
+        this.ensureCapacity(8);
+        for (int i = 0; i < 8; i++) {
+            this.buffer[this.position++] = (byte) (bits >>> (i * 8));
+        }
+
+        return this;
+    }
+
+    @NotNull
+    public BinaryWriter writeBytes(@NotNull byte[] bytes) {
+        this.writeUnsignedVarLong(bytes.length);
+        this.ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, this.buffer, this.position, bytes.length);
+        this.position += bytes.length;
+        return this;
+    }
+
+    @NotNull
+    public BinaryWriter writeString(@NotNull String value) {
+        return this.writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @NotNull
+    public BinaryWriter writeNullableString(@Nullable String value) {
+        this.writeBoolean(value != null);
+        return value == null ? this : this.writeString(value);
+    }
+
+    /**
+     * @return The amount of bytes written to this writer
+     */
+    public int size() {
+        return this.position;
+    }
+
+    /**
+     * @return A copy of all bytes written to this writer
+     */
+    @NotNull
+    public byte[] toByteArray() {
+        return Arrays.copyOf(this.buffer, this.position);
+    }
+
+    private void ensureCapacity(int required) {
+        if (this.position + required > this.buffer.length) {
+            this.buffer = Arrays.copyOf(this.buffer, Math.max(this.buffer.length << 1, this.position + required));
+        }
+    }
+}
@@ -0,0 +1,79 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.codec;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * Represents a versioned codec which writes an object into its binary database representation and
+ * reads it back. Every row is prefixed with the version of the codec which wrote it, so a codec can
+ * still read rows which were written by an older version of itself.
+ *
+ * @param <T> The type of the object which is handled by the codec
+ * @author Pasqual Koschmieder
+ * @see DatabaseCodecs
+ * @since 1.0
+ */
+public interface DatabaseCodec<T> {
+
+    /**
+     * @return The current version of the codec which is used when writing an object
+     */
+    int getVersion();
+
+    /**
+     * Writes the given object using the current version of the codec
+     *
+     * @param object The object which should get written
+     * @param writer The writer to which the object should get written
+     */
+    void encode(@NotNull T object, @NotNull BinaryWriter writer);
+
+    /**
+     * Reads an object which was written by the given version of the codec
+     *
+     * @param reader  The reader from which the object should get read
+     * @param version The version of the codec which wrote the object
+     * @return The read object or {@code null} if the object cannot get read
+     * @throws IOException If the data is corrupted
+     */
+    @Nullable
+    T decode(@NotNull BinaryReader reader, int version) throws IOException;
+
+    /**
+     * Reads an object which was written using the object output stream before the codec was introduced
+     *
+     * @param key    The key of the row in the database
+     * @param stream The stream of the row
+     * @return The read object or {@code null} if the object cannot get read
+     * @throws IOException            If the data is corrupted
+     * @throws ClassNotFoundException If a class of an object in the stream cannot get found
+     */
+    @Nullable
+    T decodeLegacy(@NotNull String key, @NotNull ObjectInputStream stream) throws IOException, ClassNotFoundException;
+}
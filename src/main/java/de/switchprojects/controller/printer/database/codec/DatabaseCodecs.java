@@ -0,0 +1,193 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.codec;
+
+import de.switchprojects.controller.printer.database.DatabaseDriver;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Util class to encode and decode database objects using a {@link DatabaseCodec} and to migrate the
+ * rows of a table to the current version of a codec.
+ * <p>
+ * Every encoded row starts with the {@link #MAGIC} byte followed by the version of the codec:
+ * <pre>{@code
+ * public static void main(String... args) {
+ *     byte[] bytes = DatabaseCodecs.encode(codec, object);
+ *     Object decoded = DatabaseCodecs.decode(codec, bytes);
+ * }
+ * }</pre>
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class DatabaseCodecs {
+
+    private DatabaseCodecs() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The first byte of every row written by a codec
+     */
+    public static final byte MAGIC = (byte) 0xB1;
+
+    /**
+     * Encodes the given object using the current version of the codec
+     *
+     * @param codec  The codec which should get used
+     * @param object The object which should get encoded
+     * @param <T>    The type of the object
+     * @return The encoded object
+     */
+    @NotNull
+    public static <T> byte[] encode(@NotNull DatabaseCodec<T> codec, @NotNull T object) {
+        Validate.assertNotNull(codec, "Cannot encode using null codec");
+        Validate.assertNotNull(object, "Cannot encode null object");
+
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(MAGIC);
+        writer.writeUnsignedVarLong(codec.getVersion());
+        codec.encode(object, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Decodes an object which was encoded using any version of the codec
+     *
+     * @param codec The codec which should get used
+     * @param bytes The bytes of the encoded object
+     * @param <T>   The type of the object
+     * @return The decoded object or {@code null} if the bytes are not written by a codec or are corrupted
+     */
+    @Nullable
+    public static <T> T decode(@NotNull DatabaseCodec<T> codec, @NotNull byte[] bytes) {
+        Validate.assertNotNull(codec, "Cannot decode using null codec");
+        Validate.assertNotNull(bytes, "Cannot decode null bytes");
+
+        if (bytes.length == 0 || bytes[0] != MAGIC) {
+            System.err.println("Unable to decode row which was not written by a codec, run the migration first");
+            return null;
+        }
+
+        try {
+            BinaryReader reader = new BinaryReader(bytes, 1);
+            int version = (int) reader.readUnsignedVarLong();
+            if (version > codec.getVersion()) {
+                System.err.println("Unable to decode row of version " + version + " using codec version " + codec.getVersion());
+                return null;
+            }
+
+            return codec.decode(reader, version);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Checks if the given row has to get rewritten to match the current version of the codec
+     *
+     * @param codec The codec which is used to read the row
+     * @param bytes The bytes of the row
+     * @return If the row was written by the object output stream or an older version of the codec
+     */
+    public static boolean needsMigration(@NotNull DatabaseCodec<?> codec, @NotNull byte[] bytes) {
+        if (isLegacy(bytes)) {
+            return true;
+        }
+
+        if (bytes.length == 0 || bytes[0] != MAGIC) {
+            return false;
+        }
+
+        try {
+            return new BinaryReader(bytes, 1).readUnsignedVarLong() < codec.getVersion();
+        } catch (final IOException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Rewrites all rows of a table which were written using the object output stream or an older version
+     * of the codec using the current version of the codec. The rows are rewritten in batches, a row which
+     * is already current is not changed, so an interrupted migration is continued on the next call.
+     *
+     * @param database The database in which the table is located
+     * @param table    The table which should get migrated
+     * @param codec    The codec of the objects in the table
+     * @param <T>      The type of the objects in the table
+     * @return If all rows of the table are written by the current version of the codec now
+     */
+    public static <T> boolean migrate(@NotNull DatabaseDriver database, @NotNull String table, @NotNull DatabaseCodec<T> codec) {
+        Validate.assertNotNull(database, "Cannot migrate table in null database");
+        Validate.assertNotNull(table, "Cannot migrate null table");
+        Validate.assertNotNull(codec, "Cannot migrate using null codec");
+
+        AtomicInteger failed = new AtomicInteger();
+        int rewritten = database.rewriteTable(table, (key, bytes) -> {
+            if (!needsMigration(codec, bytes)) {
+                return null;
+            }
+
+            T object = isLegacy(bytes) ? decodeLegacy(codec, key, bytes) : decode(codec, bytes);
+            if (object == null) {
+                failed.incrementAndGet();
+                return null;
+            }
+
+            return encode(codec, object);
+        });
+
+        if (rewritten > 0 || failed.get() > 0) {
+            System.out.println("Migrated " + rewritten + " rows of table " + table + " to codec version "
+                    + codec.getVersion() + " (" + failed.get() + " failed)");
+        }
+
+        return failed.get() == 0;
+    }
+
+    private static boolean isLegacy(byte[] bytes) {
+        // the stream magic of the object output stream
+        return bytes.length >= 2 && bytes[0] == (byte) 0xAC && bytes[1] == (byte) 0xED;
+    }
+
+    @Nullable
+    private static <T> T decodeLegacy(DatabaseCodec<T> codec, String key, byte[] bytes) {
+        try (ObjectInputStream stream = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return codec.decodeLegacy(key, stream);
+        } catch (final IOException | ClassNotFoundException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+}
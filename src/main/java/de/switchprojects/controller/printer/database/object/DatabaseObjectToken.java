@@ -24,8 +24,8 @@
 package de.switchprojects.controller.printer.database.object;
 
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ObjectInputStream;
 import java.util.function.Function;
 
 /**
@@ -39,19 +39,19 @@ public abstract class DatabaseObjectToken<T> {
     /**
      * Creates a new token to read the an object from the database.
      *
-     * @param mapFunction The function which maps the stream to the required object
+     * @param mapFunction The function which maps the bytes of the database to the required object
      * @param key         The key of the database object in the database itself
      * @param table       The table in which the database object is located
-     * @param <T>         The type of the object which gets deserialize from the stream
+     * @param <T>         The type of the object which gets deserialize from the bytes
      * @return The token to deserialize an object from the database
      */
     @NotNull
-    public static <T> DatabaseObjectToken<T> newToken(@NotNull Function<ObjectInputStream, T> mapFunction,
+    public static <T> DatabaseObjectToken<T> newToken(@NotNull Function<byte[], T> mapFunction,
                                                       @NotNull String key, @NotNull String table) {
         return new DatabaseObjectToken<T>() {
             @Override
-            public @NotNull T deserialize(@NotNull ObjectInputStream stream) {
-                return mapFunction.apply(stream);
+            public @Nullable T deserialize(@NotNull byte[] data) {
+                return mapFunction.apply(data);
             }
 
             @Override
@@ -69,11 +69,11 @@ public abstract class DatabaseObjectToken<T> {
     /**
      * Deserializes an object from the database.
      *
-     * @param stream The stream created from the database
-     * @return The deserialize object from the given stream
+     * @param data The bytes of the object in the database
+     * @return The deserialize object from the given bytes or {@code null} if the bytes cannot get read
      */
-    @NotNull
-    public abstract T deserialize(@NotNull ObjectInputStream stream);
+    @Nullable
+    public abstract T deserialize(@NotNull byte[] data);
 
     /**
      * @return The table in which the object is located
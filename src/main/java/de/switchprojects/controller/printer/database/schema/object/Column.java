@@ -0,0 +1,88 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.schema.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.function.Function;
+
+/**
+ * Represents a typed column of a {@link TableSchema}. The value of the column is extracted from the
+ * object whenever the object is written to the database.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Column<T> {
+
+    Column(@NotNull String name, @NotNull ColumnType type, boolean indexed, @NotNull Function<T, Object> extractor) {
+        this.name = name;
+        this.type = type;
+        this.indexed = indexed;
+        this.extractor = extractor;
+    }
+
+    private final String name;
+
+    private final ColumnType type;
+
+    private final boolean indexed;
+
+    private final Function<T, Object> extractor;
+
+    /**
+     * @return The name of the column
+     */
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * @return The sql type of the column
+     */
+    @NotNull
+    public ColumnType getType() {
+        return this.type;
+    }
+
+    /**
+     * @return If an index is created for the column
+     */
+    public boolean isIndexed() {
+        return this.indexed;
+    }
+
+    /**
+     * Extracts the value of the column from the given object
+     *
+     * @param object The object which gets written to the database
+     * @return The value of the column or {@code null} if the column has no value for the object
+     */
+    @Nullable
+    public Object getValue(@NotNull T object) {
+        return this.extractor.apply(object);
+    }
+}
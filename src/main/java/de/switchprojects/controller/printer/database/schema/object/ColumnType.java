@@ -0,0 +1,81 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.schema.object;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Types;
+
+/**
+ * The sql types which can get used for the typed columns of a {@link TableSchema}
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public enum ColumnType {
+
+    /**
+     * A 64 bit integer, used for ids and timestamps
+     */
+    BIGINT("BIGINT", Types.BIGINT),
+
+    /**
+     * A 32 bit integer
+     */
+    INTEGER("INT", Types.INTEGER),
+
+    /**
+     * A boolean, used for states
+     */
+    BOOLEAN("BOOLEAN", Types.BOOLEAN),
+
+    /**
+     * A string with a maximum length of 255 chars
+     */
+    VARCHAR("VARCHAR(255)", Types.VARCHAR);
+
+    ColumnType(String definition, int sqlType) {
+        this.definition = definition;
+        this.sqlType = sqlType;
+    }
+
+    private final String definition;
+
+    private final int sqlType;
+
+    /**
+     * @return The definition of the type which is used when creating the column
+     */
+    @NotNull
+    public String getDefinition() {
+        return this.definition;
+    }
+
+    /**
+     * @return The type of the column as defined in {@link Types}
+     */
+    public int getSqlType() {
+        return this.sqlType;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.schema.object;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Represents one versioned change of a table which is applied once when the table is created with a
+ * {@link TableSchema} of a higher version than the table in the database.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Migration {
+
+    Migration(int version, @NotNull String description, @NotNull Step step) {
+        this.version = version;
+        this.description = description;
+        this.step = step;
+    }
+
+    private final int version;
+
+    private final String description;
+
+    private final Step step;
+
+    /**
+     * @return The version of the table after the migration
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
+    /**
+     * @return A short description of the change for the log
+     */
+    @NotNull
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * @return The statements of the migration
+     */
+    @NotNull
+    public Step getStep() {
+        return this.step;
+    }
+
+    /**
+     * Runs the statements of a migration
+     */
+    @FunctionalInterface
+    public interface Step {
+
+        /**
+         * Applies the migration to the table
+         *
+         * @param connection The connection to the database
+         * @param table      The name of the table which gets migrated
+         * @throws SQLException If a statement of the migration fails
+         */
+        void migrate(@NotNull Connection connection, @NotNull String table) throws SQLException;
+    }
+}
@@ -0,0 +1,201 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.database.schema.object;
+
+import de.switchprojects.controller.printer.database.codec.DatabaseCodec;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Describes the layout of a table in the database. Every table has the primary key {@code key}, the
+ * encoded object in {@code value} and the typed columns of the schema which are extracted from the
+ * object when it is written:
+ * <pre>{@code
+ * public static final TableSchema<PrintableObject> SCHEMA = TableSchema.newSchema("jobs", PrintableObjectCodec.INSTANCE)
+ *         .indexedColumn("user_id", ColumnType.BIGINT, object -> object.getUser().getUniqueID())
+ *         .column("user_type", ColumnType.VARCHAR, object -> object.getUser().getUserType().name());
+ * }</pre>
+ * Version 1 of every schema is the typed layout itself. Changes of the table after that are added as
+ * migrations starting at version 2 and are applied in order when the table is created.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class TableSchema<T> {
+
+    private static final Pattern NAME = Pattern.compile("[a-z][a-z0-9_]*");
+
+    private TableSchema(String table, DatabaseCodec<T> codec) {
+        this.table = table;
+        this.codec = codec;
+    }
+
+    /**
+     * Creates a new schema without typed columns
+     *
+     * @param table The name of the table
+     * @param codec The codec of the objects in the table
+     * @param <T>   The type of the objects in the table
+     * @return The created schema
+     */
+    @NotNull
+    public static <T> TableSchema<T> newSchema(@NotNull String table, @NotNull DatabaseCodec<T> codec) {
+        Validate.assertNotNull(codec, "Cannot create schema with null codec");
+        return new TableSchema<>(validateName(table), codec);
+    }
+
+    private final String table;
+
+    private final DatabaseCodec<T> codec;
+
+    private final List<Column<T>> columns = new ArrayList<>();
+
+    private final List<Migration> migrations = new ArrayList<>();
+
+    /**
+     * Adds a typed column to the schema
+     *
+     * @param name      The name of the column
+     * @param type      The sql type of the column
+     * @param extractor Extracts the value of the column from an object
+     * @return The same instance of the schema
+     */
+    @NotNull
+    public TableSchema<T> column(@NotNull String name, @NotNull ColumnType type, @NotNull Function<T, Object> extractor) {
+        return this.addColumn(name, type, false, extractor);
+    }
+
+    /**
+     * Adds a typed column with an index to the schema, lookups of the column are using the index
+     *
+     * @param name      The name of the column
+     * @param type      The sql type of the column
+     * @param extractor Extracts the value of the column from an object
+     * @return The same instance of the schema
+     */
+    @NotNull
+    public TableSchema<T> indexedColumn(@NotNull String name, @NotNull ColumnType type, @NotNull Function<T, Object> extractor) {
+        return this.addColumn(name, type, true, extractor);
+    }
+
+    /**
+     * Adds a migration to the schema. The versions of the migrations have to start at 2 and have to
+     * be ascending.
+     *
+     * @param version     The version of the table after the migration
+     * @param description A short description of the change
+     * @param step        The statements of the migration
+     * @return The same instance of the schema
+     */
+    @NotNull
+    public TableSchema<T> migration(int version, @NotNull String description, @NotNull Migration.Step step) {
+        Validate.assertNotNull(description, "Cannot add migration with null description");
+        Validate.assertNotNull(step, "Cannot add null migration");
+        Validate.assertEquals(version, this.getVersion() + 1);
+
+        this.migrations.add(new Migration(version, description, step));
+        return this;
+    }
+
+    /**
+     * @return The name of the table
+     */
+    @NotNull
+    public String getTable() {
+        return this.table;
+    }
+
+    /**
+     * @return The codec of the objects in the table
+     */
+    @NotNull
+    public DatabaseCodec<T> getCodec() {
+        return this.codec;
+    }
+
+    /**
+     * @return The typed columns of the table in the order they were added
+     */
+    @NotNull
+    public List<Column<T>> getColumns() {
+        return Collections.unmodifiableList(this.columns);
+    }
+
+    /**
+     * Gets a typed column of the schema
+     *
+     * @param name The name of the column
+     * @return The column or {@code null} if the schema has no column with the given name
+     */
+    @Nullable
+    public Column<T> getColumn(@NotNull String name) {
+        for (Column<T> column : this.columns) {
+            if (column.getName().equals(name)) {
+                return column;
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return The migrations of the schema ordered by their version
+     */
+    @NotNull
+    public List<Migration> getMigrations() {
+        return Collections.unmodifiableList(this.migrations);
+    }
+
+    /**
+     * @return The current version of the schema
+     */
+    public int getVersion() {
+        return this.migrations.isEmpty() ? 1 : this.migrations.get(this.migrations.size() - 1).getVersion();
+    }
+
+    @NotNull
+    private TableSchema<T> addColumn(String name, ColumnType type, boolean indexed, Function<T, Object> extractor) {
+        Validate.assertNotNull(type, "Cannot add column with null type");
+        Validate.assertNotNull(extractor, "Cannot add column with null extractor");
+        Validate.assertNull(this.getColumn(validateName(name)), "Column " + name + " is already defined");
+        Validate.assertEquals(name.equals("key") || name.equals("value"), false);
+
+        this.columns.add(new Column<>(name, type, indexed, extractor));
+        return this;
+    }
+
+    @NotNull
+    private static String validateName(String name) {
+        Validate.assertNotNull(name, "Cannot use null as name");
+        Validate.assertEquals(NAME.matcher(name).matches(), true);
+        return name;
+    }
+}
@@ -25,6 +25,7 @@ package de.switchprojects.controller.printer.discord.listener;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
 import de.switchprojects.controller.printer.discord.DiscordModule;
+import de.switchprojects.controller.printer.mesh.MeshIngestion;
 import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
 import de.switchprojects.controller.printer.slicer.SliceQueue;
@@ -39,6 +40,8 @@ import net.dv8tion.jda.api.hooks.ListenerAdapter;
 import org.jetbrains.annotations.NotNull;
 
 import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.Collection;
@@ -89,7 +92,22 @@ public final class MessageReceivedListener extends ListenerAdapter {
             String path = "files/unsliced/" + System.currentTimeMillis() + "-" + attachment.getFileName();
 
             FileUtils.copy(stream, Paths.get(path));
-            PrintableObject object = new BasicPrintableObject(user.getUniqueID(), null, user, path, attachment.getFileName());
+
+            Path mesh;
+            try {
+                mesh = MeshIngestion.ingest(Paths.get(path));
+            } catch (final MeshIngestion.MeshRejectedException ex) {
+                FileUtils.deleteIfExists(path);
+                event.getChannel().sendMessage("The file was rejected: " + ex.getMessage()).queue();
+                return;
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+                FileUtils.deleteIfExists(path);
+                event.getChannel().sendMessage("Unable to process the file, please try again later").queue();
+                return;
+            }
+
+            PrintableObject object = new BasicPrintableObject(user.getUniqueID(), null, user, mesh.toString(), attachment.getFileName());
 
             SliceQueue.queue(object);
 
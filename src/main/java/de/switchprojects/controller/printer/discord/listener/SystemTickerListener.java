@@ -31,7 +31,10 @@ import net.dv8tion.jda.api.entities.Message;
 import net.dv8tion.jda.api.entities.MessageEmbed;
 
 import java.awt.*;
+import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 import static de.switchprojects.controller.printer.ticker.SystemTicker.DECIMAL_FORMAT;
 
@@ -70,17 +73,27 @@ public final class SystemTickerListener {
 
     private Message lastMessage;
 
-    @Subscribe
+    private final Map<String, SystemTickEvent> latestTicks = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+
+    @Subscribe(async = true)
     public void handleTick(final SystemTickEvent event) {
-        MessageEmbed embed = new EmbedBuilder()
+        this.latestTicks.put(event.getPrinter().getName(), event);
+        // printers without a tick since two intervals have no running job anymore
+        this.latestTicks.values().removeIf(tick -> System.currentTimeMillis() - tick.getSnapshot().getTimestamp() > TimeUnit.SECONDS.toMillis(90));
+
+        EmbedBuilder embedBuilder = new EmbedBuilder()
                 .setAuthor("SwitchProjects - Status")
                 .setColor(Color.GREEN)
-                .setTitle("Status call")
-                .addField(
-                        "Running:",
-                        event.getCurrentJob().getName() + " (" + DECIMAL_FORMAT.format(event.getCurrentJob().getJobProgress().percentComplete()) + "%)",
-                        false
-                ).build();
+                .setTitle("Status call");
+        for (SystemTickEvent tick : this.latestTicks.values()) {
+            embedBuilder.addField(
+                    this.latestTicks.size() == 1 ? "Running:" : "Running (" + tick.getPrinter().getName() + "):",
+                    tick.getSnapshot().getJobName() + " (" + DECIMAL_FORMAT.format(tick.getSnapshot().getCompletion()) + "%)",
+                    false
+            );
+        }
+
+        MessageEmbed embed = embedBuilder.build();
         if (lastMessage != null) {
             lastMessage.editMessage(embed).queue();
             return;
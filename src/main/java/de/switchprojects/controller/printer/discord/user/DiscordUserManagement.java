@@ -26,11 +26,14 @@ package de.switchprojects.controller.printer.discord.user;
 import de.switchprojects.controller.printer.api.GlobalAPI;
 import de.switchprojects.controller.printer.database.object.DatabaseObjectToken;
 import de.switchprojects.controller.printer.discord.DiscordModule;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.trace.JobTraces;
 import de.switchprojects.controller.printer.user.UserManagement;
 import de.switchprojects.controller.printer.user.object.User;
 import de.switchprojects.controller.printer.user.object.UserType;
 import de.switchprojects.controller.printer.user.util.NotifyType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 import java.util.concurrent.atomic.AtomicReference;
 
@@ -45,7 +48,7 @@ public class DiscordUserManagement implements UserManagement {
     public static final String TABLE_NAME = "discord_users";
 
     public DiscordUserManagement() {
-        GlobalAPI.getDatabase().createTable(TABLE_NAME);
+        GlobalAPI.getDatabase().createTable(DiscordUser.SCHEMA);
     }
 
     @Override
@@ -67,6 +70,11 @@ public class DiscordUserManagement implements UserManagement {
 
     @Override
     public void notify(@NotNull NotifyType notifyType, @NotNull String fileName, long userID) {
+        this.notify(notifyType, fileName, userID, null);
+    }
+
+    @Override
+    public void notify(@NotNull NotifyType notifyType, @NotNull String fileName, long userID, @Nullable GCodeAnalysis analysis) {
         AtomicReference<String> message = new AtomicReference<>("<notify-type=" + notifyType.name() + " is unknown. Contact an administrator>");
         switch (notifyType) {
             case SLICE_STARTED: {
@@ -76,11 +84,24 @@ public class DiscordUserManagement implements UserManagement {
 
             case SLICE_DONE: {
                 message.set("The slice process for object " + fileName + " has just finished! We are ready to print :)");
+                if (analysis != null) {
+                    message.set(message.get() + String.format(
+                            "\nEstimated print time: %s, %d layers, %.2f m filament",
+                            JobTraces.formatDuration(analysis.getEstimatedPrintTime()),
+                            analysis.getLayers(),
+                            analysis.getFilamentLength() / 1000D
+                    ));
+                }
+
                 break;
             }
 
             case PRINT_STARTED: {
                 message.set("The print task of object " + fileName + " has just started.");
+                if (analysis != null) {
+                    message.set(message.get() + " It should be done in about " + JobTraces.formatDuration(analysis.getEstimatedPrintTime()) + ".");
+                }
+
                 break;
             }
 
@@ -25,6 +25,8 @@ package de.switchprojects.controller.printer.events;
 
 import org.jetbrains.annotations.NotNull;
 
+import java.util.concurrent.CompletableFuture;
+
 /**
  * Represents the event manager which is used to call events to the registered listeners.
  *
@@ -40,6 +42,18 @@ public interface EventManager {
      */
     void callEvent(@NotNull Event event);
 
+    /**
+     * Calls an event on the event executor. Every listener handles the events in the order they were
+     * called, but there is no order between the listeners. Events which are {@link Cancellable} are
+     * called synchronously.
+     *
+     * @param event The event which should be called
+     * @param <T>   The type of the event
+     * @return A future completed with the event after all listeners handled the event
+     */
+    @NotNull
+    <T extends Event> CompletableFuture<T> callEventAsync(@NotNull T event);
+
     /**
      * Registers a event listener
      *
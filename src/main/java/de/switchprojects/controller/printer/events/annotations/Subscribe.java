@@ -42,4 +42,13 @@ public @interface Subscribe {
      * @return The priority of the listener which handles the event
      */
     ListenerPriority priority() default ListenerPriority.NORMAL;
+
+    /**
+     * Async listeners are called on the event executor instead of the thread which calls the event.
+     * The events are still handled in the order they were called per listener. Events which are
+     * {@link de.switchprojects.controller.printer.events.Cancellable} are always handled synchronously.
+     *
+     * @return If the listener should get called asynchronously
+     */
+    boolean async() default false;
 }
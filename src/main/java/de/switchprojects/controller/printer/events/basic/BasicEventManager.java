@@ -23,16 +23,20 @@
  */
 package de.switchprojects.controller.printer.events.basic;
 
+import de.switchprojects.controller.printer.events.Cancellable;
 import de.switchprojects.controller.printer.events.Event;
 import de.switchprojects.controller.printer.events.EventManager;
 import de.switchprojects.controller.printer.events.annotations.Subscribe;
 import de.switchprojects.controller.printer.events.util.RegisteredListener;
+import de.switchprojects.controller.printer.events.util.SerialExecutor;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -44,26 +48,92 @@ import java.util.concurrent.locks.ReentrantLock;
  */
 public class BasicEventManager implements EventManager {
 
+    private static final int ASYNC_THREADS = Math.max(1, Integer.getInteger("events.async.threads", 2));
+
+    private static final int MAX_PENDING = Math.max(1, Integer.getInteger("events.async.pending", 1024));
+
+    private static final Counter LISTENER_ERRORS = MetricRegistry.counter("events_listener_errors_total", "The exceptions thrown by event listeners");
+
+    public BasicEventManager() {
+        MetricRegistry.gauge("events_async_queue_depth", "The async listener calls waiting for an executor thread",
+                () -> this.asyncExecutor.getQueue().size());
+    }
+
     private final Lock lock = new ReentrantLock();
 
+    private final AtomicInteger threadCounter = new AtomicInteger();
+
+    private final ThreadPoolExecutor asyncExecutor = new ThreadPoolExecutor(
+            ASYNC_THREADS,
+            ASYNC_THREADS,
+            60,
+            TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(Math.max(16, ASYNC_THREADS * 64)),
+            runnable -> {
+                Thread thread = new Thread(runnable, "Event-Executor-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+    );
+
+    private final Map<Object, SerialExecutor> serialExecutors = new ConcurrentHashMap<>();
+
     private final Map<Class<?>, Map<Byte, Map<Object, Method[]>>> byListenerAndPriority = new HashMap<>();
 
-    private final Map<Class<?>, List<RegisteredListener>> done = new ConcurrentHashMap<>();
+    private final Map<Class<?>, RegisteredListener[]> done = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Counter> dispatched = new ConcurrentHashMap<>();
 
     @Override
     public void callEvent(@NotNull Event event) {
-        List<RegisteredListener> listeners = done.get(event.getClass());
+        this.countDispatch(event);
+
+        RegisteredListener[] listeners = done.get(event.getClass());
         if (listeners == null) {
             return;
         }
 
-        listeners.forEach(listener -> {
+        boolean cancellable = event instanceof Cancellable;
+        for (RegisteredListener listener : listeners) {
+            if (listener.isAsync() && !cancellable) {
+                listener.callAsync(event).exceptionally(throwable -> {
+                    LISTENER_ERRORS.increment();
+                    throwable.printStackTrace();
+                    return null;
+                });
+                continue;
+            }
+
             try {
                 listener.call(event);
-            } catch (final InvocationTargetException | IllegalAccessException ex) {
-                ex.printStackTrace();
+            } catch (final Throwable throwable) {
+                LISTENER_ERRORS.increment();
+                throwable.printStackTrace();
             }
-        });
+        }
+    }
+
+    @NotNull
+    @Override
+    public <T extends Event> CompletableFuture<T> callEventAsync(@NotNull T event) {
+        if (event instanceof Cancellable) {
+            this.callEvent(event);
+            return CompletableFuture.completedFuture(event);
+        }
+
+        this.countDispatch(event);
+
+        RegisteredListener[] listeners = done.get(event.getClass());
+        if (listeners == null) {
+            return CompletableFuture.completedFuture(event);
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[listeners.length];
+        for (int i = 0; i < listeners.length; i++) {
+            futures[i] = listeners[i].callAsync(event);
+        }
+
+        return CompletableFuture.allOf(futures).thenApply(v -> event);
     }
 
     @Override
@@ -78,7 +148,17 @@ public class BasicEventManager implements EventManager {
 
     @Override
     public void unregisterAll() {
-        done.values().forEach(e -> e.forEach(listener -> unregisterListener(listener.getListener())));
+        done.values().forEach(e -> Arrays.stream(e).forEach(listener -> unregisterListener(listener.getListener())));
+    }
+
+    private void countDispatch(Event event) {
+        Counter counter = this.dispatched.get(event.getClass());
+        if (counter == null) {
+            counter = this.dispatched.computeIfAbsent(event.getClass(), eventClass -> MetricRegistry.counter(
+                    "events_dispatched_total", "The dispatched events", "event", eventClass.getSimpleName()));
+        }
+
+        counter.increment();
     }
 
     private Map<Class<?>, Map<Byte, Set<Method>>> find(Object listener) {
@@ -101,6 +181,8 @@ public class BasicEventManager implements EventManager {
         Map<Class<?>, Map<Byte, Set<Method>>> handlers = find(listener);
         lock.lock();
         try {
+            serialExecutors.computeIfAbsent(listener, aListener -> new SerialExecutor(asyncExecutor, MAX_PENDING));
+
             for (Map.Entry<Class<?>, Map<Byte, Set<Method>>> classMapEntry : handlers.entrySet()) {
                 Map<Byte, Map<Object, Method[]>> priorities = byListenerAndPriority.computeIfAbsent(classMapEntry.getKey(), aClass -> new HashMap<>());
 
@@ -129,13 +211,13 @@ public class BasicEventManager implements EventManager {
                 if (handlers != null) {
                     for (Map.Entry<Object, Method[]> objectEntry : handlers.entrySet()) {
                         for (Method method : objectEntry.getValue()) {
-                            RegisteredListener loadedListener = new RegisteredListener(objectEntry.getKey(), method);
+                            RegisteredListener loadedListener = new RegisteredListener(objectEntry.getKey(), method, serialExecutors.get(objectEntry.getKey()));
                             listeners.add(loadedListener);
                         }
                     }
                 }
             } while (current++ < Byte.MAX_VALUE);
-            done.put(eventClass, listeners);
+            done.put(eventClass, listeners.toArray(new RegisteredListener[0]));
         } else {
             done.remove(eventClass);
         }
@@ -145,6 +227,8 @@ public class BasicEventManager implements EventManager {
         Map<Class<?>, Map<Byte, Set<Method>>> handler = find(listener);
         lock.lock();
         try {
+            serialExecutors.remove(listener);
+
             for (Map.Entry<Class<?>, Map<Byte, Set<Method>>> classMapEntry : handler.entrySet()) {
                 Map<Byte, Map<Object, Method[]>> prioritiesMap = byListenerAndPriority.get(classMapEntry.getKey());
                 if (prioritiesMap != null) {
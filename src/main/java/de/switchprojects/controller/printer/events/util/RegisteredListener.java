@@ -24,30 +24,81 @@
 package de.switchprojects.controller.printer.events.util;
 
 import de.switchprojects.controller.printer.events.Event;
+import de.switchprojects.controller.printer.events.annotations.Subscribe;
 import org.jetbrains.annotations.NotNull;
 
-import java.lang.reflect.InvocationTargetException;
+import java.lang.invoke.*;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
 
 /**
- * Represents a registered listener an the method which is the method itself.
+ * Represents a registered listener an the method which is the method itself. The method gets compiled
+ * into an {@link EventExecutor} when the listener is registered so calling the listener does not use
+ * reflection anymore.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 public final class RegisteredListener {
 
-    public RegisteredListener(@NotNull Object listener, @NotNull Method method) {
+    public RegisteredListener(@NotNull Object listener, @NotNull Method method, @NotNull SerialExecutor serialExecutor) {
+        Subscribe subscribe = method.getAnnotation(Subscribe.class);
+
         this.listener = listener;
         this.method = method;
+        this.executor = compile(listener, method);
+        this.serialExecutor = serialExecutor;
+        this.async = subscribe != null && subscribe.async();
     }
 
     private final Object listener;
 
     private final Method method;
 
-    public void call(@NotNull Event event) throws InvocationTargetException, IllegalAccessException {
-        method.invoke(listener, event);
+    private final EventExecutor executor;
+
+    private final SerialExecutor serialExecutor;
+
+    private final boolean async;
+
+    public void call(@NotNull Event event) throws Throwable {
+        this.executor.execute(event);
+    }
+
+    /**
+     * Calls the listener on the serial executor of the listener instance, so all events are handled
+     * by the listener in the order they were submitted.
+     *
+     * @param event The event which should get passed to the listener
+     * @return A future completed after the listener handled the event or failed if the listener has too many pending events
+     */
+    @NotNull
+    public CompletableFuture<Void> callAsync(@NotNull Event event) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            this.serialExecutor.execute(() -> {
+                try {
+                    this.call(event);
+                } catch (final Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+
+                future.complete(null);
+            });
+        } catch (final RejectedExecutionException ex) {
+            future.completeExceptionally(ex);
+        }
+
+        return future;
+    }
+
+    /**
+     * @return If the listener method should be called asynchronously
+     */
+    public boolean isAsync() {
+        return async;
     }
 
     public Method getMethod() {
@@ -57,4 +108,74 @@ public final class RegisteredListener {
     public Object getListener() {
         return listener;
     }
+
+    @NotNull
+    public EventExecutor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Compiles the given listener method into an executor. Public methods of public classes get a
+     * generated class by the {@link LambdaMetafactory}, all other methods (which are not accessible from
+     * here) are called through a bound {@link MethodHandle}.
+     *
+     * @param listener The instance of the listener
+     * @param method   The method which should get called
+     * @return The compiled executor for the method
+     */
+    @NotNull
+    public static EventExecutor compile(@NotNull Object listener, @NotNull Method method) {
+        boolean isStatic = Modifier.isStatic(method.getModifiers());
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+
+        if (Modifier.isPublic(method.getModifiers())
+                && isAccessible(method.getDeclaringClass())
+                && isAccessible(method.getParameterTypes()[0])) {
+            try {
+                MethodHandle handle = lookup.unreflect(method);
+                MethodType invokedType = isStatic
+                        ? MethodType.methodType(EventExecutor.class)
+                        : MethodType.methodType(EventExecutor.class, method.getDeclaringClass());
+
+                CallSite callSite = LambdaMetafactory.metafactory(
+                        lookup,
+                        "execute",
+                        invokedType,
+                        MethodType.methodType(void.class, Event.class),
+                        handle,
+                        MethodType.methodType(void.class, method.getParameterTypes()[0])
+                );
+                return isStatic
+                        ? (EventExecutor) callSite.getTarget().invoke()
+                        : (EventExecutor) callSite.getTarget().invoke(listener);
+            } catch (final Throwable throwable) {
+                // fall through and use the method handle instead
+            }
+        }
+
+        try {
+            method.setAccessible(true);
+            MethodHandle handle = lookup.unreflect(method);
+            if (!isStatic) {
+                handle = handle.bindTo(listener);
+            }
+
+            MethodHandle target = handle.asType(MethodType.methodType(void.class, Event.class));
+            return event -> {
+                target.invokeExact(event);
+            };
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException("Unable to access listener method " + method, ex);
+        }
+    }
+
+    private static boolean isAccessible(@NotNull Class<?> clazz) {
+        for (Class<?> current = clazz; current != null; current = current.getEnclosingClass()) {
+            if (!Modifier.isPublic(current.getModifiers())) {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
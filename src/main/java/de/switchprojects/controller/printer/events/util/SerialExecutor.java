@@ -0,0 +1,107 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.events.util;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Represents an executor which runs the submitted tasks one after another in submission order on
+ * the backing executor. Used to keep the order of the events for one asynchronous listener.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SerialExecutor implements Executor {
+
+    public SerialExecutor(@NotNull Executor backing, int maxPending) {
+        this.backing = backing;
+        this.maxPending = maxPending;
+    }
+
+    private final Executor backing;
+
+    private final int maxPending;
+
+    private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+    private boolean running;
+
+    @Override
+    public void execute(@NotNull Runnable command) {
+        synchronized (this.tasks) {
+            if (this.tasks.size() >= this.maxPending) {
+                throw new RejectedExecutionException("Too many pending tasks (" + this.maxPending + ")");
+            }
+
+            this.tasks.add(command);
+            if (this.running) {
+                return;
+            }
+
+            // the drain is scheduled while holding the lock, so no task can get added behind a rejected drain
+            this.running = true;
+            try {
+                this.backing.execute(this::drain);
+            } catch (final RejectedExecutionException ex) {
+                // the backing executor is saturated or shut down, the task must not run on the caller thread
+                this.tasks.removeLast();
+                this.running = false;
+                throw ex;
+            }
+        }
+    }
+
+    /**
+     * @return The amount of tasks which are waiting for their execution
+     */
+    public int getPending() {
+        synchronized (this.tasks) {
+            return this.tasks.size();
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Runnable next;
+            synchronized (this.tasks) {
+                next = this.tasks.poll();
+                if (next == null) {
+                    this.running = false;
+                    return;
+                }
+            }
+
+            try {
+                next.run();
+            } catch (final Throwable throwable) {
+                throwable.printStackTrace();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.fleet;
+
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.octoprint.OctoPrintHelper;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+
+/**
+ * Holds all printers of the fleet. The printers are configured with the {@code printer.hosts}
+ * property in the format {@code name=host:port:apiKey,name=host:port:apiKey}. If the property is not
+ * set, the single printer of {@code printer.host}, {@code printer.port} and {@code printer.api.key} is
+ * registered as {@code default}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrinterRegistry {
+
+    private PrinterRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final Map<String, Printer> PRINTERS = new LinkedHashMap<>();
+
+    /**
+     * Connects to all configured printers and starts tracking their state
+     */
+    public static synchronized void load() {
+        Validate.assertEquals(PRINTERS.isEmpty(), true);
+
+        String hosts = System.getProperty("printer.hosts");
+        if (hosts == null || hosts.trim().isEmpty()) {
+            register("default", System.getProperty("printer.host"), Integer.parseInt(System.getProperty("printer.port")), System.getProperty("printer.api.key"));
+            return;
+        }
+
+        for (String entry : hosts.split(",")) {
+            String[] nameAndAddress = entry.trim().split("=", 2);
+            Validate.assertEquals(nameAndAddress.length, 2);
+
+            String[] address = nameAndAddress[1].split(":", 3);
+            Validate.assertEquals(address.length, 3);
+
+            register(nameAndAddress[0].trim(), address[0].trim(), Integer.parseInt(address[1].trim()), address[2].trim());
+        }
+    }
+
+    /**
+     * @return All registered printers in the order of the configuration
+     */
+    @NotNull
+    public static synchronized Collection<Printer> getPrinters() {
+        return Collections.unmodifiableCollection(new ArrayList<>(PRINTERS.values()));
+    }
+
+    /**
+     * Finds a printer by its name, ignoring the case
+     *
+     * @param name The name of the printer
+     * @return The printer or {@code null} if no printer with the name is registered
+     */
+    @Nullable
+    public static synchronized Printer getPrinter(@NotNull String name) {
+        return PRINTERS.get(name.toLowerCase());
+    }
+
+    /**
+     * Stops tracking the state of all printers
+     */
+    public static synchronized void close() {
+        PRINTERS.values().forEach(Printer::close);
+    }
+
+    private static void register(@NotNull String name, @NotNull String host, int port, @NotNull String apiKey) {
+        Validate.assertEquals(PRINTERS.containsKey(name.toLowerCase()), false);
+
+        Printer printer = new Printer(name, OctoPrintHelper.connect(name, host, port, apiKey));
+        printer.start();
+        PRINTERS.put(name.toLowerCase(), printer);
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.fleet.object;
+
+import de.switchprojects.controller.printer.octoprint.state.PrinterStateTracker;
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents one printer of the fleet with its octoprint connection, the tracked state and the
+ * information if the printer was cleaned up after the last job.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Printer {
+
+    public Printer(@NotNull String name, @NotNull OctoPrintTransport transport) {
+        this.name = name;
+        this.transport = transport;
+        this.stateTracker = new PrinterStateTracker(name, transport, this::wakeUp);
+    }
+
+    private final String name;
+
+    private final OctoPrintTransport transport;
+
+    private final PrinterStateTracker stateTracker;
+
+    private final Object wakeUpLock = new Object();
+
+    private final AtomicLong printed = new AtomicLong();
+
+    private boolean wakeUpPending;
+
+    private volatile boolean cleaned = true;
+
+    private volatile PrintableObject lastJob;
+
+    /**
+     * Loads the current state of the printer and starts tracking it. The printer counts as cleaned
+     * if there is no job running right now.
+     */
+    public void start() {
+        this.stateTracker.refresh();
+        this.cleaned = !this.stateTracker.getSnapshot().isPrintJobRunning();
+        this.stateTracker.start();
+    }
+
+    /**
+     * @return If the printer is cleaned up and ready to print the next job
+     */
+    public boolean isAvailable() {
+        return this.cleaned && this.stateTracker.getSnapshot().isReadyToPrint();
+    }
+
+    /**
+     * Marks the given job as started on this printer, the printer has to be cleaned before it
+     * is available again.
+     *
+     * @param job The job which was started
+     */
+    public void markPrintStarted(@NotNull PrintableObject job) {
+        this.cleaned = false;
+        this.lastJob = job;
+        this.printed.incrementAndGet();
+    }
+
+    /**
+     * Wakes up the print queue of this printer
+     */
+    public void wakeUp() {
+        synchronized (this.wakeUpLock) {
+            this.wakeUpPending = true;
+            this.wakeUpLock.notifyAll();
+        }
+    }
+
+    /**
+     * Waits until the printer gets woken up or the given time elapsed
+     *
+     * @param time     The maximum time to wait
+     * @param timeUnit The unit of the time
+     * @throws InterruptedException If the thread gets interrupted while waiting
+     */
+    public void awaitWakeUp(long time, @NotNull TimeUnit timeUnit) throws InterruptedException {
+        synchronized (this.wakeUpLock) {
+            if (!this.wakeUpPending) {
+                this.wakeUpLock.wait(timeUnit.toMillis(time));
+            }
+
+            this.wakeUpPending = false;
+        }
+    }
+
+    public void close() {
+        this.stateTracker.close();
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public OctoPrintTransport getTransport() {
+        return transport;
+    }
+
+    @NotNull
+    public PrinterStateTracker getStateTracker() {
+        return stateTracker;
+    }
+
+    public boolean isCleaned() {
+        return cleaned;
+    }
+
+    public void setCleaned(boolean cleaned) {
+        this.cleaned = cleaned;
+    }
+
+    /**
+     * @return The job which was started last on this printer or {@code null} if no job was started yet
+     */
+    @Nullable
+    public PrintableObject getLastJob() {
+        return lastJob;
+    }
+
+    /**
+     * @return The amount of jobs started on this printer since the controller was started
+     */
+    public long getPrinted() {
+        return printed.get();
+    }
+}
@@ -0,0 +1,498 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.gcode;
+
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Summary;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Analyzes sliced g-code files in one pass. The file is read through a reused direct buffer and parsed
+ * byte by byte without creating any objects per line, so the memory usage does not depend on the size
+ * of the file.
+ * <p>
+ * The print time is estimated by planning every move as trapezoid: the head accelerates from the
+ * junction speed to the feedrate and decelerates back, using the accelerations and limits which are
+ * set in the file ({@code M201}, {@code M203}, {@code M204} and {@code M205}).
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class GCodeAnalyzer {
+
+    private GCodeAnalyzer() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final int BUFFER_SIZE = Integer.getInteger("gcode.analyzer.buffer.size", 1024 * 1024);
+
+    private static final double DEFAULT_ACCELERATION = Double.parseDouble(System.getProperty("gcode.analyzer.acceleration", "1000"));
+
+    private static final double DEFAULT_JUNCTION_SPEED = Double.parseDouble(System.getProperty("gcode.analyzer.junction.speed", "10"));
+
+    private static final Summary DURATION = MetricRegistry.timer("gcode_analysis_duration_seconds", "The duration of the g-code analysis");
+
+    /**
+     * Analyzes the given g-code file
+     *
+     * @param path The path of the g-code file
+     * @return The result of the analysis
+     * @throws IOException If the file cannot get read
+     */
+    @NotNull
+    public static GCodeAnalysis analyze(@NotNull Path path) throws IOException {
+        Validate.assertNotNull(path, "Cannot analyze null path");
+
+        long start = System.nanoTime();
+        Parser parser = new Parser();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (channel.read(buffer) != -1) {
+                buffer.flip();
+                parser.feed(buffer);
+                buffer.clear();
+            }
+        }
+
+        parser.endOfInput();
+        DURATION.recordSince(start);
+        return parser.toAnalysis();
+    }
+
+    /**
+     * Analyzes g-code which is already in memory
+     *
+     * @param buffer The buffer containing the g-code between its position and limit
+     * @return The result of the analysis
+     */
+    @NotNull
+    public static GCodeAnalysis analyze(@NotNull ByteBuffer buffer) {
+        Validate.assertNotNull(buffer, "Cannot analyze null buffer");
+
+        Parser parser = new Parser();
+        parser.feed(buffer);
+        parser.endOfInput();
+        return parser.toAnalysis();
+    }
+
+    private static final class Parser {
+
+        private static final int E = 'E' - 'A';
+
+        private static final int F = 'F' - 'A';
+
+        private static final int G = 'G' - 'A';
+
+        private static final int M = 'M' - 'A';
+
+        private static final int P = 'P' - 'A';
+
+        private static final int S = 'S' - 'A';
+
+        private static final int T = 'T' - 'A';
+
+        private static final int X = 'X' - 'A';
+
+        private static final int Y = 'Y' - 'A';
+
+        private static final int Z = 'Z' - 'A';
+
+        private static final long MANTISSA_LIMIT = Long.MAX_VALUE / 10;
+
+        private static final double[] POWERS_OF_TEN = new double[19];
+
+        static {
+            POWERS_OF_TEN[0] = 1;
+            for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+                POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+            }
+        }
+
+        // the words of the current line
+        private final double[] values = new double[26];
+
+        private int present;
+
+        private boolean comment;
+
+        private int letter = -1;
+
+        private long mantissa;
+
+        private int scale;
+
+        private boolean negative;
+
+        private boolean dot;
+
+        private boolean digits;
+
+        // the state of the printer
+        private boolean relative;
+
+        private boolean relativeExtrusion;
+
+        private double unit = 1;
+
+        private double x;
+
+        private double y;
+
+        private double z;
+
+        private double e;
+
+        private double feedrate = 1500;
+
+        private double printAcceleration = DEFAULT_ACCELERATION;
+
+        private double travelAcceleration = DEFAULT_ACCELERATION;
+
+        private double maxAcceleration = Double.POSITIVE_INFINITY;
+
+        private double junctionSpeed = DEFAULT_JUNCTION_SPEED;
+
+        private double maxFeedrateXY = Double.POSITIVE_INFINITY;
+
+        private double maxFeedrateZ = Double.POSITIVE_INFINITY;
+
+        private double maxFeedrateE = Double.POSITIVE_INFINITY;
+
+        // the results
+        private int layers;
+
+        private double lastLayerZ = Double.NEGATIVE_INFINITY;
+
+        private double filament;
+
+        private double seconds;
+
+        private long moves;
+
+        private double minX = Double.POSITIVE_INFINITY;
+
+        private double minY = Double.POSITIVE_INFINITY;
+
+        private double minZ = Double.POSITIVE_INFINITY;
+
+        private double maxX = Double.NEGATIVE_INFINITY;
+
+        private double maxY = Double.NEGATIVE_INFINITY;
+
+        private double maxZ = Double.NEGATIVE_INFINITY;
+
+        private void feed(ByteBuffer buffer) {
+            for (int i = buffer.position(), limit = buffer.limit(); i < limit; i++) {
+                this.accept(buffer.get(i));
+            }
+        }
+
+        private void accept(byte b) {
+            if (b == '\n') {
+                this.endWord();
+                this.executeLine();
+                return;
+            }
+
+            if (this.comment) {
+                return;
+            }
+
+            if (b >= '0' && b <= '9') {
+                if (this.letter >= 0) {
+                    this.digits = true;
+                    if (this.mantissa < MANTISSA_LIMIT && this.scale < POWERS_OF_TEN.length - 1) {
+                        this.mantissa = this.mantissa * 10 + (b - '0');
+                        if (this.dot) {
+                            this.scale++;
+                        }
+                    }
+                }
+
+                return;
+            }
+
+            switch (b) {
+                case '.':
+                    this.dot = true;
+                    return;
+                case '-':
+                    this.negative = true;
+                    return;
+                case '+':
+                    return;
+                case ';':
+                case '(':
+                case '*':
+                    this.endWord();
+                    this.comment = true;
+                    return;
+                default:
+                    break;
+            }
+
+            int upper = b & 0xDF;
+            this.endWord();
+            if (upper >= 'A' && upper <= 'Z') {
+                this.letter = upper - 'A';
+            }
+        }
+
+        private void endWord() {
+            if (this.letter >= 0 && this.digits) {
+                double value = this.mantissa / POWERS_OF_TEN[this.scale];
+                this.values[this.letter] = this.negative ? -value : value;
+                this.present |= 1 << this.letter;
+            }
+
+            this.letter = -1;
+            this.mantissa = 0;
+            this.scale = 0;
+            this.negative = false;
+            this.dot = false;
+            this.digits = false;
+        }
+
+        private void endOfInput() {
+            this.endWord();
+            this.executeLine();
+        }
+
+        private void executeLine() {
+            try {
+                if (this.has(G)) {
+                    this.executeG((int) this.values[G]);
+                } else if (this.has(M)) {
+                    this.executeM((int) this.values[M]);
+                }
+            } finally {
+                this.present = 0;
+                this.comment = false;
+            }
+        }
+
+        private void executeG(int code) {
+            switch (code) {
+                case 0:
+                case 1:
+                    this.move();
+                    break;
+                case 4:
+                    if (this.has(P)) {
+                        this.seconds += Math.max(0, this.values[P]) / 1000D;
+                    } else if (this.has(S)) {
+                        this.seconds += Math.max(0, this.values[S]);
+                    }
+                    break;
+                case 20:
+                    this.unit = 25.4;
+                    break;
+                case 21:
+                    this.unit = 1;
+                    break;
+                case 28:
+                    boolean all = !this.has(X) && !this.has(Y) && !this.has(Z);
+                    this.x = all || this.has(X) ? 0 : this.x;
+                    this.y = all || this.has(Y) ? 0 : this.y;
+                    this.z = all || this.has(Z) ? 0 : this.z;
+                    break;
+                case 90:
+                    this.relative = false;
+                    this.relativeExtrusion = false;
+                    break;
+                case 91:
+                    this.relative = true;
+                    this.relativeExtrusion = true;
+                    break;
+                case 92:
+                    this.x = this.has(X) ? this.values[X] * this.unit : this.x;
+                    this.y = this.has(Y) ? this.values[Y] * this.unit : this.y;
+                    this.z = this.has(Z) ? this.values[Z] * this.unit : this.z;
+                    this.e = this.has(E) ? this.values[E] * this.unit : this.e;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void executeM(int code) {
+            switch (code) {
+                case 82:
+                    this.relativeExtrusion = false;
+                    break;
+                case 83:
+                    this.relativeExtrusion = true;
+                    break;
+                case 201:
+                    if (this.has(X) || this.has(Y)) {
+                        this.maxAcceleration = Math.min(
+                                this.has(X) ? this.values[X] : Double.POSITIVE_INFINITY,
+                                this.has(Y) ? this.values[Y] : Double.POSITIVE_INFINITY
+                        );
+                    }
+                    break;
+                case 203:
+                    if (this.has(X) || this.has(Y)) {
+                        this.maxFeedrateXY = Math.min(
+                                this.has(X) ? this.values[X] : Double.POSITIVE_INFINITY,
+                                this.has(Y) ? this.values[Y] : Double.POSITIVE_INFINITY
+                        );
+                    }
+
+                    this.maxFeedrateZ = this.has(Z) ? this.values[Z] : this.maxFeedrateZ;
+                    this.maxFeedrateE = this.has(E) ? this.values[E] : this.maxFeedrateE;
+                    break;
+                case 204:
+                    if (this.has(S)) {
+                        this.printAcceleration = this.values[S];
+                        this.travelAcceleration = this.values[S];
+                    }
+
+                    this.printAcceleration = this.has(P) ? this.values[P] : this.printAcceleration;
+                    this.travelAcceleration = this.has(T) ? this.values[T] : this.travelAcceleration;
+                    break;
+                case 205:
+                    this.junctionSpeed = this.has(X) ? this.values[X] : this.junctionSpeed;
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void move() {
+            if (this.has(F)) {
+                this.feedrate = this.values[F] * this.unit;
+            }
+
+            double targetX = this.target(X, this.x, this.relative);
+            double targetY = this.target(Y, this.y, this.relative);
+            double targetZ = this.target(Z, this.z, this.relative);
+            double targetE = this.target(E, this.e, this.relativeExtrusion);
+
+            double dx = targetX - this.x;
+            double dy = targetY - this.y;
+            double dz = targetZ - this.z;
+            double de = targetE - this.e;
+
+            this.x = targetX;
+            this.y = targetY;
+            this.z = targetZ;
+            this.e = targetE;
+            this.filament += de;
+
+            double distance = Math.sqrt(dx * dx + dy * dy + dz * dz);
+            double limit;
+            if (dx != 0 || dy != 0) {
+                limit = this.maxFeedrateXY;
+            } else if (dz != 0) {
+                limit = this.maxFeedrateZ;
+            } else {
+                distance = Math.abs(de);
+                limit = this.maxFeedrateE;
+            }
+
+            if (distance == 0) {
+                return;
+            }
+
+            this.moves++;
+
+            double speed = Math.max(0.1, Math.min(this.feedrate / 60D, limit));
+            double acceleration = Math.min(de != 0 ? this.printAcceleration : this.travelAcceleration, this.maxAcceleration);
+            this.seconds += moveTime(distance, speed, acceleration, Math.min(speed, this.junctionSpeed));
+
+            if (de > 0 && (dx != 0 || dy != 0)) {
+                if (this.z > this.lastLayerZ + 0.0001) {
+                    this.layers++;
+                    this.lastLayerZ = this.z;
+                }
+
+                this.include(this.x - dx, this.y - dy, this.z - dz);
+                this.include(this.x, this.y, this.z);
+            }
+        }
+
+        private double target(int axis, double current, boolean relative) {
+            if (!this.has(axis)) {
+                return current;
+            }
+
+            double value = this.values[axis] * this.unit;
+            return relative ? current + value : value;
+        }
+
+        private void include(double x, double y, double z) {
+            this.minX = Math.min(this.minX, x);
+            this.minY = Math.min(this.minY, y);
+            this.minZ = Math.min(this.minZ, z);
+            this.maxX = Math.max(this.maxX, x);
+            this.maxY = Math.max(this.maxY, y);
+            this.maxZ = Math.max(this.maxZ, z);
+        }
+
+        private boolean has(int letter) {
+            return (this.present & (1 << letter)) != 0;
+        }
+
+        private static double moveTime(double distance, double speed, double acceleration, double junctionSpeed) {
+            if (acceleration <= 0) {
+                return distance / speed;
+            }
+
+            double accelerationDistance = (speed * speed - junctionSpeed * junctionSpeed) / (2 * acceleration);
+            if (2 * accelerationDistance <= distance) {
+                return 2 * (speed - junctionSpeed) / acceleration + (distance - 2 * accelerationDistance) / speed;
+            }
+
+            // the head never reaches the feedrate and decelerates right after accelerating
+            double peakSpeed = Math.sqrt(acceleration * distance + junctionSpeed * junctionSpeed);
+            return 2 * (peakSpeed - junctionSpeed) / acceleration;
+        }
+
+        private GCodeAnalysis toAnalysis() {
+            boolean extruded = this.minX != Double.POSITIVE_INFINITY;
+            return new GCodeAnalysis(
+                    this.layers,
+                    Math.max(0, this.filament),
+                    Math.round(this.seconds * 1000),
+                    this.moves,
+                    extruded ? this.minX : 0,
+                    extruded ? this.minY : 0,
+                    extruded ? this.minZ : 0,
+                    extruded ? this.maxX : 0,
+                    extruded ? this.maxY : 0,
+                    extruded ? this.maxZ : 0
+            );
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.gcode.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link GCodeAnalysis}es as part of the rows of the jobs they belong to
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class GCodeAnalysisCodec {
+
+    private GCodeAnalysisCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes an analysis into the given writer
+     *
+     * @param analysis The analysis which should get written or {@code null} if the job is not analyzed
+     * @param writer   The writer to which the analysis should get written
+     */
+    public static void writeAnalysis(@Nullable GCodeAnalysis analysis, @NotNull BinaryWriter writer) {
+        writer.writeBoolean(analysis != null);
+        if (analysis == null) {
+            return;
+        }
+
+        writer.writeVarInt(analysis.getLayers());
+        writer.writeDouble(analysis.getFilamentLength());
+        writer.writeUnsignedVarLong(analysis.getEstimatedPrintTime());
+        writer.writeUnsignedVarLong(analysis.getMoves());
+        writer.writeDouble(analysis.getMinX());
+        writer.writeDouble(analysis.getMinY());
+        writer.writeDouble(analysis.getMinZ());
+        writer.writeDouble(analysis.getMaxX());
+        writer.writeDouble(analysis.getMaxY());
+        writer.writeDouble(analysis.getMaxZ());
+    }
+
+    /**
+     * Reads an analysis which was written using {@link #writeAnalysis(GCodeAnalysis, BinaryWriter)}
+     *
+     * @param reader The reader from which the analysis should get read
+     * @return The read analysis or {@code null} if the job was not analyzed
+     * @throws IOException If the data is corrupted
+     */
+    @Nullable
+    public static GCodeAnalysis readAnalysis(@NotNull BinaryReader reader) throws IOException {
+        if (!reader.readBoolean()) {
+            return null;
+        }
+
+        return new GCodeAnalysis(
+                reader.readVarInt(),
+                reader.readDouble(),
+                reader.readUnsignedVarLong(),
+                reader.readUnsignedVarLong(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble(),
+                reader.readDouble()
+        );
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.gcode.object;
+
+/**
+ * The result of the analysis of a sliced g-code file
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class GCodeAnalysis {
+
+    public GCodeAnalysis(int layers, double filamentLength, long estimatedPrintTime, long moves,
+                         double minX, double minY, double minZ, double maxX, double maxY, double maxZ) {
+        this.layers = layers;
+        this.filamentLength = filamentLength;
+        this.estimatedPrintTime = estimatedPrintTime;
+        this.moves = moves;
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+    }
+
+    private final int layers;
+
+    private final double filamentLength;
+
+    private final long estimatedPrintTime;
+
+    private final long moves;
+
+    private final double minX;
+
+    private final double minY;
+
+    private final double minZ;
+
+    private final double maxX;
+
+    private final double maxY;
+
+    private final double maxZ;
+
+    /**
+     * @return The amount of layers in which filament is extruded
+     */
+    public int getLayers() {
+        return layers;
+    }
+
+    /**
+     * @return The length of the extruded filament in millimeters
+     */
+    public double getFilamentLength() {
+        return filamentLength;
+    }
+
+    /**
+     * @return The estimated print time in millis
+     */
+    public long getEstimatedPrintTime() {
+        return estimatedPrintTime;
+    }
+
+    /**
+     * @return The amount of moves in the file
+     */
+    public long getMoves() {
+        return moves;
+    }
+
+    public double getMinX() {
+        return minX;
+    }
+
+    public double getMinY() {
+        return minY;
+    }
+
+    public double getMinZ() {
+        return minZ;
+    }
+
+    public double getMaxX() {
+        return maxX;
+    }
+
+    public double getMaxY() {
+        return maxY;
+    }
+
+    public double getMaxZ() {
+        return maxZ;
+    }
+
+    /**
+     * @return The width, depth and height of the printed object in millimeters
+     */
+    public double[] getSize() {
+        return new double[]{this.maxX - this.minX, this.maxY - this.minY, this.maxZ - this.minZ};
+    }
+}
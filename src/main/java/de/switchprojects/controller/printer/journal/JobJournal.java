@@ -0,0 +1,173 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal;
+
+import de.switchprojects.controller.printer.journal.basic.JournalWriter;
+import de.switchprojects.controller.printer.journal.object.JournalRecord;
+import de.switchprojects.controller.printer.journal.object.JournalRecordType;
+import de.switchprojects.controller.printer.journal.object.JournalRecovery;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Summary;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+
+/**
+ * The write-ahead journal of the transitions of the jobs between the slice and the print queue. The
+ * queues are restored from the journal on startup. Every transition waits until its record is synced
+ * to the disk, concurrent transitions share one fsync.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JobJournal {
+
+    private JobJournal() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final Summary APPEND = MetricRegistry.timer("journal_append_duration_seconds", "The time a queue transition waits until its journal record is durable");
+
+    private static volatile JournalWriter writer;
+
+    private static volatile long recoveryMillis;
+
+    static {
+        MetricRegistry.gauge("journal_recovery_duration_seconds", "The duration of the last journal recovery", () -> recoveryMillis / 1000D);
+        MetricRegistry.gauge("journal_records_since_snapshot", "The records which would be replayed on recovery", () -> {
+            JournalWriter current = writer;
+            return current == null ? 0 : current.getRecordsSinceSnapshot();
+        });
+    }
+
+    /**
+     * Opens the journal in the directory configured by {@code journal.directory} and restores the jobs
+     *
+     * @return The restored jobs
+     * @throws IOException If the journal cannot be read
+     */
+    @NotNull
+    public static synchronized JournalRecovery open() throws IOException {
+        Validate.assertNull(writer, "The journal is already open");
+
+        JournalWriter journalWriter = new JournalWriter(
+                Paths.get(System.getProperty("journal.directory", "files/journal")),
+                Boolean.parseBoolean(System.getProperty("journal.sync", "true")),
+                Integer.getInteger("journal.snapshot.records", 10_000)
+        );
+
+        JournalRecovery recovery = journalWriter.recover();
+        journalWriter.start();
+
+        writer = journalWriter;
+        recoveryMillis = recovery.getDurationMillis();
+        return recovery;
+    }
+
+    /**
+     * Writes all pending records and closes the journal
+     */
+    public static synchronized void close() {
+        JournalWriter current = writer;
+        if (current != null) {
+            writer = null;
+            current.close();
+        }
+    }
+
+    /**
+     * Records that the job was added to the end of the slice queue
+     *
+     * @param object The queued job
+     */
+    public static void queued(@NotNull PrintableObject object) {
+        append(JournalRecordType.SLICE_QUEUED, object, Collections.emptyList(), object.serialize());
+    }
+
+    /**
+     * Records that the job was put back to the head of the slice queue
+     *
+     * @param object The job which was put back
+     */
+    public static void putBack(@NotNull PrintableObject object) {
+        append(JournalRecordType.SLICE_PUT_BACK, object, Collections.emptyList(), null);
+    }
+
+    /**
+     * Records that the job and the other jobs on its build plate were sliced and wait for a printer
+     *
+     * @param object The sliced job
+     */
+    public static void sliced(@NotNull PrintableObject object) {
+        List<String> members = object.getPlateMembers().stream().map(PrintableObject::getKey).collect(Collectors.toList());
+        append(JournalRecordType.SLICED, object, members, object.serialize());
+    }
+
+    /**
+     * Records that the job could not get sliced and was dropped
+     *
+     * @param object The job which was dropped
+     */
+    public static void failed(@NotNull PrintableObject object) {
+        append(JournalRecordType.SLICE_FAILED, object, Collections.emptyList(), null);
+    }
+
+    /**
+     * Records that the job was sent to a printer
+     *
+     * @param object The job which is printed now
+     */
+    public static void printStarted(@NotNull PrintableObject object) {
+        append(JournalRecordType.PRINT_STARTED, object, Collections.emptyList(), null);
+    }
+
+    private static void append(JournalRecordType type, PrintableObject object, List<String> members, @Nullable byte[] payload) {
+        Validate.assertNotNull(object, "Cannot journal null object");
+
+        JournalWriter current = writer;
+        if (current == null) {
+            // a transition which is not journaled would get lost on the next restart
+            throw new IllegalStateException("The journal is not open");
+        }
+
+        long start = System.nanoTime();
+        try {
+            current.append(new JournalRecord(type, object.getKey(), members, payload)).get();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException ex) {
+            ex.getCause().printStackTrace();
+        } finally {
+            APPEND.recordSince(start);
+        }
+    }
+}
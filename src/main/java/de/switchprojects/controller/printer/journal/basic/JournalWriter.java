@@ -0,0 +1,391 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.basic;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.journal.codec.JournalRecordCodec;
+import de.switchprojects.controller.printer.journal.object.JournalRecord;
+import de.switchprojects.controller.printer.journal.object.JournalRecovery;
+import de.switchprojects.controller.printer.journal.object.JournalState;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
+import de.switchprojects.controller.printer.metrics.object.Summary;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.util.FileUtils;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Appends the records to the journal file using group commit: all records which arrive while a batch is
+ * written and synced to the disk are written together with the next batch and share one fsync. The
+ * state of the queues is kept in memory and written to a snapshot every {@code snapshotRecords} records,
+ * the journal is continued in a new file then. The recovery therefore never replays more than
+ * {@code snapshotRecords} records.
+ * <p>
+ * Files: {@code snapshot.bin} holds the crc32 of the snapshot followed by the generation and the state,
+ * {@code journal-<generation>.log} holds the records written after the snapshot of the generation.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JournalWriter extends Thread {
+
+    private static final String SNAPSHOT = "snapshot.bin";
+
+    private static final Pending CLOSE = new Pending(null);
+
+    private static final Summary FSYNC = MetricRegistry.timer("journal_fsync_duration_seconds", "The duration of the fsync of one batch of journal records");
+
+    private static final Counter RECORDS = MetricRegistry.counter("journal_records_total", "The records written to the journal");
+
+    private static final Counter BATCHES = MetricRegistry.counter("journal_batches_total", "The batches of journal records written with one fsync");
+
+    private static final Counter SNAPSHOTS = MetricRegistry.counter("journal_snapshots_total", "The snapshots of the journal state");
+
+    public JournalWriter(@NotNull Path directory, boolean sync, int snapshotRecords) {
+        super("Job-Journal-Writer");
+        super.setDaemon(true);
+
+        this.directory = directory;
+        this.sync = sync;
+        this.snapshotRecords = Math.max(1, snapshotRecords);
+    }
+
+    private final Path directory;
+
+    private final boolean sync;
+
+    private final int snapshotRecords;
+
+    private final BlockingQueue<Pending> pending = new LinkedBlockingQueue<>();
+
+    private JournalState state = new JournalState();
+
+    private ByteBuffer buffer = ByteBuffer.allocate(64 * 1024);
+
+    private FileChannel channel;
+
+    private long generation;
+
+    private volatile int recordsSinceSnapshot;
+
+    private volatile boolean closed;
+
+    /**
+     * Loads the last snapshot and replays the journal written after it. A record at the end of the journal
+     * which was not written completely is dropped. Has to be called before the writer is started.
+     *
+     * @return The restored jobs
+     * @throws IOException If the snapshot is corrupted or the journal cannot be opened
+     */
+    @NotNull
+    public JournalRecovery recover() throws IOException {
+        long start = System.currentTimeMillis();
+        FileUtils.createDirectories(this.directory);
+
+        Path snapshot = this.directory.resolve(SNAPSHOT);
+        boolean hasSnapshot = Files.exists(snapshot);
+        if (hasSnapshot) {
+            byte[] bytes = Files.readAllBytes(snapshot);
+            if (bytes.length < 4 || ByteBuffer.wrap(bytes).getInt() != JournalRecordCodec.checksum(bytes, 4, bytes.length - 4)) {
+                throw new IOException("The journal snapshot " + snapshot + " is corrupted");
+            }
+
+            BinaryReader reader = new BinaryReader(bytes, 4);
+            this.generation = reader.readVarLong();
+            this.state = JournalState.decode(reader);
+        }
+
+        int snapshotJobs = this.state.size();
+        Path log = this.getLogPath(this.generation);
+        boolean fresh = !hasSnapshot && !Files.exists(log);
+
+        long replayed = 0;
+        long validLength = 0;
+        if (Files.exists(log)) {
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(log));
+            JournalRecord record;
+            while ((record = JournalRecordCodec.decode(records)) != null) {
+                this.state.apply(record);
+                replayed++;
+            }
+
+            if (records.hasRemaining()) {
+                System.err.println("Dropping " + records.remaining() + " bytes of an incomplete record at the end of " + log);
+            }
+
+            validLength = records.position();
+        }
+
+        // journals of other generations are left by a snapshot which was interrupted
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(this.directory, "journal-*.log")) {
+            for (Path path : stream) {
+                if (!path.getFileName().equals(log.getFileName())) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+
+        this.channel = FileChannel.open(log, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        this.channel.truncate(validLength);
+        this.channel.position(validLength);
+        this.recordsSinceSnapshot = (int) Math.min(Integer.MAX_VALUE, replayed);
+
+        if (this.recordsSinceSnapshot >= this.snapshotRecords) {
+            this.snapshot();
+        }
+
+        return new JournalRecovery(
+                decode(this.state.getSliceQueue()),
+                decode(this.state.getPrintQueue()),
+                snapshotJobs,
+                replayed,
+                System.currentTimeMillis() - start,
+                fresh
+        );
+    }
+
+    /**
+     * Queues the record for the next batch
+     *
+     * @param record The record to append
+     * @return A future which is completed as soon as the record is durable
+     */
+    @NotNull
+    public CompletableFuture<Void> append(@NotNull JournalRecord record) {
+        Pending entry = new Pending(record);
+        if (this.closed) {
+            entry.future.completeExceptionally(new IllegalStateException("The journal is closed"));
+            return entry.future;
+        }
+
+        this.pending.offer(entry);
+        return entry.future;
+    }
+
+    /**
+     * Writes all pending records and closes the journal
+     */
+    public void close() {
+        this.closed = true;
+        this.pending.offer(CLOSE);
+
+        try {
+            this.join();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return The amount of jobs in the journal state
+     */
+    public int getStateSize() {
+        return this.state.size();
+    }
+
+    /**
+     * @return The amount of records written since the last snapshot
+     */
+    public int getRecordsSinceSnapshot() {
+        return this.recordsSinceSnapshot;
+    }
+
+    @Override
+    public void run() {
+        List<Pending> batch = new ArrayList<>();
+        boolean running = true;
+
+        while (running) {
+            try {
+                batch.add(this.pending.take());
+            } catch (final InterruptedException ex) {
+                break;
+            }
+
+            this.pending.drainTo(batch);
+            running = !batch.remove(CLOSE);
+
+            if (!batch.isEmpty()) {
+                this.write(batch);
+                batch.clear();
+            }
+        }
+
+        Pending left;
+        while ((left = this.pending.poll()) != null) {
+            left.future.completeExceptionally(new IllegalStateException("The journal is closed"));
+        }
+
+        try {
+            this.channel.close();
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        long position = -1;
+        try {
+            position = this.channel.position();
+
+            this.buffer.clear();
+            for (Pending entry : batch) {
+                byte[] frame = JournalRecordCodec.encode(entry.record);
+                if (this.buffer.remaining() < frame.length) {
+                    ByteBuffer grown = ByteBuffer.allocate(Math.max(this.buffer.capacity() * 2, this.buffer.position() + frame.length));
+                    this.buffer.flip();
+                    this.buffer = grown.put(this.buffer);
+                }
+
+                this.buffer.put(frame);
+            }
+
+            this.buffer.flip();
+            while (this.buffer.hasRemaining()) {
+                this.channel.write(this.buffer);
+            }
+
+            if (this.sync) {
+                long start = System.nanoTime();
+                this.channel.force(false);
+                FSYNC.recordSince(start);
+            }
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            this.rollback(position);
+
+            for (Pending entry : batch) {
+                entry.future.completeExceptionally(ex);
+            }
+            return;
+        }
+
+        for (Pending entry : batch) {
+            this.state.apply(entry.record);
+            entry.future.complete(null);
+        }
+
+        RECORDS.add(batch.size());
+        BATCHES.increment();
+
+        this.recordsSinceSnapshot += batch.size();
+        if (this.recordsSinceSnapshot >= this.snapshotRecords) {
+            try {
+                this.snapshot();
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+                // retry after the next interval instead of after every batch
+                this.recordsSinceSnapshot = 0;
+            }
+        }
+    }
+
+    private void rollback(long position) {
+        if (position < 0) {
+            return;
+        }
+
+        // a partly written batch would hide all records written after it on replay
+        try {
+            this.channel.truncate(position);
+            this.channel.position(position);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
+
+    private void snapshot() throws IOException {
+        long next = this.generation + 1;
+
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeVarLong(next);
+        this.state.encode(writer);
+        byte[] body = writer.toByteArray();
+
+        Path temp = this.directory.resolve(SNAPSHOT + ".part");
+        try (FileChannel snapshot = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer data = ByteBuffer.allocate(4 + body.length).putInt(JournalRecordCodec.checksum(body, 0, body.length)).put(body);
+            data.flip();
+            while (data.hasRemaining()) {
+                snapshot.write(data);
+            }
+
+            snapshot.force(true);
+        }
+
+        FileChannel nextChannel = FileChannel.open(this.getLogPath(next), StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            Files.move(temp, this.directory.resolve(SNAPSHOT), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (final IOException ex) {
+            nextChannel.close();
+            throw ex;
+        }
+
+        this.channel.close();
+        Files.deleteIfExists(this.getLogPath(this.generation));
+
+        this.channel = nextChannel;
+        this.generation = next;
+        this.recordsSinceSnapshot = 0;
+        SNAPSHOTS.increment();
+    }
+
+    private Path getLogPath(long generation) {
+        return this.directory.resolve("journal-" + generation + ".log");
+    }
+
+    private static List<PrintableObject> decode(List<byte[]> jobs) {
+        List<PrintableObject> result = new ArrayList<>(jobs.size());
+        for (byte[] job : jobs) {
+            PrintableObject object = PrintableObject.MAPPER.apply(job);
+            if (object != null) {
+                result.add(object);
+            }
+        }
+
+        return result;
+    }
+
+    private static final class Pending {
+
+        private Pending(JournalRecord record) {
+            this.record = record;
+        }
+
+        private final JournalRecord record;
+
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.journal.object.JournalRecord;
+import de.switchprojects.controller.printer.journal.object.JournalRecordType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * Frames the records of the journal. Every frame starts with the length and the crc32 checksum of the
+ * body, so a record which was only partly written before a crash is detected on replay.
+ * <p>
+ * Body: type id, key, member count, member keys, payload flag, payload
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JournalRecordCodec {
+
+    private JournalRecordCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static final int FRAME_HEADER_SIZE = 8;
+
+    private static final int MAX_BODY_SIZE = 64 * 1024 * 1024;
+
+    /**
+     * Encodes the record into a frame
+     *
+     * @param record The record to encode
+     * @return The frame containing the record
+     */
+    @NotNull
+    public static byte[] encode(@NotNull JournalRecord record) {
+        BinaryWriter writer = new BinaryWriter();
+        writer.writeByte(record.getType().getId());
+        writer.writeString(record.getKey());
+        writer.writeVarInt(record.getMembers().size());
+        for (String member : record.getMembers()) {
+            writer.writeString(member);
+        }
+
+        writer.writeBoolean(record.getPayload() != null);
+        if (record.getPayload() != null) {
+            writer.writeBytes(record.getPayload());
+        }
+
+        byte[] body = writer.toByteArray();
+        return ByteBuffer.allocate(FRAME_HEADER_SIZE + body.length)
+                .putInt(body.length)
+                .putInt(checksum(body, 0, body.length))
+                .put(body)
+                .array();
+    }
+
+    /**
+     * Decodes the frame at the current position of the buffer and moves the position behind it
+     *
+     * @param buffer The buffer containing the frames
+     * @return The record or {@code null} if the frame is incomplete or corrupted, the position is not changed then
+     */
+    @Nullable
+    public static JournalRecord decode(@NotNull ByteBuffer buffer) {
+        int start = buffer.position();
+        if (buffer.remaining() < FRAME_HEADER_SIZE) {
+            return null;
+        }
+
+        int length = buffer.getInt(start);
+        int checksum = buffer.getInt(start + 4);
+        if (length <= 0 || length > MAX_BODY_SIZE || length > buffer.remaining() - FRAME_HEADER_SIZE) {
+            return null;
+        }
+
+        byte[] body = new byte[length];
+        buffer.position(start + FRAME_HEADER_SIZE);
+        buffer.get(body);
+        if (checksum(body, 0, length) != checksum) {
+            buffer.position(start);
+            return null;
+        }
+
+        try {
+            BinaryReader reader = new BinaryReader(body);
+            JournalRecordType type = JournalRecordType.fromId(reader.readByte());
+            if (type == null) {
+                buffer.position(start);
+                return null;
+            }
+
+            String key = reader.readString();
+            int memberCount = reader.readVarInt();
+            List<String> members = memberCount == 0 ? Collections.emptyList() : new ArrayList<>(memberCount);
+            for (int i = 0; i < memberCount; i++) {
+                members.add(reader.readString());
+            }
+
+            byte[] payload = reader.readBoolean() ? reader.readBytes() : null;
+            return new JournalRecord(type, key, members, payload);
+        } catch (final IOException ex) {
+            buffer.position(start);
+            return null;
+        }
+    }
+
+    /**
+     * Computes the crc32 checksum of the given bytes
+     *
+     * @param bytes  The bytes
+     * @param offset The offset of the first byte
+     * @param length The amount of bytes
+     * @return The checksum
+     */
+    public static int checksum(@NotNull byte[] bytes, int offset, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, offset, length);
+        return (int) crc.getValue();
+    }
+}
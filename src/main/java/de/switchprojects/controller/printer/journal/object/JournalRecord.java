@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.object;
+
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * One transition of a job written to the journal
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JournalRecord {
+
+    public JournalRecord(@NotNull JournalRecordType type, @NotNull String key, @NotNull List<String> members, @Nullable byte[] payload) {
+        this.type = type;
+        this.key = key;
+        this.members = members;
+        this.payload = payload;
+    }
+
+    private final JournalRecordType type;
+
+    private final String key;
+
+    private final List<String> members;
+
+    private final byte[] payload;
+
+    @NotNull
+    public JournalRecordType getType() {
+        return type;
+    }
+
+    /**
+     * @return The key of the job in the job table
+     */
+    @NotNull
+    public String getKey() {
+        return key;
+    }
+
+    /**
+     * @return The keys of the other jobs on the same build plate
+     */
+    @NotNull
+    public List<String> getMembers() {
+        return members;
+    }
+
+    /**
+     * @return The serialized job or {@code null} if the record only contains the key
+     */
+    @Nullable
+    public byte[] getPayload() {
+        return payload;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.object;
+
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The transitions of a job between the queues which are written to the journal
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public enum JournalRecordType {
+
+    /**
+     * The job was added to the slice queue, the record contains the job
+     */
+    SLICE_QUEUED(1),
+
+    /**
+     * The job was put back to the head of the slice queue
+     */
+    SLICE_PUT_BACK(2),
+
+    /**
+     * The job was sliced and waits for a printer, the record contains the sliced job and the keys of the
+     * other jobs on the same build plate
+     */
+    SLICED(3),
+
+    /**
+     * The job could not get sliced and was dropped
+     */
+    SLICE_FAILED(4),
+
+    /**
+     * The job was sent to a printer and is tracked by the progressed table from now on
+     */
+    PRINT_STARTED(5);
+
+    JournalRecordType(int id) {
+        this.id = id;
+    }
+
+    private final int id;
+
+    /**
+     * @return The id which is written to the journal
+     */
+    public int getId() {
+        return id;
+    }
+
+    /**
+     * @param id The id written to the journal
+     * @return The type with the given id or {@code null} if the id is unknown
+     */
+    @Nullable
+    public static JournalRecordType fromId(int id) {
+        for (JournalRecordType type : values()) {
+            if (type.id == id) {
+                return type;
+            }
+        }
+
+        return null;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.object;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.List;
+
+/**
+ * The jobs which were restored from the journal on startup
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JournalRecovery {
+
+    public JournalRecovery(@NotNull List<PrintableObject> sliceQueue, @NotNull List<PrintableObject> printQueue,
+                           int snapshotJobs, long replayedRecords, long durationMillis, boolean fresh) {
+        this.sliceQueue = sliceQueue;
+        this.printQueue = printQueue;
+        this.snapshotJobs = snapshotJobs;
+        this.replayedRecords = replayedRecords;
+        this.durationMillis = durationMillis;
+        this.fresh = fresh;
+    }
+
+    private final List<PrintableObject> sliceQueue;
+
+    private final List<PrintableObject> printQueue;
+
+    private final int snapshotJobs;
+
+    private final long replayedRecords;
+
+    private final long durationMillis;
+
+    private final boolean fresh;
+
+    /**
+     * @return The jobs which were not sliced yet in queue order
+     */
+    @NotNull
+    public List<PrintableObject> getSliceQueue() {
+        return sliceQueue;
+    }
+
+    /**
+     * @return The sliced jobs which were not sent to a printer yet
+     */
+    @NotNull
+    public List<PrintableObject> getPrintQueue() {
+        return printQueue;
+    }
+
+    /**
+     * @return The amount of jobs which were loaded from the snapshot
+     */
+    public int getSnapshotJobs() {
+        return snapshotJobs;
+    }
+
+    /**
+     * @return The amount of records which were replayed after the snapshot
+     */
+    public long getReplayedRecords() {
+        return replayedRecords;
+    }
+
+    /**
+     * @return The time the recovery took in millis
+     */
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * @return If no journal existed before, which is the case on the first start
+     */
+    public boolean isFresh() {
+        return fresh;
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.journal.object;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The jobs in the slice and the print queue as described by the journal. Applying a record twice has
+ * the same effect as applying it once.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JournalState {
+
+    private Map<String, byte[]> slicing = new LinkedHashMap<>();
+
+    private final Map<String, byte[]> printing = new LinkedHashMap<>();
+
+    /**
+     * Applies the given record to the state
+     *
+     * @param record The record to apply
+     */
+    public void apply(@NotNull JournalRecord record) {
+        switch (record.getType()) {
+            case SLICE_QUEUED:
+                if (record.getPayload() != null) {
+                    this.printing.remove(record.getKey());
+                    this.slicing.put(record.getKey(), record.getPayload());
+                }
+                break;
+            case SLICE_PUT_BACK: {
+                byte[] payload = this.slicing.remove(record.getKey());
+                if (payload != null) {
+                    Map<String, byte[]> reordered = new LinkedHashMap<>();
+                    reordered.put(record.getKey(), payload);
+                    reordered.putAll(this.slicing);
+                    this.slicing = reordered;
+                }
+                break;
+            }
+            case SLICED:
+                this.slicing.remove(record.getKey());
+                record.getMembers().forEach(this.slicing::remove);
+                if (record.getPayload() != null) {
+                    this.printing.put(record.getKey(), record.getPayload());
+                }
+                break;
+            case SLICE_FAILED:
+                this.slicing.remove(record.getKey());
+                break;
+            case PRINT_STARTED:
+                this.printing.remove(record.getKey());
+                break;
+            default:
+                break;
+        }
+    }
+
+    /**
+     * @return The serialized jobs of the slice queue in queue order
+     */
+    @NotNull
+    public List<byte[]> getSliceQueue() {
+        return new ArrayList<>(this.slicing.values());
+    }
+
+    /**
+     * @return The serialized jobs of the print queue in the order in which they were sliced
+     */
+    @NotNull
+    public List<byte[]> getPrintQueue() {
+        return new ArrayList<>(this.printing.values());
+    }
+
+    /**
+     * @return The amount of jobs in both queues
+     */
+    public int size() {
+        return this.slicing.size() + this.printing.size();
+    }
+
+    /**
+     * Writes the state for a snapshot
+     *
+     * @param writer The writer to write to
+     */
+    public void encode(@NotNull BinaryWriter writer) {
+        encodeMap(this.slicing, writer);
+        encodeMap(this.printing, writer);
+    }
+
+    /**
+     * Reads a state written by {@link #encode(BinaryWriter)}
+     *
+     * @param reader The reader to read from
+     * @return The read state
+     * @throws IOException If the data is malformed
+     */
+    @NotNull
+    public static JournalState decode(@NotNull BinaryReader reader) throws IOException {
+        JournalState state = new JournalState();
+        decodeMap(state.slicing, reader);
+        decodeMap(state.printing, reader);
+        return state;
+    }
+
+    private static void encodeMap(Map<String, byte[]> map, BinaryWriter writer) {
+        writer.writeVarInt(map.size());
+        for (Map.Entry<String, byte[]> entry : map.entrySet()) {
+            writer.writeString(entry.getKey());
+            writer.writeBytes(entry.getValue());
+        }
+    }
+
+    private static void decodeMap(Map<String, byte[]> map, BinaryReader reader) throws IOException {
+        int size = reader.readVarInt();
+        for (int i = 0; i < size; i++) {
+            map.put(reader.readString(), reader.readBytes());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh;
+
+import de.switchprojects.controller.printer.mesh.io.ObjParser;
+import de.switchprojects.controller.printer.mesh.io.StlParser;
+import de.switchprojects.controller.printer.mesh.io.StlWriter;
+import de.switchprojects.controller.printer.mesh.object.IndexedMesh;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
+import de.switchprojects.controller.printer.metrics.object.Summary;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Locale;
+
+/**
+ * Normalizes the uploaded {@code stl} and {@code obj} files before they are queued for the slicer.
+ * Every mesh is converted to a binary {@code stl} file with merged vertices, triangles without area
+ * are dropped and meshes which are empty, flat or do not fit into the printer are rejected. Files in
+ * other formats are passed to the slicer unchanged.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class MeshIngestion {
+
+    private MeshIngestion() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final long MAX_TRIANGLES = Long.getLong("mesh.max.triangles", 5_000_000);
+
+    private static final double MAX_WIDTH = Double.parseDouble(System.getProperty("mesh.max.width", System.getProperty("plate.bed.width", "250")));
+
+    private static final double MAX_DEPTH = Double.parseDouble(System.getProperty("mesh.max.depth", System.getProperty("plate.bed.depth", "210")));
+
+    private static final double MAX_HEIGHT = Double.parseDouble(System.getProperty("mesh.max.height", "210"));
+
+    private static final double MIN_SIZE = Double.parseDouble(System.getProperty("mesh.min.size", "0.1"));
+
+    private static final Summary DURATION = MetricRegistry.timer("mesh_ingestion_duration_seconds", "The duration of the mesh normalization");
+
+    private static final Counter ACCEPTED = MetricRegistry.counter("mesh_ingestion_total", "The normalized meshes by result", "result", "accepted");
+
+    private static final Counter REJECTED = MetricRegistry.counter("mesh_ingestion_total", "The normalized meshes by result", "result", "rejected");
+
+    /**
+     * Normalizes the given file. The normalized mesh is written next to the source with the extension
+     * {@code stl}, the source is replaced or deleted.
+     *
+     * @param source The uploaded file
+     * @return The path of the normalized file, or the source if the format is not a known mesh format
+     * @throws MeshRejectedException If the file is malformed or the mesh is not printable, the source is kept
+     * @throws IOException           If the normalized file cannot be written
+     */
+    @NotNull
+    public static Path ingest(@NotNull Path source) throws IOException {
+        Validate.assertNotNull(source, "Cannot ingest null path");
+
+        String fileName = source.getFileName().toString();
+        int dot = fileName.lastIndexOf('.');
+        String extension = dot == -1 ? "" : fileName.substring(dot + 1).toLowerCase(Locale.ROOT);
+        if (!extension.equals("stl") && !extension.equals("obj")) {
+            return source;
+        }
+
+        long start = System.nanoTime();
+        try {
+            IndexedMesh mesh = new IndexedMesh(MAX_TRIANGLES);
+            try {
+                if (extension.equals("stl")) {
+                    StlParser.parse(source, mesh);
+                } else {
+                    ObjParser.parse(source, mesh);
+                }
+            } catch (final IOException ex) {
+                throw reject("The mesh cannot be read: " + ex.getMessage());
+            }
+
+            validate(mesh);
+
+            Path target = source.resolveSibling(fileName.substring(0, dot) + ".stl");
+            Path temp = target.resolveSibling(target.getFileName() + ".part");
+            try {
+                StlWriter.write(temp, mesh);
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+
+            if (!target.equals(source)) {
+                Files.deleteIfExists(source);
+            }
+
+            ACCEPTED.increment();
+            System.out.println(String.format(
+                    "Normalized %s: %d triangles (%d dropped), %d vertices",
+                    fileName,
+                    mesh.getTriangleCount(),
+                    mesh.getDegenerateTriangles() + mesh.getInvalidTriangles(),
+                    mesh.getVertexCount()
+            ));
+            return target;
+        } finally {
+            DURATION.recordSince(start);
+        }
+    }
+
+    private static void validate(IndexedMesh mesh) throws MeshRejectedException {
+        if (mesh.isTruncated()) {
+            throw reject("The mesh has more than " + MAX_TRIANGLES + " triangles");
+        }
+
+        if (mesh.getTriangleCount() == 0) {
+            throw reject("The mesh contains no triangles with an area");
+        }
+
+        double width = mesh.getMaxX() - mesh.getMinX();
+        double depth = mesh.getMaxY() - mesh.getMinY();
+        double height = mesh.getMaxZ() - mesh.getMinZ();
+        if (width < MIN_SIZE || depth < MIN_SIZE || height < MIN_SIZE) {
+            throw reject(String.format(Locale.ROOT, "The mesh is too flat (%.2f x %.2f x %.2f mm)", width, depth, height));
+        }
+
+        boolean fits = (width <= MAX_WIDTH && depth <= MAX_DEPTH) || (depth <= MAX_WIDTH && width <= MAX_DEPTH);
+        if (!fits || height > MAX_HEIGHT) {
+            throw reject(String.format(Locale.ROOT, "The mesh is too large (%.0f x %.0f x %.0f mm, max %.0f x %.0f x %.0f mm)",
+                    width, depth, height, MAX_WIDTH, MAX_DEPTH, MAX_HEIGHT));
+        }
+    }
+
+    private static MeshRejectedException reject(String reason) {
+        REJECTED.increment();
+        return new MeshRejectedException(reason);
+    }
+
+    /**
+     * Thrown when an uploaded mesh cannot be printed
+     */
+    public static final class MeshRejectedException extends IOException {
+
+        private static final long serialVersionUID = 4326940254383155720L;
+
+        private MeshRejectedException(String reason) {
+            super(reason);
+        }
+    }
+}
@@ -0,0 +1,300 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh.io;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Splits an ascii stream into whitespace separated tokens. The tokens are kept in a reused buffer and
+ * numbers are parsed directly from it, so scanning a file does not allocate per token.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class AsciiScanner {
+
+    private static final long MANTISSA_LIMIT = Long.MAX_VALUE / 10;
+
+    private static final double[] POWERS_OF_TEN = new double[23];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    public AsciiScanner(@NotNull InputStream stream, int bufferSize) {
+        this.stream = stream;
+        this.buffer = new byte[bufferSize];
+    }
+
+    private final InputStream stream;
+
+    private final byte[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    private byte[] token = new byte[64];
+
+    private int length;
+
+    /**
+     * Reads the next token, skipping all whitespaces and line breaks before it
+     *
+     * @return If a token was read, {@code false} at the end of the stream
+     * @throws IOException If the stream cannot be read
+     */
+    public boolean next() throws IOException {
+        return this.next(true);
+    }
+
+    /**
+     * Reads the next token of the current line
+     *
+     * @return If a token was read, {@code false} at the end of the line or stream
+     * @throws IOException If the stream cannot be read
+     */
+    public boolean nextOnLine() throws IOException {
+        return this.next(false);
+    }
+
+    /**
+     * Skips the rest of the current line including the line break
+     *
+     * @throws IOException If the stream cannot be read
+     */
+    public void skipLine() throws IOException {
+        int current;
+        while ((current = this.read()) != -1) {
+            if (current == '\n') {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @param literal The literal to compare with, only ascii characters
+     * @return If the current token is equal to the given literal
+     */
+    public boolean is(@NotNull String literal) {
+        if (literal.length() != this.length) {
+            return false;
+        }
+
+        for (int i = 0; i < this.length; i++) {
+            if (this.token[i] != literal.charAt(i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * @return The first character of the current token or {@code -1} if the token is empty
+     */
+    public int firstChar() {
+        return this.length == 0 ? -1 : this.token[0];
+    }
+
+    /**
+     * Parses the current token as decimal number
+     *
+     * @return The parsed number
+     * @throws IOException If the token is not a number
+     */
+    public float toFloat() throws IOException {
+        int index = 0;
+        boolean negative = false;
+        if (this.length > 0 && (this.token[0] == '-' || this.token[0] == '+')) {
+            negative = this.token[0] == '-';
+            index++;
+        }
+
+        long mantissa = 0;
+        int scale = 0;
+        boolean digits = false;
+        boolean dot = false;
+
+        for (; index < this.length; index++) {
+            int current = this.token[index];
+            if (current >= '0' && current <= '9') {
+                digits = true;
+                if (mantissa < MANTISSA_LIMIT) {
+                    mantissa = mantissa * 10 + (current - '0');
+                    if (dot) {
+                        scale--;
+                    }
+                } else if (!dot) {
+                    scale++;
+                }
+            } else if (current == '.' && !dot) {
+                dot = true;
+            } else {
+                break;
+            }
+        }
+
+        if (index < this.length && digits && (this.token[index] == 'e' || this.token[index] == 'E')) {
+            index++;
+            boolean negativeExponent = false;
+            if (index < this.length && (this.token[index] == '-' || this.token[index] == '+')) {
+                negativeExponent = this.token[index] == '-';
+                index++;
+            }
+
+            int exponent = 0;
+            boolean exponentDigits = false;
+            for (; index < this.length && this.token[index] >= '0' && this.token[index] <= '9'; index++) {
+                exponent = Math.min(exponent * 10 + (this.token[index] - '0'), 1000);
+                exponentDigits = true;
+            }
+
+            if (!exponentDigits) {
+                throw this.invalidNumber();
+            }
+
+            scale += negativeExponent ? -exponent : exponent;
+        }
+
+        if (!digits || index != this.length) {
+            // nan, infinity and other rare notations are left to the jdk
+            try {
+                return Float.parseFloat(this.toString());
+            } catch (final NumberFormatException ex) {
+                throw this.invalidNumber();
+            }
+        }
+
+        double value = mantissa;
+        if (scale < 0) {
+            value = -scale < POWERS_OF_TEN.length ? value / POWERS_OF_TEN[-scale] : value / Math.pow(10, -scale);
+        } else if (scale > 0) {
+            value = scale < POWERS_OF_TEN.length ? value * POWERS_OF_TEN[scale] : value * Math.pow(10, scale);
+        }
+
+        return (float) (negative ? -value : value);
+    }
+
+    /**
+     * Parses the leading integer of the current token, stopping at the first {@code /}
+     *
+     * @return The parsed number
+     * @throws IOException If the token does not start with a number
+     */
+    public int toLeadingInt() throws IOException {
+        int index = 0;
+        boolean negative = false;
+        if (this.length > 0 && this.token[0] == '-') {
+            negative = true;
+            index++;
+        }
+
+        long value = 0;
+        int start = index;
+        for (; index < this.length && this.token[index] != '/'; index++) {
+            int current = this.token[index];
+            if (current < '0' || current > '9' || value > Integer.MAX_VALUE) {
+                throw this.invalidNumber();
+            }
+
+            value = value * 10 + (current - '0');
+        }
+
+        if (index == start || value > Integer.MAX_VALUE) {
+            throw this.invalidNumber();
+        }
+
+        return (int) (negative ? -value : value);
+    }
+
+    @Override
+    public String toString() {
+        return new String(this.token, 0, this.length, StandardCharsets.US_ASCII);
+    }
+
+    private boolean next(boolean crossLines) throws IOException {
+        this.length = 0;
+
+        int current;
+        do {
+            current = this.peek();
+            if (current == -1 || (current == '\n' && !crossLines)) {
+                return false;
+            }
+
+            if (current > ' ') {
+                break;
+            }
+
+            this.position++;
+        } while (true);
+
+        while ((current = this.peek()) > ' ') {
+            if (this.length == this.token.length) {
+                byte[] grown = new byte[this.token.length * 2];
+                System.arraycopy(this.token, 0, grown, 0, this.length);
+                this.token = grown;
+            }
+
+            this.token[this.length++] = (byte) current;
+            this.position++;
+        }
+
+        return true;
+    }
+
+    private int peek() throws IOException {
+        if (this.position == this.limit) {
+            this.limit = this.stream.read(this.buffer);
+            this.position = 0;
+            if (this.limit <= 0) {
+                this.limit = 0;
+                return -1;
+            }
+        }
+
+        return this.buffer[this.position] & 0xFF;
+    }
+
+    private int read() throws IOException {
+        int current = this.peek();
+        if (current != -1) {
+            this.position++;
+        }
+
+        return current;
+    }
+
+    private IOException invalidNumber() {
+        return new IOException("Invalid number: " + this);
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh.io;
+
+import de.switchprojects.controller.printer.mesh.util.TriangleConsumer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+/**
+ * Streams the triangles of {@code obj} files. Only the vertices and faces are read, polygons are split
+ * into triangles around their first vertex. The normals of the triangles are left empty.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class ObjParser {
+
+    private ObjParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Calls the consumer for every triangle in the given file
+     *
+     * @param path     The path of the {@code obj} file
+     * @param consumer The consumer of the triangles
+     * @return The amount of triangles in the file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public static long parse(@NotNull Path path, @NotNull TriangleConsumer consumer) throws IOException {
+        float[] vertices = new float[3 * 1024];
+        int vertexCount = 0;
+
+        float[] triangle = new float[12];
+        long count = 0;
+
+        try (InputStream stream = Files.newInputStream(path)) {
+            AsciiScanner scanner = new AsciiScanner(stream, 64 * 1024);
+            while (scanner.next()) {
+                if (scanner.is("v")) {
+                    if (vertexCount * 3 == vertices.length) {
+                        vertices = Arrays.copyOf(vertices, vertices.length * 2);
+                    }
+
+                    for (int i = 0; i < 3; i++) {
+                        if (!scanner.nextOnLine()) {
+                            throw new IOException("Vertex " + (vertexCount + 1) + " has less than three coordinates in " + path);
+                        }
+
+                        vertices[vertexCount * 3 + i] = scanner.toFloat();
+                    }
+
+                    vertexCount++;
+                } else if (scanner.is("f")) {
+                    int first = -1;
+                    int previous = -1;
+                    while (scanner.nextOnLine()) {
+                        int index = scanner.toLeadingInt();
+                        index = index < 0 ? vertexCount + index : index - 1;
+                        if (index < 0 || index >= vertexCount) {
+                            throw new IOException("Face references unknown vertex " + scanner + " in " + path);
+                        }
+
+                        if (first == -1) {
+                            first = index;
+                        } else if (previous != -1) {
+                            System.arraycopy(vertices, first * 3, triangle, 3, 3);
+                            System.arraycopy(vertices, previous * 3, triangle, 6, 3);
+                            System.arraycopy(vertices, index * 3, triangle, 9, 3);
+
+                            consumer.accept(triangle);
+                            count++;
+                        }
+
+                        if (first != index) {
+                            previous = index;
+                        }
+                    }
+                }
+
+                // texture coordinates, normals, groups, materials and comments are not needed
+                scanner.skipLine();
+            }
+        }
+
+        return count;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh.io;
+
+import de.switchprojects.controller.printer.mesh.util.TriangleConsumer;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams the triangles of ascii and binary {@code stl} files. A file is read as binary if its size
+ * matches the triangle count in the header, otherwise as ascii.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class StlParser {
+
+    private StlParser() {
+        throw new UnsupportedOperationException();
+    }
+
+    public static final int HEADER_SIZE = 80;
+
+    public static final int TRIANGLE_SIZE = 50;
+
+    private static final int BUFFER_TRIANGLES = 1024;
+
+    /**
+     * Calls the consumer for every triangle in the given file
+     *
+     * @param path     The path of the {@code stl} file
+     * @param consumer The consumer of the triangles
+     * @return The amount of triangles in the file
+     * @throws IOException If the file cannot be read or is malformed
+     */
+    public static long parse(@NotNull Path path, @NotNull TriangleConsumer consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size >= HEADER_SIZE + 4) {
+                ByteBuffer head = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+                channel.position(HEADER_SIZE);
+                readFully(channel, head);
+
+                long count = head.getInt(0) & 0xFFFFFFFFL;
+                if (size == HEADER_SIZE + 4 + count * TRIANGLE_SIZE) {
+                    return parseBinary(channel, count, consumer);
+                }
+            }
+        }
+
+        return parseAscii(path, consumer);
+    }
+
+    private static long parseBinary(FileChannel channel, long count, TriangleConsumer consumer) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_TRIANGLES * TRIANGLE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        float[] triangle = new float[12];
+
+        long remaining = count;
+        while (remaining > 0) {
+            int batch = (int) Math.min(remaining, BUFFER_TRIANGLES);
+            buffer.clear().limit(batch * TRIANGLE_SIZE);
+            readFully(channel, buffer);
+
+            for (int i = 0; i < batch; i++) {
+                int offset = i * TRIANGLE_SIZE;
+                for (int j = 0; j < 12; j++) {
+                    triangle[j] = buffer.getFloat(offset + j * 4);
+                }
+
+                consumer.accept(triangle);
+            }
+
+            remaining -= batch;
+        }
+
+        return count;
+    }
+
+    private static long parseAscii(Path path, TriangleConsumer consumer) throws IOException {
+        float[] triangle = new float[12];
+        int vertex = 0;
+        long count = 0;
+
+        try (InputStream stream = Files.newInputStream(path)) {
+            AsciiScanner scanner = new AsciiScanner(stream, 64 * 1024);
+            while (scanner.next()) {
+                if (scanner.is("normal")) {
+                    readVector(scanner, triangle, 0);
+                } else if (scanner.is("vertex")) {
+                    if (vertex == 3) {
+                        throw new IOException("Facet with more than three vertices in " + path);
+                    }
+
+                    readVector(scanner, triangle, 3 + vertex++ * 3);
+                } else if (scanner.is("endfacet")) {
+                    if (vertex != 3) {
+                        throw new IOException("Facet with " + vertex + " vertices in " + path);
+                    }
+
+                    consumer.accept(triangle);
+                    count++;
+                    vertex = 0;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    private static void readVector(AsciiScanner scanner, float[] target, int index) throws IOException {
+        for (int i = 0; i < 3; i++) {
+            if (!scanner.next()) {
+                throw new EOFException();
+            }
+
+            target[index + i] = scanner.toFloat();
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) == -1) {
+                throw new EOFException();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh.io;
+
+import de.switchprojects.controller.printer.mesh.object.IndexedMesh;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Writes meshes as binary {@code stl} files
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class StlWriter {
+
+    private StlWriter() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes the header of a binary {@code stl} file
+     *
+     * @param stream    The stream to write to
+     * @param name      The name which is written into the header
+     * @param triangles The amount of triangles which follow the header
+     * @throws IOException If the header cannot be written
+     */
+    public static void writeHeader(@NotNull OutputStream stream, @NotNull String name, long triangles) throws IOException {
+        byte[] header = new byte[StlParser.HEADER_SIZE + 4];
+        byte[] bytes = name.getBytes(StandardCharsets.US_ASCII);
+        System.arraycopy(bytes, 0, header, 0, Math.min(bytes.length, StlParser.HEADER_SIZE));
+
+        ByteBuffer.wrap(header).order(ByteOrder.LITTLE_ENDIAN).putInt(StlParser.HEADER_SIZE, (int) triangles);
+        stream.write(header);
+    }
+
+    /**
+     * Writes the mesh into the given file. The normals of the triangles are computed from the vertices
+     * using the right hand rule.
+     *
+     * @param target The file to write to
+     * @param mesh   The mesh to write
+     * @throws IOException If the file cannot be written
+     */
+    public static void write(@NotNull Path target, @NotNull IndexedMesh mesh) throws IOException {
+        float[] vertices = mesh.getVertices();
+        int[] indices = mesh.getIndices();
+
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(target), 64 * 1024)) {
+            writeHeader(stream, "3dswitch canonical mesh", mesh.getTriangleCount());
+
+            ByteBuffer buffer = ByteBuffer.allocate(StlParser.TRIANGLE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            for (int i = 0; i < mesh.getTriangleCount(); i++) {
+                int a = indices[i * 3] * 3;
+                int b = indices[i * 3 + 1] * 3;
+                int c = indices[i * 3 + 2] * 3;
+
+                double abX = vertices[b] - vertices[a];
+                double abY = vertices[b + 1] - vertices[a + 1];
+                double abZ = vertices[b + 2] - vertices[a + 2];
+                double acX = vertices[c] - vertices[a];
+                double acY = vertices[c + 1] - vertices[a + 1];
+                double acZ = vertices[c + 2] - vertices[a + 2];
+
+                double normalX = abY * acZ - abZ * acY;
+                double normalY = abZ * acX - abX * acZ;
+                double normalZ = abX * acY - abY * acX;
+                double length = Math.sqrt(normalX * normalX + normalY * normalY + normalZ * normalZ);
+
+                buffer.clear();
+                buffer.putFloat((float) (normalX / length)).putFloat((float) (normalY / length)).putFloat((float) (normalZ / length));
+                buffer.putFloat(vertices[a]).putFloat(vertices[a + 1]).putFloat(vertices[a + 2]);
+                buffer.putFloat(vertices[b]).putFloat(vertices[b + 1]).putFloat(vertices[b + 2]);
+                buffer.putFloat(vertices[c]).putFloat(vertices[c + 1]).putFloat(vertices[c + 2]);
+                buffer.putShort((short) 0);
+
+                stream.write(buffer.array(), 0, StlParser.TRIANGLE_SIZE);
+            }
+        }
+    }
+}
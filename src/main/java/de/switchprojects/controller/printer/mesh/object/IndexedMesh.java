@@ -0,0 +1,266 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.mesh.object;
+
+import de.switchprojects.controller.printer.mesh.util.TriangleConsumer;
+
+import java.util.Arrays;
+
+/**
+ * A mesh which is built from a stream of triangles. Vertices with exactly the same coordinates are
+ * merged using an open addressing hash table, triangles which lost their area by the merge are dropped.
+ * The mesh stops storing triangles when the limit is reached but keeps counting them.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class IndexedMesh implements TriangleConsumer {
+
+    private static final double MIN_DOUBLE_AREA = 1E-12;
+
+    public IndexedMesh(long maxTriangles) {
+        this.maxTriangles = maxTriangles;
+    }
+
+    private final long maxTriangles;
+
+    private float[] vertices = new float[3 * 1024];
+
+    private int vertexCount;
+
+    private int[] indices = new int[3 * 1024];
+
+    private int triangleCount;
+
+    private int[] table = newTable(2048);
+
+    private long inputTriangles;
+
+    private long degenerateTriangles;
+
+    private long invalidTriangles;
+
+    private float minX = Float.POSITIVE_INFINITY;
+
+    private float minY = Float.POSITIVE_INFINITY;
+
+    private float minZ = Float.POSITIVE_INFINITY;
+
+    private float maxX = Float.NEGATIVE_INFINITY;
+
+    private float maxY = Float.NEGATIVE_INFINITY;
+
+    private float maxZ = Float.NEGATIVE_INFINITY;
+
+    @Override
+    public void accept(float[] triangle) {
+        this.inputTriangles++;
+        if (this.inputTriangles > this.maxTriangles) {
+            return;
+        }
+
+        for (int i = 3; i < 12; i++) {
+            if (!Float.isFinite(triangle[i])) {
+                this.invalidTriangles++;
+                return;
+            }
+        }
+
+        int a = this.vertex(triangle[3], triangle[4], triangle[5]);
+        int b = this.vertex(triangle[6], triangle[7], triangle[8]);
+        int c = this.vertex(triangle[9], triangle[10], triangle[11]);
+        if (a == b || b == c || a == c || this.doubleArea(a, b, c) < MIN_DOUBLE_AREA) {
+            this.degenerateTriangles++;
+            return;
+        }
+
+        if (this.triangleCount * 3 == this.indices.length) {
+            this.indices = Arrays.copyOf(this.indices, this.indices.length * 2);
+        }
+
+        int offset = this.triangleCount++ * 3;
+        this.indices[offset] = a;
+        this.indices[offset + 1] = b;
+        this.indices[offset + 2] = c;
+    }
+
+    /**
+     * @return The vertices of the mesh, three coordinates per vertex. The array may be larger than needed.
+     */
+    public float[] getVertices() {
+        return vertices;
+    }
+
+    public int getVertexCount() {
+        return vertexCount;
+    }
+
+    /**
+     * @return The vertex indices of the triangles, three per triangle. The array may be larger than needed.
+     */
+    public int[] getIndices() {
+        return indices;
+    }
+
+    public int getTriangleCount() {
+        return triangleCount;
+    }
+
+    /**
+     * @return The amount of triangles passed to the mesh, including the dropped ones
+     */
+    public long getInputTriangles() {
+        return inputTriangles;
+    }
+
+    /**
+     * @return The amount of triangles which were dropped because they have no area
+     */
+    public long getDegenerateTriangles() {
+        return degenerateTriangles;
+    }
+
+    /**
+     * @return The amount of triangles which were dropped because of not finite coordinates
+     */
+    public long getInvalidTriangles() {
+        return invalidTriangles;
+    }
+
+    /**
+     * @return If more triangles were passed to the mesh than allowed
+     */
+    public boolean isTruncated() {
+        return this.inputTriangles > this.maxTriangles;
+    }
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMinZ() {
+        return minZ;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    public float getMaxZ() {
+        return maxZ;
+    }
+
+    private int vertex(float x, float y, float z) {
+        // -0 and 0 are the same position
+        x = x == 0 ? 0 : x;
+        y = y == 0 ? 0 : y;
+        z = z == 0 ? 0 : z;
+
+        int mask = this.table.length - 1;
+        int slot = hash(x, y, z) & mask;
+        int existing;
+        while ((existing = this.table[slot]) != -1) {
+            int offset = existing * 3;
+            if (this.vertices[offset] == x && this.vertices[offset + 1] == y && this.vertices[offset + 2] == z) {
+                return existing;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        if (this.vertexCount * 3 == this.vertices.length) {
+            this.vertices = Arrays.copyOf(this.vertices, this.vertices.length * 2);
+        }
+
+        int index = this.vertexCount++;
+        this.vertices[index * 3] = x;
+        this.vertices[index * 3 + 1] = y;
+        this.vertices[index * 3 + 2] = z;
+        this.table[slot] = index;
+
+        this.minX = Math.min(this.minX, x);
+        this.minY = Math.min(this.minY, y);
+        this.minZ = Math.min(this.minZ, z);
+        this.maxX = Math.max(this.maxX, x);
+        this.maxY = Math.max(this.maxY, y);
+        this.maxZ = Math.max(this.maxZ, z);
+
+        // keep the load factor below one half
+        if (this.vertexCount * 2 > this.table.length) {
+            this.rehash();
+        }
+
+        return index;
+    }
+
+    private void rehash() {
+        this.table = newTable(this.table.length * 2);
+
+        int mask = this.table.length - 1;
+        for (int i = 0; i < this.vertexCount; i++) {
+            int slot = hash(this.vertices[i * 3], this.vertices[i * 3 + 1], this.vertices[i * 3 + 2]) & mask;
+            while (this.table[slot] != -1) {
+                slot = (slot + 1) & mask;
+            }
+
+            this.table[slot] = i;
+        }
+    }
+
+    private double doubleArea(int a, int b, int c) {
+        double abX = this.vertices[b * 3] - this.vertices[a * 3];
+        double abY = this.vertices[b * 3 + 1] - this.vertices[a * 3 + 1];
+        double abZ = this.vertices[b * 3 + 2] - this.vertices[a * 3 + 2];
+        double acX = this.vertices[c * 3] - this.vertices[a * 3];
+        double acY = this.vertices[c * 3 + 1] - this.vertices[a * 3 + 1];
+        double acZ = this.vertices[c * 3 + 2] - this.vertices[a * 3 + 2];
+
+        double crossX = abY * acZ - abZ * acY;
+        double crossY = abZ * acX - abX * acZ;
+        double crossZ = abX * acY - abY * acX;
+        return Math.sqrt(crossX * crossX + crossY * crossY + crossZ * crossZ);
+    }
+
+    private static int hash(float x, float y, float z) {
+        int hash = Float.floatToIntBits(x);
+        hash = hash * 31 + Float.floatToIntBits(y);
+        hash = hash * 31 + Float.floatToIntBits(z);
+        // spread the bits as the table uses the low bits only
+        return hash ^ (hash >>> 16) ^ (hash >>> 7);
+    }
+
+    private static int[] newTable(int size) {
+        int[] table = new int[size];
+        Arrays.fill(table, -1);
+        return table;
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics;
+
+import java.lang.management.*;
+
+/**
+ * Registers the memory, garbage collection and thread metrics of the jvm
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JvmMetrics {
+
+    private JvmMetrics() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Registers all jvm metrics in the {@link MetricRegistry}
+     */
+    public static void register() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        MetricRegistry.gauge("jvm_memory_bytes_used", "The used memory of the jvm", () -> memory.getHeapMemoryUsage().getUsed(), "area", "heap");
+        MetricRegistry.gauge("jvm_memory_bytes_used", "The used memory of the jvm", () -> memory.getNonHeapMemoryUsage().getUsed(), "area", "nonheap");
+        MetricRegistry.gauge("jvm_memory_bytes_committed", "The committed memory of the jvm", () -> memory.getHeapMemoryUsage().getCommitted(), "area", "heap");
+        MetricRegistry.gauge("jvm_memory_bytes_committed", "The committed memory of the jvm", () -> memory.getNonHeapMemoryUsage().getCommitted(), "area", "nonheap");
+        MetricRegistry.gauge("jvm_memory_bytes_max", "The maximum memory of the jvm, -1 if undefined", () -> memory.getHeapMemoryUsage().getMax(), "area", "heap");
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            MetricRegistry.gauge("jvm_memory_pool_bytes_used", "The used memory of a memory pool", () -> pool.getUsage().getUsed(), "pool", pool.getName());
+        }
+
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            MetricRegistry.functionCounter("jvm_gc_collections_total", "The amount of garbage collections",
+                    () -> Math.max(0, collector.getCollectionCount()), "gc", collector.getName());
+            MetricRegistry.functionCounter("jvm_gc_collection_seconds_total", "The time spent in garbage collections",
+                    () -> Math.max(0, collector.getCollectionTime()) / 1000D, "gc", collector.getName());
+        }
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        MetricRegistry.gauge("jvm_threads_current", "The current amount of threads", threads::getThreadCount);
+        MetricRegistry.gauge("jvm_threads_daemon", "The current amount of daemon threads", threads::getDaemonThreadCount);
+
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        MetricRegistry.gauge("process_uptime_seconds", "The uptime of the jvm", () -> runtime.getUptime() / 1000D);
+    }
+}
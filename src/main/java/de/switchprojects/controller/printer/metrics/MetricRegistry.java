@@ -0,0 +1,155 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics;
+
+import de.switchprojects.controller.printer.metrics.object.*;
+import de.switchprojects.controller.printer.metrics.util.PrometheusFormat;
+import de.switchprojects.controller.printer.trace.util.LatencyHistogram;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.function.DoubleSupplier;
+
+/**
+ * The in-process registry of all metrics. Metrics are registered once, usually in a static field of
+ * the class which updates them, and are updated without any locking. The registry is exported in the
+ * prometheus text format on {@code /metrics}.
+ * <pre>{@code
+ * private static final Counter ERRORS = MetricRegistry.counter("octoprint_request_errors_total",
+ *         "The failed requests to octoprint", "operation", "upload");
+ * }</pre>
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class MetricRegistry {
+
+    private MetricRegistry() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final double NANOS_TO_SECONDS = 1D / 1_000_000_000D;
+
+    private static final Map<String, MetricFamily> FAMILIES = new ConcurrentSkipListMap<>();
+
+    /**
+     * Gets or creates a counter
+     *
+     * @param name   The name of the counter
+     * @param help   The description of the counter
+     * @param labels The labels of the counter as pairs of name and value
+     * @return The counter with the given name and labels
+     */
+    @NotNull
+    public static Counter counter(@NotNull String name, @NotNull String help, @NotNull String... labels) {
+        return (Counter) family(name, help, MetricType.COUNTER).getOrCreate(PrometheusFormat.renderLabels(labels), key -> new Counter());
+    }
+
+    /**
+     * Gets or creates a summary which records durations in nanoseconds
+     *
+     * @param name   The name of the summary, should end with {@code _seconds}
+     * @param help   The description of the summary
+     * @param labels The labels of the summary as pairs of name and value
+     * @return The summary with the given name and labels
+     * @see Summary#recordSince(long)
+     */
+    @NotNull
+    public static Summary timer(@NotNull String name, @NotNull String help, @NotNull String... labels) {
+        return (Summary) family(name, help, MetricType.SUMMARY).getOrCreate(
+                PrometheusFormat.renderLabels(labels),
+                key -> new Summary(new LatencyHistogram(), NANOS_TO_SECONDS)
+        );
+    }
+
+    /**
+     * Exports an existing histogram as summary, replacing a summary with the same name and labels
+     *
+     * @param name           The name of the summary, should end with {@code _seconds}
+     * @param help           The description of the summary
+     * @param histogram      The histogram which should get exported
+     * @param secondsPerUnit The amount of seconds of one unit in which the values are recorded
+     * @param labels         The labels of the summary as pairs of name and value
+     */
+    public static void summary(@NotNull String name, @NotNull String help, @NotNull LatencyHistogram histogram,
+                               double secondsPerUnit, @NotNull String... labels) {
+        Validate.assertNotNull(histogram, "Cannot export null histogram");
+        family(name, help, MetricType.SUMMARY).set(PrometheusFormat.renderLabels(labels), new Summary(histogram, secondsPerUnit));
+    }
+
+    /**
+     * Registers a gauge of which the value is read when the metrics are exported, replacing a gauge with
+     * the same name and labels
+     *
+     * @param name     The name of the gauge
+     * @param help     The description of the gauge
+     * @param supplier The supplier of the current value
+     * @param labels   The labels of the gauge as pairs of name and value
+     */
+    public static void gauge(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier supplier, @NotNull String... labels) {
+        Validate.assertNotNull(supplier, "Cannot register gauge with null supplier");
+        family(name, help, MetricType.GAUGE).set(PrometheusFormat.renderLabels(labels), new Gauge(supplier));
+    }
+
+    /**
+     * Registers a counter of which the value is maintained somewhere else and read when the metrics are
+     * exported, replacing a counter with the same name and labels
+     *
+     * @param name     The name of the counter
+     * @param help     The description of the counter
+     * @param supplier The supplier of the current value, which must never decrease
+     * @param labels   The labels of the counter as pairs of name and value
+     */
+    public static void functionCounter(@NotNull String name, @NotNull String help, @NotNull DoubleSupplier supplier, @NotNull String... labels) {
+        Validate.assertNotNull(supplier, "Cannot register counter with null supplier");
+        family(name, help, MetricType.COUNTER).set(PrometheusFormat.renderLabels(labels), new Gauge(supplier));
+    }
+
+    /**
+     * @return All registered metrics in the prometheus text format
+     */
+    @NotNull
+    public static String export() {
+        return PrometheusFormat.write(FAMILIES.values());
+    }
+
+    @NotNull
+    private static MetricFamily family(@NotNull String name, @NotNull String help, @NotNull MetricType type) {
+        Validate.assertNotNull(name, "Cannot register metric with null name");
+        Validate.assertNotNull(help, "Cannot register metric with null help");
+
+        MetricFamily family = FAMILIES.get(name);
+        if (family == null) {
+            family = FAMILIES.computeIfAbsent(name, key -> new MetricFamily(name, help, type));
+        }
+
+        if (family.getType() != type) {
+            throw new IllegalArgumentException("Metric " + name + " is already registered as " + family.getType());
+        }
+
+        return family;
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics.object;
+
+import de.switchprojects.controller.printer.metrics.util.PrometheusFormat;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A counter which can be incremented by many threads without contention
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Counter implements Metric {
+
+    private final LongAdder value = new LongAdder();
+
+    /**
+     * Increments the counter by one
+     */
+    public void increment() {
+        this.value.increment();
+    }
+
+    /**
+     * Increments the counter by the given amount
+     *
+     * @param amount The amount to add, must not be negative
+     */
+    public void add(long amount) {
+        this.value.add(amount);
+    }
+
+    /**
+     * @return The current value of the counter
+     */
+    public long get() {
+        return this.value.sum();
+    }
+
+    @Override
+    public void writeSamples(@NotNull String name, @NotNull String labels, @NotNull StringBuilder builder) {
+        PrometheusFormat.writeSample(builder, name, labels, this.get());
+    }
+}
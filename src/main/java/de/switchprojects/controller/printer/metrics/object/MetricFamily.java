@@ -0,0 +1,99 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics.object;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * A group of metrics which share the same name, help and type and only differ in their labels
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class MetricFamily {
+
+    public MetricFamily(@NotNull String name, @NotNull String help, @NotNull MetricType type) {
+        this.name = name;
+        this.help = help;
+        this.type = type;
+    }
+
+    private final String name;
+
+    private final String help;
+
+    private final MetricType type;
+
+    private final Map<String, Metric> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the metric with the given labels or creates it if it does not exist yet
+     *
+     * @param labels  The rendered labels of the metric
+     * @param factory The factory for the metric if it does not exist yet
+     * @return The metric with the given labels
+     */
+    @NotNull
+    public Metric getOrCreate(@NotNull String labels, @NotNull Function<String, Metric> factory) {
+        Metric metric = this.metrics.get(labels);
+        return metric != null ? metric : this.metrics.computeIfAbsent(labels, factory);
+    }
+
+    /**
+     * Sets the metric with the given labels, replacing the existing one
+     *
+     * @param labels The rendered labels of the metric
+     * @param metric The metric to set
+     */
+    public void set(@NotNull String labels, @NotNull Metric metric) {
+        this.metrics.put(labels, metric);
+    }
+
+    @NotNull
+    public String getName() {
+        return name;
+    }
+
+    @NotNull
+    public String getHelp() {
+        return help;
+    }
+
+    @NotNull
+    public MetricType getType() {
+        return type;
+    }
+
+    /**
+     * @return All metrics of the family by their rendered labels
+     */
+    @NotNull
+    public Map<String, Metric> getMetrics() {
+        return metrics;
+    }
+}
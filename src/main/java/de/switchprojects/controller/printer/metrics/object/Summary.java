@@ -0,0 +1,97 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics.object;
+
+import de.switchprojects.controller.printer.metrics.util.PrometheusFormat;
+import de.switchprojects.controller.printer.trace.util.LatencyHistogram;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exports a {@link LatencyHistogram} as summary in seconds. The quantiles are computed over all values
+ * which were recorded since the start of the controller.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Summary implements Metric {
+
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99};
+
+    /**
+     * Creates a new summary
+     *
+     * @param histogram      The histogram which holds the recorded values
+     * @param secondsPerUnit The amount of seconds of one unit in which the values are recorded
+     */
+    public Summary(@NotNull LatencyHistogram histogram, double secondsPerUnit) {
+        this.histogram = histogram;
+        this.secondsPerUnit = secondsPerUnit;
+    }
+
+    private final LatencyHistogram histogram;
+
+    private final double secondsPerUnit;
+
+    /**
+     * Records a duration which was measured using {@link System#nanoTime()}
+     *
+     * @param startNanos The value of {@link System#nanoTime()} at the start of the measured operation
+     */
+    public void recordSince(long startNanos) {
+        this.record(System.nanoTime() - startNanos);
+    }
+
+    /**
+     * Records a value in the unit of the summary
+     *
+     * @param value The value to record
+     */
+    public void record(long value) {
+        this.histogram.record(value);
+    }
+
+    /**
+     * @return The histogram which holds the recorded values
+     */
+    @NotNull
+    public LatencyHistogram getHistogram() {
+        return histogram;
+    }
+
+    @Override
+    public void writeSamples(@NotNull String name, @NotNull String labels, @NotNull StringBuilder builder) {
+        String separator = labels.isEmpty() ? "" : ",";
+        for (double quantile : QUANTILES) {
+            PrometheusFormat.writeSample(
+                    builder,
+                    name,
+                    labels + separator + "quantile=\"" + quantile + "\"",
+                    this.histogram.getValueAtPercentile(quantile * 100) * this.secondsPerUnit
+            );
+        }
+
+        PrometheusFormat.writeSample(builder, name + "_sum", labels, this.histogram.getSum() * this.secondsPerUnit);
+        PrometheusFormat.writeSample(builder, name + "_count", labels, this.histogram.getCount());
+    }
+}
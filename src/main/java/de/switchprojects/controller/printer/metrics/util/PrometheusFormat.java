@@ -0,0 +1,164 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.metrics.util;
+
+import de.switchprojects.controller.printer.metrics.object.Metric;
+import de.switchprojects.controller.printer.metrics.object.MetricFamily;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Writes metrics in the prometheus text exposition format (version 0.0.4)
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrometheusFormat {
+
+    private PrometheusFormat() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The content type of the text format
+     */
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    /**
+     * Writes all given metric families
+     *
+     * @param families The families which should get written
+     * @return The families in the text format
+     */
+    @NotNull
+    public static String write(@NotNull Collection<MetricFamily> families) {
+        StringBuilder builder = new StringBuilder(families.size() * 128);
+        for (MetricFamily family : families) {
+            if (family.getMetrics().isEmpty()) {
+                continue;
+            }
+
+            builder.append("# HELP ").append(family.getName()).append(' ').append(escapeHelp(family.getHelp())).append('\n');
+            builder.append("# TYPE ").append(family.getName()).append(' ').append(family.getType().getExportName()).append('\n');
+
+            for (Map.Entry<String, Metric> entry : new TreeMap<>(family.getMetrics()).entrySet()) {
+                entry.getValue().writeSamples(family.getName(), entry.getKey(), builder);
+            }
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Renders the given label pairs
+     *
+     * @param labels The labels as pairs of name and value
+     * @return The rendered labels without braces
+     */
+    @NotNull
+    public static String renderLabels(@NotNull String... labels) {
+        Validate.assertEquals(labels.length % 2, 0);
+
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < labels.length; i += 2) {
+            if (i > 0) {
+                builder.append(',');
+            }
+
+            builder.append(labels[i]).append("=\"");
+            for (char c : labels[i + 1].toCharArray()) {
+                switch (c) {
+                    case '\\':
+                        builder.append("\\\\");
+                        break;
+                    case '"':
+                        builder.append("\\\"");
+                        break;
+                    case '\n':
+                        builder.append("\\n");
+                        break;
+                    default:
+                        builder.append(c);
+                }
+            }
+
+            builder.append('"');
+        }
+
+        return builder.toString();
+    }
+
+    /**
+     * Writes one sample line
+     *
+     * @param builder The builder to which the sample should get written
+     * @param name    The name of the sample
+     * @param labels  The rendered labels of the sample, empty if there are no labels
+     * @param value   The value of the sample
+     */
+    public static void writeSample(@NotNull StringBuilder builder, @NotNull String name, @NotNull String labels, double value) {
+        writeName(builder, name, labels);
+        if (Double.isNaN(value)) {
+            builder.append("NaN");
+        } else if (Double.isInfinite(value)) {
+            builder.append(value > 0 ? "+Inf" : "-Inf");
+        } else if (value == (long) value) {
+            builder.append((long) value);
+        } else {
+            builder.append(value);
+        }
+
+        builder.append('\n');
+    }
+
+    /**
+     * Writes one sample line
+     *
+     * @param builder The builder to which the sample should get written
+     * @param name    The name of the sample
+     * @param labels  The rendered labels of the sample, empty if there are no labels
+     * @param value   The value of the sample
+     */
+    public static void writeSample(@NotNull StringBuilder builder, @NotNull String name, @NotNull String labels, long value) {
+        writeName(builder, name, labels);
+        builder.append(value).append('\n');
+    }
+
+    private static void writeName(StringBuilder builder, String name, String labels) {
+        builder.append(name);
+        if (!labels.isEmpty()) {
+            builder.append('{').append(labels).append('}');
+        }
+
+        builder.append(' ');
+    }
+
+    private static String escapeHelp(String help) {
+        return help.replace("\\", "\\\\").replace("\n", "\\n");
+    }
+}
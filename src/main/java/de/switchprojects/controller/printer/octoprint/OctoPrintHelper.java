@@ -23,17 +23,15 @@
  */
 package de.switchprojects.controller.printer.octoprint;
 
-import de.switchprojects.controller.printer.octoprint.delete.FileDeleteCommand;
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintRequest;
 import de.switchprojects.controller.printer.octoprint.upload.FileUploadCommand;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
-import org.jetbrains.annotations.Nullable;
-import org.octoprint.api.*;
-import org.octoprint.api.model.OctoPrintJob;
-import org.octoprint.api.model.PrinterState;
 
 import java.io.File;
+import java.io.IOException;
 import java.net.MalformedURLException;
 
 /**
@@ -48,68 +46,85 @@ public final class OctoPrintHelper {
         throw new UnsupportedOperationException();
     }
 
-    private static OctoPrintInstance octoPrintInstance;
-
-    public static void connect(@NotNull String host, int port, @NotNull String apiKey) {
+    /**
+     * Creates the transport to an octoprint instance and ensures that octoprint is connected to
+     * the printer. If octoprint is not reachable the transport is returned anyway, the connection
+     * is checked again before every print.
+     *
+     * @param name   The name of the printer
+     * @param host   The host of octoprint
+     * @param port   The port of octoprint
+     * @param apiKey The api key which should get used
+     * @return The transport to the octoprint instance
+     */
+    @NotNull
+    public static OctoPrintTransport connect(@NotNull String name, @NotNull String host, int port, @NotNull String apiKey) {
         Validate.assertNotNull(host, "Cannot connect to null host");
         Validate.assertNotNull(apiKey, "Cannot use null api key");
         Validate.assertBigger(port, 0);
 
+        OctoPrintTransport transport;
         try {
-            octoPrintInstance = new OctoPrintInstance(host, port, apiKey);
+            transport = new OctoPrintTransport(name, host, port, apiKey);
         } catch (final MalformedURLException ex) {
             throw new RuntimeException(ex);
         }
 
-        ConnectionCommand connectionCommand = new ConnectionCommand(octoPrintInstance);
-        if (connectionCommand.getCurrentState() != null && connectionCommand.getCurrentState().isConnected()) {
-            return;
+        try {
+            ensureConnected(transport);
+        } catch (final IOException ex) {
+            System.err.println("Unable to connect octoprint of " + name + " to the printer: " + ex.getMessage());
         }
 
-        connectionCommand.connect();
+        return transport;
     }
 
-    public static void print(@NotNull PrintableObject object) {
+    /**
+     * Uploads the file of the object and starts printing it
+     *
+     * @param transport The transport to the octoprint instance of the printer
+     * @param object    The object which should get printed
+     * @throws IOException If the file cannot get uploaded or the print cannot get started
+     */
+    public static void print(@NotNull OctoPrintTransport transport, @NotNull PrintableObject object) throws IOException {
         Validate.assertNotNull(object, "Cannot print null-object");
-        Validate.assertNotNull(octoPrintInstance, "Not connected to printer!");
+        Validate.assertNotNull(transport, "Not connected to printer!");
 
-        ConnectionCommand connectionCommand = new ConnectionCommand(octoPrintInstance);
-        if (connectionCommand.getCurrentState() != null && !connectionCommand.getCurrentState().isConnected()) {
-            connectionCommand.connect();
-        }
+        ensureConnected(transport);
 
         File file = new File(object.getPath());
         Validate.assertEquals(file.exists(), true);
         Validate.assertEquals(file.isDirectory(), false);
 
-        FileUploadCommand fileUploadCommand = new FileUploadCommand(octoPrintInstance);
-        fileUploadCommand.uploadFile(file);
+        new FileUploadCommand(transport).uploadFile(file);
 
-        FileCommand fileCommand = new FileCommand(octoPrintInstance);
-        fileCommand.printFile(file.getName());
-        Validate.assertEquals(fileCommand.printFile(file.getName()), true);
+        // starting a print is not idempotent, so it is sent exactly once
+        transport.execute(OctoPrintRequest.newRequest("POST", "/api/files/local/" + file.getName(), "print")
+                .json("{\"command\":\"select\",\"print\":true}")).expect(204);
     }
 
-    public static void deleteFile(@NotNull String name) {
+    public static void deleteFile(@NotNull OctoPrintTransport transport, @NotNull String name) {
         Validate.assertNotNull(name, "Invalid file name provided");
 
-        new FileDeleteCommand(octoPrintInstance).deleteFile(name);
-    }
-
-    @Nullable
-    public static OctoPrintJob getCurrentPrintJob() {
-        Validate.assertNotNull(octoPrintInstance, "Not connected to printer!");
-        return new JobCommand(octoPrintInstance).getJobDetails();
-    }
-
-    public static boolean isPrintJobRunning() {
-        Validate.assertNotNull(octoPrintInstance, "Not connected to printer!");
-
-        PrinterCommand printerCommand = new PrinterCommand(octoPrintInstance);
-        return !isReadyToPrint(printerCommand.getCurrentState());
+        try {
+            transport.execute(OctoPrintRequest.newRequest("DELETE", "/api/files/local/" + name, "delete")).expect(204, 404);
+        } catch (final IOException ex) {
+            System.err.println("Unable to delete " + name + " from " + transport.getPrinterName() + ": " + ex.getMessage());
+        }
     }
 
-    private static boolean isReadyToPrint(PrinterState state) {
-        return state.isConnected() && state.isReady() && !state.isPrinting() && !state.isPaused();
+    private static void ensureConnected(@NotNull OctoPrintTransport transport) throws IOException {
+        String state = transport.execute(OctoPrintRequest.newRequest("GET", "/api/connection", "connection"))
+                .expect(200)
+                .json()
+                .path("current")
+                .path("state")
+                .asText("Closed");
+
+        if (state.startsWith("Closed") || state.startsWith("Offline") || state.startsWith("Error")) {
+            transport.execute(OctoPrintRequest.newRequest("POST", "/api/connection", "connect")
+                    .json("{\"command\":\"connect\"}")
+                    .idempotent(true)).expect(204);
+        }
     }
 }
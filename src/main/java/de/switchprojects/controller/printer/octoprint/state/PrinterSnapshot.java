@@ -0,0 +1,239 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.state;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Objects;
+
+/**
+ * Represents an immutable snapshot of the printer state and the current print job.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrinterSnapshot {
+
+    /**
+     * The snapshot before the first state of the printer is known
+     */
+    public static final PrinterSnapshot UNKNOWN = new PrinterSnapshot(
+            false, false, false, false, null, null, null, null, Source.NONE, 0
+    );
+
+    public PrinterSnapshot(boolean connected, boolean ready, boolean printing, boolean paused, @Nullable String jobName,
+                           @Nullable Double completion, @Nullable Long printTime, @Nullable Long printTimeLeft,
+                           @NotNull Source source, long timestamp) {
+        this.connected = connected;
+        this.ready = ready;
+        this.printing = printing;
+        this.paused = paused;
+        this.jobName = jobName;
+        this.completion = completion;
+        this.printTime = printTime;
+        this.printTimeLeft = printTimeLeft;
+        this.source = source;
+        this.timestamp = timestamp;
+    }
+
+    private final boolean connected;
+
+    private final boolean ready;
+
+    private final boolean printing;
+
+    private final boolean paused;
+
+    private final String jobName;
+
+    private final Double completion;
+
+    private final Long printTime;
+
+    private final Long printTimeLeft;
+
+    private final Source source;
+
+    private final long timestamp;
+
+    /**
+     * Creates a snapshot from the {@code current} or {@code history} payload of the octoprint push socket.
+     *
+     * @param current The payload sent by octoprint
+     * @return The snapshot of the payload
+     */
+    @NotNull
+    public static PrinterSnapshot fromPush(@NotNull JsonNode current) {
+        return fromNodes(current.path("state").path("flags"), current.path("job"), current.path("progress"), Source.PUSH);
+    }
+
+    /**
+     * Creates a snapshot from the results of the rest api.
+     *
+     * @param printer The response of {@code /api/printer} or {@code null} if the printer is not connected
+     * @param job     The response of {@code /api/job} or {@code null} if there is no job
+     * @return The snapshot of the state and the job
+     */
+    @NotNull
+    public static PrinterSnapshot fromPoll(@Nullable JsonNode printer, @Nullable JsonNode job) {
+        return fromNodes(
+                printer == null ? MissingNode.getInstance() : printer.path("state").path("flags"),
+                job == null ? MissingNode.getInstance() : job.path("job"),
+                job == null ? MissingNode.getInstance() : job.path("progress"),
+                Source.POLL
+        );
+    }
+
+    @NotNull
+    private static PrinterSnapshot fromNodes(@NotNull JsonNode flags, @NotNull JsonNode job, @NotNull JsonNode progress, @NotNull Source source) {
+        boolean printing = flags.path("printing").asBoolean(false)
+                || flags.path("cancelling").asBoolean(false)
+                || flags.path("finishing").asBoolean(false)
+                || flags.path("resuming").asBoolean(false);
+        boolean paused = flags.path("paused").asBoolean(false) || flags.path("pausing").asBoolean(false);
+
+        return new PrinterSnapshot(
+                flags.path("operational").asBoolean(false) || printing || paused,
+                flags.path("ready").asBoolean(false),
+                printing,
+                paused,
+                textOrNull(job.path("file").path("name")),
+                progress.path("completion").isNumber() ? progress.path("completion").asDouble() : null,
+                progress.path("printTime").isNumber() ? progress.path("printTime").asLong() : null,
+                progress.path("printTimeLeft").isNumber() ? progress.path("printTimeLeft").asLong() : null,
+                source,
+                System.currentTimeMillis()
+        );
+    }
+
+    /**
+     * @return If the printer is connected, ready and has no print job which is running or paused
+     */
+    public boolean isReadyToPrint() {
+        return this.connected && this.ready && !this.printing && !this.paused;
+    }
+
+    /**
+     * @return If a print job is running or the printer cannot accept a new job
+     */
+    public boolean isPrintJobRunning() {
+        return !this.isReadyToPrint();
+    }
+
+    /**
+     * @return If a job is printing or paused
+     */
+    public boolean hasActiveJob() {
+        return this.printing || this.paused;
+    }
+
+    /**
+     * Checks if the state of this snapshot differs from the given one. The progress of the job
+     * is ignored.
+     *
+     * @param other The snapshot to compare with
+     * @return If the state of the printer or the current job changed
+     */
+    public boolean isStateChanged(@NotNull PrinterSnapshot other) {
+        return this.connected != other.connected
+                || this.ready != other.ready
+                || this.printing != other.printing
+                || this.paused != other.paused
+                || !Objects.equals(this.jobName, other.jobName);
+    }
+
+    public boolean isConnected() {
+        return connected;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public boolean isPrinting() {
+        return printing;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    @Nullable
+    public String getJobName() {
+        return jobName;
+    }
+
+    @Nullable
+    public Double getCompletion() {
+        return completion;
+    }
+
+    @Nullable
+    public Long getPrintTime() {
+        return printTime;
+    }
+
+    @Nullable
+    public Long getPrintTimeLeft() {
+        return printTimeLeft;
+    }
+
+    @NotNull
+    public Source getSource() {
+        return source;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Nullable
+    private static String textOrNull(@NotNull JsonNode node) {
+        return node.isTextual() ? node.asText() : null;
+    }
+
+    /**
+     * The source from which a snapshot was created
+     */
+    public enum Source {
+
+        /**
+         * No state was received yet
+         */
+        NONE,
+
+        /**
+         * The snapshot was pushed by octoprint over the socket
+         */
+        PUSH,
+
+        /**
+         * The snapshot was polled from the rest api
+         */
+        POLL
+    }
+}
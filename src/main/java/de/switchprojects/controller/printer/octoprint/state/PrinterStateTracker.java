@@ -0,0 +1,361 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.state;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintRequest;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintResponse;
+import org.eclipse.jetty.websocket.api.Session;
+import org.eclipse.jetty.websocket.api.WebSocketListener;
+import org.eclipse.jetty.websocket.client.ClientUpgradeRequest;
+import org.eclipse.jetty.websocket.client.WebSocketClient;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.Collections;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps a cached snapshot of the printer state. The state is pushed by octoprint over the
+ * {@code /sockjs/websocket} socket, if the socket is not available the state is polled from the rest
+ * api with an interval which gets shorter when the state changes and longer while nothing happens.
+ * The state change handler is called as soon as the state of the printer changes.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrinterStateTracker extends Thread {
+
+    private static final long MIN_POLL_INTERVAL = TimeUnit.SECONDS.toMillis(Long.getLong("printer.poll.min", 2));
+
+    private static final long MAX_POLL_INTERVAL = TimeUnit.SECONDS.toMillis(Long.getLong("printer.poll.max", 30));
+
+    private static final long PUSH_TIMEOUT = TimeUnit.SECONDS.toMillis(Long.getLong("printer.push.timeout", 30));
+
+    private static final long MAX_RECONNECT_DELAY = TimeUnit.MINUTES.toMillis(1);
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public PrinterStateTracker(@NotNull String printerName, @NotNull OctoPrintTransport transport, @NotNull Runnable stateChangeHandler) {
+        super("Printer-State-Tracker-" + printerName);
+        this.printerName = printerName;
+        this.transport = transport;
+        this.stateChangeHandler = stateChangeHandler;
+    }
+
+    private final String printerName;
+
+    private final OctoPrintTransport transport;
+
+    private final Runnable stateChangeHandler;
+
+    private final Object monitor = new Object();
+
+    private final Queue<String> finishedJobs = new ConcurrentLinkedQueue<>();
+
+    private volatile PrinterSnapshot snapshot = PrinterSnapshot.UNKNOWN;
+
+    private volatile Session session;
+
+    private volatile long lastMessage;
+
+    private volatile boolean running = true;
+
+    private WebSocketClient client;
+
+    private String activeJob;
+
+    private boolean pushFailureReported;
+
+    @Override
+    public void run() {
+        long pollInterval = MIN_POLL_INTERVAL;
+        long reconnectDelay = MIN_POLL_INTERVAL;
+        long nextConnect = 0;
+
+        while (this.running) {
+            if (System.currentTimeMillis() >= nextConnect) {
+                long connectedAt = System.currentTimeMillis();
+                if (this.connectSocket()) {
+                    this.awaitSocketClose();
+                }
+
+                // only reset the delay if the socket was stable, a socket which closes directly should not get reopened in a loop
+                reconnectDelay = System.currentTimeMillis() - connectedAt > PUSH_TIMEOUT
+                        ? MIN_POLL_INTERVAL
+                        : Math.min(MAX_RECONNECT_DELAY, reconnectDelay * 2);
+                nextConnect = System.currentTimeMillis() + reconnectDelay;
+                pollInterval = MIN_POLL_INTERVAL;
+
+                if (!this.running) {
+                    break;
+                }
+            }
+
+            PrinterSnapshot before = this.snapshot;
+            this.refresh();
+
+            PrinterSnapshot after = this.snapshot;
+            pollInterval = after.isStateChanged(before) ? MIN_POLL_INTERVAL : Math.min(MAX_POLL_INTERVAL, pollInterval * 2);
+
+            Long printTimeLeft = after.getPrintTimeLeft();
+            if (after.hasActiveJob() && printTimeLeft != null) {
+                // poll more often when the job is nearly done, so the next job does not wait for the full interval
+                pollInterval = Math.max(MIN_POLL_INTERVAL, Math.min(pollInterval, TimeUnit.SECONDS.toMillis(printTimeLeft)));
+            }
+
+            this.await(pollInterval);
+        }
+
+        this.closeSocket();
+    }
+
+    /**
+     * Polls the current state from the rest api and updates the snapshot. If octoprint is not
+     * reachable the printer counts as not connected.
+     */
+    public void refresh() {
+        try {
+            // octoprint responds with 409 if it is not connected to the printer
+            OctoPrintResponse printer = this.transport.execute(OctoPrintRequest.newRequest("GET", "/api/printer", "state"));
+            JsonNode state = printer.getStatus() == 200 ? printer.json() : null;
+
+            PrinterSnapshot snapshot = PrinterSnapshot.fromPoll(state, null);
+            if (snapshot.hasActiveJob()) {
+                JsonNode job = this.transport.execute(OctoPrintRequest.newRequest("GET", "/api/job", "job")).expect(200).json();
+                snapshot = PrinterSnapshot.fromPoll(state, job);
+            }
+
+            this.update(snapshot);
+        } catch (final IOException ex) {
+            if (!(ex instanceof OctoPrintTransport.CircuitOpenException)) {
+                System.err.println("Unable to poll the state of " + this.printerName + ": " + ex.getMessage());
+            }
+
+            this.update(PrinterSnapshot.fromPoll(null, null));
+        }
+    }
+
+    /**
+     * @return The latest known snapshot of the printer state
+     */
+    @NotNull
+    public PrinterSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * @return The name of the next job which was printed and is finished now or {@code null} if there is none
+     */
+    @Nullable
+    public String pollFinishedJob() {
+        return this.finishedJobs.poll();
+    }
+
+    /**
+     * @return If the state is currently pushed by octoprint
+     */
+    public boolean isPushConnected() {
+        return this.session != null;
+    }
+
+    /**
+     * Stops the tracker and closes the push socket
+     */
+    public void close() {
+        this.running = false;
+        this.closeSocket();
+
+        synchronized (this.monitor) {
+            this.monitor.notifyAll();
+        }
+    }
+
+    private synchronized void update(@NotNull PrinterSnapshot next) {
+        PrinterSnapshot previous = this.snapshot;
+        this.snapshot = next;
+
+        if (next.hasActiveJob()) {
+            if (next.getJobName() != null) {
+                this.activeJob = next.getJobName();
+            }
+        } else if (this.activeJob != null && next.isConnected()) {
+            this.finishedJobs.offer(this.activeJob);
+            this.activeJob = null;
+        }
+
+        if (next.isStateChanged(previous) || !this.finishedJobs.isEmpty()) {
+            this.stateChangeHandler.run();
+        }
+    }
+
+    private boolean connectSocket() {
+        try {
+            if (this.client == null) {
+                this.client = new WebSocketClient();
+                this.client.start();
+            }
+
+            URI uri = URI.create(this.transport.getBaseUrl().replaceFirst("^http", "ws") + "/sockjs/websocket");
+            Session session = this.client.connect(new PushSocket(), uri, new ClientUpgradeRequest()).get(10, TimeUnit.SECONDS);
+
+            String auth = this.login();
+            if (auth != null) {
+                session.getRemote().sendString(MAPPER.writeValueAsString(Collections.singletonMap("auth", auth)));
+            }
+
+            this.lastMessage = System.currentTimeMillis();
+            this.pushFailureReported = false;
+            System.out.println("Connected to the octoprint push socket of " + this.printerName + ", printer state is pushed now");
+            return true;
+        } catch (final Exception ex) {
+            if (!this.pushFailureReported) {
+                this.pushFailureReported = true;
+                System.out.println("Unable to connect to the octoprint push socket of " + this.printerName + " (" + ex.getMessage() + "), polling the printer state instead");
+            }
+        }
+
+        return false;
+    }
+
+    private void awaitSocketClose() {
+        synchronized (this.monitor) {
+            while (this.running && this.session != null) {
+                try {
+                    this.monitor.wait(TimeUnit.SECONDS.toMillis(1));
+                } catch (final InterruptedException ex) {
+                    this.running = false;
+                    return;
+                }
+
+                if (System.currentTimeMillis() - this.lastMessage > PUSH_TIMEOUT) {
+                    System.out.println("The octoprint push socket of " + this.printerName + " sent no state since " + PUSH_TIMEOUT + "ms, polling the printer state instead");
+                    this.closeSocket();
+                }
+            }
+        }
+    }
+
+    private void await(long millis) {
+        synchronized (this.monitor) {
+            try {
+                this.monitor.wait(millis);
+            } catch (final InterruptedException ex) {
+                this.running = false;
+            }
+        }
+    }
+
+    private void closeSocket() {
+        Session current = this.session;
+        this.session = null;
+        if (current != null) {
+            current.close();
+        }
+
+        if (!this.running && this.client != null) {
+            try {
+                this.client.stop();
+            } catch (final Exception ex) {
+                ex.printStackTrace();
+            }
+        }
+    }
+
+    /**
+     * Opens a passive session for the api key, which is required to receive the state over the socket.
+     *
+     * @return The auth string of the socket or {@code null} if the login failed
+     */
+    @Nullable
+    private String login() {
+        try {
+            OctoPrintResponse response = this.transport.execute(OctoPrintRequest.newRequest("POST", "/api/login", "login")
+                    .json("{\"passive\":true}")
+                    .idempotent(true));
+            if (response.getStatus() != 200) {
+                return null;
+            }
+
+            JsonNode session = response.json();
+            if (!session.path("name").isTextual() || !session.path("session").isTextual()) {
+                return null;
+            }
+
+            return session.path("name").asText() + ":" + session.path("session").asText();
+        } catch (final IOException ex) {
+            return null;
+        }
+    }
+
+    private final class PushSocket implements WebSocketListener {
+
+        @Override
+        public void onWebSocketConnect(Session session) {
+            PrinterStateTracker.this.session = session;
+        }
+
+        @Override
+        public void onWebSocketText(String message) {
+            lastMessage = System.currentTimeMillis();
+
+            try {
+                JsonNode node = MAPPER.readTree(message);
+                JsonNode current = node.has("current") ? node.get("current") : node.get("history");
+                if (current != null) {
+                    update(PrinterSnapshot.fromPush(current));
+                }
+            } catch (final IOException ex) {
+                ex.printStackTrace();
+            }
+        }
+
+        @Override
+        public void onWebSocketBinary(byte[] payload, int offset, int len) {
+        }
+
+        @Override
+        public void onWebSocketClose(int statusCode, String reason) {
+            this.closed();
+        }
+
+        @Override
+        public void onWebSocketError(Throwable cause) {
+            this.closed();
+        }
+
+        private void closed() {
+            session = null;
+            synchronized (monitor) {
+                monitor.notifyAll();
+            }
+        }
+    }
+}
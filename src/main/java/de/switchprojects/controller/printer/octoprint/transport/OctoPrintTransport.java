@@ -0,0 +1,232 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.transport;
+
+import de.switchprojects.controller.printer.octoprint.transport.basic.CircuitBreaker;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintRequest;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintResponse;
+import de.switchprojects.controller.printer.octoprint.util.OctoPrintMetrics;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.*;
+import java.net.HttpURLConnection;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The shared transport for all requests to one octoprint instance. Every request has a connect and
+ * a read timeout and the response is always read completely, so the connections are kept alive and
+ * reused from the keep-alive cache of the jvm.
+ * <p>
+ * Failed idempotent requests are retried with an exponential backoff and full jitter. All requests
+ * are guarded by a {@link CircuitBreaker}, so a printer which is not reachable fails fast instead of
+ * blocking the print queue and the state tracker for the full timeout on every request.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class OctoPrintTransport {
+
+    private static final int CONNECT_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(Long.getLong("octoprint.timeout.connect", 5));
+
+    private static final int READ_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(Long.getLong("octoprint.timeout.read", 15));
+
+    private static final int RETRIES = Integer.getInteger("octoprint.retries", 3);
+
+    private static final long RETRY_BACKOFF = Long.getLong("octoprint.retry.backoff", 250);
+
+    private static final long MAX_RETRY_BACKOFF = Long.getLong("octoprint.retry.backoff.max", 5000);
+
+    private static final int BREAKER_FAILURES = Integer.getInteger("octoprint.breaker.failures", 5);
+
+    private static final long BREAKER_OPEN_TIME = TimeUnit.SECONDS.toMillis(Long.getLong("octoprint.breaker.open", 30));
+
+    public OctoPrintTransport(@NotNull String printerName, @NotNull String host, int port, @NotNull String apiKey) throws MalformedURLException {
+        Validate.assertNotNull(printerName, "Cannot create transport for null printer");
+        Validate.assertNotNull(host, "Cannot connect to null host");
+        Validate.assertNotNull(apiKey, "Cannot use null api key");
+
+        this.printerName = printerName;
+        this.baseUrl = new URL("http", host, port, "").toString();
+        this.apiKey = apiKey;
+        this.circuitBreaker = new CircuitBreaker(BREAKER_FAILURES, BREAKER_OPEN_TIME);
+
+        OctoPrintMetrics.registerCircuitBreaker(printerName, this.circuitBreaker);
+    }
+
+    private final String printerName;
+
+    private final String baseUrl;
+
+    private final String apiKey;
+
+    private final CircuitBreaker circuitBreaker;
+
+    /**
+     * Sends the request to octoprint, retrying it if it is idempotent and fails because of an
+     * {@link IOException} or a {@code 5xx} status
+     *
+     * @param request The request which should get sent
+     * @return The response of octoprint, which may have any status
+     * @throws IOException If the request failed after all retries or the circuit breaker is open
+     */
+    @NotNull
+    public OctoPrintResponse execute(@NotNull OctoPrintRequest request) throws IOException {
+        Validate.assertNotNull(request, "Cannot execute null request");
+
+        for (int attempt = 0; ; attempt++) {
+            if (!this.circuitBreaker.tryAcquire()) {
+                OctoPrintMetrics.recordError(request.getOperation());
+                throw new CircuitOpenException("OctoPrint of " + this.printerName + " is not available, "
+                        + request.getOperation() + " rejected by the circuit breaker");
+            }
+
+            boolean retry = request.isIdempotent() && attempt < RETRIES;
+            long start = System.nanoTime();
+            try {
+                OctoPrintResponse response = this.send(request);
+                OctoPrintMetrics.record(request.getOperation(), start, response.isSuccess());
+
+                // the instance answered, only server errors count as failure of the instance
+                if (response.getStatus() < 500) {
+                    this.circuitBreaker.onSuccess();
+                    return response;
+                }
+
+                this.circuitBreaker.onFailure();
+                if (!retry) {
+                    return response;
+                }
+            } catch (final IOException | RuntimeException ex) {
+                OctoPrintMetrics.record(request.getOperation(), start, false);
+                this.circuitBreaker.onFailure();
+                if (!retry || ex instanceof RuntimeException) {
+                    throw ex;
+                }
+            }
+
+            OctoPrintMetrics.recordRetry(request.getOperation());
+            try {
+                Thread.sleep(backoff(attempt));
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry " + request.getOperation());
+            }
+        }
+    }
+
+    /**
+     * @return The name of the printer to which the octoprint instance belongs
+     */
+    @NotNull
+    public String getPrinterName() {
+        return this.printerName;
+    }
+
+    /**
+     * @return The base url of the octoprint instance without a trailing slash
+     */
+    @NotNull
+    public String getBaseUrl() {
+        return this.baseUrl;
+    }
+
+    /**
+     * @return The api key which is used for the requests
+     */
+    @NotNull
+    public String getApiKey() {
+        return this.apiKey;
+    }
+
+    /**
+     * @return The circuit breaker of the octoprint instance
+     */
+    @NotNull
+    public CircuitBreaker getCircuitBreaker() {
+        return this.circuitBreaker;
+    }
+
+    @NotNull
+    private OctoPrintResponse send(@NotNull OctoPrintRequest request) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(this.baseUrl + request.getPath()).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT);
+        connection.setReadTimeout(request.getReadTimeout() > 0 ? request.getReadTimeout() : READ_TIMEOUT);
+        connection.setRequestMethod(request.getMethod());
+        connection.setRequestProperty("X-Api-Key", this.apiKey);
+        connection.setRequestProperty("User-Agent", "3dswitch");
+        connection.setUseCaches(false);
+
+        OctoPrintRequest.BodyWriter body = request.getBody();
+        if (body != null) {
+            connection.setDoOutput(true);
+            connection.setRequestProperty("Content-Type", request.getContentType());
+            if (request.getChunkSize() > 0) {
+                connection.setChunkedStreamingMode(request.getChunkSize());
+            }
+
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                body.write(outputStream);
+            }
+        }
+
+        int status = connection.getResponseCode();
+        try (InputStream inputStream = status >= 400 ? connection.getErrorStream() : connection.getInputStream()) {
+            return new OctoPrintResponse(request.getOperation(), status, inputStream == null ? new byte[0] : readFully(inputStream));
+        }
+    }
+
+    @NotNull
+    private static byte[] readFully(@NotNull InputStream inputStream) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+
+        int read;
+        while ((read = inputStream.read(buffer)) != -1) {
+            outputStream.write(buffer, 0, read);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static long backoff(int attempt) {
+        long max = Math.min(MAX_RETRY_BACKOFF, RETRY_BACKOFF << Math.min(attempt, 16));
+        return ThreadLocalRandom.current().nextLong(max + 1);
+    }
+
+    /**
+     * Thrown if a request is rejected because the circuit breaker of the instance is open
+     */
+    public static final class CircuitOpenException extends IOException {
+
+        private static final long serialVersionUID = -3190624758716209513L;
+
+        public CircuitOpenException(@NotNull String message) {
+            super(message);
+        }
+    }
+}
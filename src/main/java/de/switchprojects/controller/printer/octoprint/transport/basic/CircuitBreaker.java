@@ -0,0 +1,157 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.transport.basic;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A circuit breaker which stops the requests to an octoprint instance after too many consecutive
+ * failures. While the breaker is open all requests are rejected directly, after the open time one
+ * probe request is let through which closes the breaker again on success.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class CircuitBreaker {
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this.failureThreshold = Math.max(1, failureThreshold);
+        this.openMillis = openMillis;
+    }
+
+    private final int failureThreshold;
+
+    private final long openMillis;
+
+    private State state = State.CLOSED;
+
+    private int failures;
+
+    private long openedAt;
+
+    private boolean probing;
+
+    private long opened;
+
+    private long rejected;
+
+    /**
+     * Checks if a request may be sent right now. Every permitted request has to report its result
+     * using {@link #onSuccess()} or {@link #onFailure()}.
+     *
+     * @return If the request is permitted
+     */
+    public synchronized boolean tryAcquire() {
+        if (this.state == State.OPEN) {
+            if (System.currentTimeMillis() - this.openedAt < this.openMillis) {
+                this.rejected++;
+                return false;
+            }
+
+            this.state = State.HALF_OPEN;
+            this.probing = false;
+        }
+
+        if (this.state == State.HALF_OPEN) {
+            if (this.probing) {
+                this.rejected++;
+                return false;
+            }
+
+            this.probing = true;
+        }
+
+        return true;
+    }
+
+    /**
+     * Reports a successful request and closes the breaker
+     */
+    public synchronized void onSuccess() {
+        this.state = State.CLOSED;
+        this.failures = 0;
+        this.probing = false;
+    }
+
+    /**
+     * Reports a failed request. The breaker opens if the probe request failed or the threshold of
+     * consecutive failures is reached.
+     */
+    public synchronized void onFailure() {
+        this.probing = false;
+        if (this.state == State.OPEN) {
+            return;
+        }
+
+        if (this.state == State.HALF_OPEN || ++this.failures >= this.failureThreshold) {
+            this.state = State.OPEN;
+            this.openedAt = System.currentTimeMillis();
+            this.failures = 0;
+            this.opened++;
+        }
+    }
+
+    /**
+     * @return The current state of the breaker
+     */
+    @NotNull
+    public synchronized State getState() {
+        return this.state;
+    }
+
+    /**
+     * @return How often the breaker was opened
+     */
+    public synchronized long getOpened() {
+        return this.opened;
+    }
+
+    /**
+     * @return The amount of requests which were rejected by the breaker
+     */
+    public synchronized long getRejected() {
+        return this.rejected;
+    }
+
+    /**
+     * The state of a circuit breaker
+     */
+    public enum State {
+
+        /**
+         * All requests are permitted
+         */
+        CLOSED,
+
+        /**
+         * One probe request is permitted to check if the instance is available again
+         */
+        HALF_OPEN,
+
+        /**
+         * All requests are rejected
+         */
+        OPEN
+    }
+}
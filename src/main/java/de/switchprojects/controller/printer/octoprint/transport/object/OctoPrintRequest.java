@@ -0,0 +1,207 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.transport.object;
+
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents a request to the rest api of octoprint. Requests using {@code GET}, {@code PUT} or
+ * {@code DELETE} are idempotent and retried on failures, other requests only if they are marked
+ * as idempotent:
+ * <pre>{@code
+ * public static void main(String... args) {
+ *     OctoPrintRequest request = OctoPrintRequest.newRequest("POST", "/api/connection", "connect")
+ *             .json("{\"command\":\"connect\"}")
+ *             .idempotent(true);
+ * }
+ * }</pre>
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class OctoPrintRequest {
+
+    private OctoPrintRequest(String method, String path, String operation) {
+        this.method = method;
+        this.path = path;
+        this.operation = operation;
+        this.idempotent = !method.equals("POST");
+    }
+
+    /**
+     * Creates a new request without a body
+     *
+     * @param method    The http method of the request
+     * @param path      The path of the request including the {@code /api} prefix
+     * @param operation The name of the operation which is used as label of the metrics
+     * @return The created request
+     */
+    @NotNull
+    public static OctoPrintRequest newRequest(@NotNull String method, @NotNull String path, @NotNull String operation) {
+        Validate.assertNotNull(method, "Cannot create request with null method");
+        Validate.assertNotNull(path, "Cannot create request with null path");
+        Validate.assertNotNull(operation, "Cannot create request with null operation");
+
+        return new OctoPrintRequest(method, path, operation);
+    }
+
+    private final String method;
+
+    private final String path;
+
+    private final String operation;
+
+    private boolean idempotent;
+
+    private String contentType;
+
+    private BodyWriter body;
+
+    private int chunkSize;
+
+    private int readTimeout;
+
+    /**
+     * Sets the given json as body of the request
+     *
+     * @param json The json body
+     * @return The same instance of the request
+     */
+    @NotNull
+    public OctoPrintRequest json(@NotNull String json) {
+        byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+        return this.body("application/json", outputStream -> outputStream.write(bytes));
+    }
+
+    /**
+     * Sets the body of the request. The writer is called again for every retry of the request.
+     *
+     * @param contentType The content type of the body
+     * @param body        The writer of the body
+     * @return The same instance of the request
+     */
+    @NotNull
+    public OctoPrintRequest body(@NotNull String contentType, @NotNull BodyWriter body) {
+        this.contentType = contentType;
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Streams the body using chunked transfer encoding instead of buffering it
+     *
+     * @param chunkSize The size of one chunk
+     * @return The same instance of the request
+     */
+    @NotNull
+    public OctoPrintRequest chunked(int chunkSize) {
+        this.chunkSize = chunkSize;
+        return this;
+    }
+
+    /**
+     * Overrides the default read timeout of the transport
+     *
+     * @param readTimeout The read timeout in millis
+     * @return The same instance of the request
+     */
+    @NotNull
+    public OctoPrintRequest readTimeout(int readTimeout) {
+        this.readTimeout = readTimeout;
+        return this;
+    }
+
+    /**
+     * Sets if the request may get sent more than once
+     *
+     * @param idempotent If the request is idempotent
+     * @return The same instance of the request
+     */
+    @NotNull
+    public OctoPrintRequest idempotent(boolean idempotent) {
+        this.idempotent = idempotent;
+        return this;
+    }
+
+    @NotNull
+    public String getMethod() {
+        return this.method;
+    }
+
+    @NotNull
+    public String getPath() {
+        return this.path;
+    }
+
+    @NotNull
+    public String getOperation() {
+        return this.operation;
+    }
+
+    public boolean isIdempotent() {
+        return this.idempotent;
+    }
+
+    @Nullable
+    public String getContentType() {
+        return this.contentType;
+    }
+
+    @Nullable
+    public BodyWriter getBody() {
+        return this.body;
+    }
+
+    public int getChunkSize() {
+        return this.chunkSize;
+    }
+
+    /**
+     * @return The read timeout of the request in millis or {@code 0} if the default timeout is used
+     */
+    public int getReadTimeout() {
+        return this.readTimeout;
+    }
+
+    /**
+     * Writes the body of a request
+     */
+    @FunctionalInterface
+    public interface BodyWriter {
+
+        /**
+         * Writes the body to the stream of the connection
+         *
+         * @param outputStream The stream of the connection
+         * @throws IOException If the body cannot get written
+         */
+        void write(@NotNull OutputStream outputStream) throws IOException;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.transport.object;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Represents the completely read response of a request to octoprint
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class OctoPrintResponse {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public OctoPrintResponse(@NotNull String operation, int status, @NotNull byte[] body) {
+        this.operation = operation;
+        this.status = status;
+        this.body = body;
+    }
+
+    private final String operation;
+
+    private final int status;
+
+    private final byte[] body;
+
+    /**
+     * @return The http status of the response
+     */
+    public int getStatus() {
+        return this.status;
+    }
+
+    /**
+     * @return If the status of the response is {@code 2xx}
+     */
+    public boolean isSuccess() {
+        return this.status >= 200 && this.status < 300;
+    }
+
+    /**
+     * @return The body of the response
+     */
+    @NotNull
+    public byte[] getBody() {
+        return this.body;
+    }
+
+    /**
+     * @return The body of the response parsed as json
+     * @throws IOException If the body is no valid json
+     */
+    @NotNull
+    public JsonNode json() throws IOException {
+        return MAPPER.readTree(this.body);
+    }
+
+    /**
+     * Ensures that the response has one of the expected status codes
+     *
+     * @param expected The expected status codes
+     * @return The same instance of the response
+     * @throws IOException If the status of the response is not expected
+     */
+    @NotNull
+    public OctoPrintResponse expect(int... expected) throws IOException {
+        for (int status : expected) {
+            if (status == this.status) {
+                return this;
+            }
+        }
+
+        String body = new String(this.body, StandardCharsets.UTF_8).trim();
+        if (body.length() > 200) {
+            body = body.substring(0, 200) + "...";
+        }
+
+        throw new IOException("Unexpected status " + this.status + " of " + this.operation + (body.isEmpty() ? "" : ": " + body));
+    }
+}
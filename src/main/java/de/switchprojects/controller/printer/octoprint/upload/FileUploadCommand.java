@@ -23,64 +23,106 @@
  */
 package de.switchprojects.controller.printer.octoprint.upload;
 
+import de.switchprojects.controller.printer.octoprint.transport.OctoPrintTransport;
+import de.switchprojects.controller.printer.octoprint.transport.object.OctoPrintRequest;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
-import org.octoprint.api.OctoPrintCommand;
-import org.octoprint.api.OctoPrintInstance;
 
-import java.io.*;
-import java.net.HttpURLConnection;
-import java.net.URL;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
 
 /**
- * Represents an command for octoprint which uploads a file to the printer instance
+ * Represents an command for octoprint which uploads a file to the printer instance. The file is
+ * streamed unchanged using chunked transfer encoding, so the memory usage does not depend on the
+ * size of the uploaded file.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
-public class FileUploadCommand extends OctoPrintCommand {
+public class FileUploadCommand {
 
-    public FileUploadCommand(@NotNull OctoPrintInstance requestor) {
-        super(requestor, "files");
+    private static final int CHUNK_SIZE = 1024 * 1024;
+
+    private static final int UPLOAD_TIMEOUT = (int) TimeUnit.SECONDS.toMillis(Long.getLong("octoprint.timeout.upload", 300));
+
+    private static final String LINE_SEPARATOR = "\r\n";
+
+    public FileUploadCommand(@NotNull OctoPrintTransport transport) {
+        this.transport = transport;
     }
 
-    public void uploadFile(@NotNull File file) {
+    private final OctoPrintTransport transport;
+
+    public void uploadFile(@NotNull File file) throws IOException {
         Validate.assertNotNull(file, "Cannot upload null file to printer");
 
         String boundary = Long.toHexString(System.currentTimeMillis());
-        try {
-            HttpURLConnection connection = (HttpURLConnection) new URL(this.g_comm.getM_url() + "/api/files/local").openConnection();
-            connection.setRequestProperty(
-                    "User-Agent",
-                    "Mozilla/5.0 (Windows NT 6.1; WOW64) AppleWebKit/537.11 (KHTML, like Gecko) Chrome/23.0.1271.95 Safari/537.11"
-            );
-            connection.setRequestProperty("X-Api-Key", this.g_comm.getM_key());
-            connection.setRequestMethod("POST");
-            connection.setUseCaches(false);
-            connection.setDoOutput(true);
-            connection.setRequestProperty("Content-Type", "multipart/form-data; boundary=" + boundary);
-
-            connection.connect();
-
-            try (PrintWriter writer = new PrintWriter(new OutputStreamWriter(connection.getOutputStream(), StandardCharsets.UTF_8))) {
-                writer.println("--" + boundary);
-                writer.println("Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getName() + "\"");
-                writer.println("Content-Type: text/plain");
-                writer.println();
-
-                try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
-                    for (String line; (line = reader.readLine()) != null; ) {
-                        writer.println(line);
-                    }
-                }
+        long start = System.nanoTime();
 
-                writer.println("--" + boundary + "--");
+        // an upload replaces the file with the same name, so it can get retried safely
+        this.transport.execute(OctoPrintRequest.newRequest("POST", "/api/files/local", "upload")
+                .body("multipart/form-data; boundary=" + boundary, outputStream -> {
+                    outputStream.write(("--" + boundary + LINE_SEPARATOR
+                            + "Content-Disposition: form-data; name=\"file\"; filename=\"" + file.getName() + "\"" + LINE_SEPARATOR
+                            + "Content-Type: application/octet-stream" + LINE_SEPARATOR
+                            + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+
+                    transfer(file, outputStream, System.nanoTime());
+
+                    outputStream.write((LINE_SEPARATOR + "--" + boundary + "--" + LINE_SEPARATOR).getBytes(StandardCharsets.UTF_8));
+                })
+                .chunked(CHUNK_SIZE)
+                .readTimeout(UPLOAD_TIMEOUT)
+                .idempotent(true)).expect(201);
+
+        long size = file.length();
+        long nanos = Math.max(1, System.nanoTime() - start);
+        System.out.println(String.format(
+                "Uploaded %s (%.2f MB) in %.2fs (%.2f MB/s)",
+                file.getName(),
+                toMegaBytes(size),
+                nanos / (double) TimeUnit.SECONDS.toNanos(1),
+                toMegaBytes(size) / (nanos / (double) TimeUnit.SECONDS.toNanos(1))
+        ));
+    }
+
+    private static long transfer(File file, OutputStream outputStream, long start) throws IOException {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(outputStream);
+
+            long size = fileChannel.size();
+            long position = 0;
+            int lastReported = 0;
+
+            while (position < size) {
+                position += fileChannel.transferTo(position, Math.min(CHUNK_SIZE, size - position), target);
+
+                int progress = (int) (position * 10 / size);
+                if (progress != lastReported && progress != 10) {
+                    lastReported = progress;
+
+                    double seconds = Math.max(1, System.nanoTime() - start) / (double) TimeUnit.SECONDS.toNanos(1);
+                    System.out.println(String.format(
+                            "Uploading %s: %d%% (%.2f MB/s)",
+                            file.getName(),
+                            progress * 10,
+                            toMegaBytes(position) / seconds
+                    ));
+                }
             }
 
-            Validate.assertEquals(connection.getResponseCode(), 201);
-        } catch (final IOException ex) {
-            ex.printStackTrace();
+            return size;
         }
     }
+
+    private static double toMegaBytes(long bytes) {
+        return bytes / (1024D * 1024D);
+    }
 }
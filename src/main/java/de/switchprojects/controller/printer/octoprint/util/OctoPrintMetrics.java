@@ -0,0 +1,95 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.octoprint.util;
+
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.octoprint.transport.basic.CircuitBreaker;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Records the latency, the errors and the retries of the requests to octoprint, labeled by the operation,
+ * and the state of the circuit breakers, labeled by the printer
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class OctoPrintMetrics {
+
+    private OctoPrintMetrics() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final String DURATION = "octoprint_request_duration_seconds";
+
+    private static final String ERRORS = "octoprint_request_errors_total";
+
+    private static final String RETRIES = "octoprint_request_retries_total";
+
+    /**
+     * Records the latency of a request and counts it as failed if it was not successful
+     *
+     * @param operation The name of the operation
+     * @param start     The value of {@link System#nanoTime()} when the request was started
+     * @param success   If the request was successful
+     */
+    public static void record(@NotNull String operation, long start, boolean success) {
+        MetricRegistry.timer(DURATION, "The latency of the requests to octoprint", "operation", operation).recordSince(start);
+        if (!success) {
+            recordError(operation);
+        }
+    }
+
+    /**
+     * Counts a failed request
+     *
+     * @param operation The name of the operation which failed
+     */
+    public static void recordError(@NotNull String operation) {
+        MetricRegistry.counter(ERRORS, "The failed requests to octoprint", "operation", operation).increment();
+    }
+
+    /**
+     * Counts a retry of a failed request
+     *
+     * @param operation The name of the operation which is retried
+     */
+    public static void recordRetry(@NotNull String operation) {
+        MetricRegistry.counter(RETRIES, "The retries of failed requests to octoprint", "operation", operation).increment();
+    }
+
+    /**
+     * Exports the state of the circuit breaker of a printer
+     *
+     * @param printer        The name of the printer
+     * @param circuitBreaker The circuit breaker of the octoprint instance of the printer
+     */
+    public static void registerCircuitBreaker(@NotNull String printer, @NotNull CircuitBreaker circuitBreaker) {
+        MetricRegistry.gauge("octoprint_circuit_state", "The state of the circuit breaker (0 = closed, 1 = half open, 2 = open)",
+                () -> circuitBreaker.getState().ordinal(), "printer", printer);
+        MetricRegistry.functionCounter("octoprint_circuit_opened_total", "How often the circuit breaker was opened",
+                circuitBreaker::getOpened, "printer", printer);
+        MetricRegistry.functionCounter("octoprint_circuit_rejected_total", "The requests rejected by the open circuit breaker",
+                circuitBreaker::getRejected, "printer", printer);
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate;
+
+import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
+import de.switchprojects.controller.printer.plate.object.Footprint;
+import de.switchprojects.controller.printer.plate.object.Placement;
+import de.switchprojects.controller.printer.plate.object.Plate;
+import de.switchprojects.controller.printer.plate.util.MaxRectsPacker;
+import de.switchprojects.controller.printer.plate.util.StlFiles;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.Slice3rSlicer;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceContext;
+import de.switchprojects.controller.printer.slicer.SliceQueue;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.util.FileUtils;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Packs multiple small objects of the slice queue onto one build plate so they are sliced once and
+ * printed together, which saves the heat up and the cleanup of the printer for every object. Only
+ * {@code stl} files are packed, the footprints are packed using the {@link MaxRectsPacker}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PlatePacker {
+
+    private PlatePacker() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("plate.packing", "true"));
+
+    private static final double BED_WIDTH = Double.parseDouble(System.getProperty("plate.bed.width", "250"));
+
+    private static final double BED_DEPTH = Double.parseDouble(System.getProperty("plate.bed.depth", "210"));
+
+    private static final double SPACING = Double.parseDouble(System.getProperty("plate.spacing", "5"));
+
+    private static final int MAX_OBJECTS = Integer.getInteger("plate.max.objects", 8);
+
+    private static final int SCAN_LIMIT = Integer.getInteger("plate.scan.limit", 64);
+
+    private static final long MAX_FILE_SIZE = Long.getLong("plate.max.file.size", 16 * 1024 * 1024);
+
+    private static final Map<String, Footprint> FOOTPRINTS = new ConcurrentHashMap<>();
+
+    private static final Set<String> EXCLUDED = ConcurrentHashMap.newKeySet();
+
+    private static final Counter PLATES = MetricRegistry.counter("plate_plates_total", "The build plates with more than one object which were sliced");
+
+    private static final Counter PACKED = MetricRegistry.counter("plate_packed_objects_total", "The objects which were sliced on a shared build plate");
+
+    /**
+     * Takes all objects out of the slice queue which fit onto the same build plate as the given object.
+     *
+     * @param lead The object which was taken out of the slice queue by a worker
+     * @return The plate or {@code null} if the object should be sliced alone
+     */
+    @Nullable
+    public static Plate collect(@NotNull PrintableObject lead) {
+        Validate.assertNotNull(lead, "Cannot pack null object");
+
+        String leadPath = lead.getPath();
+        try {
+            Footprint leadFootprint = ENABLED && MAX_OBJECTS > 1 ? getFootprint(lead) : null;
+            if (leadFootprint == null) {
+                return null;
+            }
+
+            Map<PrintableObject, Footprint> footprints = new LinkedHashMap<>();
+            int scanned = 0;
+            for (PrintableObject candidate : SliceQueue.QUEUE) {
+                if (scanned++ >= SCAN_LIMIT) {
+                    break;
+                }
+
+                // the plate is sliced by one engine, so only objects which selected the same engine can share it
+                if (!Objects.equals(candidate.getSlicerEngine(), lead.getSlicerEngine())) {
+                    continue;
+                }
+
+                Footprint footprint = getFootprint(candidate);
+                if (footprint != null) {
+                    footprints.put(candidate, footprint);
+                }
+            }
+
+            List<PrintableObject> candidates = new ArrayList<>(footprints.keySet());
+
+            if (candidates.isEmpty()) {
+                return null;
+            }
+
+            // placing the big objects first leaves the best gaps for the small ones
+            candidates.sort(Comparator.comparingDouble((PrintableObject candidate) -> footprints.get(candidate).getArea()).reversed());
+
+            MaxRectsPacker packer = new MaxRectsPacker(BED_WIDTH + SPACING, BED_DEPTH + SPACING);
+            List<Placement> placements = new ArrayList<>();
+            placements.add(place(packer, lead, leadFootprint));
+
+            for (PrintableObject candidate : candidates) {
+                if (placements.size() >= MAX_OBJECTS) {
+                    break;
+                }
+
+                Footprint footprint = footprints.get(candidate);
+                MaxRectsPacker.Position position = packer.insert(footprint.getWidth() + SPACING, footprint.getDepth() + SPACING, true);
+                if (position == null) {
+                    continue;
+                }
+
+                // another worker may have taken the object in the mean time, the space stays empty then
+                if (SliceQueue.QUEUE.remove(candidate)) {
+                    candidate.getTrace().mark(JobStage.SLICE_STARTED);
+                    placements.add(new Placement(candidate, candidate.getPath(), footprint, position.getX(), position.getY(), position.isRotated()));
+                }
+            }
+
+            if (placements.size() == 1) {
+                return null;
+            }
+
+            Plate plate = new Plate(BED_WIDTH, BED_DEPTH, placements);
+            System.out.println("Packed " + placements.size() + " objects onto one build plate using "
+                    + Math.round(plate.getUtilization() * 100) + "% of the bed");
+            return plate;
+        } finally {
+            FOOTPRINTS.remove(leadPath);
+            EXCLUDED.remove(leadPath);
+        }
+    }
+
+    /**
+     * Slices all objects of the plate together. The lead object keeps the sliced plate and all other
+     * objects as its plate members. If the plate cannot get sliced the other objects are put back into
+     * the slice queue and the lead object is sliced alone, unless the job was cancelled.
+     *
+     * @param plate   The plate to slice
+     * @param context The context of the job the plate belongs to
+     * @return If the lead object was sliced successfully
+     */
+    public static boolean slice(@NotNull Plate plate, @NotNull SliceContext context) {
+        Validate.assertNotNull(plate, "Cannot slice null plate");
+
+        PrintableObject lead = plate.getLead();
+        String leadPath = lead.getPath();
+        Path platePath = Paths.get(leadPath).resolveSibling(lead.getKey() + "-plate.stl");
+
+        try {
+            StlFiles.writePlate(platePath, plate.getPlacements());
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            FileUtils.deleteIfExists(platePath.toString());
+            release(plate);
+            return Slice3rSlicer.slice(lead, context);
+        }
+
+        lead.setPath(platePath.toString());
+        lead.setPlateMembers(plate.getMembers());
+
+        if (!Slice3rSlicer.slice(lead, context)) {
+            FileUtils.deleteIfExists(platePath.toString());
+
+            lead.setPath(leadPath);
+            lead.setPlateMembers(Collections.emptyList());
+            release(plate);
+
+            // only the lead object is cancelled, the other objects are sliced again by the next worker
+            if (context.isCancelled()) {
+                return false;
+            }
+
+            System.err.println("Unable to slice build plate of " + lead.getRealFileName() + ", slicing the objects alone");
+            return Slice3rSlicer.slice(lead, context);
+        }
+
+        FileUtils.deleteIfExists(leadPath);
+        for (PrintableObject member : plate.getMembers()) {
+            FOOTPRINTS.remove(member.getPath());
+            FileUtils.deleteIfExists(member.getPath());
+
+            member.setPath(lead.getPath());
+            member.setSliced(true);
+            member.setAnalysis(lead.getAnalysis());
+            member.getTrace().mark(JobStage.SLICE_DONE);
+        }
+
+        // the members are stored as part of the lead object from now on
+        GlobalAPI.getDatabase().transaction(database -> {
+            for (PrintableObject member : lead.getPlateMembers()) {
+                database.deleteFromTable(member.getTable(), member.getKey());
+            }
+
+            database.update(lead);
+        });
+
+        PLATES.increment();
+        PACKED.add(plate.getPlacements().size());
+        return true;
+    }
+
+    private static void release(Plate plate) {
+        List<PrintableObject> members = plate.getMembers();
+        for (int i = members.size() - 1; i >= 0; i--) {
+            PrintableObject member = members.get(i);
+
+            EXCLUDED.add(member.getPath());
+            SliceQueue.putBack(member);
+        }
+    }
+
+    private static Placement place(MaxRectsPacker packer, PrintableObject object, Footprint footprint) {
+        MaxRectsPacker.Position position = packer.insert(footprint.getWidth() + SPACING, footprint.getDepth() + SPACING, true);
+        Validate.assertNotNull(position, "Footprint does not fit onto an empty bed");
+
+        return new Placement(object, object.getPath(), footprint, position.getX(), position.getY(), position.isRotated());
+    }
+
+    @Nullable
+    private static Footprint getFootprint(PrintableObject object) {
+        String path = object.getPath();
+        if (object.isSliced() || !StlFiles.isStl(path) || EXCLUDED.contains(path)) {
+            return null;
+        }
+
+        Footprint footprint = FOOTPRINTS.get(path);
+        if (footprint != null) {
+            return footprint;
+        }
+
+        try {
+            Path file = Paths.get(path);
+            if (Files.size(file) > MAX_FILE_SIZE) {
+                EXCLUDED.add(path);
+                return null;
+            }
+
+            footprint = StlFiles.readFootprint(file);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            EXCLUDED.add(path);
+            return null;
+        }
+
+        if (!fits(footprint.getWidth(), footprint.getDepth()) && !fits(footprint.getDepth(), footprint.getWidth())) {
+            EXCLUDED.add(path);
+            return null;
+        }
+
+        FOOTPRINTS.put(path, footprint);
+        return footprint;
+    }
+
+    private static boolean fits(double width, double depth) {
+        return width <= BED_WIDTH && depth <= BED_DEPTH;
+    }
+}
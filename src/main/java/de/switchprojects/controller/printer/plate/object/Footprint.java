@@ -0,0 +1,116 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate.object;
+
+/**
+ * The bounding box of a mesh, the part of it on the build plate is the footprint of the mesh
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Footprint {
+
+    public Footprint(float minX, float minY, float minZ, float maxX, float maxY, float maxZ, long triangles) {
+        this.minX = minX;
+        this.minY = minY;
+        this.minZ = minZ;
+        this.maxX = maxX;
+        this.maxY = maxY;
+        this.maxZ = maxZ;
+        this.triangles = triangles;
+    }
+
+    private final float minX;
+
+    private final float minY;
+
+    private final float minZ;
+
+    private final float maxX;
+
+    private final float maxY;
+
+    private final float maxZ;
+
+    private final long triangles;
+
+    public float getMinX() {
+        return minX;
+    }
+
+    public float getMinY() {
+        return minY;
+    }
+
+    public float getMinZ() {
+        return minZ;
+    }
+
+    public float getMaxX() {
+        return maxX;
+    }
+
+    public float getMaxY() {
+        return maxY;
+    }
+
+    public float getMaxZ() {
+        return maxZ;
+    }
+
+    /**
+     * @return The size of the mesh on the x axis in mm
+     */
+    public double getWidth() {
+        return this.maxX - this.minX;
+    }
+
+    /**
+     * @return The size of the mesh on the y axis in mm
+     */
+    public double getDepth() {
+        return this.maxY - this.minY;
+    }
+
+    /**
+     * @return The size of the mesh on the z axis in mm
+     */
+    public double getHeight() {
+        return this.maxZ - this.minZ;
+    }
+
+    /**
+     * @return The area in mm² the mesh is using on the build plate
+     */
+    public double getArea() {
+        return this.getWidth() * this.getDepth();
+    }
+
+    /**
+     * @return The amount of triangles of the mesh
+     */
+    public long getTriangles() {
+        return triangles;
+    }
+}
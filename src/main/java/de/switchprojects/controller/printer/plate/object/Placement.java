@@ -0,0 +1,89 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate.object;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The position of an object on a build plate. The front left corner of the footprint of the object
+ * is moved to the position, if the object is rotated it is rotated by 90 degrees around the z axis
+ * before.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Placement {
+
+    public Placement(@NotNull PrintableObject object, @NotNull String path, @NotNull Footprint footprint, double x, double y, boolean rotated) {
+        this.object = object;
+        this.path = path;
+        this.footprint = footprint;
+        this.x = x;
+        this.y = y;
+        this.rotated = rotated;
+    }
+
+    private final PrintableObject object;
+
+    private final String path;
+
+    private final Footprint footprint;
+
+    private final double x;
+
+    private final double y;
+
+    private final boolean rotated;
+
+    @NotNull
+    public PrintableObject getObject() {
+        return object;
+    }
+
+    /**
+     * @return The path of the mesh of the object before it was packed
+     */
+    @NotNull
+    public String getPath() {
+        return path;
+    }
+
+    @NotNull
+    public Footprint getFootprint() {
+        return footprint;
+    }
+
+    public double getX() {
+        return x;
+    }
+
+    public double getY() {
+        return y;
+    }
+
+    public boolean isRotated() {
+        return rotated;
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate.object;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * A build plate with multiple objects which are sliced and printed together. The first placement is
+ * the one of the lead object, which was taken out of the slice queue by the worker.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class Plate {
+
+    public Plate(double width, double depth, @NotNull List<Placement> placements) {
+        this.width = width;
+        this.depth = depth;
+        this.placements = Collections.unmodifiableList(placements);
+    }
+
+    private final double width;
+
+    private final double depth;
+
+    private final List<Placement> placements;
+
+    /**
+     * @return The object which was taken out of the slice queue and is keeping the plate
+     */
+    @NotNull
+    public PrintableObject getLead() {
+        return this.placements.get(0).getObject();
+    }
+
+    /**
+     * @return All objects on the plate, starting with the lead object
+     */
+    @NotNull
+    public List<PrintableObject> getObjects() {
+        return this.placements.stream().map(Placement::getObject).collect(Collectors.toList());
+    }
+
+    /**
+     * @return All other objects on the plate
+     */
+    @NotNull
+    public List<PrintableObject> getMembers() {
+        return this.placements.stream().skip(1).map(Placement::getObject).collect(Collectors.toList());
+    }
+
+    @NotNull
+    public List<Placement> getPlacements() {
+        return placements;
+    }
+
+    /**
+     * @return The part of the build plate which is covered by the objects, between {@code 0} and {@code 1}
+     */
+    public double getUtilization() {
+        double used = this.placements.stream().mapToDouble(placement -> placement.getFootprint().getArea()).sum();
+        return used / (this.width * this.depth);
+    }
+}
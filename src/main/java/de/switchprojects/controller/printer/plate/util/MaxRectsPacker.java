@@ -0,0 +1,209 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate.util;
+
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Packs rectangles into one bin using the maximal rectangles algorithm with the best short side fit
+ * heuristic. The packer keeps all maximal free rectangles of the bin, a new rectangle is placed into
+ * the free rectangle where the shorter leftover side is the smallest.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class MaxRectsPacker {
+
+    private static final double EPSILON = 1E-6;
+
+    public MaxRectsPacker(double width, double depth) {
+        this.free.add(new Rectangle(0, 0, width, depth));
+    }
+
+    private final List<Rectangle> free = new ArrayList<>();
+
+    /**
+     * Places a rectangle into the bin
+     *
+     * @param width         The width of the rectangle
+     * @param depth         The depth of the rectangle
+     * @param allowRotation If the rectangle may be rotated by 90 degrees
+     * @return The position of the rectangle or {@code null} if it does not fit into the bin anymore
+     */
+    @Nullable
+    public Position insert(double width, double depth, boolean allowRotation) {
+        Rectangle best = null;
+        boolean bestRotated = false;
+        double bestShort = Double.MAX_VALUE;
+        double bestLong = Double.MAX_VALUE;
+
+        for (Rectangle rectangle : this.free) {
+            for (int i = 0; i < (allowRotation ? 2 : 1); i++) {
+                double w = i == 0 ? width : depth;
+                double d = i == 0 ? depth : width;
+                if (w > rectangle.width + EPSILON || d > rectangle.depth + EPSILON) {
+                    continue;
+                }
+
+                double leftoverX = rectangle.width - w;
+                double leftoverY = rectangle.depth - d;
+                double shortSide = Math.min(leftoverX, leftoverY);
+                double longSide = Math.max(leftoverX, leftoverY);
+
+                if (shortSide < bestShort || (shortSide == bestShort && longSide < bestLong)) {
+                    best = rectangle;
+                    bestRotated = i == 1;
+                    bestShort = shortSide;
+                    bestLong = longSide;
+                }
+            }
+        }
+
+        if (best == null) {
+            return null;
+        }
+
+        Rectangle used = new Rectangle(best.x, best.y, bestRotated ? depth : width, bestRotated ? width : depth);
+        this.split(used);
+        this.prune();
+
+        return new Position(used.x, used.y, bestRotated);
+    }
+
+    private void split(Rectangle used) {
+        List<Rectangle> created = new ArrayList<>();
+        this.free.removeIf(rectangle -> {
+            if (!rectangle.intersects(used)) {
+                return false;
+            }
+
+            if (used.x > rectangle.x + EPSILON) {
+                created.add(new Rectangle(rectangle.x, rectangle.y, used.x - rectangle.x, rectangle.depth));
+            }
+
+            if (used.getMaxX() < rectangle.getMaxX() - EPSILON) {
+                created.add(new Rectangle(used.getMaxX(), rectangle.y, rectangle.getMaxX() - used.getMaxX(), rectangle.depth));
+            }
+
+            if (used.y > rectangle.y + EPSILON) {
+                created.add(new Rectangle(rectangle.x, rectangle.y, rectangle.width, used.y - rectangle.y));
+            }
+
+            if (used.getMaxY() < rectangle.getMaxY() - EPSILON) {
+                created.add(new Rectangle(rectangle.x, used.getMaxY(), rectangle.width, rectangle.getMaxY() - used.getMaxY()));
+            }
+
+            return true;
+        });
+
+        this.free.addAll(created);
+    }
+
+    private void prune() {
+        for (int i = 0; i < this.free.size(); i++) {
+            for (int j = i + 1; j < this.free.size(); j++) {
+                if (this.free.get(j).contains(this.free.get(i))) {
+                    this.free.remove(i--);
+                    break;
+                }
+
+                if (this.free.get(i).contains(this.free.get(j))) {
+                    this.free.remove(j--);
+                }
+            }
+        }
+    }
+
+    /**
+     * The position of a packed rectangle
+     */
+    public static final class Position {
+
+        private Position(double x, double y, boolean rotated) {
+            this.x = x;
+            this.y = y;
+            this.rotated = rotated;
+        }
+
+        private final double x;
+
+        private final double y;
+
+        private final boolean rotated;
+
+        public double getX() {
+            return x;
+        }
+
+        public double getY() {
+            return y;
+        }
+
+        /**
+         * @return If the rectangle was rotated by 90 degrees to fit
+         */
+        public boolean isRotated() {
+            return rotated;
+        }
+    }
+
+    private static final class Rectangle {
+
+        private Rectangle(double x, double y, double width, double depth) {
+            this.x = x;
+            this.y = y;
+            this.width = width;
+            this.depth = depth;
+        }
+
+        private final double x;
+
+        private final double y;
+
+        private final double width;
+
+        private final double depth;
+
+        private double getMaxX() {
+            return this.x + this.width;
+        }
+
+        private double getMaxY() {
+            return this.y + this.depth;
+        }
+
+        private boolean intersects(Rectangle other) {
+            return other.x < this.getMaxX() - EPSILON && other.getMaxX() > this.x + EPSILON
+                    && other.y < this.getMaxY() - EPSILON && other.getMaxY() > this.y + EPSILON;
+        }
+
+        private boolean contains(Rectangle other) {
+            return other.x >= this.x - EPSILON && other.y >= this.y - EPSILON
+                    && other.getMaxX() <= this.getMaxX() + EPSILON && other.getMaxY() <= this.getMaxY() + EPSILON;
+        }
+    }
+}
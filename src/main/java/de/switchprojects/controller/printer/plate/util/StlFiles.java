@@ -0,0 +1,141 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.plate.util;
+
+import de.switchprojects.controller.printer.mesh.io.StlParser;
+import de.switchprojects.controller.printer.mesh.io.StlWriter;
+import de.switchprojects.controller.printer.plate.object.Footprint;
+import de.switchprojects.controller.printer.plate.object.Placement;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Reads the footprints of {@code stl} files and writes multiple placed meshes into one binary
+ * {@code stl} file
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class StlFiles {
+
+    private StlFiles() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @param path The path of the file
+     * @return If the file is a {@code stl} file judging by the name
+     */
+    public static boolean isStl(@NotNull String path) {
+        return path.toLowerCase(Locale.ROOT).endsWith(".stl");
+    }
+
+    /**
+     * Reads the bounding box of the mesh in the given file
+     *
+     * @param path The path of the {@code stl} file
+     * @return The footprint of the mesh
+     * @throws IOException If the file cannot be read or contains no triangles
+     */
+    @NotNull
+    public static Footprint readFootprint(@NotNull Path path) throws IOException {
+        float[] bounds = {Float.MAX_VALUE, Float.MAX_VALUE, Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE, -Float.MAX_VALUE};
+        long triangles = StlParser.parse(path, triangle -> {
+            for (int vertex = 3; vertex < 12; vertex += 3) {
+                for (int axis = 0; axis < 3; axis++) {
+                    bounds[axis] = Math.min(bounds[axis], triangle[vertex + axis]);
+                    bounds[axis + 3] = Math.max(bounds[axis + 3], triangle[vertex + axis]);
+                }
+            }
+        });
+
+        if (triangles == 0) {
+            throw new IOException("The file " + path + " contains no triangles");
+        }
+
+        return new Footprint(bounds[0], bounds[1], bounds[2], bounds[3], bounds[4], bounds[5], triangles);
+    }
+
+    /**
+     * Writes all given meshes into one binary {@code stl} file. Every mesh is moved to its position
+     * and onto the build plate.
+     *
+     * @param target     The file to write to
+     * @param placements The placed meshes
+     * @throws IOException If a mesh cannot be read or the target cannot be written
+     */
+    public static void writePlate(@NotNull Path target, @NotNull List<Placement> placements) throws IOException {
+        long total = placements.stream().mapToLong(placement -> placement.getFootprint().getTriangles()).sum();
+
+        try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(target))) {
+            StlWriter.writeHeader(stream, "3dswitch build plate", total);
+
+            ByteBuffer buffer = ByteBuffer.allocate(StlParser.TRIANGLE_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+
+            for (Placement placement : placements) {
+                Footprint footprint = placement.getFootprint();
+                float x = (float) placement.getX();
+                float y = (float) placement.getY();
+
+                StlParser.parse(Paths.get(placement.getPath()), triangle -> {
+                    buffer.clear();
+                    for (int vertex = 0; vertex < 12; vertex += 3) {
+                        float vx = triangle[vertex];
+                        float vy = triangle[vertex + 1];
+                        float vz = triangle[vertex + 2];
+
+                        if (vertex == 0) {
+                            // the normal is only rotated
+                            buffer.putFloat(placement.isRotated() ? -vy : vx).putFloat(placement.isRotated() ? vx : vy).putFloat(vz);
+                        } else if (placement.isRotated()) {
+                            buffer.putFloat(footprint.getMaxY() - vy + x).putFloat(vx - footprint.getMinX() + y).putFloat(vz - footprint.getMinZ());
+                        } else {
+                            buffer.putFloat(vx - footprint.getMinX() + x).putFloat(vy - footprint.getMinY() + y).putFloat(vz - footprint.getMinZ());
+                        }
+                    }
+
+                    buffer.putShort((short) 0);
+                    try {
+                        stream.write(buffer.array(), 0, StlParser.TRIANGLE_SIZE);
+                    } catch (final IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+            }
+        } catch (final UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+}
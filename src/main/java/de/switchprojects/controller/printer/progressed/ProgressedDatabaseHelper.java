@@ -29,9 +29,10 @@ import de.switchprojects.controller.printer.progressed.object.ProgressedObject;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ObjectInputStream;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * @author Pasqual Koschmieder
@@ -43,45 +44,59 @@ public final class ProgressedDatabaseHelper {
         throw new UnsupportedOperationException();
     }
 
+    public static final String DB_NAME = "progressed";
+
     static {
-        GlobalAPI.getDatabase().createTable(DB_NAME = "progressed");
+        GlobalAPI.getDatabase().createTable(ProgressedObject.SCHEMA);
     }
 
-    public static final String DB_NAME;
-
+    /**
+     * Moves the given object out of the job table into the table of the objects which are currently
+     * printed. Both changes are made in one transaction.
+     *
+     * @param object The object which is now printed
+     */
     public static void handlePrintStart(@NotNull PrintableObject object) {
         Validate.assertNotNull(object, "Cannot handle null print object");
 
         ProgressedObject progressedObject = new ProgressedObject(object);
-        GlobalAPI.getDatabase().insert(progressedObject);
+        GlobalAPI.getDatabase().transaction(database -> {
+            database.deleteFromTable(object.getTable(), object.getKey());
+            database.insert(progressedObject);
+        });
     }
 
     @NotNull
     public static Optional<ProgressedObject> getProgressedObjectAndRemove(@NotNull String fileName) {
         Validate.assertNotNull(fileName, "Cannot use null as file name");
 
-        ProgressedObject object = GlobalAPI.getDatabase().get(new DatabaseObjectToken<ProgressedObject>() {
-            @NotNull
-            @Override
-            public ProgressedObject deserialize(@NotNull ObjectInputStream stream) {
-                return ProgressedObject.MAPPER.apply(stream);
-            }
+        AtomicReference<ProgressedObject> result = new AtomicReference<>();
+        GlobalAPI.getDatabase().transaction(database -> {
+            ProgressedObject object = database.get(new DatabaseObjectToken<ProgressedObject>() {
+                @Nullable
+                @Override
+                public ProgressedObject deserialize(@NotNull byte[] data) {
+                    return ProgressedObject.MAPPER.apply(data);
+                }
 
-            @Override
-            public @NotNull String getTable() {
-                return ProgressedDatabaseHelper.DB_NAME;
-            }
+                @Override
+                public @NotNull String getTable() {
+                    return ProgressedDatabaseHelper.DB_NAME;
+                }
+
+                @Override
+                public @NotNull String getKey() {
+                    return fileName;
+                }
+            });
 
-            @Override
-            public @NotNull String getKey() {
-                return fileName;
+            if (object != null) {
+                database.deleteFromTable(DB_NAME, fileName);
             }
-        });
 
-        if (object != null) {
-            GlobalAPI.getDatabase().deleteFromTable(DB_NAME, object.getKey());
-        }
+            result.set(object);
+        });
 
-        return Optional.ofNullable(object);
+        return Optional.ofNullable(result.get());
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.progressed.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodec;
+import de.switchprojects.controller.printer.progressed.object.ProgressedObject;
+import de.switchprojects.controller.printer.trace.codec.JobTraceCodec;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The codec for the {@link ProgressedObject}s which are currently printed.
+ * <p>
+ * Version 1: key, real file name, user type, user id
+ * <br>
+ * Version 2: version 1 followed by the trace of the job
+ * <br>
+ * Version 3: version 2 followed by the real file name, user type and user id of the other objects
+ * on the same build plate
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class ProgressedObjectCodec implements DatabaseCodec<ProgressedObject> {
+
+    public static final ProgressedObjectCodec INSTANCE = new ProgressedObjectCodec();
+
+    private ProgressedObjectCodec() {
+    }
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public void encode(@NotNull ProgressedObject object, @NotNull BinaryWriter writer) {
+        writer.writeString(object.getKey());
+        writer.writeString(object.getRealFileName());
+        writer.writeString(object.getUserTypeName());
+        writer.writeVarLong(object.getUserID());
+        JobTraceCodec.writeTrace(object.getTrace(), writer);
+
+        writer.writeVarInt(object.getPlateMembers().size());
+        for (ProgressedObject member : object.getPlateMembers()) {
+            writer.writeString(member.getRealFileName());
+            writer.writeString(member.getUserTypeName());
+            writer.writeVarLong(member.getUserID());
+        }
+    }
+
+    @Override
+    public @Nullable ProgressedObject decode(@NotNull BinaryReader reader, int version) throws IOException {
+        String key = reader.readString();
+        String realFileName = reader.readString();
+        String userType = reader.readString();
+        long userID = reader.readVarLong();
+
+        if (version < 2) {
+            return new ProgressedObject(key, realFileName, userID, userType);
+        }
+
+        JobTrace trace = JobTraceCodec.readTrace(reader);
+        if (version < 3) {
+            return new ProgressedObject(key, realFileName, userID, userType, trace);
+        }
+
+        int size = reader.readVarInt();
+        List<ProgressedObject> members = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String memberFileName = reader.readString();
+            String memberUserType = reader.readString();
+            long memberUserID = reader.readVarLong();
+
+            members.add(new ProgressedObject(key, memberFileName, memberUserID, memberUserType));
+        }
+
+        return new ProgressedObject(key, realFileName, userID, userType, trace, members);
+    }
+
+    @Override
+    public @Nullable ProgressedObject decodeLegacy(@NotNull String key, @NotNull ObjectInputStream stream) throws IOException {
+        String realFileName = stream.readUTF();
+        String userType = stream.readUTF();
+        long userID = stream.readLong();
+
+        return new ProgressedObject(key, realFileName, userID, userType);
+    }
+}
@@ -23,16 +23,25 @@
  */
 package de.switchprojects.controller.printer.progressed.object;
 
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
 import de.switchprojects.controller.printer.database.object.DatabaseObject;
+import de.switchprojects.controller.printer.database.schema.object.ColumnType;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
 import de.switchprojects.controller.printer.progressed.ProgressedDatabaseHelper;
+import de.switchprojects.controller.printer.progressed.codec.ProgressedObjectCodec;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
 import de.switchprojects.controller.printer.user.object.UserType;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
-import java.io.*;
+import java.io.File;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * @author Pasqual Koschmieder
@@ -40,32 +49,38 @@ import java.util.function.Function;
  */
 public class ProgressedObject implements DatabaseObject {
 
-    public static final Function<ObjectInputStream, ProgressedObject> MAPPER = stream -> {
-        try {
-            String realFileName = stream.readUTF();
-            String userType = stream.readUTF();
-            long id = stream.readLong();
+    public static final Function<byte[], ProgressedObject> MAPPER = bytes -> DatabaseCodecs.decode(ProgressedObjectCodec.INSTANCE, bytes);
 
-            return new ProgressedObject("empty", realFileName, id, userType);
-        } catch (final IOException ex) {
-            ex.printStackTrace();
-        }
-
-        return null;
-    };
+    public static final TableSchema<ProgressedObject> SCHEMA = TableSchema.newSchema(ProgressedDatabaseHelper.DB_NAME, ProgressedObjectCodec.INSTANCE)
+            .indexedColumn("user_id", ColumnType.BIGINT, ProgressedObject::getUserID)
+            .column("user_type", ColumnType.VARCHAR, ProgressedObject::getUserTypeName)
+            .indexedColumn("print_started", ColumnType.BIGINT, object -> object.getTrace().getTimestamp(JobStage.PRINT_STARTED));
 
     public ProgressedObject(@NotNull PrintableObject parent) {
         this.key = new File(parent.getPath()).getName();
         this.realFileName = parent.getRealFileName();
         this.userID = parent.getUser().getUniqueID();
         this.userType = parent.getUser().getUserType().name();
+        this.trace = parent.getTrace();
+        this.plateMembers = parent.getPlateMembers().stream().map(ProgressedObject::new).collect(Collectors.toList());
+    }
+
+    public ProgressedObject(@NotNull String key, @NotNull String realFileName, long userID, @NotNull String userType) {
+        this(key, realFileName, userID, userType, new JobTrace());
+    }
+
+    public ProgressedObject(@NotNull String key, @NotNull String realFileName, long userID, @NotNull String userType, @NotNull JobTrace trace) {
+        this(key, realFileName, userID, userType, trace, Collections.emptyList());
     }
 
-    private ProgressedObject(String key, String realFileName, long userID, String userType) {
+    public ProgressedObject(@NotNull String key, @NotNull String realFileName, long userID, @NotNull String userType,
+                            @NotNull JobTrace trace, @NotNull List<ProgressedObject> plateMembers) {
         this.key = key;
         this.realFileName = realFileName;
         this.userID = userID;
         this.userType = userType;
+        this.trace = trace;
+        this.plateMembers = plateMembers;
     }
 
     private final String key;
@@ -76,6 +91,10 @@ public class ProgressedObject implements DatabaseObject {
 
     private final String userType;
 
+    private final JobTrace trace;
+
+    private final List<ProgressedObject> plateMembers;
+
     @Override
     public @NotNull String getKey() {
         return this.key;
@@ -95,26 +114,37 @@ public class ProgressedObject implements DatabaseObject {
         return Arrays.stream(UserType.values()).filter(e -> e.name().equalsIgnoreCase(this.userType)).findFirst().orElse(null);
     }
 
+    /**
+     * @return The name of the user type, even if the type is unknown
+     */
+    @NotNull
+    public String getUserTypeName() {
+        return userType;
+    }
+
     @NotNull
     public String getRealFileName() {
         return realFileName;
     }
 
-    @Override
-    public @NotNull byte[] serialize() {
-        try (ByteArrayOutputStream stream = new ByteArrayOutputStream();
-             ObjectOutputStream objectOutputStream = new ObjectOutputStream(stream)) {
-            objectOutputStream.writeUTF(this.realFileName);
-            objectOutputStream.writeUTF(this.userType);
-            objectOutputStream.writeLong(this.userID);
-
-            objectOutputStream.writeObject(null);
+    /**
+     * @return The trace of the stages the print job passed
+     */
+    @NotNull
+    public JobTrace getTrace() {
+        return trace;
+    }
 
-            return stream.toByteArray();
-        } catch (final IOException ex) {
-            ex.printStackTrace();
-        }
+    /**
+     * @return The other objects which are printed on the same build plate
+     */
+    @NotNull
+    public List<ProgressedObject> getPlateMembers() {
+        return plateMembers;
+    }
 
-        return new byte[0];
+    @Override
+    public @NotNull byte[] serialize() {
+        return DatabaseCodecs.encode(ProgressedObjectCodec.INSTANCE, this);
     }
 }
@@ -24,104 +24,177 @@
 package de.switchprojects.controller.printer.queue;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.journal.JobJournal;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
 import de.switchprojects.controller.printer.octoprint.OctoPrintHelper;
+import de.switchprojects.controller.printer.octoprint.state.PrinterSnapshot;
 import de.switchprojects.controller.printer.progressed.ProgressedDatabaseHelper;
+import de.switchprojects.controller.printer.progressed.object.ProgressedObject;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
-import de.switchprojects.controller.printer.ticker.SystemTicker;
+import de.switchprojects.controller.printer.queue.scheduling.ScheduledQueue;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicies;
+import de.switchprojects.controller.printer.trace.JobTraces;
+import de.switchprojects.controller.printer.trace.object.JobStage;
 import de.switchprojects.controller.printer.user.UserManagement;
 import de.switchprojects.controller.printer.user.object.UserType;
 import de.switchprojects.controller.printer.user.util.NotifyType;
-import de.switchprojects.controller.printer.util.ThreadSupport;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
 
 import java.awt.*;
-import java.util.concurrent.BlockingDeque;
-import java.util.concurrent.LinkedBlockingDeque;
+import java.io.File;
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 /**
- * Represents the current loaded queue of all objects which are going to get printed
+ * Represents the current loaded queue of all objects which are going to get printed. One print queue
+ * thread is running per printer, each of them takes the next object as soon as its printer is free. The order in which the
+ * objects are printed is decided by the {@link de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicy}
+ * configured using {@code print.queue.policy}.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 public final class PrintQueue extends Thread {
 
-    public static final BlockingDeque<PrintableObject> QUEUE = new LinkedBlockingDeque<>();
+    public static final ScheduledQueue QUEUE = new ScheduledQueue(SchedulingPolicies.createConfigured());
+
+    static {
+        MetricRegistry.gauge("print_queue_depth", "The sliced objects waiting for a printer", QUEUE::size);
+        MetricRegistry.gauge("print_queue_estimated_seconds", "The estimated print time of all objects waiting for a printer",
+                () -> getEstimatedPrintTime() / 1000D);
+    }
 
     public static void queue(@NotNull PrintableObject object) {
         Validate.assertNotNull(object, "Cannot print null object");
         Validate.assertEquals(object.isSliced(), true);
 
-        QUEUE.offerLast(object);
+        object.getTrace().mark(JobStage.PRINT_QUEUED);
+        QUEUE.offer(object);
+    }
+
+    /**
+     * @return The estimated print time in millis of all objects in the queue which were analyzed
+     */
+    public static long getEstimatedPrintTime() {
+        long total = 0;
+        for (PrintableObject object : QUEUE.toList()) {
+            GCodeAnalysis analysis = object.getAnalysis();
+            if (analysis != null) {
+                total += analysis.getEstimatedPrintTime();
+            }
+        }
+
+        return total;
     }
 
+    public PrintQueue(@NotNull Printer printer) {
+        super("Print-Queue-" + printer.getName());
+        this.printer = printer;
+    }
+
+    private final Printer printer;
+
     @Override
     public void run() {
         while (!Thread.interrupted()) {
             try {
-                PrintableObject next = QUEUE.poll(10, TimeUnit.SECONDS);
-
-                if (OctoPrintHelper.isPrintJobRunning()) {
-                    if (next != null) {
-                        QUEUE.addFirst(next);
-                    }
+                String finishedJob;
+                while ((finishedJob = this.printer.getStateTracker().pollFinishedJob()) != null) {
+                    this.handlePrintDone(finishedJob);
+                }
 
-                    ThreadSupport.sleep(TimeUnit.SECONDS, 10);
+                if (!this.printer.isAvailable()) {
+                    this.printer.awaitWakeUp(10, TimeUnit.SECONDS);
                     continue;
-                } else if (!OctoPrintHelper.isPrintJobRunning() && SystemTicker.runningJob != null && SystemTicker.runningJob.getJobProgress() != null) {
-                    String fileName = SystemTicker.runningJob.getName();
-                    ProgressedDatabaseHelper.getProgressedObjectAndRemove(fileName).ifPresent(object -> {
-                        UserType userType = object.getUserType();
-                        if (userType == null) {
-                            return;
-                        }
-
-                        UserManagement target = GlobalAPI.getUserManagement(userType);
-                        if (target == null) {
-                            return;
-                        }
-
-                        target.notify(NotifyType.PRINT_DONE, object.getRealFileName(), object.getUserID());
-                    });
-
-                    OctoPrintHelper.deleteFile(SystemTicker.runningJob.getName());
-                    SystemTicker.runningJob = null;
                 }
 
-                if (!GlobalAPI.isReadyForNext()) {
-                    if (next != null) {
-                        QUEUE.addFirst(next);
-                    }
-
-                    ThreadSupport.sleep(TimeUnit.SECONDS, 10);
+                // all printer queues are waiting on the same queue, the printer which is free first gets the next object
+                PrintableObject next = QUEUE.poll(10, TimeUnit.SECONDS);
+                if (next == null) {
                     continue;
                 }
 
-                if (next == null) {
+                if (!this.printer.isAvailable()) {
+                    QUEUE.putBack(next);
                     continue;
                 }
 
-                System.out.println("Next object polled from queue and ready to print: " + next.getKey());
+                System.out.println("Next object polled from queue and ready to print on " + this.printer.getName() + ": " + next.getKey());
+
+                next.getTrace().mark(JobStage.UPLOAD_STARTED);
+                if (!this.startPrint(next)) {
+                    QUEUE.putBack(next);
+                    this.printer.awaitWakeUp(10, TimeUnit.SECONDS);
+                    continue;
+                }
 
-                OctoPrintHelper.print(next);
-                GlobalAPI.setIsReadyForNext(false);
+                next.getTrace().mark(JobStage.PRINT_STARTED);
+                this.printer.markPrintStarted(next);
 
-                GlobalAPI.getDatabase().deleteFromTable(next.getTable(), next.getKey());
                 ProgressedDatabaseHelper.handlePrintStart(next);
+                JobJournal.printStarted(next);
 
-                UserManagement userManagement = GlobalAPI.getUserManagement(next.getUser().getUserType());
-                if (userManagement == null) {
-                    System.out.println("Started print job successfully, but cannot notify user");
-                    continue;
+                for (PrintableObject object : next.getPlateObjects()) {
+                    UserManagement userManagement = GlobalAPI.getUserManagement(object.getUser().getUserType());
+                    if (userManagement == null) {
+                        System.out.println("Started print job successfully, but cannot notify user of " + object.getRealFileName());
+                        continue;
+                    }
+
+                    userManagement.notify(NotifyType.PRINT_STARTED, object.getRealFileName(), object.getUser().getUniqueID(), next.getAnalysis());
                 }
 
-                userManagement.notify(NotifyType.PRINT_STARTED, next.getRealFileName(), next.getUser().getUniqueID());
                 System.out.println("Started print job successfully");
             } catch (final InterruptedException ex) {
                 ex.printStackTrace();
             }
         }
     }
+
+    private boolean startPrint(@NotNull PrintableObject object) {
+        try {
+            OctoPrintHelper.print(this.printer.getTransport(), object);
+            return true;
+        } catch (final IOException ex) {
+            // the print may be started even if the response of octoprint got lost
+            this.printer.getStateTracker().refresh();
+            PrinterSnapshot snapshot = this.printer.getStateTracker().getSnapshot();
+            if (snapshot.hasActiveJob() && new File(object.getPath()).getName().equals(snapshot.getJobName())) {
+                return true;
+            }
+
+            System.err.println("Unable to print " + object.getKey() + " on " + this.printer.getName() + ", putting it back into the queue: "
+                    + ex.getMessage());
+            return false;
+        }
+    }
+
+    private void handlePrintDone(@NotNull String fileName) {
+        ProgressedDatabaseHelper.getProgressedObjectAndRemove(fileName).ifPresent(object -> {
+            object.getTrace().mark(JobStage.PRINT_DONE);
+            JobTraces.complete(object.getRealFileName(), object.getTrace());
+
+            notifyPrintDone(object);
+            object.getPlateMembers().forEach(PrintQueue::notifyPrintDone);
+        });
+
+        OctoPrintHelper.deleteFile(this.printer.getTransport(), fileName);
+    }
+
+    private static void notifyPrintDone(@NotNull ProgressedObject object) {
+        UserType userType = object.getUserType();
+        if (userType == null) {
+            return;
+        }
+
+        UserManagement target = GlobalAPI.getUserManagement(userType);
+        if (target == null) {
+            return;
+        }
+
+        target.notify(NotifyType.PRINT_DONE, object.getRealFileName(), object.getUserID());
+    }
 }
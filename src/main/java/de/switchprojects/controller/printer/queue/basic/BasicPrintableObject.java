@@ -23,14 +23,19 @@
  */
 package de.switchprojects.controller.printer.queue.basic;
 
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.queue.codec.PrintableObjectCodec;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
 import de.switchprojects.controller.printer.user.object.User;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * Represents a basic implementation of a print job
@@ -58,6 +63,15 @@ public class BasicPrintableObject extends PrintableObject {
         this.realName = realName;
     }
 
+    public BasicPrintableObject(Long requestTime, Long userID, User user, boolean sliced, String path, String realName, JobTrace trace) {
+        super(requestTime, trace);
+        this.userID = userID;
+        this.user = user;
+        this.sliced = sliced;
+        this.path = path;
+        this.realName = realName;
+    }
+
     private final Long userID;
 
     private final User user;
@@ -68,6 +82,12 @@ public class BasicPrintableObject extends PrintableObject {
 
     private final String realName;
 
+    private volatile GCodeAnalysis analysis;
+
+    private volatile List<PrintableObject> plateMembers = Collections.emptyList();
+
+    private volatile String slicerEngine;
+
     @Override
     public @NotNull User getUser() {
         return this.user;
@@ -99,6 +119,37 @@ public class BasicPrintableObject extends PrintableObject {
         this.sliced = sliced;
     }
 
+    @Override
+    public @Nullable GCodeAnalysis getAnalysis() {
+        return this.analysis;
+    }
+
+    @Override
+    public void setAnalysis(@Nullable GCodeAnalysis analysis) {
+        this.analysis = analysis;
+    }
+
+    @Override
+    public @NotNull List<PrintableObject> getPlateMembers() {
+        return this.plateMembers;
+    }
+
+    @Override
+    public void setPlateMembers(@NotNull List<PrintableObject> members) {
+        Validate.assertNotNull(members, "Cannot assign null plate members");
+        this.plateMembers = members.isEmpty() ? Collections.emptyList() : Collections.unmodifiableList(new ArrayList<>(members));
+    }
+
+    @Override
+    public @Nullable String getSlicerEngine() {
+        return this.slicerEngine;
+    }
+
+    @Override
+    public void setSlicerEngine(@Nullable String slicerEngine) {
+        this.slicerEngine = slicerEngine;
+    }
+
     @Override
     public @NotNull String getKey() {
         return Long.toString(super.getRequestTime());
@@ -111,21 +162,6 @@ public class BasicPrintableObject extends PrintableObject {
 
     @Override
     public @NotNull byte[] serialize() {
-        try (ByteArrayOutputStream stream = new ByteArrayOutputStream();
-             ObjectOutputStream objectOutputStream = new ObjectOutputStream(stream)) {
-            objectOutputStream.writeLong(this.userID);
-            objectOutputStream.writeLong(getRequestTime());
-            objectOutputStream.writeUTF(this.path);
-            objectOutputStream.writeBoolean(this.sliced);
-            objectOutputStream.writeUTF(this.realName);
-
-            objectOutputStream.writeObject(this.user);
-
-            return stream.toByteArray();
-        } catch (final IOException ex) {
-            ex.printStackTrace();
-        }
-
-        return new byte[0];
+        return DatabaseCodecs.encode(PrintableObjectCodec.INSTANCE, this);
     }
 }
@@ -0,0 +1,149 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodec;
+import de.switchprojects.controller.printer.gcode.codec.GCodeAnalysisCodec;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.trace.codec.JobTraceCodec;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import de.switchprojects.controller.printer.user.codec.UserCodec;
+import de.switchprojects.controller.printer.user.object.User;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The codec for the {@link PrintableObject}s in the job table.
+ * <p>
+ * Version 1: request time, user id, path, sliced, real file name, user
+ * <br>
+ * Version 2: version 1 followed by the trace of the job
+ * <br>
+ * Version 3: version 2 followed by the optional analysis of the sliced file
+ * <br>
+ * Version 4: version 3 followed by the objects on the same build plate, each encoded as in version 4
+ * <br>
+ * Version 5: version 4 followed by the name of the selected slicer engine or {@code null}, the objects
+ * on the same build plate are encoded as in version 5
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrintableObjectCodec implements DatabaseCodec<PrintableObject> {
+
+    public static final PrintableObjectCodec INSTANCE = new PrintableObjectCodec();
+
+    private PrintableObjectCodec() {
+    }
+
+    @Override
+    public int getVersion() {
+        return 5;
+    }
+
+    @Override
+    public void encode(@NotNull PrintableObject object, @NotNull BinaryWriter writer) {
+        writer.writeVarLong(object.getRequestTime());
+        writer.writeVarLong(object.getUser().getUniqueID());
+        writer.writeString(object.getPath());
+        writer.writeBoolean(object.isSliced());
+        writer.writeString(object.getRealFileName());
+        UserCodec.writeUser(object.getUser(), writer);
+        JobTraceCodec.writeTrace(object.getTrace(), writer);
+        GCodeAnalysisCodec.writeAnalysis(object.getAnalysis(), writer);
+
+        List<PrintableObject> members = object.getPlateMembers();
+        writer.writeVarInt(members.size());
+        for (PrintableObject member : members) {
+            this.encode(member, writer);
+        }
+
+        writer.writeNullableString(object.getSlicerEngine());
+    }
+
+    @Override
+    public @Nullable PrintableObject decode(@NotNull BinaryReader reader, int version) throws IOException {
+        long requestTime = reader.readVarLong();
+        long userID = reader.readVarLong();
+        String path = reader.readString();
+        boolean sliced = reader.readBoolean();
+        String realName = reader.readString();
+
+        User user = UserCodec.readUser(reader);
+        if (version < 2) {
+            return user == null ? null : new BasicPrintableObject(requestTime, userID, user, sliced, path, realName);
+        }
+
+        // the remaining fields are read even if the user is unknown as plate members are decoded from the same reader
+        JobTrace trace = JobTraceCodec.readTrace(reader);
+        GCodeAnalysis analysis = version >= 3 ? GCodeAnalysisCodec.readAnalysis(reader) : null;
+
+        List<PrintableObject> members = new ArrayList<>();
+        if (version >= 4) {
+            int size = reader.readVarInt();
+            for (int i = 0; i < size; i++) {
+                PrintableObject member = this.decode(reader, version);
+                if (member != null) {
+                    members.add(member);
+                }
+            }
+        }
+
+        String slicerEngine = version >= 5 ? reader.readNullableString() : null;
+        if (user == null) {
+            return null;
+        }
+
+        PrintableObject object = new BasicPrintableObject(requestTime, userID, user, sliced, path, realName, trace);
+        object.setAnalysis(analysis);
+        object.setPlateMembers(members);
+        object.setSlicerEngine(slicerEngine);
+        return object;
+    }
+
+    @Override
+    public @Nullable PrintableObject decodeLegacy(@NotNull String key, @NotNull ObjectInputStream stream) throws IOException, ClassNotFoundException {
+        long userID = stream.readLong();
+        long requestTime = stream.readLong();
+        String path = stream.readUTF();
+        boolean sliced = stream.readBoolean();
+        String realName = stream.readUTF();
+
+        User user = (User) stream.readObject();
+        if (user == null) {
+            return null;
+        }
+
+        return new BasicPrintableObject(requestTime, userID, user, sliced, path, realName);
+    }
+}
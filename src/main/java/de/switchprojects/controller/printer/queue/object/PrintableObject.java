@@ -23,14 +23,20 @@
  */
 package de.switchprojects.controller.printer.queue.object;
 
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
 import de.switchprojects.controller.printer.database.object.DatabaseObject;
-import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
+import de.switchprojects.controller.printer.database.schema.object.ColumnType;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.queue.codec.PrintableObjectCodec;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
 import de.switchprojects.controller.printer.user.object.User;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Function;
 
 /**
@@ -41,31 +47,29 @@ import java.util.function.Function;
  */
 public abstract class PrintableObject implements DatabaseObject {
 
-    public static final Function<byte[], PrintableObject> MAPPER = bytes -> {
-        try (ByteArrayInputStream stream = new ByteArrayInputStream(bytes);
-             ObjectInputStream inputStream = new ObjectInputStream(stream)) {
-            Long userID = inputStream.readLong();
-            Long requestTime = inputStream.readLong();
-            String path = inputStream.readUTF();
-            Boolean sliced = inputStream.readBoolean();
-            String realName = inputStream.readUTF();
+    public static final Function<byte[], PrintableObject> MAPPER = bytes -> DatabaseCodecs.decode(PrintableObjectCodec.INSTANCE, bytes);
 
-            User user = (User) inputStream.readObject();
-
-            return new BasicPrintableObject(requestTime, userID, user, sliced, path, realName);
-        } catch (final IOException | ClassNotFoundException ex) {
-            ex.printStackTrace();
-        }
-
-        return null;
-    };
+    public static final TableSchema<PrintableObject> SCHEMA = TableSchema.newSchema("jobs", PrintableObjectCodec.INSTANCE)
+            .indexedColumn("user_id", ColumnType.BIGINT, object -> object.getUser() == null ? null : object.getUser().getUniqueID())
+            .column("user_type", ColumnType.VARCHAR, object -> object.getUser() == null ? null : object.getUser().getUserType().name())
+            .indexedColumn("sliced", ColumnType.BOOLEAN, PrintableObject::isSliced)
+            .indexedColumn("request_time", ColumnType.BIGINT, PrintableObject::getRequestTime);
 
     public PrintableObject(Long requestTime) {
         this.requestTime = requestTime;
+        this.trace = new JobTrace();
+        this.trace.mark(JobStage.RECEIVED, requestTime);
+    }
+
+    public PrintableObject(Long requestTime, @NotNull JobTrace trace) {
+        this.requestTime = requestTime;
+        this.trace = trace;
     }
 
     private final long requestTime;
 
+    private final JobTrace trace;
+
     /**
      * @return The user which has requested the print
      */
@@ -103,10 +107,71 @@ public abstract class PrintableObject implements DatabaseObject {
      */
     public abstract void setSliced(boolean sliced);
 
+    /**
+     * @return The analysis of the sliced file or {@code null} if the object is not sliced or analyzed yet
+     */
+    @Nullable
+    public abstract GCodeAnalysis getAnalysis();
+
+    /**
+     * Sets the analysis of the sliced file
+     *
+     * @param analysis The analysis of the sliced file
+     */
+    public abstract void setAnalysis(@Nullable GCodeAnalysis analysis);
+
+    /**
+     * @return The objects which were packed onto the same build plate as this object and are printed
+     *         together with it. The trace of the plate is kept by this object only.
+     */
+    @NotNull
+    public abstract List<PrintableObject> getPlateMembers();
+
+    /**
+     * Sets the objects which are printed on the same build plate as this object
+     *
+     * @param members The other objects on the plate
+     */
+    public abstract void setPlateMembers(@NotNull List<PrintableObject> members);
+
+    /**
+     * @return The name of the slicer engine selected for this object or {@code null} if the default engine is used
+     */
+    @Nullable
+    public abstract String getSlicerEngine();
+
+    /**
+     * Selects the slicer engine which slices this object
+     *
+     * @param slicerEngine The name of the engine or {@code null} to use the default engine
+     */
+    public abstract void setSlicerEngine(@Nullable String slicerEngine);
+
+    /**
+     * @return This object followed by all other objects on the same build plate
+     */
+    @NotNull
+    public final List<PrintableObject> getPlateObjects() {
+        List<PrintableObject> members = this.getPlateMembers();
+        List<PrintableObject> result = new ArrayList<>(members.size() + 1);
+
+        result.add(this);
+        result.addAll(members);
+        return result;
+    }
+
     /**
      * @return The when the print got requested
      */
     public final long getRequestTime() {
         return requestTime;
     }
+
+    /**
+     * @return The trace of the stages the print job passed
+     */
+    @NotNull
+    public final JobTrace getTrace() {
+        return trace;
+    }
 }
@@ -0,0 +1,185 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.scheduling;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * A blocking queue of which the order is decided by an exchangeable {@link SchedulingPolicy}
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class ScheduledQueue {
+
+    public ScheduledQueue(@NotNull SchedulingPolicy policy) {
+        this.policy = policy;
+    }
+
+    private final Lock lock = new ReentrantLock();
+
+    private final Condition notEmpty = this.lock.newCondition();
+
+    private SchedulingPolicy policy;
+
+    /**
+     * Adds an object to the queue
+     *
+     * @param object The object to add
+     */
+    public void offer(@NotNull PrintableObject object) {
+        Validate.assertNotNull(object, "Cannot queue null object");
+
+        this.lock.lock();
+        try {
+            this.policy.add(object);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gives back an object which was polled but could not get printed, it is the next object which
+     * gets polled
+     *
+     * @param object The object which was polled last
+     */
+    public void putBack(@NotNull PrintableObject object) {
+        Validate.assertNotNull(object, "Cannot put back null object");
+
+        this.lock.lock();
+        try {
+            this.policy.putBack(object);
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next object out of the queue, waiting up to the given time for an object
+     *
+     * @param timeout  The maximum time to wait
+     * @param timeUnit The unit of the time
+     * @return The next object or {@code null} if no object was queued in time
+     * @throws InterruptedException If the thread gets interrupted while waiting
+     */
+    @Nullable
+    public PrintableObject poll(long timeout, @NotNull TimeUnit timeUnit) throws InterruptedException {
+        long nanos = timeUnit.toNanos(timeout);
+
+        this.lock.lockInterruptibly();
+        try {
+            while (this.policy.size() == 0) {
+                if (nanos <= 0) {
+                    return null;
+                }
+
+                nanos = this.notEmpty.awaitNanos(nanos);
+            }
+
+            return this.policy.poll();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return The amount of waiting objects
+     */
+    public int size() {
+        this.lock.lock();
+        try {
+            return this.policy.size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return A copy of all waiting objects in the order of the current policy
+     */
+    @NotNull
+    public List<PrintableObject> toList() {
+        this.lock.lock();
+        try {
+            return this.policy.toList();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * @return A stream of a copy of all waiting objects in the order of the current policy
+     */
+    @NotNull
+    public Stream<PrintableObject> stream() {
+        return this.toList().stream();
+    }
+
+    /**
+     * @return The current policy of the queue
+     */
+    @NotNull
+    public SchedulingPolicy getPolicy() {
+        this.lock.lock();
+        try {
+            return this.policy;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Changes the policy of the queue, all waiting objects are moved to the new policy
+     *
+     * @param policy The new policy
+     */
+    public void setPolicy(@NotNull SchedulingPolicy policy) {
+        Validate.assertNotNull(policy, "Cannot use null policy");
+
+        this.lock.lock();
+        try {
+            PrintableObject next;
+            while ((next = this.policy.poll()) != null) {
+                policy.add(next);
+            }
+
+            this.policy = policy;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.scheduling;
+
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.queue.scheduling.basic.FairShareSchedulingPolicy;
+import de.switchprojects.controller.printer.queue.scheduling.basic.FifoSchedulingPolicy;
+import de.switchprojects.controller.printer.queue.scheduling.basic.ShortestJobFirstSchedulingPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates the available {@link SchedulingPolicy}s by their name
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SchedulingPolicies {
+
+    private SchedulingPolicies() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * The estimate in millis used for objects which were not analyzed
+     */
+    public static final long DEFAULT_ESTIMATE = TimeUnit.MINUTES.toMillis(Long.getLong("print.queue.default.estimate", 60));
+
+    private static final Collection<String> NAMES = Collections.unmodifiableList(Arrays.asList(
+            FifoSchedulingPolicy.NAME,
+            ShortestJobFirstSchedulingPolicy.NAME,
+            FairShareSchedulingPolicy.NAME
+    ));
+
+    /**
+     * Creates a new policy
+     *
+     * @param name The name of the policy
+     * @return The created policy or {@code null} if there is no policy with the given name
+     */
+    @Nullable
+    public static SchedulingPolicy create(@NotNull String name) {
+        switch (name.toLowerCase()) {
+            case FifoSchedulingPolicy.NAME:
+                return new FifoSchedulingPolicy();
+            case ShortestJobFirstSchedulingPolicy.NAME:
+                return new ShortestJobFirstSchedulingPolicy();
+            case FairShareSchedulingPolicy.NAME:
+                return new FairShareSchedulingPolicy();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Creates the policy which is configured using the {@code print.queue.policy} property
+     *
+     * @return The configured policy, {@code fifo} if no or an unknown policy is configured
+     */
+    @NotNull
+    public static SchedulingPolicy createConfigured() {
+        String name = System.getProperty("print.queue.policy", FifoSchedulingPolicy.NAME);
+        SchedulingPolicy policy = create(name);
+        if (policy == null) {
+            System.err.println("Unknown print queue policy " + name + ", using " + FifoSchedulingPolicy.NAME);
+            return new FifoSchedulingPolicy();
+        }
+
+        return policy;
+    }
+
+    /**
+     * @return The names of all available policies
+     */
+    @NotNull
+    public static Collection<String> getNames() {
+        return NAMES;
+    }
+
+    /**
+     * Gets the estimated print time of an object
+     *
+     * @param object The object to get the estimate of
+     * @return The estimated print time in millis or {@link #DEFAULT_ESTIMATE} if the object is not analyzed
+     */
+    public static long estimate(@NotNull PrintableObject object) {
+        GCodeAnalysis analysis = object.getAnalysis();
+        return analysis == null ? DEFAULT_ESTIMATE : analysis.getEstimatedPrintTime();
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.scheduling;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+
+/**
+ * Decides in which order the sliced objects are handed to the printers. A policy is only accessed
+ * while holding the lock of the {@link ScheduledQueue} it belongs to, so implementations do not have
+ * to be thread safe.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public interface SchedulingPolicy {
+
+    /**
+     * @return The name of the policy which is used to select it
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * Adds an object which is now waiting for a printer
+     *
+     * @param object The object to add
+     */
+    void add(@NotNull PrintableObject object);
+
+    /**
+     * Gives back an object which was polled but could not get printed. The object has to be the next
+     * object which gets polled, as if it was never taken out of the policy.
+     *
+     * @param object The object which was polled last
+     */
+    void putBack(@NotNull PrintableObject object);
+
+    /**
+     * Takes the next object which should get printed out of the policy
+     *
+     * @return The next object or {@code null} if there is no object waiting
+     */
+    @Nullable
+    PrintableObject poll();
+
+    /**
+     * @return The amount of waiting objects
+     */
+    int size();
+
+    /**
+     * @return All waiting objects, in the order in which they would be polled if no object is added
+     */
+    @NotNull
+    List<PrintableObject> toList();
+}
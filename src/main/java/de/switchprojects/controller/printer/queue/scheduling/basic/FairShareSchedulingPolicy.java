@@ -0,0 +1,167 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.scheduling.basic;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicies;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicy;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Shares the printers fairly between the users using deficit round robin. Every user has an own queue
+ * and the users take turns. At the start of the turn of a user the deficit of the user is increased by
+ * {@code print.queue.quantum} minutes of print time, the user can print as long as the estimated time
+ * of the next object fits into the deficit. A user with one long print therefore waits a few rounds
+ * while users with short prints are served, but every user gets the same share of printer time.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class FairShareSchedulingPolicy implements SchedulingPolicy {
+
+    public static final String NAME = "fair";
+
+    private static final long QUANTUM = Math.max(1, TimeUnit.MINUTES.toMillis(Long.getLong("print.queue.quantum", 60)));
+
+    private final Map<Long, Deque<PrintableObject>> queues = new HashMap<>();
+
+    private final Map<Long, Long> deficits = new HashMap<>();
+
+    private final Deque<Long> active = new ArrayDeque<>();
+
+    private boolean turnStarted;
+
+    private int size;
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void add(@NotNull PrintableObject object) {
+        long user = object.getUser().getUniqueID();
+        Deque<PrintableObject> queue = this.queues.get(user);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            this.queues.put(user, queue);
+            this.deficits.put(user, 0L);
+            this.active.addLast(user);
+        }
+
+        queue.addLast(object);
+        this.size++;
+    }
+
+    @Override
+    public void putBack(@NotNull PrintableObject object) {
+        long user = object.getUser().getUniqueID();
+        Deque<PrintableObject> queue = this.queues.get(user);
+        if (queue == null) {
+            queue = new ArrayDeque<>();
+            this.queues.put(user, queue);
+            this.deficits.put(user, 0L);
+        }
+
+        if (!Objects.equals(this.active.peekFirst(), user)) {
+            this.active.remove(user);
+            this.active.addFirst(user);
+        }
+
+        // refund the deficit, the turn of the user continues
+        this.deficits.merge(user, SchedulingPolicies.estimate(object), Long::sum);
+        this.turnStarted = true;
+
+        queue.addFirst(object);
+        this.size++;
+    }
+
+    @Override
+    public @Nullable PrintableObject poll() {
+        while (!this.active.isEmpty()) {
+            Long user = this.active.peekFirst();
+            if (!this.turnStarted) {
+                this.deficits.merge(user, QUANTUM, Long::sum);
+                this.turnStarted = true;
+            }
+
+            Deque<PrintableObject> queue = this.queues.get(user);
+            PrintableObject head = queue.peekFirst();
+            long cost = SchedulingPolicies.estimate(head);
+            long deficit = this.deficits.get(user);
+
+            if (cost > deficit) {
+                // the next object of the user does not fit into this turn, the next user is served
+                this.active.addLast(this.active.pollFirst());
+                this.turnStarted = false;
+                continue;
+            }
+
+            queue.pollFirst();
+            this.size--;
+
+            if (queue.isEmpty()) {
+                this.queues.remove(user);
+                this.deficits.remove(user);
+                this.active.pollFirst();
+                this.turnStarted = false;
+            } else {
+                this.deficits.put(user, deficit - cost);
+            }
+
+            return head;
+        }
+
+        return null;
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public @NotNull List<PrintableObject> toList() {
+        // approximates the order by serving the users one object at a time
+        List<PrintableObject> result = new ArrayList<>(this.size);
+        List<Iterator<PrintableObject>> iterators = new ArrayList<>();
+        for (Long user : this.active) {
+            iterators.add(this.queues.get(user).iterator());
+        }
+
+        while (result.size() < this.size) {
+            for (Iterator<PrintableObject> iterator : iterators) {
+                if (iterator.hasNext()) {
+                    result.add(iterator.next());
+                }
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.queue.scheduling.basic;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicies;
+import de.switchprojects.controller.printer.queue.scheduling.SchedulingPolicy;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.stream.Collectors;
+
+/**
+ * Prints the object with the shortest estimated print time first. To prevent long prints from waiting
+ * forever every object gains {@code print.queue.aging} millis of priority per milli it is waiting:
+ * <pre>{@code
+ * rank = estimate - aging * (now - queuedAt)
+ * }</pre>
+ * Because all objects age with the same speed the order of two objects never changes while they are
+ * waiting, so the rank can be stored as {@code estimate + aging * queuedAt} in a priority queue.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class ShortestJobFirstSchedulingPolicy implements SchedulingPolicy {
+
+    public static final String NAME = "sjf";
+
+    private static final double AGING = Double.parseDouble(System.getProperty("print.queue.aging", "1"));
+
+    private static final Comparator<Entry> ORDER = Comparator.comparingDouble((Entry entry) -> entry.rank).thenComparingLong(entry -> entry.sequence);
+
+    private final PriorityQueue<Entry> queue = new PriorityQueue<>(ORDER);
+
+    private Entry last;
+
+    private long sequence;
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    public void add(@NotNull PrintableObject object) {
+        long queuedAt = object.getTrace().getTimestamp(JobStage.PRINT_QUEUED);
+        if (queuedAt == 0) {
+            queuedAt = System.currentTimeMillis();
+        }
+
+        this.queue.add(new Entry(object, SchedulingPolicies.estimate(object) + AGING * queuedAt, this.sequence++));
+    }
+
+    @Override
+    public void putBack(@NotNull PrintableObject object) {
+        if (this.last != null && this.last.object == object) {
+            // the entry keeps its rank and sequence, so it is the first one again
+            this.queue.add(this.last);
+            this.last = null;
+            return;
+        }
+
+        this.queue.add(new Entry(object, Double.NEGATIVE_INFINITY, this.sequence++));
+    }
+
+    @Override
+    public @Nullable PrintableObject poll() {
+        this.last = this.queue.poll();
+        return this.last == null ? null : this.last.object;
+    }
+
+    @Override
+    public int size() {
+        return this.queue.size();
+    }
+
+    @Override
+    public @NotNull List<PrintableObject> toList() {
+        List<Entry> entries = new ArrayList<>(this.queue);
+        entries.sort(ORDER);
+        return entries.stream().map(entry -> entry.object).collect(Collectors.toList());
+    }
+
+    private static final class Entry {
+
+        private Entry(PrintableObject object, double rank, long sequence) {
+            this.object = object;
+            this.rank = rank;
+            this.sequence = sequence;
+        }
+
+        private final PrintableObject object;
+
+        private final double rank;
+
+        private final long sequence;
+    }
+}
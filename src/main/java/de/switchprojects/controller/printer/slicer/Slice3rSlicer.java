@@ -24,19 +24,34 @@
 package de.switchprojects.controller.printer.slicer;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
-import de.switchprojects.controller.printer.queue.PrintQueue;
+import de.switchprojects.controller.printer.gcode.GCodeAnalyzer;
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.object.Counter;
+import de.switchprojects.controller.printer.metrics.object.Summary;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.cache.SliceCache;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngine;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngines;
+import de.switchprojects.controller.printer.slicer.engine.SlicerProcess;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceContext;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceRequest;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceResult;
+import de.switchprojects.controller.printer.slicer.event.SliceProgressEvent;
+import de.switchprojects.controller.printer.trace.object.JobStage;
 import de.switchprojects.controller.printer.util.FileUtils;
 import de.switchprojects.controller.printer.util.Validate;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
-import java.io.File;
 import java.io.IOException;
 import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents the slicer which slices the {@code stl} or {@code obj} files into the {@code gcode} format
- * using Slice3r
+ * using the {@link SlicerEngine} selected for the object
  *
  * @author Pasqual Koschmieder
  * @since 1.0
@@ -47,46 +62,183 @@ public final class Slice3rSlicer {
         throw new UnsupportedOperationException();
     }
 
-    public static void slice(@NotNull PrintableObject object) {
+    private static final long TIMEOUT = TimeUnit.MINUTES.toMillis(Long.getLong("slicer.timeout", 30));
+
+    private static final long TIMEOUT_PER_OBJECT = TimeUnit.MINUTES.toMillis(Long.getLong("slicer.timeout.per.object", 5));
+
+    private static final long MEMORY_LIMIT = Long.getLong("slicer.memory.limit", 0) * 1024 * 1024;
+
+    private static final Summary DURATION = MetricRegistry.timer("slicer_duration_seconds", "The runtime of the slicer process");
+
+    private static final Counter SLICED = MetricRegistry.counter("slicer_slices_total", "The slice attempts by result", "result", "sliced");
+
+    private static final Counter CACHED = MetricRegistry.counter("slicer_slices_total", "The slice attempts by result", "result", "cached");
+
+    private static final Counter FAILED = MetricRegistry.counter("slicer_slices_total", "The slice attempts by result", "result", "failed");
+
+    private static final Counter TIMED_OUT = MetricRegistry.counter("slicer_slices_total", "The slice attempts by result", "result", "timeout");
+
+    private static final Counter CANCELLED = MetricRegistry.counter("slicer_slices_total", "The slice attempts by result", "result", "cancelled");
+
+    /**
+     * Slices the given object and marks it as sliced. If the same object was already sliced with the
+     * same profile before, the sliced file is taken from the {@link SliceCache}. The object is not
+     * handed over to the print queue. The slicer process is killed if it exceeds the time limit of
+     * the object or if the job gets cancelled using the context.
+     *
+     * @param object  The object which should get sliced
+     * @param context The context of the job the object belongs to
+     * @return If the object was sliced successfully
+     */
+    public static boolean slice(@NotNull PrintableObject object, @NotNull SliceContext context) {
         Validate.assertNotNull(object, "Cannot slice null object");
+        Validate.assertNotNull(context, "Cannot slice without context");
         Validate.assertEquals(object.isSliced(), false);
+        Validate.assertBigger(context.getThreads(), 1);
+
+        if (context.isCancelled()) {
+            CANCELLED.increment();
+            return false;
+        }
 
+        SlicerEngine engine = SlicerEngines.select(object);
         String objectPath = Paths.get(object.getPath()).toFile().getAbsolutePath();
-        File file = new File("slicer/prusa-slicer-console.exe").getAbsoluteFile();
+        String outFile = toOutFile(objectPath);
 
-        String outFile = objectPath;
-        int last = objectPath.lastIndexOf('.');
-        if (last != -1) {
-            outFile = objectPath.substring(0, last) + ".gcode";
+        String cacheKey = computeCacheKey(engine, objectPath);
+        if (cacheKey != null && restore(object, cacheKey, outFile)) {
+            return true;
         }
 
-        String[] command = new String[]{
-                file.getAbsolutePath(),
-                "-g",
-                "--load",
-                "switch.ini",
-                "-o",
-                outFile,
-                objectPath
-        };
+        // the objects on a packed build plate are already arranged
+        SliceRequest request = new SliceRequest(Paths.get(objectPath), Paths.get(outFile), context.getThreads(), !object.getPlateMembers().isEmpty());
+        long timeout = TIMEOUT + TIMEOUT_PER_OBJECT * object.getPlateMembers().size();
 
+        long start = System.nanoTime();
         try {
-            Process process = new ProcessBuilder()
-                    .inheritIO()
-                    .directory(new File("slicer").getAbsoluteFile())
-                    .command(command)
-                    .start();
-            process.waitFor();
+            SlicerProcess process = SlicerProcess.start(engine.createCommand(request), engine.getWorkingDirectory(), MEMORY_LIMIT, line -> {
+                SliceProgress progress = engine.parseProgress(line);
+                if (progress != null) {
+                    progress(object, context, progress);
+                }
+            });
+
+            SliceResult result;
+            context.setProcess(process);
+            try {
+                result = process.await(timeout);
+            } finally {
+                context.setProcess(null);
+            }
+
+            DURATION.recordSince(start);
+            switch (result) {
+                case SUCCESS:
+                    break;
+                case TIMED_OUT:
+                    TIMED_OUT.increment();
+                    System.err.println("Slicer did not finish " + object.getRealFileName() + " within " + TimeUnit.MILLISECONDS.toSeconds(timeout) + "s and was killed");
+                    printOutput(process);
+                    return false;
+                case CANCELLED:
+                    CANCELLED.increment();
+                    System.out.println("Cancelled slicing " + object.getRealFileName());
+                    return false;
+                default:
+                    FAILED.increment();
+                    System.err.println("Slicer exited with code " + process.getExitCode() + " while slicing " + object.getRealFileName());
+                    printOutput(process);
+                    return false;
+            }
+
+            if (cacheKey != null) {
+                SliceCache.store(cacheKey, Paths.get(outFile));
+            }
+
+            markSliced(object, outFile);
+            SLICED.increment();
+            return true;
+        } catch (final IOException ex) {
+            FAILED.increment();
+            ex.printStackTrace();
+        } catch (final InterruptedException ex) {
+            FAILED.increment();
+            Thread.currentThread().interrupt();
+        }
+
+        return false;
+    }
+
+    /**
+     * Takes the sliced file of the object from the {@link SliceCache} if the same object was already
+     * sliced with the same profile and engine version before, without waiting for a slice worker.
+     * The object is marked as sliced but not handed over to the print queue.
+     *
+     * @param object The object which should get taken from the cache
+     * @return If the object was found in the cache and is sliced now
+     */
+    public static boolean sliceFromCache(@NotNull PrintableObject object) {
+        Validate.assertNotNull(object, "Cannot slice null object");
+        Validate.assertEquals(object.isSliced(), false);
+
+        String objectPath = Paths.get(object.getPath()).toFile().getAbsolutePath();
+        String cacheKey = computeCacheKey(SlicerEngines.select(object), objectPath);
+        return cacheKey != null && restore(object, cacheKey, toOutFile(objectPath));
+    }
+
+    private static boolean restore(PrintableObject object, String cacheKey, String outFile) {
+        if (!SliceCache.restore(cacheKey, Paths.get(outFile))) {
+            return false;
+        }
+
+        System.out.println("Using cached slice result for " + object.getRealFileName());
+        CACHED.increment();
+        markSliced(object, outFile);
+        return true;
+    }
+
+    @Nullable
+    private static String computeCacheKey(SlicerEngine engine, String objectPath) {
+        return SliceCache.computeKey(Paths.get(objectPath), engine.getProfile(), engine.getName() + "-" + engine.getVersion());
+    }
+
+    private static String toOutFile(String objectPath) {
+        int last = objectPath.lastIndexOf('.');
+        return last == -1 ? objectPath : objectPath.substring(0, last) + ".gcode";
+    }
 
-            FileUtils.deleteIfExists(object.getPath());
+    private static void progress(PrintableObject object, SliceContext context, SliceProgress progress) {
+        SliceProgress previous = context.getProgress();
+        context.setProgress(progress);
 
-            object.setPath(outFile);
-            object.setSliced(true);
-            GlobalAPI.getDatabase().update(object);
+        if (previous == null || previous.getPercent() != progress.getPercent()) {
+            GlobalAPI.getEventManager().callEvent(new SliceProgressEvent(object, progress));
+        }
+    }
 
-            PrintQueue.queue(object);
-        } catch (final IOException | InterruptedException ex) {
+    private static void printOutput(SlicerProcess process) {
+        for (String line : process.getOutputTail()) {
+            System.err.println("  " + line);
+        }
+    }
+
+    private static void markSliced(PrintableObject object, String outFile) {
+        FileUtils.deleteIfExists(object.getPath());
+
+        object.setPath(outFile);
+        object.setSliced(true);
+        object.setAnalysis(analyze(outFile));
+        object.getTrace().mark(JobStage.SLICE_DONE);
+        GlobalAPI.getDatabase().update(object);
+    }
+
+    @Nullable
+    private static GCodeAnalysis analyze(String file) {
+        try {
+            return GCodeAnalyzer.analyze(Paths.get(file));
+        } catch (final IOException ex) {
             ex.printStackTrace();
+            return null;
         }
     }
 }
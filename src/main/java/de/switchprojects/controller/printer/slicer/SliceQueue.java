@@ -24,7 +24,14 @@
 package de.switchprojects.controller.printer.slicer;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.journal.JobJournal;
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.queue.PrintQueue;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngines;
+import de.switchprojects.controller.printer.slicer.worker.SliceHandOff;
+import de.switchprojects.controller.printer.slicer.worker.SliceWorker;
+import de.switchprojects.controller.printer.trace.object.JobStage;
 import de.switchprojects.controller.printer.user.UserManagement;
 import de.switchprojects.controller.printer.user.util.NotifyType;
 import de.switchprojects.controller.printer.util.FileUtils;
@@ -34,24 +41,68 @@ import org.jetbrains.annotations.NotNull;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
- * The queue for objects which are not sliced yet
+ * The queue for objects which are not sliced yet. The queue is drained by a configurable amount of
+ * {@link SliceWorker}s which are slicing the objects concurrently.
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
-public final class SliceQueue extends Thread {
+public final class SliceQueue {
+
+    private SliceQueue() {
+        throw new UnsupportedOperationException();
+    }
 
     public static final BlockingDeque<PrintableObject> QUEUE = new LinkedBlockingDeque<>();
 
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+
+    private static final int WORKERS = Math.max(1, Integer.getInteger("slicer.workers", Math.max(1, CORES / 4)));
+
+    private static final int THREADS_PER_WORKER = Math.max(1, Integer.getInteger("slicer.worker.threads", Math.max(1, CORES / WORKERS)));
+
+    private static final Collection<SliceWorker> WORKER_THREADS = new CopyOnWriteArrayList<>();
+
+    private static final SliceHandOff HAND_OFF = new SliceHandOff();
+
+    private static final Lock TAKE_LOCK = new ReentrantLock();
+
+    private static long sequence;
+
+    static {
+        MetricRegistry.gauge("slice_queue_depth", "The objects waiting to get sliced", QUEUE::size);
+        MetricRegistry.gauge("slice_hand_off_waiting", "The sliced objects waiting for an earlier object to get sliced", HAND_OFF::getWaiting);
+        MetricRegistry.gauge("slice_workers_busy", "The slice workers which are currently slicing", () -> WORKER_THREADS
+                .stream()
+                .filter(worker -> worker.getWorkerState() == SliceWorker.State.SLICING)
+                .count());
+    }
+
     public static void queue(@NotNull PrintableObject object) {
         Validate.assertNotNull(object, "Cannot slice null object");
         Validate.assertEquals(object.isSliced(), false);
 
+        object.getTrace().mark(JobStage.SLICE_QUEUED);
         GlobalAPI.getDatabase().insert(object);
+        JobJournal.queued(object);
+
+        // a re-uploaded object does not have to wait for a slice worker and the objects sliced before it
+        if (Slice3rSlicer.sliceFromCache(object)) {
+            JobJournal.sliced(object);
+            notifySliceDone(object);
+            PrintQueue.queue(object);
+            return;
+        }
+
         QUEUE.offerLast(object);
     }
 
@@ -59,29 +110,80 @@ public final class SliceQueue extends Thread {
         Validate.assertNotNull(object, "Cannot slice null object");
         Validate.assertEquals(object.isSliced(), false);
 
+        object.getTrace().mark(JobStage.SLICE_QUEUED);
         QUEUE.offerLast(object);
     }
 
-    @Override
-    public void run() {
-        while (!Thread.interrupted()) {
-            try {
-                PrintableObject next = QUEUE.takeFirst();
-
-                UserManagement userManagement = GlobalAPI.getUserManagement(next.getUser().getUserType());
-                if (userManagement != null) {
-                    userManagement.notify(NotifyType.SLICE_STARTED, next.getRealFileName(), next.getUser().getUniqueID());
-                }
-
-                ensureSlicerExists();
-                Slice3rSlicer.slice(next);
-
-                if (userManagement != null) {
-                    userManagement.notify(NotifyType.SLICE_DONE, next.getRealFileName(), next.getUser().getUniqueID());
-                }
-            } catch (final InterruptedException ex) {
-                ex.printStackTrace();
-            }
+    /**
+     * Puts an object which was taken out of the queue back to the head of the queue
+     *
+     * @param object The object to put back
+     */
+    public static void putBack(@NotNull PrintableObject object) {
+        Validate.assertNotNull(object, "Cannot slice null object");
+        Validate.assertEquals(object.isSliced(), false);
+
+        object.getTrace().mark(JobStage.SLICE_QUEUED);
+        JobJournal.putBack(object);
+        QUEUE.offerFirst(object);
+    }
+
+    /**
+     * Starts all slice workers of the queue
+     */
+    public static synchronized void start() {
+        Validate.assertEquals(WORKER_THREADS.isEmpty(), true);
+
+        ensureSlicerExists();
+        SlicerEngines.warmUp();
+        for (int i = 0; i < WORKERS; i++) {
+            SliceWorker worker = new SliceWorker(i, THREADS_PER_WORKER, HAND_OFF);
+            WORKER_THREADS.add(worker);
+            worker.start();
+        }
+
+        System.out.println("Started " + WORKERS + " slice workers using " + THREADS_PER_WORKER + " threads each");
+    }
+
+    /**
+     * Takes the next object out of the queue and assigns the sequence number to it which is used to
+     * keep the order of the objects when handing them over to the print queue
+     *
+     * @return The next object in the queue
+     * @throws InterruptedException If the thread got interrupted while waiting for the next object
+     */
+    @NotNull
+    public static Ticket take() throws InterruptedException {
+        // an idle worker waiting for the lock has to stay interruptible, the owner may wait for the next object for a long time
+        TAKE_LOCK.lockInterruptibly();
+        try {
+            PrintableObject next = QUEUE.takeFirst();
+            return new Ticket(sequence++, next);
+        } finally {
+            TAKE_LOCK.unlock();
+        }
+    }
+
+    /**
+     * @return All workers which are currently running
+     */
+    @NotNull
+    public static Collection<SliceWorker> getWorkers() {
+        return Collections.unmodifiableCollection(WORKER_THREADS);
+    }
+
+    /**
+     * @return The hand off used to keep the order of the sliced objects
+     */
+    @NotNull
+    public static SliceHandOff getHandOff() {
+        return HAND_OFF;
+    }
+
+    private static void notifySliceDone(PrintableObject object) {
+        UserManagement userManagement = GlobalAPI.getUserManagement(object.getUser().getUserType());
+        if (userManagement != null) {
+            userManagement.notify(NotifyType.SLICE_DONE, object.getRealFileName(), object.getUser().getUniqueID(), object.getAnalysis());
         }
     }
 
@@ -103,4 +205,28 @@ public final class SliceQueue extends Thread {
 
         System.out.println("Unzipped slicer completely");
     }
+
+    /**
+     * Represents an object which was taken out of the queue together with its position in the queue
+     */
+    public static final class Ticket {
+
+        private Ticket(long sequence, PrintableObject object) {
+            this.sequence = sequence;
+            this.object = object;
+        }
+
+        private final long sequence;
+
+        private final PrintableObject object;
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        @NotNull
+        public PrintableObject getObject() {
+            return object;
+        }
+    }
 }
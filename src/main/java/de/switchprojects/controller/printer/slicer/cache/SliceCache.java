@@ -0,0 +1,276 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.cache;
+
+import de.switchprojects.controller.printer.util.FileUtils;
+import de.switchprojects.controller.printer.util.HashUtils;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * A content addressed cache for sliced files. The key of a cache entry is the hash of the mesh, the
+ * slicer profile and the slicer version, so re-uploads of the same object do not need to get sliced
+ * again. The cache is stored on the disk and the least recently used entries get evicted when the
+ * configured maximum size is exceeded.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceCache {
+
+    private SliceCache() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final Path DIRECTORY = Paths.get(System.getProperty("slicer.cache.directory", "files/slice-cache"));
+
+    private static final long MAX_SIZE = Long.getLong("slicer.cache.max.size", 2L * 1024 * 1024 * 1024);
+
+    private static final String EXTENSION = ".gcode";
+
+    private static final Map<String, Long> ENTRIES = new LinkedHashMap<>(16, 0.75F, true);
+
+    private static long size;
+
+    private static boolean loaded;
+
+    private static long hits;
+
+    private static long misses;
+
+    /**
+     * Computes the key of a cache entry
+     *
+     * @param mesh          The path to the unsliced mesh
+     * @param profile       The path to the slicer profile which is used to slice the mesh
+     * @param slicerVersion The version of the slicer
+     * @return The key for the cache entry or {@code null} if the key cannot get computed
+     */
+    @Nullable
+    public static String computeKey(@NotNull Path mesh, @NotNull Path profile, @NotNull String slicerVersion) {
+        Validate.assertNotNull(mesh, "Cannot compute key of null mesh");
+        Validate.assertNotNull(profile, "Cannot compute key with null profile");
+        Validate.assertNotNull(slicerVersion, "Cannot compute key with null slicer version");
+
+        try {
+            MessageDigest digest = HashUtils.newSha256();
+            byte[] buffer = new byte[0x10000];
+
+            // every part is prefixed with its length, so different parts can never result in the same input
+            update(digest, buffer, mesh);
+            update(digest, buffer, profile);
+            update(digest, getExtension(mesh).getBytes(StandardCharsets.UTF_8));
+            update(digest, slicerVersion.getBytes(StandardCharsets.UTF_8));
+
+            return HashUtils.toHex(digest.digest());
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+
+        return null;
+    }
+
+    /**
+     * Copies the cached file of the given key to the target path
+     *
+     * @param key    The key of the cache entry
+     * @param target The path to which the cached file should get copied
+     * @return If the cache contained the key and the file was copied successfully
+     */
+    public static boolean restore(@NotNull String key, @NotNull Path target) {
+        Validate.assertNotNull(key, "Cannot restore null key");
+        Validate.assertNotNull(target, "Cannot restore to null target");
+
+        Path cached = DIRECTORY.resolve(key + EXTENSION);
+        synchronized (SliceCache.class) {
+            ensureLoaded();
+            if (ENTRIES.get(key) == null) {
+                misses++;
+                return false;
+            }
+
+            hits++;
+            cached.toFile().setLastModified(System.currentTimeMillis());
+        }
+
+        try {
+            Files.copy(cached, target, StandardCopyOption.REPLACE_EXISTING);
+            return true;
+        } catch (final IOException ex) {
+            // The entry may got evicted while we were copying it
+            synchronized (SliceCache.class) {
+                remove(key);
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Stores a sliced file in the cache
+     *
+     * @param key    The key of the cache entry
+     * @param source The sliced file which should get stored
+     */
+    public static void store(@NotNull String key, @NotNull Path source) {
+        Validate.assertNotNull(key, "Cannot store null key");
+        Validate.assertNotNull(source, "Cannot store null source");
+
+        FileUtils.createDirectories(DIRECTORY);
+
+        Path temp = DIRECTORY.resolve(key + "." + Thread.currentThread().getId() + ".tmp");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            long length = Files.size(temp);
+            if (length > MAX_SIZE) {
+                Files.deleteIfExists(temp);
+                return;
+            }
+
+            synchronized (SliceCache.class) {
+                ensureLoaded();
+                Files.move(temp, DIRECTORY.resolve(key + EXTENSION), StandardCopyOption.REPLACE_EXISTING);
+
+                Long old = ENTRIES.put(key, length);
+                size += length - (old == null ? 0 : old);
+                evict();
+            }
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            FileUtils.deleteIfExists(temp.toString());
+        }
+    }
+
+    /**
+     * @return The current size of all entries in the cache in bytes
+     */
+    public static synchronized long getSize() {
+        ensureLoaded();
+        return size;
+    }
+
+    /**
+     * @return The amount of entries in the cache
+     */
+    public static synchronized int getEntries() {
+        ensureLoaded();
+        return ENTRIES.size();
+    }
+
+    /**
+     * @return The amount of lookups which were served from the cache
+     */
+    public static synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * @return The amount of lookups which were not served from the cache
+     */
+    public static synchronized long getMisses() {
+        return misses;
+    }
+
+    private static void ensureLoaded() {
+        if (loaded) {
+            return;
+        }
+
+        loaded = true;
+        if (!Files.isDirectory(DIRECTORY)) {
+            return;
+        }
+
+        try (Stream<Path> stream = Files.list(DIRECTORY)) {
+            stream.map(Path::toFile)
+                    .filter(File::isFile)
+                    .filter(file -> file.getName().endsWith(EXTENSION))
+                    .sorted(Comparator.comparingLong(File::lastModified))
+                    .forEach(file -> {
+                        String name = file.getName();
+                        ENTRIES.put(name.substring(0, name.length() - EXTENSION.length()), file.length());
+                        size += file.length();
+                    });
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+
+        evict();
+    }
+
+    private static void evict() {
+        Iterator<Map.Entry<String, Long>> iterator = ENTRIES.entrySet().iterator();
+        while (size > MAX_SIZE && iterator.hasNext()) {
+            Map.Entry<String, Long> eldest = iterator.next();
+            iterator.remove();
+
+            size -= eldest.getValue();
+            FileUtils.deleteIfExists(DIRECTORY.resolve(eldest.getKey() + EXTENSION).toString());
+        }
+    }
+
+    private static void remove(String key) {
+        Long length = ENTRIES.remove(key);
+        if (length != null) {
+            size -= length;
+        }
+    }
+
+    private static void update(MessageDigest digest, byte[] bytes) {
+        updateLength(digest, bytes.length);
+        digest.update(bytes);
+    }
+
+    private static void update(MessageDigest digest, byte[] buffer, Path path) throws IOException {
+        updateLength(digest, Files.size(path));
+        try (InputStream stream = Files.newInputStream(path)) {
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static void updateLength(MessageDigest digest, long length) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            digest.update((byte) (length >>> shift));
+        }
+    }
+
+    private static String getExtension(Path path) {
+        String name = path.getFileName().toString();
+        int last = name.lastIndexOf('.');
+        return last == -1 ? "" : name.substring(last + 1).toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine;
+
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceRequest;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * A slicer which converts the {@code stl} or {@code obj} files into the {@code gcode} format. The
+ * engine only describes how the slicer process is started and how its output is read, the process
+ * itself is run by the {@link SlicerProcess} which enforces the limits of the job.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public interface SlicerEngine {
+
+    /**
+     * @return The name of the engine which is used to select it for a job
+     */
+    @NotNull
+    String getName();
+
+    /**
+     * @return The version of the engine which is part of the slice cache key
+     */
+    @NotNull
+    String getVersion();
+
+    /**
+     * @return The path to the profile the engine slices the objects with
+     */
+    @NotNull
+    Path getProfile();
+
+    /**
+     * @return The directory in which the slicer process is started
+     */
+    @NotNull
+    File getWorkingDirectory();
+
+    /**
+     * Starts the slicer once before the first object is sliced, so a missing or broken executable is
+     * noticed on startup and the executable is already loaded when the first job arrives.
+     *
+     * @throws IOException If the slicer cannot get started
+     */
+    void warmUp() throws IOException;
+
+    /**
+     * Creates the command which slices the given request
+     *
+     * @param request The request to slice
+     * @return The command including the executable
+     */
+    @NotNull
+    List<String> createCommand(@NotNull SliceRequest request);
+
+    /**
+     * Parses one line of the output of the slicer process
+     *
+     * @param line The line which was printed by the slicer
+     * @return The progress reported by the line or {@code null} if the line does not report a progress
+     */
+    @Nullable
+    SliceProgress parseProgress(@NotNull String line);
+}
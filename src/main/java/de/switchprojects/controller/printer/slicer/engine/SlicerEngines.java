@@ -0,0 +1,130 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine;
+
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.engine.basic.PrusaSlicerEngine;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the available {@link SlicerEngine}s by their name. The engine which is used for objects
+ * without a selected engine is configured using the {@code slicer.engine} property.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SlicerEngines {
+
+    private SlicerEngines() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final Map<String, SlicerEngine> ENGINES = new ConcurrentHashMap<>();
+
+    static {
+        register(new PrusaSlicerEngine());
+    }
+
+    /**
+     * Registers a new engine
+     *
+     * @param engine The engine to register
+     */
+    public static void register(@NotNull SlicerEngine engine) {
+        Validate.assertNotNull(engine, "Cannot register null engine");
+        Validate.assertNull(ENGINES.putIfAbsent(engine.getName().toLowerCase(), engine), "Engine " + engine.getName() + " is already registered");
+    }
+
+    /**
+     * Gets a registered engine
+     *
+     * @param name The name of the engine
+     * @return The engine or {@code null} if there is no engine with the given name
+     */
+    @Nullable
+    public static SlicerEngine get(@NotNull String name) {
+        return ENGINES.get(name.toLowerCase());
+    }
+
+    /**
+     * @return The engine which is configured using the {@code slicer.engine} property, {@code prusa} if no or an unknown engine is configured
+     */
+    @NotNull
+    public static SlicerEngine getDefault() {
+        String name = System.getProperty("slicer.engine", PrusaSlicerEngine.NAME);
+        SlicerEngine engine = get(name);
+        return engine == null ? ENGINES.get(PrusaSlicerEngine.NAME) : engine;
+    }
+
+    /**
+     * Selects the engine which slices the given object
+     *
+     * @param object The object to slice
+     * @return The engine selected for the object or the default engine if the object has no or an unknown engine selected
+     */
+    @NotNull
+    public static SlicerEngine select(@NotNull PrintableObject object) {
+        String name = object.getSlicerEngine();
+        SlicerEngine engine = name == null ? null : get(name);
+        if (name != null && engine == null) {
+            System.err.println("Unknown slicer engine " + name + " selected for " + object.getRealFileName() + ", using the default engine");
+        }
+
+        return engine == null ? getDefault() : engine;
+    }
+
+    /**
+     * @return The names of all registered engines
+     */
+    @NotNull
+    public static Collection<String> getNames() {
+        return Collections.unmodifiableList(new ArrayList<>(ENGINES.keySet()));
+    }
+
+    /**
+     * Warms up all registered engines. An engine which fails to start is still used, the failure
+     * is only reported so a broken setup is visible before the first job fails.
+     */
+    public static void warmUp() {
+        for (SlicerEngine engine : ENGINES.values()) {
+            long start = System.currentTimeMillis();
+            try {
+                engine.warmUp();
+                System.out.println("Slicer engine " + engine.getName() + " is ready after " + (System.currentTimeMillis() - start)
+                        + "ms (version " + engine.getVersion() + ")");
+            } catch (final IOException ex) {
+                System.err.println("Unable to warm up slicer engine " + engine.getName() + ": " + ex.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,228 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine;
+
+import de.switchprojects.controller.printer.slicer.engine.object.SliceResult;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * A running slicer process. The output of the process is read by a separate thread and handed to the
+ * given line consumer, the last lines are kept to explain failures. The process is killed if it does
+ * not exit in time or if it gets cancelled, so a hanging slicer never blocks a slice worker.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SlicerProcess {
+
+    /**
+     * If the current system is windows, the memory of the slicer process cannot get limited there
+     */
+    public static final boolean WINDOWS = System.getProperty("os.name", "").toLowerCase(Locale.ROOT).startsWith("windows");
+
+    private static final boolean VERBOSE = Boolean.getBoolean("slicer.verbose");
+
+    private static final int OUTPUT_TAIL = Integer.getInteger("slicer.output.tail", 20);
+
+    private static final long OUTPUT_DRAIN_TIMEOUT = TimeUnit.SECONDS.toMillis(5);
+
+    private static final AtomicInteger COUNTER = new AtomicInteger();
+
+    private static volatile boolean memoryLimitWarned;
+
+    private SlicerProcess(Process process, Consumer<String> lineConsumer) {
+        this.process = process;
+        this.lineConsumer = lineConsumer;
+        this.reader = new Thread(this::readOutput, "Slicer-Output-" + COUNTER.incrementAndGet());
+        this.reader.setDaemon(true);
+    }
+
+    private final Process process;
+
+    private final Consumer<String> lineConsumer;
+
+    private final Thread reader;
+
+    private final Deque<String> output = new ArrayDeque<>();
+
+    private volatile boolean timedOut;
+
+    private volatile boolean cancelled;
+
+    /**
+     * Starts a new slicer process. The standard output and the error output are merged.
+     *
+     * @param command      The command including the executable
+     * @param directory    The directory in which the process is started
+     * @param memoryLimit  The maximum virtual memory of the process in bytes or {@code 0} for no limit
+     * @param lineConsumer The consumer of the lines printed by the process
+     * @return The started process
+     * @throws IOException If the process cannot get started
+     */
+    @NotNull
+    public static SlicerProcess start(@NotNull List<String> command, @NotNull File directory, long memoryLimit,
+                                      @NotNull Consumer<String> lineConsumer) throws IOException {
+        Validate.assertNotNull(command, "Cannot start null command");
+        Validate.assertNotNull(lineConsumer, "Cannot start process with null line consumer");
+
+        Process process = new ProcessBuilder()
+                .directory(directory)
+                .command(limitMemory(command, memoryLimit))
+                .redirectErrorStream(true)
+                .start();
+        process.getOutputStream().close();
+
+        SlicerProcess slicerProcess = new SlicerProcess(process, lineConsumer);
+        slicerProcess.reader.start();
+        return slicerProcess;
+    }
+
+    /**
+     * Waits until the process exits. The process gets killed if it does not exit in time.
+     *
+     * @param timeout The maximum time in millis to wait for the process or {@code 0} to wait without a limit
+     * @return The result of the process
+     * @throws InterruptedException If the thread got interrupted while waiting, the process gets killed then
+     */
+    @NotNull
+    public SliceResult await(long timeout) throws InterruptedException {
+        try {
+            if (timeout <= 0) {
+                this.process.waitFor();
+            } else if (!this.process.waitFor(timeout, TimeUnit.MILLISECONDS)) {
+                this.timedOut = true;
+                this.process.destroyForcibly().waitFor();
+            }
+        } catch (final InterruptedException ex) {
+            this.process.destroyForcibly();
+            throw ex;
+        }
+
+        // children of the slicer may keep the output open, so do not wait for the end of the output forever
+        this.reader.join(OUTPUT_DRAIN_TIMEOUT);
+
+        if (this.cancelled) {
+            return SliceResult.CANCELLED;
+        }
+
+        if (this.timedOut) {
+            return SliceResult.TIMED_OUT;
+        }
+
+        return this.process.exitValue() == 0 ? SliceResult.SUCCESS : SliceResult.FAILED;
+    }
+
+    /**
+     * Kills the process, {@link #await(long)} returns {@link SliceResult#CANCELLED} then
+     */
+    public void cancel() {
+        this.cancelled = true;
+        this.process.destroyForcibly();
+    }
+
+    /**
+     * @return The exit code of the process, only available after the process exited
+     */
+    public int getExitCode() {
+        return this.process.exitValue();
+    }
+
+    /**
+     * @return The last lines which were printed by the process
+     */
+    @NotNull
+    public List<String> getOutputTail() {
+        synchronized (this.output) {
+            return new ArrayList<>(this.output);
+        }
+    }
+
+    private void readOutput() {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(this.process.getInputStream()))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (VERBOSE) {
+                    System.out.println(line);
+                }
+
+                synchronized (this.output) {
+                    if (this.output.size() >= OUTPUT_TAIL) {
+                        this.output.pollFirst();
+                    }
+
+                    this.output.offerLast(line);
+                }
+
+                try {
+                    this.lineConsumer.accept(line);
+                } catch (final Throwable throwable) {
+                    throwable.printStackTrace();
+                }
+            }
+        } catch (final IOException ignored) {
+            // the stream gets closed when the process is killed
+        }
+    }
+
+    private static List<String> limitMemory(List<String> command, long memoryLimit) {
+        if (memoryLimit <= 0) {
+            return command;
+        }
+
+        if (WINDOWS) {
+            if (!memoryLimitWarned) {
+                memoryLimitWarned = true;
+                System.err.println("The memory of the slicer cannot get limited on windows, ignoring slicer.memory.limit");
+            }
+
+            return command;
+        }
+
+        // the shell applies the limit to itself and replaces itself with the slicer which inherits the limit
+        List<String> limited = new ArrayList<>(Arrays.asList(
+                "/bin/sh",
+                "-c",
+                "ulimit -v \"$1\" || exit 125; shift; exec \"$@\"",
+                "slicer",
+                Long.toString(Math.max(1, memoryLimit / 1024))
+        ));
+        limited.addAll(command);
+        return limited;
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine.basic;
+
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngine;
+import de.switchprojects.controller.printer.slicer.engine.SlicerProcess;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceRequest;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceResult;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Slices the objects using the PrusaSlicer command line. On windows the bundled
+ * {@code prusa-slicer-console.exe} is used, on all other systems the native {@code prusa-slicer}
+ * binary from the slicer directory or the {@code PATH}. The executable can be set using the
+ * {@code slicer.prusa.executable} property.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class PrusaSlicerEngine implements SlicerEngine {
+
+    public static final String NAME = "prusa";
+
+    private static final String PROFILE = "switch.ini";
+
+    private static final long WARM_UP_TIMEOUT = TimeUnit.SECONDS.toMillis(Long.getLong("slicer.warmup.timeout", 60));
+
+    // PrusaSlicer reports its progress as "<percent> => <step>", newer versions prefix the line with the log level
+    private static final Pattern PROGRESS = Pattern.compile("(\\d{1,3}) => (.*)$");
+
+    public PrusaSlicerEngine() {
+        this.directory = new File("slicer").getAbsoluteFile();
+        this.executable = resolveExecutable(this.directory);
+    }
+
+    private final File directory;
+
+    private final File executable;
+
+    private volatile String version;
+
+    @Override
+    public @NotNull String getName() {
+        return NAME;
+    }
+
+    @Override
+    public @NotNull String getVersion() {
+        String configured = System.getProperty("slicer.version");
+        if (configured != null) {
+            return configured;
+        }
+
+        String version = this.version;
+        return version == null ? this.executable.length() + "-" + this.executable.lastModified() : version;
+    }
+
+    @Override
+    public @NotNull Path getProfile() {
+        return new File(this.directory, PROFILE).toPath();
+    }
+
+    @Override
+    public @NotNull File getWorkingDirectory() {
+        return this.directory;
+    }
+
+    @Override
+    public void warmUp() throws IOException {
+        if (!this.executable.isFile()) {
+            throw new IOException("PrusaSlicer executable " + this.executable + " does not exist, set it using slicer.prusa.executable");
+        }
+
+        AtomicReference<String> firstLine = new AtomicReference<>();
+        SlicerProcess process = SlicerProcess.start(Arrays.asList(this.executable.getAbsolutePath(), "--help"), this.directory, 0, line -> {
+            if (!line.trim().isEmpty()) {
+                firstLine.compareAndSet(null, line.trim());
+            }
+        });
+
+        SliceResult result;
+        try {
+            result = process.await(WARM_UP_TIMEOUT);
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while warming up PrusaSlicer", ex);
+        }
+
+        if (result == SliceResult.TIMED_OUT) {
+            throw new IOException("PrusaSlicer did not respond within " + WARM_UP_TIMEOUT + "ms");
+        }
+
+        // the first line of the help is the full version, e.g. "PrusaSlicer-2.2.0+win64-202003211856 based on Slic3r"
+        String line = firstLine.get();
+        if (line != null && (line.startsWith("PrusaSlicer") || line.startsWith("Slic3r"))) {
+            this.version = line;
+        }
+    }
+
+    @Override
+    public @NotNull List<String> createCommand(@NotNull SliceRequest request) {
+        List<String> command = new ArrayList<>(Arrays.asList(
+                this.executable.getAbsolutePath(),
+                "-g",
+                "--load",
+                PROFILE,
+                "--threads",
+                Integer.toString(request.getThreads()),
+                "-o",
+                request.getOutput().toString()
+        ));
+        if (request.isArranged()) {
+            command.add("--dont-arrange");
+        }
+
+        command.add(request.getInput().toString());
+        return command;
+    }
+
+    @Override
+    public @Nullable SliceProgress parseProgress(@NotNull String line) {
+        Matcher matcher = PROGRESS.matcher(line);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        return new SliceProgress(Integer.parseInt(matcher.group(1)), matcher.group(2).trim());
+    }
+
+    private static File resolveExecutable(File directory) {
+        String configured = System.getProperty("slicer.prusa.executable");
+        if (configured != null) {
+            return new File(configured).getAbsoluteFile();
+        }
+
+        if (SlicerProcess.WINDOWS) {
+            return new File(directory, "prusa-slicer-console.exe");
+        }
+
+        File bundled = new File(directory, "prusa-slicer");
+        if (bundled.isFile()) {
+            return bundled;
+        }
+
+        String path = System.getenv("PATH");
+        if (path != null) {
+            for (String entry : path.split(File.pathSeparator)) {
+                File candidate = new File(entry, "prusa-slicer");
+                if (candidate.isFile() && candidate.canExecute()) {
+                    return candidate;
+                }
+            }
+        }
+
+        return bundled;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine.object;
+
+import de.switchprojects.controller.printer.slicer.engine.SlicerProcess;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * The state of one job of a slice worker. The context is shared between the worker which runs the
+ * slicer processes of the job and the threads which read the progress or cancel the job.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceContext {
+
+    public SliceContext(int threads) {
+        this.threads = threads;
+    }
+
+    private final int threads;
+
+    private volatile SlicerProcess process;
+
+    private volatile SliceProgress progress;
+
+    private volatile boolean cancelled;
+
+    /**
+     * @return The amount of threads the slicer processes of the job are allowed to use
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return The last progress reported by the slicer or {@code null} if no progress was reported yet
+     */
+    @Nullable
+    public SliceProgress getProgress() {
+        return progress;
+    }
+
+    /**
+     * Sets the last progress which was reported by the slicer
+     *
+     * @param progress The reported progress
+     */
+    public void setProgress(@NotNull SliceProgress progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Sets the slicer process which is currently running for the job. If the job was cancelled
+     * before, the process is killed directly.
+     *
+     * @param process The running process or {@code null} if the process exited
+     */
+    public void setProcess(@Nullable SlicerProcess process) {
+        this.process = process;
+        if (process != null && this.cancelled) {
+            process.cancel();
+        }
+    }
+
+    /**
+     * @return If the job was cancelled
+     */
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * Cancels the job and kills the slicer process which is currently running for it. No further
+     * slicer processes are started for the job after it was cancelled.
+     */
+    public void cancel() {
+        this.cancelled = true;
+
+        SlicerProcess process = this.process;
+        if (process != null) {
+            process.cancel();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * A progress which was reported by a slicer process
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceProgress {
+
+    public SliceProgress(int percent, @NotNull String message) {
+        this.percent = Math.max(0, Math.min(100, percent));
+        this.message = message;
+    }
+
+    private final int percent;
+
+    private final String message;
+
+    /**
+     * @return The progress of the slicer in percent
+     */
+    public int getPercent() {
+        return percent;
+    }
+
+    /**
+     * @return The step the slicer is currently doing
+     */
+    @NotNull
+    public String getMessage() {
+        return message;
+    }
+}
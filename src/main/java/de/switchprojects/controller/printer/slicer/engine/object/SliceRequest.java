@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.engine.object;
+
+import org.jetbrains.annotations.NotNull;
+
+import java.nio.file.Path;
+
+/**
+ * Describes one file which should get sliced by a slicer engine
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceRequest {
+
+    public SliceRequest(@NotNull Path input, @NotNull Path output, int threads, boolean arranged) {
+        this.input = input;
+        this.output = output;
+        this.threads = threads;
+        this.arranged = arranged;
+    }
+
+    private final Path input;
+
+    private final Path output;
+
+    private final int threads;
+
+    private final boolean arranged;
+
+    /**
+     * @return The absolute path to the unsliced file
+     */
+    @NotNull
+    public Path getInput() {
+        return input;
+    }
+
+    /**
+     * @return The absolute path to which the sliced file should get written
+     */
+    @NotNull
+    public Path getOutput() {
+        return output;
+    }
+
+    /**
+     * @return The amount of threads the slicer is allowed to use
+     */
+    public int getThreads() {
+        return threads;
+    }
+
+    /**
+     * @return If the objects in the file are already arranged on the build plate and must not get moved
+     */
+    public boolean isArranged() {
+        return arranged;
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.event;
+
+import de.switchprojects.controller.printer.events.Event;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Gets called from the output reader of the slicer process when the slicer reports a new progress
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceProgressEvent extends Event {
+
+    public SliceProgressEvent(@NotNull PrintableObject object, @NotNull SliceProgress progress) {
+        this.object = object;
+        this.progress = progress;
+    }
+
+    private final PrintableObject object;
+
+    private final SliceProgress progress;
+
+    /**
+     * @return The object which is sliced
+     */
+    @NotNull
+    public PrintableObject getObject() {
+        return object;
+    }
+
+    /**
+     * @return The reported progress
+     */
+    @NotNull
+    public SliceProgress getProgress() {
+        return progress;
+    }
+}
@@ -0,0 +1,70 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.worker;
+
+import de.switchprojects.controller.printer.queue.PrintQueue;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Hands the sliced objects over to the print queue in the same order in which they were taken out
+ * of the slice queue, even if the workers finish them in a different order.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceHandOff {
+
+    private final Map<Long, PrintableObject> finished = new HashMap<>();
+
+    private long next;
+
+    /**
+     * Marks the slice process of the given sequence as completed and hands over all objects which
+     * are now next in line to the print queue
+     *
+     * @param sequence The sequence number which was given to the object when it was taken out of the queue
+     * @param object   The sliced object or {@code null} if the slice process failed
+     */
+    public synchronized void complete(long sequence, @Nullable PrintableObject object) {
+        this.finished.put(sequence, object);
+
+        while (this.finished.containsKey(this.next)) {
+            PrintableObject ready = this.finished.remove(this.next++);
+            if (ready != null) {
+                PrintQueue.queue(ready);
+            }
+        }
+    }
+
+    /**
+     * @return The amount of sliced objects which are waiting for an earlier object to get sliced
+     */
+    public synchronized int getWaiting() {
+        return this.finished.size();
+    }
+}
@@ -0,0 +1,217 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.slicer.worker;
+
+import de.switchprojects.controller.printer.api.GlobalAPI;
+import de.switchprojects.controller.printer.journal.JobJournal;
+import de.switchprojects.controller.printer.plate.PlatePacker;
+import de.switchprojects.controller.printer.plate.object.Plate;
+import de.switchprojects.controller.printer.queue.object.PrintableObject;
+import de.switchprojects.controller.printer.slicer.Slice3rSlicer;
+import de.switchprojects.controller.printer.slicer.SliceQueue;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceContext;
+import de.switchprojects.controller.printer.slicer.engine.object.SliceProgress;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.user.UserManagement;
+import de.switchprojects.controller.printer.user.util.NotifyType;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Collections;
+
+/**
+ * Represents one worker of the slice queue which takes the next object from the queue and slices
+ * it using the given amount of slicer threads
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class SliceWorker extends Thread {
+
+    public SliceWorker(int id, int threads, @NotNull SliceHandOff handOff) {
+        super("Slice-Worker-" + id);
+        this.id = id;
+        this.threads = threads;
+        this.handOff = handOff;
+    }
+
+    private final int id;
+
+    private final int threads;
+
+    private final SliceHandOff handOff;
+
+    private volatile State state = State.IDLE;
+
+    private volatile PrintableObject current;
+
+    private volatile SliceContext context;
+
+    private volatile long currentSince = System.currentTimeMillis();
+
+    private volatile long sliced;
+
+    @Override
+    public void run() {
+        while (!Thread.interrupted()) {
+            try {
+                SliceQueue.Ticket ticket = SliceQueue.take();
+                PrintableObject next = ticket.getObject();
+
+                SliceContext context = new SliceContext(this.threads);
+                this.context = context;
+                this.current = next;
+                this.currentSince = System.currentTimeMillis();
+                this.state = State.SLICING;
+                next.getTrace().mark(JobStage.SLICE_STARTED);
+
+                boolean success = false;
+                try {
+                    Plate plate = PlatePacker.collect(next);
+                    for (PrintableObject object : plate == null ? Collections.singletonList(next) : plate.getObjects()) {
+                        notify(NotifyType.SLICE_STARTED, object);
+                    }
+
+                    success = plate == null ? Slice3rSlicer.slice(next, context) : PlatePacker.slice(plate, context);
+
+                    if (success) {
+                        for (PrintableObject object : next.getPlateObjects()) {
+                            notify(NotifyType.SLICE_DONE, object);
+                        }
+                    }
+                } catch (final Throwable throwable) {
+                    throwable.printStackTrace();
+                } finally {
+                    if (success) {
+                        JobJournal.sliced(next);
+                    } else {
+                        JobJournal.failed(next);
+                    }
+
+                    this.handOff.complete(ticket.getSequence(), success ? next : null);
+
+                    this.sliced++;
+                    this.current = null;
+                    this.context = null;
+                    this.currentSince = System.currentTimeMillis();
+                    this.state = State.IDLE;
+                }
+            } catch (final InterruptedException ex) {
+                break;
+            }
+        }
+    }
+
+    private static void notify(NotifyType type, PrintableObject object) {
+        UserManagement userManagement = GlobalAPI.getUserManagement(object.getUser().getUserType());
+        if (userManagement != null) {
+            userManagement.notify(type, object.getRealFileName(), object.getUser().getUniqueID(), object.getAnalysis());
+        }
+    }
+
+    /**
+     * @return The id of the worker
+     */
+    public int getWorkerId() {
+        return this.id;
+    }
+
+    /**
+     * @return The amount of threads the slicer process of this worker is allowed to use
+     */
+    public int getThreads() {
+        return this.threads;
+    }
+
+    /**
+     * @return The current state of the worker
+     */
+    @NotNull
+    public State getWorkerState() {
+        return this.state;
+    }
+
+    /**
+     * @return The object which is currently sliced by this worker or {@code null} if the worker is idle
+     */
+    @Nullable
+    public PrintableObject getCurrent() {
+        return this.current;
+    }
+
+    /**
+     * @return The last progress reported by the slicer of the current object or {@code null} if there is none
+     */
+    @Nullable
+    public SliceProgress getProgress() {
+        SliceContext context = this.context;
+        return context == null ? null : context.getProgress();
+    }
+
+    /**
+     * Cancels the slicing of the current object and kills its slicer process. The object is handled
+     * like an object which failed to slice.
+     *
+     * @return If an object was sliced by the worker and got cancelled
+     */
+    public boolean cancel() {
+        SliceContext context = this.context;
+        if (context == null) {
+            return false;
+        }
+
+        context.cancel();
+        return true;
+    }
+
+    /**
+     * @return The time in millis since when the worker is in the current state
+     */
+    public long getCurrentSince() {
+        return this.currentSince;
+    }
+
+    /**
+     * @return The amount of objects which were handled by this worker
+     */
+    public long getSliced() {
+        return this.sliced;
+    }
+
+    /**
+     * The state of a slice worker
+     */
+    public enum State {
+
+        /**
+         * The worker is waiting for the next object in the queue
+         */
+        IDLE,
+
+        /**
+         * The worker is currently slicing an object
+         */
+        SLICING
+    }
+}
@@ -24,10 +24,11 @@
 package de.switchprojects.controller.printer.ticker;
 
 import de.switchprojects.controller.printer.api.GlobalAPI;
-import de.switchprojects.controller.printer.octoprint.OctoPrintHelper;
+import de.switchprojects.controller.printer.fleet.PrinterRegistry;
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.octoprint.state.PrinterSnapshot;
 import de.switchprojects.controller.printer.ticker.event.SystemTickEvent;
 import de.switchprojects.controller.printer.util.ThreadSupport;
-import org.octoprint.api.model.OctoPrintJob;
 
 import java.text.DateFormat;
 import java.text.DecimalFormat;
@@ -35,16 +36,14 @@ import java.text.SimpleDateFormat;
 import java.util.concurrent.TimeUnit;
 
 /**
- * The class ticks every minute and prints the current running print job for information parts into the
- * console
+ * The class ticks every 30 seconds and prints the current running print jobs of all printers for information
+ * parts into the console
  *
  * @author Pasqual Koschmieder
  * @since 1.0
  */
 public final class SystemTicker {
 
-    public static OctoPrintJob runningJob;
-
     public static final DecimalFormat DECIMAL_FORMAT = new DecimalFormat("###.##");
 
     private static final DateFormat DATE_FORMAT = new SimpleDateFormat("mm:ss");
@@ -53,31 +52,29 @@ public final class SystemTicker {
         while (!Thread.interrupted()) {
             ThreadSupport.sleep(TimeUnit.SECONDS, 30);
 
-            OctoPrintJob currentJob = OctoPrintHelper.getCurrentPrintJob();
-            if (currentJob == null) {
-                System.out.println("Currently there is no running print job");
-                continue;
-            }
+            boolean anyRunning = false;
+            for (Printer printer : PrinterRegistry.getPrinters()) {
+                PrinterSnapshot snapshot = printer.getStateTracker().getSnapshot();
+                if (!snapshot.hasActiveJob() || snapshot.getJobName() == null || snapshot.getCompletion() == null) {
+                    continue;
+                }
 
-            if (runningJob == null) {
-                runningJob = currentJob;
-            }
+                anyRunning = true;
+                System.out.println("The print job " + snapshot.getJobName() + " is running on " + printer.getName() + "!");
+                System.out.println("Progress: " + DECIMAL_FORMAT.format(snapshot.getCompletion()) + "%; " + format(snapshot));
 
-            OctoPrintJob.JobProgress progress = currentJob.getJobProgress();
-            if (progress == null) {
-                System.out.println("No job is currently running");
-                continue;
+                GlobalAPI.getEventManager().callEvent(new SystemTickEvent(printer, snapshot));
             }
 
-            System.out.println("The print job " + currentJob.getName() + " is running!");
-            System.out.println("Progress: " + DECIMAL_FORMAT.format(currentJob.getJobProgress().percentComplete()) + "%; " + format(progress));
-
-            GlobalAPI.getEventManager().callEvent(new SystemTickEvent(currentJob));
+            if (!anyRunning) {
+                System.out.println("Currently there is no running print job");
+            }
         }
     }
 
-    private static String format(OctoPrintJob.JobProgress progress) {
-        return String.format("Time progressed: %s, Time remaining: %s", DATE_FORMAT.format(TimeUnit.SECONDS.toMillis(progress.elapsedTime())),
-                progress.timeRemaining() != null ? DATE_FORMAT.format(TimeUnit.SECONDS.toMillis(progress.timeRemaining())) : "unbekannt");
+    private static String format(PrinterSnapshot snapshot) {
+        return String.format("Time progressed: %s, Time remaining: %s",
+                snapshot.getPrintTime() != null ? DATE_FORMAT.format(TimeUnit.SECONDS.toMillis(snapshot.getPrintTime())) : "unbekannt",
+                snapshot.getPrintTimeLeft() != null ? DATE_FORMAT.format(TimeUnit.SECONDS.toMillis(snapshot.getPrintTimeLeft())) : "unbekannt");
     }
 }
@@ -24,8 +24,9 @@
 package de.switchprojects.controller.printer.ticker.event;
 
 import de.switchprojects.controller.printer.events.Event;
+import de.switchprojects.controller.printer.fleet.object.Printer;
+import de.switchprojects.controller.printer.octoprint.state.PrinterSnapshot;
 import org.jetbrains.annotations.NotNull;
-import org.octoprint.api.model.OctoPrintJob;
 
 /**
  * Gets called when the system does one tick and a print job is currently running
@@ -35,14 +36,28 @@ import org.octoprint.api.model.OctoPrintJob;
  */
 public final class SystemTickEvent extends Event {
 
-    public SystemTickEvent(@NotNull OctoPrintJob currentJob) {
-        this.currentJob = currentJob;
+    public SystemTickEvent(@NotNull Printer printer, @NotNull PrinterSnapshot snapshot) {
+        this.printer = printer;
+        this.snapshot = snapshot;
     }
 
-    private final OctoPrintJob currentJob;
+    private final Printer printer;
 
+    private final PrinterSnapshot snapshot;
+
+    /**
+     * @return The printer on which the print job is running
+     */
+    @NotNull
+    public Printer getPrinter() {
+        return printer;
+    }
+
+    /**
+     * @return The snapshot of the printer which has a print job with a known progress
+     */
     @NotNull
-    public OctoPrintJob getCurrentJob() {
-        return currentJob;
+    public PrinterSnapshot getSnapshot() {
+        return snapshot;
     }
 }
@@ -0,0 +1,188 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.trace;
+
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import de.switchprojects.controller.printer.trace.util.LatencyHistogram;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Aggregates the {@link JobTrace}s of all jobs into one latency histogram per {@link JobStage} and
+ * keeps the traces of the latest completed jobs. The histograms cover all jobs since the start of
+ * the controller.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JobTraces {
+
+    private JobTraces() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final int RECENT_SIZE = Math.max(1, Integer.getInteger("trace.recent.size", 25));
+
+    private static final Map<JobStage, LatencyHistogram> HISTOGRAMS = new EnumMap<>(JobStage.class);
+
+    private static final LatencyHistogram TOTAL = new LatencyHistogram();
+
+    private static final Deque<Completed> RECENT = new ArrayDeque<>();
+
+    static {
+        for (JobStage stage : JobStage.values()) {
+            HISTOGRAMS.put(stage, new LatencyHistogram());
+            if (stage != JobStage.RECEIVED) {
+                MetricRegistry.summary("job_stage_duration_seconds", "The time the jobs spent before reaching a stage",
+                        HISTOGRAMS.get(stage), 0.001, "stage", stage.name().toLowerCase());
+            }
+        }
+
+        MetricRegistry.summary("job_total_duration_seconds", "The time from receiving a file to the end of its print", TOTAL, 0.001);
+    }
+
+    /**
+     * Records the time which was spent before the given stage was reached
+     *
+     * @param stage    The stage which was reached
+     * @param duration The time in millis since the previous stage
+     */
+    public static void record(@NotNull JobStage stage, long duration) {
+        Validate.assertNotNull(stage, "Cannot record duration of null stage");
+        HISTOGRAMS.get(stage).record(duration);
+    }
+
+    /**
+     * Records the trace of a job which is done
+     *
+     * @param name  The name of the job
+     * @param trace The trace of the job
+     */
+    public static void complete(@NotNull String name, @NotNull JobTrace trace) {
+        Validate.assertNotNull(name, "Cannot complete trace of null job");
+        Validate.assertNotNull(trace, "Cannot complete null trace");
+
+        long received = trace.getTimestamp(JobStage.RECEIVED);
+        long done = trace.getTimestamp(JobStage.PRINT_DONE);
+        if (received != 0 && done != 0) {
+            TOTAL.record(done - received);
+        }
+
+        synchronized (RECENT) {
+            RECENT.addFirst(new Completed(name, trace));
+            while (RECENT.size() > RECENT_SIZE) {
+                RECENT.removeLast();
+            }
+        }
+    }
+
+    /**
+     * @param stage The stage to get the histogram of
+     * @return The histogram of the time spent before the stage was reached
+     */
+    @NotNull
+    public static LatencyHistogram getHistogram(@NotNull JobStage stage) {
+        return HISTOGRAMS.get(stage);
+    }
+
+    /**
+     * @return The histogram of the time from receiving the file to the end of the print
+     */
+    @NotNull
+    public static LatencyHistogram getTotal() {
+        return TOTAL;
+    }
+
+    /**
+     * @return The traces of the latest completed jobs, the latest job first
+     */
+    @NotNull
+    public static Collection<Completed> getRecent() {
+        synchronized (RECENT) {
+            return new ArrayList<>(RECENT);
+        }
+    }
+
+    /**
+     * Formats a duration in a human readable way
+     *
+     * @param millis The duration in millis
+     * @return The formatted duration
+     */
+    @NotNull
+    public static String formatDuration(long millis) {
+        if (millis < 0) {
+            return "-";
+        }
+
+        if (millis < 1000) {
+            return millis + "ms";
+        }
+
+        long seconds = millis / 1000;
+        if (seconds < 60) {
+            return String.format("%.1fs", millis / 1000D);
+        }
+
+        if (seconds < 3600) {
+            return String.format("%dm %02ds", seconds / 60, seconds % 60);
+        }
+
+        return String.format("%dh %02dm", seconds / 3600, (seconds % 3600) / 60);
+    }
+
+    /**
+     * Represents the trace of a completed job
+     */
+    public static final class Completed {
+
+        private Completed(String name, JobTrace trace) {
+            this.name = name;
+            this.trace = trace;
+        }
+
+        private final String name;
+
+        private final JobTrace trace;
+
+        @NotNull
+        public String getName() {
+            return name;
+        }
+
+        @NotNull
+        public JobTrace getTrace() {
+            return trace;
+        }
+    }
+}
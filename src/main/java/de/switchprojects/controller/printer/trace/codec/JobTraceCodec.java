@@ -0,0 +1,82 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.trace.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+
+/**
+ * Reads and writes {@link JobTrace}s as part of the rows of the objects they belong to. The amount of
+ * stages is written in front of the timestamps, so stages which get added later can still be read.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JobTraceCodec {
+
+    private JobTraceCodec() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Writes a trace into the given writer
+     *
+     * @param trace  The trace which should get written
+     * @param writer The writer to which the trace should get written
+     */
+    public static void writeTrace(@NotNull JobTrace trace, @NotNull BinaryWriter writer) {
+        long[] timestamps = trace.getTimestamps();
+
+        writer.writeVarInt(timestamps.length);
+        for (long timestamp : timestamps) {
+            writer.writeUnsignedVarLong(timestamp);
+        }
+    }
+
+    /**
+     * Reads a trace which was written using {@link #writeTrace(JobTrace, BinaryWriter)}
+     *
+     * @param reader The reader from which the trace should get read
+     * @return The read trace
+     * @throws IOException If the data is corrupted
+     */
+    @NotNull
+    public static JobTrace readTrace(@NotNull BinaryReader reader) throws IOException {
+        int length = reader.readVarInt();
+        if (length < 0 || length > reader.readableBytes()) {
+            throw new IOException("Invalid amount of trace stages: " + length);
+        }
+
+        long[] timestamps = new long[length];
+        for (int i = 0; i < length; i++) {
+            timestamps[i] = reader.readUnsignedVarLong();
+        }
+
+        return new JobTrace(timestamps);
+    }
+}
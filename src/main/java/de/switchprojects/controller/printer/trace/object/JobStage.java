@@ -0,0 +1,90 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.trace.object;
+
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Represents one transition in the life of a print job. The stages are ordered in the way a job passes
+ * through them, the time spent before a stage is reached is recorded for the stage.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public enum JobStage {
+
+    /**
+     * The file of the job was received
+     */
+    RECEIVED("received"),
+
+    /**
+     * The job was added to the slice queue
+     */
+    SLICE_QUEUED("received -> slice queue"),
+
+    /**
+     * A slice worker took the job out of the slice queue
+     */
+    SLICE_STARTED("waiting in slice queue"),
+
+    /**
+     * The slicer finished the job
+     */
+    SLICE_DONE("slicing"),
+
+    /**
+     * The sliced job was handed over to the print queue
+     */
+    PRINT_QUEUED("waiting for slice hand off"),
+
+    /**
+     * A printer took the job and started the upload to octoprint
+     */
+    UPLOAD_STARTED("waiting for printer"),
+
+    /**
+     * The upload was completed and the print was started
+     */
+    PRINT_STARTED("upload"),
+
+    /**
+     * The printer reported the print as done
+     */
+    PRINT_DONE("printing");
+
+    JobStage(@NotNull String description) {
+        this.description = description;
+    }
+
+    private final String description;
+
+    /**
+     * @return The description of the time which is spent before the stage is reached
+     */
+    @NotNull
+    public String getDescription() {
+        return description;
+    }
+}
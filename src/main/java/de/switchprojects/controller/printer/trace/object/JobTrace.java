@@ -0,0 +1,152 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.trace.object;
+
+import de.switchprojects.controller.printer.trace.JobTraces;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.Arrays;
+
+/**
+ * Records the time at which a print job reached each {@link JobStage}. Every time a stage is reached
+ * the time spent since the previous stage is recorded in the histogram of the stage in {@link JobTraces}.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class JobTrace {
+
+    private static final JobStage[] STAGES = JobStage.values();
+
+    /**
+     * Creates a new trace in which no stage is reached yet
+     */
+    public JobTrace() {
+        this(new long[STAGES.length]);
+    }
+
+    /**
+     * Creates a new trace using the given timestamps
+     *
+     * @param timestamps The timestamps of the stages ordered by the ordinal of the stage, {@code 0} if a
+     *                   stage is not reached yet
+     */
+    public JobTrace(@NotNull long[] timestamps) {
+        Validate.assertNotNull(timestamps, "Cannot create trace from null timestamps");
+        this.timestamps = Arrays.copyOf(timestamps, STAGES.length);
+    }
+
+    private final long[] timestamps;
+
+    /**
+     * Marks the given stage as reached now
+     *
+     * @param stage The stage which was reached
+     * @see #mark(JobStage, long)
+     */
+    public void mark(@NotNull JobStage stage) {
+        this.mark(stage, System.currentTimeMillis());
+    }
+
+    /**
+     * Marks the given stage as reached at the given time. All later stages are reset because the job
+     * went back in its lifecycle, for example when it is loaded again after a restart.
+     *
+     * @param stage The stage which was reached
+     * @param time  The time in millis at which the stage was reached
+     */
+    public void mark(@NotNull JobStage stage, long time) {
+        Validate.assertNotNull(stage, "Cannot mark null stage");
+
+        long duration;
+        synchronized (this) {
+            JobStage previous = this.getPreviousStage(stage);
+            duration = previous == null ? -1 : time - this.timestamps[previous.ordinal()];
+
+            this.timestamps[stage.ordinal()] = time;
+            Arrays.fill(this.timestamps, stage.ordinal() + 1, this.timestamps.length, 0);
+        }
+
+        if (duration >= 0) {
+            JobTraces.record(stage, duration);
+        }
+    }
+
+    /**
+     * @param stage The stage to get the time of
+     * @return The time in millis at which the stage was reached or {@code 0} if it is not reached yet
+     */
+    public synchronized long getTimestamp(@NotNull JobStage stage) {
+        return this.timestamps[stage.ordinal()];
+    }
+
+    /**
+     * @param stage The stage to get the duration of
+     * @return The time in millis which was spent before the stage was reached or {@code -1} if the stage
+     * or no previous stage was reached
+     */
+    public synchronized long getDuration(@NotNull JobStage stage) {
+        JobStage previous = this.getPreviousStage(stage);
+        if (previous == null || this.timestamps[stage.ordinal()] == 0) {
+            return -1;
+        }
+
+        return this.timestamps[stage.ordinal()] - this.timestamps[previous.ordinal()];
+    }
+
+    /**
+     * @return The latest stage which was reached or {@code null} if no stage was reached yet
+     */
+    @Nullable
+    public synchronized JobStage getCurrentStage() {
+        for (int i = this.timestamps.length - 1; i >= 0; i--) {
+            if (this.timestamps[i] != 0) {
+                return STAGES[i];
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * @return A copy of the timestamps of all stages ordered by the ordinal of the stage
+     */
+    @NotNull
+    public synchronized long[] getTimestamps() {
+        return this.timestamps.clone();
+    }
+
+    @Nullable
+    private JobStage getPreviousStage(JobStage stage) {
+        for (int i = stage.ordinal() - 1; i >= 0; i--) {
+            if (this.timestamps[i] != 0) {
+                return STAGES[i];
+            }
+        }
+
+        return null;
+    }
+}
@@ -23,10 +23,12 @@
  */
 package de.switchprojects.controller.printer.user;
 
+import de.switchprojects.controller.printer.gcode.object.GCodeAnalysis;
 import de.switchprojects.controller.printer.user.object.User;
 import de.switchprojects.controller.printer.user.object.UserType;
 import de.switchprojects.controller.printer.user.util.NotifyType;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Represents the management for the {@link User}s
@@ -68,6 +70,18 @@ public interface UserManagement {
      */
     void notify(@NotNull NotifyType notifyType, @NotNull String fileName, long userID);
 
+    /**
+     * Notifies the user about the current print job and includes the estimates of the sliced file
+     *
+     * @param notifyType The type of the current notify message which should get sent to the user
+     * @param fileName   The name of the printed file
+     * @param userID     The id of the user which gave the task
+     * @param analysis   The analysis of the sliced file or {@code null} if the file is not analyzed
+     */
+    default void notify(@NotNull NotifyType notifyType, @NotNull String fileName, long userID, @Nullable GCodeAnalysis analysis) {
+        this.notify(notifyType, fileName, userID);
+    }
+
     /**
      * @return The type of user which this manager is handling
      */
@@ -0,0 +1,127 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.user.codec;
+
+import de.switchprojects.controller.printer.database.codec.BinaryReader;
+import de.switchprojects.controller.printer.database.codec.BinaryWriter;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodec;
+import de.switchprojects.controller.printer.discord.user.DiscordUser;
+import de.switchprojects.controller.printer.user.object.User;
+import de.switchprojects.controller.printer.user.object.UserType;
+import de.switchprojects.controller.printer.web.user.WebUser;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+
+/**
+ * The codec for all {@link User}s. A user is written as the name of its type followed by its id.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class UserCodec implements DatabaseCodec<User> {
+
+    /**
+     * Creates a new user codec
+     *
+     * @param legacyType The type of the users which were written using the object output stream
+     */
+    public UserCodec(@NotNull UserType legacyType) {
+        this.legacyType = legacyType;
+    }
+
+    private final UserType legacyType;
+
+    /**
+     * Writes a user into the given writer
+     *
+     * @param user   The user which should get written
+     * @param writer The writer to which the user should get written
+     */
+    public static void writeUser(@NotNull User user, @NotNull BinaryWriter writer) {
+        writer.writeString(user.getUserType().name());
+        writer.writeVarLong(user.getUniqueID());
+    }
+
+    /**
+     * Reads a user which was written using {@link #writeUser(User, BinaryWriter)}
+     *
+     * @param reader The reader from which the user should get read
+     * @return The read user or {@code null} if the type of the user is unknown
+     * @throws IOException If the data is corrupted
+     */
+    @Nullable
+    public static User readUser(@NotNull BinaryReader reader) throws IOException {
+        String type = reader.readString();
+        long id = reader.readVarLong();
+
+        for (UserType userType : UserType.values()) {
+            if (userType.name().equals(type)) {
+                return newUser(userType, id);
+            }
+        }
+
+        return null;
+    }
+
+    @NotNull
+    private static User newUser(@NotNull UserType userType, long id) {
+        switch (userType) {
+            case DISCORD:
+                return new DiscordUser(id);
+            case WEB:
+                return new WebUser(id);
+            default:
+                throw new IllegalArgumentException("Unknown user type " + userType);
+        }
+    }
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public void encode(@NotNull User object, @NotNull BinaryWriter writer) {
+        writeUser(object, writer);
+    }
+
+    @Override
+    public @Nullable User decode(@NotNull BinaryReader reader, int version) throws IOException {
+        return readUser(reader);
+    }
+
+    @Override
+    public @Nullable User decodeLegacy(@NotNull String key, @NotNull ObjectInputStream stream) throws IOException {
+        // the old serializer did not flush the object stream before copying the bytes, most rows
+        // contain the stream header only. The key of the row is the id of the user
+        try {
+            return newUser(this.legacyType, Long.parseLong(key));
+        } catch (final NumberFormatException ex) {
+            return stream.available() >= Long.BYTES ? newUser(this.legacyType, stream.readLong()) : null;
+        }
+    }
+}
@@ -29,6 +29,8 @@ import de.switchprojects.controller.printer.user.UserManagement;
 import de.switchprojects.controller.printer.user.object.UserType;
 import de.switchprojects.controller.printer.util.Validate;
 import de.switchprojects.controller.printer.web.handlers.FileHandler;
+import de.switchprojects.controller.printer.web.handlers.MetricsHandler;
+import de.switchprojects.controller.printer.web.handlers.TraceHandler;
 import de.switchprojects.controller.printer.web.handlers.UserHandler;
 import de.switchprojects.controller.printer.web.user.WebUserManagement;
 import io.javalin.Javalin;
@@ -52,6 +54,8 @@ public final class JavalinWebModule {
                 .create(e -> e.showJavalinBanner = false)
                 .addHandler(HandlerType.POST, "/api/files", new FileHandler(acceptedToken))
                 .addHandler(HandlerType.POST, "/api/user", new UserHandler(acceptedToken))
+                .addHandler(HandlerType.GET, "/api/trace", new TraceHandler(acceptedToken))
+                .addHandler(HandlerType.GET, "/metrics", new MetricsHandler(acceptedToken))
                 .start(7000);
 
         PrinterController.getInstance().getUserManagements().add(new WebUserManagement());
@@ -23,19 +23,27 @@
  */
 package de.switchprojects.controller.printer.web.handlers;
 
+import de.switchprojects.controller.printer.mesh.MeshIngestion;
 import de.switchprojects.controller.printer.queue.basic.BasicPrintableObject;
 import de.switchprojects.controller.printer.queue.object.PrintableObject;
 import de.switchprojects.controller.printer.slicer.SliceQueue;
+import de.switchprojects.controller.printer.slicer.engine.SlicerEngines;
 import de.switchprojects.controller.printer.user.object.User;
-import de.switchprojects.controller.printer.util.FileUtils;
 import de.switchprojects.controller.printer.web.JavalinWebModule;
+import de.switchprojects.controller.printer.web.upload.StreamingUpload;
 import io.javalin.http.BadRequestResponse;
 import io.javalin.http.Context;
 import io.javalin.http.ForbiddenResponse;
 import io.javalin.http.Handler;
+import io.javalin.http.HttpResponseException;
+import io.javalin.http.InternalServerErrorResponse;
 import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 /**
  * @author Pasqual Koschmieder
@@ -47,15 +55,12 @@ public final class FileHandler implements Handler {
         this.acceptedToken = acceptedToken;
     }
 
+    private static final long MAX_SIZE = Long.getLong("web.upload.max.size", 256L * 1024 * 1024);
+
     private final String acceptedToken;
 
     @Override
     public void handle(@NotNull Context ctx) {
-        byte[] body = ctx.bodyAsBytes();
-        if (body.length == 0) {
-            throw new BadRequestResponse("File body is not provided");
-        }
-
         String token = ctx.header("X-Auth-Token");
         if (token == null || !token.equals(acceptedToken)) {
             throw new ForbiddenResponse("API token is not provided or invalid");
@@ -71,14 +76,75 @@ public final class FileHandler implements Handler {
             throw new BadRequestResponse("The file name is not given in the headers");
         }
 
+        if (fileName.isEmpty() || fileName.indexOf('/') != -1 || fileName.indexOf('\\') != -1) {
+            throw new BadRequestResponse("The file name is invalid");
+        }
+
+        String slicerEngine = ctx.header("X-Slicer-Engine");
+        if (slicerEngine != null && SlicerEngines.get(slicerEngine) == null) {
+            throw new BadRequestResponse("Unknown slicer engine, available: " + String.join(", ", SlicerEngines.getNames()));
+        }
+
+        // reject uploads which announce their size early, chunked uploads are checked while streaming
+        if (ctx.req.getContentLengthLong() > MAX_SIZE) {
+            throw tooLarge();
+        }
+
         User user = JavalinWebModule.getWebUserManagementOrFail().getUserByID(userID);
         String path = "files/unsliced/" + System.currentTimeMillis() + "-" + fileName;
+        Path target = Paths.get(path);
 
-        FileUtils.copy(Paths.get(path), body);
-        PrintableObject object = new BasicPrintableObject(user.getUniqueID(), null, user, path, fileName);
+        StreamingUpload.Result result;
+        try {
+            result = StreamingUpload.receive(ctx.req.getInputStream(), target, MAX_SIZE);
+        } catch (final StreamingUpload.UploadTooLargeException ex) {
+            throw tooLarge();
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            throw new InternalServerErrorResponse("Unable to store the uploaded file");
+        }
 
+        if (result.getSize() == 0) {
+            deleteQuietly(target);
+            throw new BadRequestResponse("File body is not provided");
+        }
+
+        String expectedHash = ctx.header("X-File-Hash");
+        if (expectedHash != null && !expectedHash.equalsIgnoreCase(result.getHash())) {
+            deleteQuietly(target);
+            throw new BadRequestResponse("The hash of the uploaded file does not match the given hash");
+        }
+
+        Path mesh;
+        try {
+            mesh = MeshIngestion.ingest(target);
+        } catch (final MeshIngestion.MeshRejectedException ex) {
+            deleteQuietly(target);
+            throw new HttpResponseException(422, ex.getMessage(), Collections.emptyMap());
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+            deleteQuietly(target);
+            throw new InternalServerErrorResponse("Unable to normalize the uploaded file");
+        }
+
+        PrintableObject object = new BasicPrintableObject(user.getUniqueID(), null, user, mesh.toString(), fileName);
+        object.setSlicerEngine(slicerEngine == null ? null : slicerEngine.toLowerCase());
         SliceQueue.queue(object);
 
+        ctx.header("X-File-Hash", result.getHash());
         ctx.status(200).result("Added file to slice queue");
     }
+
+    @NotNull
+    private static HttpResponseException tooLarge() {
+        return new HttpResponseException(413, "The file is larger than " + MAX_SIZE + " bytes", Collections.emptyMap());
+    }
+
+    private static void deleteQuietly(@NotNull Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (final IOException ex) {
+            ex.printStackTrace();
+        }
+    }
 }
@@ -0,0 +1,62 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.web.handlers;
+
+import de.switchprojects.controller.printer.metrics.MetricRegistry;
+import de.switchprojects.controller.printer.metrics.util.PrometheusFormat;
+import io.javalin.http.Context;
+import io.javalin.http.ForbiddenResponse;
+import io.javalin.http.Handler;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Exports all metrics of the {@link MetricRegistry} in the prometheus text format. The token can be
+ * given in the {@code X-Auth-Token} header or as bearer token, which is what prometheus sends.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class MetricsHandler implements Handler {
+
+    public MetricsHandler(String acceptedToken) {
+        this.acceptedToken = acceptedToken;
+    }
+
+    private final String acceptedToken;
+
+    @Override
+    public void handle(@NotNull Context ctx) {
+        String token = ctx.header("X-Auth-Token");
+        String authorization = ctx.header("Authorization");
+        if (token == null && authorization != null && authorization.startsWith("Bearer ")) {
+            token = authorization.substring(7);
+        }
+
+        if (token == null || !token.equals(acceptedToken)) {
+            throw new ForbiddenResponse("API token is not provided or invalid");
+        }
+
+        ctx.status(200).contentType(PrometheusFormat.CONTENT_TYPE).result(MetricRegistry.export());
+    }
+}
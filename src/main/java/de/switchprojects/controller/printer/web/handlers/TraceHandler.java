@@ -0,0 +1,113 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.web.handlers;
+
+import de.switchprojects.controller.printer.trace.JobTraces;
+import de.switchprojects.controller.printer.trace.object.JobStage;
+import de.switchprojects.controller.printer.trace.object.JobTrace;
+import de.switchprojects.controller.printer.trace.util.LatencyHistogram;
+import io.javalin.http.Context;
+import io.javalin.http.ForbiddenResponse;
+import io.javalin.http.Handler;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Returns the latency histograms of all job stages and the traces of the latest completed jobs as json.
+ * All durations and timestamps are in millis.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class TraceHandler implements Handler {
+
+    public TraceHandler(String acceptedToken) {
+        this.acceptedToken = acceptedToken;
+    }
+
+    private final String acceptedToken;
+
+    @Override
+    public void handle(@NotNull Context ctx) {
+        String token = ctx.header("X-Auth-Token");
+        if (token == null || !token.equals(acceptedToken)) {
+            throw new ForbiddenResponse("API token is not provided or invalid");
+        }
+
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (JobStage stage : JobStage.values()) {
+            if (stage != JobStage.RECEIVED) {
+                Map<String, Object> histogram = toMap(JobTraces.getHistogram(stage));
+                histogram.put("description", stage.getDescription());
+                stages.put(stage.name(), histogram);
+            }
+        }
+
+        List<Map<String, Object>> recent = JobTraces.getRecent()
+                .stream()
+                .map(completed -> {
+                    Map<String, Object> entry = new LinkedHashMap<>();
+                    entry.put("job", completed.getName());
+                    entry.put("stages", toMap(completed.getTrace()));
+                    return entry;
+                })
+                .collect(Collectors.toList());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("stages", stages);
+        result.put("total", toMap(JobTraces.getTotal()));
+        result.put("recent", recent);
+
+        ctx.status(200).json(result);
+    }
+
+    @NotNull
+    private static Map<String, Object> toMap(@NotNull LatencyHistogram histogram) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("count", histogram.getCount());
+        result.put("mean", histogram.getMean());
+        result.put("p50", histogram.getValueAtPercentile(50));
+        result.put("p90", histogram.getValueAtPercentile(90));
+        result.put("p99", histogram.getValueAtPercentile(99));
+        result.put("max", histogram.getMax());
+        return result;
+    }
+
+    @NotNull
+    private static Map<String, Object> toMap(@NotNull JobTrace trace) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        for (JobStage stage : JobStage.values()) {
+            long timestamp = trace.getTimestamp(stage);
+            if (timestamp != 0) {
+                result.put(stage.name(), timestamp);
+            }
+        }
+
+        return result;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * This file is licensed under the MIT License (MIT).
+ *
+ * Copyright (c) 2020 Pasqual Koschmieder and Maximilian Kuck.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package de.switchprojects.controller.printer.web.upload;
+
+import de.switchprojects.controller.printer.util.FileUtils;
+import de.switchprojects.controller.printer.util.HashUtils;
+import de.switchprojects.controller.printer.util.Validate;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+
+/**
+ * Receives an uploaded file by streaming it through a fixed size buffer to the disk. The sha-256 hash
+ * of the file is computed while the file is written and the size limit is checked for every chunk, so
+ * the heap usage of an upload does not depend on the size of the file.
+ *
+ * @author Pasqual Koschmieder
+ * @since 1.0
+ */
+public final class StreamingUpload {
+
+    private StreamingUpload() {
+        throw new UnsupportedOperationException();
+    }
+
+    private static final int BUFFER_SIZE = Integer.getInteger("web.upload.buffer.size", 64 * 1024);
+
+    /**
+     * Streams the source to the target file. The file is written to a temporary file next to the target
+     * first and only moved to the target if the upload was completed.
+     *
+     * @param source  The stream of the request body
+     * @param target  The path to which the file should get written
+     * @param maxSize The maximum amount of bytes which are accepted
+     * @return The result containing the size and the hash of the file
+     * @throws IOException If the upload is larger than allowed or the file cannot get written
+     */
+    @NotNull
+    public static Result receive(@NotNull InputStream source, @NotNull Path target, long maxSize) throws IOException {
+        Validate.assertNotNull(source, "Cannot receive from null stream");
+        Validate.assertNotNull(target, "Cannot write upload to null path");
+
+        FileUtils.createDirectories(target.toAbsolutePath().getParent());
+        Path temp = target.resolveSibling(target.getFileName() + ".part");
+
+        MessageDigest digest = HashUtils.newSha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        long size = 0;
+
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(temp, StandardOpenOption.CREATE_NEW)) {
+                int read;
+                while ((read = source.read(buffer)) != -1) {
+                    size += read;
+                    if (size > maxSize) {
+                        throw new UploadTooLargeException(maxSize);
+                    }
+
+                    digest.update(buffer, 0, read);
+                    outputStream.write(buffer, 0, read);
+                }
+            }
+
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            return new Result(size, HashUtils.toHex(digest.digest()));
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * The result of a completed upload
+     */
+    public static final class Result {
+
+        private Result(long size, @NotNull String hash) {
+            this.size = size;
+            this.hash = hash;
+        }
+
+        private final long size;
+
+        private final String hash;
+
+        /**
+         * @return The size of the uploaded file in bytes
+         */
+        public long getSize() {
+            return size;
+        }
+
+        /**
+         * @return The hex encoded sha-256 hash of the uploaded file
+         */
+        @NotNull
+        public String getHash() {
+            return hash;
+        }
+    }
+
+    /**
+     * Thrown when the uploaded file is larger than the allowed size
+     */
+    public static final class UploadTooLargeException extends IOException {
+
+        private static final long serialVersionUID = -2671207326574180562L;
+
+        private UploadTooLargeException(long maxSize) {
+            super("The upload is larger than the limit of " + maxSize + " bytes");
+        }
+    }
+}
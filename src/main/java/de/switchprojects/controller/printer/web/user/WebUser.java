@@ -23,14 +23,14 @@
  */
 package de.switchprojects.controller.printer.web.user;
 
+import de.switchprojects.controller.printer.database.codec.DatabaseCodec;
+import de.switchprojects.controller.printer.database.codec.DatabaseCodecs;
+import de.switchprojects.controller.printer.database.schema.object.TableSchema;
+import de.switchprojects.controller.printer.user.codec.UserCodec;
 import de.switchprojects.controller.printer.user.object.User;
 import de.switchprojects.controller.printer.user.object.UserType;
 import org.jetbrains.annotations.NotNull;
 
-import java.io.ByteArrayOutputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.util.function.Function;
 
 /**
@@ -41,15 +41,14 @@ import java.util.function.Function;
  */
 public class WebUser implements User {
 
-    public static final Function<ObjectInputStream, User> MAPPER = stream -> {
-        try {
-            return new WebUser(stream.readLong());
-        } catch (final IOException ex) {
-            ex.printStackTrace();
-        }
+    // pinned to the value of the java serialization, so jobs which still contain a serialized user can get migrated
+    private static final long serialVersionUID = 2377898226621759114L;
 
-        return null;
-    };
+    public static final DatabaseCodec<User> CODEC = new UserCodec(UserType.WEB);
+
+    public static final Function<byte[], User> MAPPER = bytes -> DatabaseCodecs.decode(CODEC, bytes);
+
+    public static final TableSchema<User> SCHEMA = TableSchema.newSchema(WebUserManagement.TABLE, CODEC);
 
     public WebUser(long id) {
         this.id = id;
@@ -79,14 +78,6 @@ public class WebUser implements User {
 
     @Override
     public @NotNull byte[] serialize() {
-        try (ByteArrayOutputStream stream = new ByteArrayOutputStream();
-             ObjectOutputStream objectOutputStream = new ObjectOutputStream(stream)) {
-            objectOutputStream.writeLong(this.id);
-            return stream.toByteArray();
-        } catch (final IOException ex) {
-            ex.printStackTrace();
-        }
-
-        return new byte[0];
+        return DatabaseCodecs.encode(CODEC, this);
     }
 }
@@ -42,7 +42,7 @@ public class WebUserManagement implements UserManagement {
     public static final String TABLE = "web_users";
 
     public WebUserManagement() {
-        GlobalAPI.getDatabase().createTable(TABLE);
+        GlobalAPI.getDatabase().createTable(WebUser.SCHEMA);
     }
 
     @Override